@@ -0,0 +1,102 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudActionTags;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.EventPooling;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a simulation that does nothing but exchange messages between entities, with and
+ * without {@link EventPooling}. Run it with the GC profiler to compare the allocation rate
+ * (<tt>gc.alloc.rate.norm</tt>) and the time spent in garbage collection (<tt>gc.time</tt>):
+ *
+ * <pre>
+ * java -jar modules/cloudsim-benchmarks/target/benchmarks.jar EventPoolingBenchmark -prof gc
+ * </pre>
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 2, jvmArgs = { "-Xms1g", "-Xmx1g" })
+public class EventPoolingBenchmark {
+
+	/** The number of entities exchanging messages. */
+	private static final int ENTITIES = 100;
+
+	/** The number of messages sent by every entity. */
+	private static final int MESSAGES = 10_000;
+
+	@Param({ "DISABLED", "ENABLED" })
+	public EventPooling pooling;
+
+	/** An entity that sends a message to the next entity for every message it receives. */
+	public static class RelayEntity extends SimEntity {
+		private final int next;
+		private int sent;
+
+		public RelayEntity(String name, int next) {
+			super(name);
+			this.next = next;
+		}
+
+		@Override
+		public void startEntity() {
+			relay();
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			relay();
+		}
+
+		private void relay() {
+			if (sent < MESSAGES) {
+				sent++;
+				schedule(next, 1, CloudActionTags.BLANK);
+			}
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		Log.disable();
+	}
+
+	@Benchmark
+	public double relay() {
+		CloudSim.init(0, null, false);
+		CloudSim.setEventPooling(pooling);
+		int first = CloudSim.getNumEntities();
+		for (int i = 0; i < ENTITIES; i++) {
+			new RelayEntity("Relay_" + i, first + (i + 1) % ENTITIES);
+		}
+		return CloudSim.startSimulation();
+	}
+}
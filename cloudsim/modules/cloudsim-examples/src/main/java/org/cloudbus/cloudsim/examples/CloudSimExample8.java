@@ -10,6 +10,7 @@
 
 package org.cloudbus.cloudsim.examples;
 
+import java.io.Serial;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -288,6 +289,10 @@ public class CloudSimExample8 {
 	}
 
 	public static class GlobalBroker extends SimEntity {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
 		protected enum ExampleTags implements CloudSimTags {
 			CREATE_BROKER
 		}
@@ -2,6 +2,7 @@ package org.cloudbus.cloudsim.examples;
 
 import org.cloudbus.cloudsim.core.*;
 import org.cloudbus.cloudsim.Log;
+import java.io.Serial;
 import java.util.Calendar;
 
 public class TestScheduledResource {
@@ -9,6 +10,10 @@ public class TestScheduledResource {
     static SrcEntity src;
     static DstEntity dst;
     static class SrcEntity extends SimEntity {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
         public SrcEntity(String name) {
             super(name);
         }
@@ -20,6 +25,10 @@ public class TestScheduledResource {
         }
     }
     static class DstEntity extends SimEntity {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
         public DstEntity(String name) {
             super(name);
         }
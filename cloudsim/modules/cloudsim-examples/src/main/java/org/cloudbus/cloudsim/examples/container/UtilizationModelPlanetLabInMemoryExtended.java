@@ -4,12 +4,16 @@ import org.cloudbus.cloudsim.UtilizationModelPlanetLabInMemory;
 import org.cloudbus.cloudsim.examples.power.Constants;
 
 import java.io.IOException;
+import java.io.Serial;
 
 /**
  * Created by sareh on 5/08/15.
  */
 public class UtilizationModelPlanetLabInMemoryExtended extends UtilizationModelPlanetLabInMemory {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public UtilizationModelPlanetLabInMemoryExtended(String inputPath, double schedulingInterval) throws NumberFormatException, IOException {
         super(inputPath, schedulingInterval);
     }
@@ -338,22 +338,22 @@ public class Helper {
 				PowerVmAllocationPolicyMigrationAbstract vmAllocationPolicy = (PowerVmAllocationPolicyMigrationAbstract) datacenter
 						.getVmAllocationPolicy();
 
-				double executionTimeVmSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeVmSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeHostSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeHostSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeVmReallocationMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeVmReallocationStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeTotalMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
-				double executionTimeTotalStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
+				double executionTimeVmSelectionMean = vmAllocationPolicy
+						.getExecutionTimeHistogramVmSelection().getMean() / 1e9;
+				double executionTimeVmSelectionStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramVmSelection().getStandardDeviation() / 1e9;
+				double executionTimeHostSelectionMean = vmAllocationPolicy
+						.getExecutionTimeHistogramHostSelection().getMean() / 1e9;
+				double executionTimeHostSelectionStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramHostSelection().getStandardDeviation() / 1e9;
+				double executionTimeVmReallocationMean = vmAllocationPolicy
+						.getExecutionTimeHistogramVmReallocation().getMean() / 1e9;
+				double executionTimeVmReallocationStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramVmReallocation().getStandardDeviation() / 1e9;
+				double executionTimeTotalMean = vmAllocationPolicy
+						.getExecutionTimeHistogramTotal().getMean() / 1e9;
+				double executionTimeTotalStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramTotal().getStandardDeviation() / 1e9;
 
 				data.append(String.format("%.5f", executionTimeVmSelectionMean)).append(delimeter);
 				data.append(String.format("%.5f", executionTimeVmSelectionStDev)).append(delimeter);
@@ -415,22 +415,22 @@ public class Helper {
 				PowerVmAllocationPolicyMigrationAbstract vmAllocationPolicy = (PowerVmAllocationPolicyMigrationAbstract) datacenter
 						.getVmAllocationPolicy();
 
-				double executionTimeVmSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeVmSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmSelection());
-				double executionTimeHostSelectionMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeHostSelectionStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryHostSelection());
-				double executionTimeVmReallocationMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeVmReallocationStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryVmReallocation());
-				double executionTimeTotalMean = MathUtil.mean(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
-				double executionTimeTotalStDev = MathUtil.stDev(vmAllocationPolicy
-						.getExecutionTimeHistoryTotal());
+				double executionTimeVmSelectionMean = vmAllocationPolicy
+						.getExecutionTimeHistogramVmSelection().getMean() / 1e9;
+				double executionTimeVmSelectionStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramVmSelection().getStandardDeviation() / 1e9;
+				double executionTimeHostSelectionMean = vmAllocationPolicy
+						.getExecutionTimeHistogramHostSelection().getMean() / 1e9;
+				double executionTimeHostSelectionStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramHostSelection().getStandardDeviation() / 1e9;
+				double executionTimeVmReallocationMean = vmAllocationPolicy
+						.getExecutionTimeHistogramVmReallocation().getMean() / 1e9;
+				double executionTimeVmReallocationStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramVmReallocation().getStandardDeviation() / 1e9;
+				double executionTimeTotalMean = vmAllocationPolicy
+						.getExecutionTimeHistogramTotal().getMean() / 1e9;
+				double executionTimeTotalStDev = vmAllocationPolicy
+						.getExecutionTimeHistogramTotal().getStandardDeviation() / 1e9;
 
 				Log.println(String.format(
 						"Execution time - VM selection mean: %.5f sec",
@@ -453,6 +453,8 @@ public class Helper {
 				Log.println(String.format("Execution time - total mean: %.5f sec", executionTimeTotalMean));
 				Log.println(String
 						.format("Execution time - total stDev: %.5f sec", executionTimeTotalStDev));
+				Log.println(String.format("Execution time - total p99: %.5f sec",
+						vmAllocationPolicy.getExecutionTimeHistogramTotal().getPercentile(99) / 1e9));
 			}
 			Log.println();
 		}
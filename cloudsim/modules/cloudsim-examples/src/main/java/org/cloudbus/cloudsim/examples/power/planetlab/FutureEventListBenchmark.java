@@ -0,0 +1,100 @@
+package org.cloudbus.cloudsim.examples.power.planetlab;
+
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CalendarQueue;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.EventQueue;
+import org.cloudbus.cloudsim.core.FutureEventList;
+import org.cloudbus.cloudsim.core.LadderQueue;
+import org.cloudbus.cloudsim.examples.power.Helper;
+
+/**
+ * Compares the implementations of the future event list ({@link EventQueue}, {@link CalendarQueue}
+ * and {@link LadderQueue}) by running the same PlanetLab workload with each one of them and
+ * reporting the wall-clock time of the runs.
+ * <p>
+ * Usage: <tt>FutureEventListBenchmark [workload] [vmAllocationPolicy] [vmSelectionPolicy] [parameter] [rounds]</tt>,
+ * which by default runs the LR/MMT policies on the 20110303 workload three times. The first round
+ * is meant as JIT warm-up, hence the best time is reported.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class FutureEventListBenchmark {
+
+	/**
+	 * A PlanetLab runner that initialises CloudSim with a given future event list.
+	 */
+	static class Runner extends PlanetLabRunner {
+
+		/** The future event list of the next run. */
+		static Supplier<FutureEventList> futureEventList;
+
+		Runner(String inputFolder, String workload, String vmAllocationPolicy, String vmSelectionPolicy,
+				String parameter) {
+			super(false, false, inputFolder, "output", workload, vmAllocationPolicy, vmSelectionPolicy, parameter);
+		}
+
+		@Override
+		protected void init(String inputFolder) {
+			try {
+				CloudSim.init(1, Calendar.getInstance(), false, futureEventList.get());
+
+				broker = Helper.createBroker();
+				int brokerId = broker.getId();
+
+				cloudletList = PlanetLabHelper.createCloudletListPlanetLab(brokerId, inputFolder);
+				vmList = Helper.createVmList(brokerId, cloudletList.size());
+				hostList = Helper.createHostList(PlanetLabConstants.NUMBER_OF_HOSTS);
+			} catch (Exception e) {
+				e.printStackTrace();
+				Log.println("The simulation has been terminated due to an unexpected error");
+				System.exit(0);
+			}
+		}
+	}
+
+	/**
+	 * The main method.
+	 *
+	 * @param args the arguments
+	 */
+	public static void main(String[] args) {
+		String inputFolder = FutureEventListBenchmark.class.getClassLoader().getResource("workload/planetlab").getPath();
+		String workload = args.length > 0 ? args[0] : "20110303";
+		String vmAllocationPolicy = args.length > 1 ? args[1] : "lr";
+		String vmSelectionPolicy = args.length > 2 ? args[2] : "mmt";
+		String parameter = args.length > 3 ? args[3] : "1.2";
+		int rounds = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+
+		Map<String, Supplier<FutureEventList>> implementations = new LinkedHashMap<>();
+		implementations.put("EventQueue", EventQueue::new);
+		implementations.put("CalendarQueue", CalendarQueue::new);
+		implementations.put("LadderQueue", LadderQueue::new);
+
+		Map<String, Double> best = new LinkedHashMap<>();
+		for (int round = 0; round < rounds; round++) {
+			for (Map.Entry<String, Supplier<FutureEventList>> entry : implementations.entrySet()) {
+				Runner.futureEventList = entry.getValue();
+
+				long start = System.nanoTime();
+				new Runner(inputFolder, workload, vmAllocationPolicy, vmSelectionPolicy, parameter);
+				double seconds = (System.nanoTime() - start) / 1e9;
+
+				System.out.printf("Round %d: %-14s %8.3f s%n", round + 1, entry.getKey(), seconds);
+				best.merge(entry.getKey(), seconds, Math::min);
+			}
+		}
+
+		System.out.println();
+		System.out.println("Best times for workload " + workload + ":");
+		for (Map.Entry<String, Double> entry : best.entrySet()) {
+			System.out.printf("%-14s %8.3f s%n", entry.getKey(), entry.getValue());
+		}
+	}
+
+}
@@ -7,6 +7,8 @@
  */
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.LinkedList;
 import java.util.List;
@@ -22,7 +24,11 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public class Cloudlet {
+public class Cloudlet implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public enum CloudletStatus {
         /** The Cloudlet has been created and added to the CloudletList object. */
         CREATED,
@@ -447,7 +453,10 @@ public class Cloudlet {
      * CloudResources. Each time a cloudlet is run on a given VM, the cloudlet's
      * execution history on each VM is registered at {@link Cloudlet#resList}
      */
-    public static class Resource {
+    public static class Resource implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
 
         /** Cloudlet's submission (arrival) time to a CloudResource. */
         public double arrivalTime = 0.0;
@@ -1503,6 +1512,18 @@ public class Cloudlet {
         return uid;
     }
 
+    /**
+     * Gets the key of the cloudlet, which packs its user id and id into a long in the same
+     * way as {@link org.cloudbus.cloudsim.core.GuestEntity#getKey()}, so that its
+     * {@link #getUid() UID} can be rebuilt from it.
+     *
+     * @return the key
+     * @since CloudSim Toolkit 7.0
+     */
+    public long getKey() {
+        return ((long) getUserId() << 32) | (getCloudletId() & 0xFFFFFFFFL);
+    }
+
     /** update uid after change of cloudletId or userId */
     private void updateUid() {
         uid = getUserId() + "-" + getCloudletId();
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,15 +29,18 @@ import org.cloudbus.cloudsim.lists.CloudletList;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class CloudletScheduler {
+public abstract class CloudletScheduler implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The previous time. */
 	private double previousTime;
 
 	/** The list of current mips share available for the VM using the scheduler.
 	 * It is provided by {@link CloudletScheduler#updateCloudletsProcessing(double, List)} method.
-	 * at every simulation step. */
-	private List<Double> currentMipsShare;
+	 * at every simulation step, and copied into this share, whose array is reused. */
+	private MipsShare currentMipsShare;
 
 
 	private double currentCapacity;
@@ -310,7 +315,7 @@ public abstract class CloudletScheduler {
 	 */
 	public boolean isFinishedCloudlets() { return !getCloudletFinishedList().isEmpty(); }
 
-	public List<Double> getCurrentMipsShare() { return currentMipsShare; }
+	public MipsShare getCurrentMipsShare() { return currentMipsShare; }
 
 	/**
 	 * Returns the next cloudlet in the finished list.
@@ -383,11 +388,10 @@ public abstract class CloudletScheduler {
 	 * @return the current mips
 	 */
 	public List<Double> getCurrentRequestedMips() {
-		List<Double> mipsShare = new ArrayList<>();
 		if (getCurrentMipsShare() != null) {
-			mipsShare.addAll(getCurrentMipsShare());
+			return new MipsShare(getCurrentMipsShare());
 		}
-		return mipsShare;
+		return new MipsShare();
 	}
 
 	/**
@@ -396,11 +400,9 @@ public abstract class CloudletScheduler {
 	 * @return the current mips
 	 */
 	public double getCurrentRequestedTotalMips() {
-		double mips = 0.0;
 		if (currentMipsShare != null)
-			for (double v : currentMipsShare)
-				mips += v;
-		return mips;
+			return currentMipsShare.getTotalMips();
+		return 0.0;
 	}
 
 	/**
@@ -482,13 +484,17 @@ public abstract class CloudletScheduler {
 	}
 
 	/**
-	 * Sets the current mips share.
+	 * Sets the current mips share, leaving out the PEs with no MIPS.
+	 * The given share is copied, and is not modified.
 	 * 
 	 * @param currentMipsShare the new current mips share
 	 */
 	protected void setCurrentMipsShare(List<Double> currentMipsShare) {
-        currentMipsShare.removeIf(mips -> mips <= 0);
-		this.currentMipsShare = currentMipsShare;
+		if (this.currentMipsShare == null) {
+			this.currentMipsShare = new MipsShare(currentMipsShare.size());
+		}
+		this.currentMipsShare.setMips(currentMipsShare);
+		this.currentMipsShare.removeNonPositive();
 
 		updateCurrentCapacity();
 	}
@@ -513,12 +519,9 @@ public abstract class CloudletScheduler {
 	 * @return capacity
 	 */
 	public double updateCurrentCapacity() {
-		currentMipsShare.removeIf(mips -> mips <= 0);
+		currentMipsShare.removeNonPositive();
 
-		double capacity = 0;
-		for (Double mips : currentMipsShare) {
-			capacity += mips;
-		}
+		double capacity = currentMipsShare.getTotalMips();
 
 		int pesInUse = 0;
 		for (Cloudlet cl : getCloudletExecList()) {
@@ -7,12 +7,15 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.util.LongMap;
+import org.cloudbus.cloudsim.util.MethodOverride;
 
 /**
  * CloudletSchedulerDynamicWorkload implements a policy of scheduling performed by a virtual machine
@@ -31,6 +34,9 @@ import org.cloudbus.cloudsim.core.CloudSim;
 //@TODO The name of the class doesn't represent its goal. A clearer name would be
 public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShared {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The individual MIPS capacity of each PE allocated to the VM using the scheduler,
          * considering that all PEs have the same capacity. 
          * //@TODO Despite of the class considers that all PEs have the same capacity,
@@ -45,8 +51,12 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 	/** The total MIPS considering all PEs. */
 	private double totalMips;
 
-	/** The under allocated MIPS. */
-	private Map<String, Double> underAllocatedMips;
+	/** The under allocated MIPS, by cloudlet {@link Cloudlet#getKey() key}. */
+	private LongMap<Double> underAllocatedMips;
+
+	/** Whether the subclasses override {@link #getCurrentRequestedMips()}, which the total must then use. */
+	private static final MethodOverride requestedMipsOverride =
+			new MethodOverride(CloudletSchedulerDynamicWorkload.class, "getCurrentRequestedMips");
 
 	/** The cache of the previous time when the {@link #getCurrentRequestedMips()} was called. */
 	private double cachePreviousTime;
@@ -73,7 +83,7 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
                 the total mips will be wrong. Just the getTotalMips is enough,
                 and it have to compute there the total, instead of storing into an attribute.*/
 		setTotalMips(getNumberOfPes() * getMips());
-		setUnderAllocatedMips(new HashMap<>());
+		setUnderAllocatedMipsByKey(new LongMap<>());
 		setCachePreviousTime(-1);
 	}
 
@@ -129,30 +139,37 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 
 	@Override
 	public List<Double> getCurrentRequestedMips() {
+		return new MipsShare(fillCurrentRequestedMips());
+	}
+
+	/**
+	 * Refills the cache of the current requested mips, unless it is up to date.
+	 *
+	 * @return the cached current requested mips
+	 */
+	private List<Double> fillCurrentRequestedMips() {
 		if (getCachePreviousTime() == getPreviousTime()) {
 			return getCacheCurrentRequestedMips();
 		}
-		List<Double> currentMips = new ArrayList<>();
 		double totalMips = getTotalUtilizationOfCpu(getPreviousTime()) * getTotalMips();
 		double mipsForPe = totalMips / getNumberOfPes();
-
-		for (int i = 0; i < getNumberOfPes(); i++) {
-			currentMips.add(mipsForPe);
+		// refill the cached share in place, unless a subclass replaced it with a list of its own
+		if (getCacheCurrentRequestedMips() instanceof MipsShare currentMips) {
+			currentMips.fillMips(mipsForPe, getNumberOfPes());
+		} else {
+			setCacheCurrentRequestedMips(new MipsShare(mipsForPe, getNumberOfPes()));
 		}
-
 		setCachePreviousTime(getPreviousTime());
-		setCacheCurrentRequestedMips(currentMips);
 
-		return currentMips;
+		return getCacheCurrentRequestedMips();
 	}
 
 	@Override
 	public double getCurrentRequestedTotalMips() {
-		List<Double> currentMips = getCurrentRequestedMips();
-		double mips = 0.0;
-		for (double v : currentMips)
-			mips += v;
-		return mips;
+		if (requestedMipsOverride.isOverriddenBy(getClass())) {
+			return MipsShare.totalOf(getCurrentRequestedMips());
+		}
+		return MipsShare.totalOf(fillCurrentRequestedMips());
 	}
 
 	@Override
@@ -164,12 +181,14 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 	public double getTotalCurrentAvailableMipsForCloudlet(Cloudlet cl, List<Double> mipsShare) {
 		double totalCurrentMips = 0.0;
 		if (mipsShare != null) {
-			int neededPEs = cl.getNumberOfPes();
-			for (double mips : mipsShare) {
-				totalCurrentMips += mips;
-				neededPEs--;
-				if (neededPEs <= 0) {
-					break;
+			int pes = Math.min(Math.max(cl.getNumberOfPes(), 1), mipsShare.size());
+			if (mipsShare instanceof MipsShare share) {
+				for (int i = 0; i < pes; i++) {
+					totalCurrentMips += share.getMips(i);
+				}
+			} else {
+				for (int i = 0; i < pes; i++) {
+					totalCurrentMips += mipsShare.get(i);
 				}
 			}
 		}
@@ -192,10 +211,11 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
          * doesn't make it clear too. The method doesn't appear to be used anywhere.
 	 */
 	public void updateUnderAllocatedMipsForCloudlet(Cloudlet cl, double mips) {
-		if (getUnderAllocatedMips().containsKey(cl.getUid())) {
-			mips += getUnderAllocatedMips().get(cl.getUid());
+		Double underAllocated = getUnderAllocatedMipsByKey().get(cl.getKey());
+		if (underAllocated != null) {
+			mips += underAllocated;
 		}
-		getUnderAllocatedMips().put(cl.getUid(), mips);
+		getUnderAllocatedMipsByKey().put(cl.getKey(), mips);
 	}
 
 	/**
@@ -218,11 +238,7 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 	 * @return the total current mips
 	 */
 	public double getTotalCurrentMips() {
-		double totalCurrentMips = 0;
-		for (double mips : getCurrentMipsShare()) {
-			totalCurrentMips += mips;
-		}
-		return totalCurrentMips;
+		return getCurrentMipsShare().getTotalMips();
 	}
 
 	/**
@@ -279,22 +295,47 @@ public class CloudletSchedulerDynamicWorkload extends CloudletSchedulerTimeShare
 		return mips;
 	}
 
+	/**
+	 * Sets the under allocated mips, by cloudlet {@link Cloudlet#getKey() key}.
+	 *
+	 * @param underAllocatedMips the under allocated mips
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public void setUnderAllocatedMipsByKey(LongMap<Double> underAllocatedMips) {
+		this.underAllocatedMips = underAllocatedMips;
+	}
+
+	/**
+	 * Gets the under allocated mips, by cloudlet {@link Cloudlet#getKey() key}.
+	 *
+	 * @return the under allocated mips
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LongMap<Double> getUnderAllocatedMipsByKey() {
+		return underAllocatedMips;
+	}
+
 	/**
 	 * Sets the under allocated mips.
 	 * 
 	 * @param underAllocatedMips the under allocated mips
+	 * @deprecated use {@link #setUnderAllocatedMipsByKey(LongMap)}
 	 */
+	@Deprecated
 	public void setUnderAllocatedMips(Map<String, Double> underAllocatedMips) {
-		this.underAllocatedMips = underAllocatedMips;
+		setUnderAllocatedMipsByKey(new LongMap<>());
+		getUnderAllocatedMips().putAll(underAllocatedMips);
 	}
 
 	/**
-	 * Gets the under allocated mips.
+	 * Gets the under allocated mips, by cloudlet uid.
 	 * 
-	 * @return the under allocated mips
+	 * @return a view of the under allocated mips
+	 * @deprecated use {@link #getUnderAllocatedMipsByKey()}
 	 */
+	@Deprecated
 	public Map<String, Double> getUnderAllocatedMips() {
-		return underAllocatedMips;
+		return underAllocatedMips.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
 	}
 
 	/**
@@ -449,5 +449,20 @@ public enum DataCloudTags implements CloudSimTags {
 	 * Denotes that master file modification is failed because the file attribute is set to a
 	 * read-only.
 	 */
-	CTLG_MODIFY_MASTER_ERROR_READ_ONLY
+	CTLG_MODIFY_MASTER_ERROR_READ_ONLY;
+
+	/** The dense index of the tag, see {@link #index()}. */
+	private int index;
+
+	static {
+		int first = CloudSimTags.firstIndex(DataCloudTags.class);
+		for (DataCloudTags tag : values()) {
+			tag.index = first + tag.ordinal();
+		}
+	}
+
+	@Override
+	public int index() {
+		return index;
+	}
 }
@@ -7,9 +7,16 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.ToDoubleFunction;
 
 import org.cloudbus.cloudsim.VmAllocationPolicy.GuestMapping;
 import org.cloudbus.cloudsim.core.*;
@@ -30,6 +37,9 @@ import org.cloudbus.cloudsim.core.*;
  */
 public class Datacenter extends SimEntity {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The characteristics. */
 	private DatacenterCharacteristics characteristics;
 
@@ -53,6 +63,19 @@ public class Datacenter extends SimEntity {
 	/** The scheduling delay to process each datacenter received event. */
 	private double schedulingInterval;
 
+	/**
+	 * The hosts to update by the next cloudlet processing, or <tt>null</tt> if every host is
+	 * updated every time.
+	 * @see #setIncrementalProcessing(boolean)
+	 */
+	private HostProcessingQueue hostQueue;
+
+	/**
+	 * Whether the hosts are updated in parallel.
+	 * @see #setParallelProcessing(boolean)
+	 */
+	private boolean parallelProcessing;
+
 	/**
 	 * Allocates a new Datacenter object.
 	 * 
@@ -107,6 +130,63 @@ public class Datacenter extends SimEntity {
 		getCharacteristics().setId(super.getId());
 	}
 
+	/**
+	 * Registers the handlers of the events processed by every datacenter. The subclasses register
+	 * the handlers of their own tags, or replace these ones, after calling this method.
+	 */
+	@Override
+	protected void registerHandlers() {
+		super.registerHandlers();
+		// Resource characteristics inquiry
+		registerHandler(CloudActionTags.RESOURCE_CHARACTERISTICS,
+				ev -> sendNow((Integer) ev.getData(), ev.getTag(), getCharacteristics()));
+
+		// Resource dynamic info inquiry
+		registerHandler(CloudActionTags.RESOURCE_DYNAMICS, ev -> sendNow((Integer) ev.getData(), ev.getTag(), 0));
+		registerHandler(CloudActionTags.RESOURCE_NUM_PE,
+				ev -> sendNow((Integer) ev.getData(), ev.getTag(), getCharacteristics().getNumberOfPes()));
+		registerHandler(CloudActionTags.RESOURCE_NUM_FREE_PE,
+				ev -> sendNow((Integer) ev.getData(), ev.getTag(), getCharacteristics().getNumberOfFreePes()));
+
+		// New Cloudlet arrives, possibly asking for an ack
+		registerHandler(CloudActionTags.CLOUDLET_SUBMIT, ev -> processCloudletSubmit(ev, false));
+		registerHandler(CloudActionTags.CLOUDLET_SUBMIT_ACK, ev -> processCloudletSubmit(ev, true));
+
+		// Cancels, pauses or resumes a previously submitted Cloudlet
+		for (CloudActionTags tag : new CloudActionTags[] { CloudActionTags.CLOUDLET_CANCEL,
+				CloudActionTags.CLOUDLET_PAUSE, CloudActionTags.CLOUDLET_PAUSE_ACK,
+				CloudActionTags.CLOUDLET_RESUME, CloudActionTags.CLOUDLET_RESUME_ACK }) {
+			registerHandler(tag, ev -> processCloudlet(ev, tag));
+		}
+
+		// Moves a previously submitted Cloudlet to a different resource
+		registerHandler(CloudActionTags.CLOUDLET_MOVE,
+				ev -> processCloudletMove((int[]) ev.getData(), CloudActionTags.CLOUDLET_MOVE));
+		registerHandler(CloudActionTags.CLOUDLET_MOVE_ACK,
+				ev -> processCloudletMove((int[]) ev.getData(), CloudActionTags.CLOUDLET_MOVE_ACK));
+
+		// Checks the status of a Cloudlet
+		registerHandler(CloudActionTags.CLOUDLET_STATUS, this::processCloudletStatus);
+
+		// Ping packet
+		registerHandler(CloudActionTags.INFOPKT_SUBMIT, this::processPingRequest);
+
+		registerHandler(CloudActionTags.VM_CREATE, ev -> processVmCreate(ev, false));
+		registerHandler(CloudActionTags.VM_CREATE_ACK, ev -> processVmCreate(ev, true));
+		registerHandler(CloudActionTags.VM_DESTROY, ev -> processVmDestroy(ev, false));
+		registerHandler(CloudActionTags.VM_DESTROY_ACK, ev -> processVmDestroy(ev, true));
+		registerHandler(CloudActionTags.VM_MIGRATE, ev -> processVmMigrate(ev, false));
+		registerHandler(CloudActionTags.VM_MIGRATE_ACK, ev -> processVmMigrate(ev, true));
+		registerHandler(CloudActionTags.VM_DATA_ADD, ev -> processDataAdd(ev, false));
+		registerHandler(CloudActionTags.VM_DATA_ADD_ACK, ev -> processDataAdd(ev, true));
+		registerHandler(CloudActionTags.VM_DATA_DEL, ev -> processDataDelete(ev, false));
+		registerHandler(CloudActionTags.VM_DATA_DEL_ACK, ev -> processDataDelete(ev, true));
+		registerHandler(CloudActionTags.VM_DATACENTER_EVENT, ev -> {
+			updateCloudletProcessing();
+			checkCloudletCompletion();
+		});
+	}
+
 	/**
 	 * Overrides this method when making a new and different type of resource. <br>
 	 * <b>NOTE:</b> You do not need to override {@link #body()} method, if you use this method.
@@ -122,100 +202,10 @@ public class Datacenter extends SimEntity {
 
 	@Override
 	public void processEvent(SimEvent ev) {
-		int srcId = -1;
-		CloudSimTags tag = ev.getTag();
-
-        // Resource characteristics inquiry
-        if (tag == CloudActionTags.RESOURCE_CHARACTERISTICS) {
-            srcId = (Integer) ev.getData();
-            sendNow(srcId, tag, getCharacteristics());
-
-            // Resource dynamic info inquiry
-        } else if (tag == CloudActionTags.RESOURCE_DYNAMICS) {
-            srcId = (Integer) ev.getData();
-            sendNow(srcId, tag, 0);
-        } else if (tag == CloudActionTags.RESOURCE_NUM_PE) {
-            srcId = (Integer) ev.getData();
-            int numPE = getCharacteristics().getNumberOfPes();
-            sendNow(srcId, tag, numPE);
-        } else if (tag == CloudActionTags.RESOURCE_NUM_FREE_PE) {
-            srcId = (Integer) ev.getData();
-            int freePesNumber = getCharacteristics().getNumberOfFreePes();
-            sendNow(srcId, tag, freePesNumber);
-
-            // New Cloudlet arrives
-        } else if (tag == CloudActionTags.CLOUDLET_SUBMIT) {
-            processCloudletSubmit(ev, false);
-
-            // New Cloudlet arrives, but the sender asks for an ack
-        } else if (tag == CloudActionTags.CLOUDLET_SUBMIT_ACK) {
-            processCloudletSubmit(ev, true);
-
-            // Cancels a previously submitted Cloudlet
-        } else if (tag == CloudActionTags.CLOUDLET_CANCEL) {
-            processCloudlet(ev, CloudActionTags.CLOUDLET_CANCEL);
-
-            // Pauses a previously submitted Cloudlet
-        } else if (tag == CloudActionTags.CLOUDLET_PAUSE) {
-            processCloudlet(ev, CloudActionTags.CLOUDLET_PAUSE);
-
-            // Pauses a previously submitted Cloudlet, but the sender
-            // asks for an acknowledgement
-        } else if (tag == CloudActionTags.CLOUDLET_PAUSE_ACK) {
-            processCloudlet(ev, CloudActionTags.CLOUDLET_PAUSE_ACK);
-
-            // Resumes a previously submitted Cloudlet
-        } else if (tag == CloudActionTags.CLOUDLET_RESUME) {
-            processCloudlet(ev, CloudActionTags.CLOUDLET_RESUME);
-
-            // Resumes a previously submitted Cloudlet, but the sender
-            // asks for an acknowledgement
-        } else if (tag == CloudActionTags.CLOUDLET_RESUME_ACK) {
-            processCloudlet(ev, CloudActionTags.CLOUDLET_RESUME_ACK);
-
-            // Moves a previously submitted Cloudlet to a different resource
-        } else if (tag == CloudActionTags.CLOUDLET_MOVE) {
-            processCloudletMove((int[]) ev.getData(), CloudActionTags.CLOUDLET_MOVE);
-
-            // Moves a previously submitted Cloudlet to a different resource
-        } else if (tag == CloudActionTags.CLOUDLET_MOVE_ACK) {
-            processCloudletMove((int[]) ev.getData(), CloudActionTags.CLOUDLET_MOVE_ACK);
-
-            // Checks the status of a Cloudlet
-        } else if (tag == CloudActionTags.CLOUDLET_STATUS) {
-            processCloudletStatus(ev);
-
-            // Ping packet
-        } else if (tag == CloudActionTags.INFOPKT_SUBMIT) {
-            processPingRequest(ev);
-        } else if (tag == CloudActionTags.VM_CREATE) {
-            processVmCreate(ev, false);
-        } else if (tag == CloudActionTags.VM_CREATE_ACK) {
-            processVmCreate(ev, true);
-        } else if (tag == CloudActionTags.VM_DESTROY) {
-            processVmDestroy(ev, false);
-        } else if (tag == CloudActionTags.VM_DESTROY_ACK) {
-            processVmDestroy(ev, true);
-        } else if (tag == CloudActionTags.VM_MIGRATE) {
-            processVmMigrate(ev, false);
-        } else if (tag == CloudActionTags.VM_MIGRATE_ACK) {
-            processVmMigrate(ev, true);
-        } else if (tag == CloudActionTags.VM_DATA_ADD) {
-            processDataAdd(ev, false);
-        } else if (tag == CloudActionTags.VM_DATA_ADD_ACK) {
-            processDataAdd(ev, true);
-        } else if (tag == CloudActionTags.VM_DATA_DEL) {
-            processDataDelete(ev, false);
-        } else if (tag == CloudActionTags.VM_DATA_DEL_ACK) {
-            processDataDelete(ev, true);
-        } else if (tag == CloudActionTags.VM_DATACENTER_EVENT) {
-            updateCloudletProcessing();
-            checkCloudletCompletion();
-
-            // other unknown tags are processed by this method
-        } else {
-            processOtherEvent(ev);
-        }
+		// the tags with no registered handler are processed by processOtherEvent
+		if (!dispatchToHandler(ev)) {
+			processOtherEvent(ev);
+		}
 	}
 
 	/**
@@ -280,7 +270,7 @@ public class Datacenter extends SimEntity {
 
 		/**
 		 * // DEBUG Log.printLine(super.get_name() + ".addMasterFile(): " + file.getName() +
-		 * " from " + CloudSim.getEntityName(sentFrom));
+		 * " from " + getSimulation().getEntityName(sentFrom));
 		 */
 
 		Object[] data = new Object[3];
@@ -367,10 +357,9 @@ public class Datacenter extends SimEntity {
 	}
 
 	/**
-	 * Process non-default received events that aren't processed by
-         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
-         * This method should be overridden by subclasses in other to process
-         * new defined events.
+	 * Process non-default received events, whose tags have no handler registered with
+         * {@link #registerHandler(CloudSimTags, org.cloudbus.cloudsim.core.EventDispatcher.Handler)}.
+         * The subclasses should rather register the handlers of the new events they define.
 	 * 
 	 * @param ev information about the event just happened
          * 
@@ -410,20 +399,21 @@ public class Datacenter extends SimEntity {
 			data[0] = getId();
 			data[1] = guest.getId();
 			data[2] = result ? CloudSimTags.TRUE : CloudSimTags.FALSE;
-			send(guest.getUserId(), CloudSim.getMinTimeBetweenEvents(), CloudActionTags.VM_CREATE_ACK, data);
+			send(guest.getUserId(), getSimulation().getMinTimeBetweenEvents(), CloudActionTags.VM_CREATE_ACK, data);
 		}
 
 		if (result) {
 			getVmList().add(guest);
+			hostChanged(getVmAllocationPolicy().getHost(guest));
 
 			if (guest.isBeingInstantiated()) {
 				guest.setBeingInstantiated(false);
 			}
 
-			guest.updateCloudletsProcessing(CloudSim.clock(), getVmAllocationPolicy().getHost(guest).getGuestScheduler()
+			guest.updateCloudletsProcessing(getSimulation().clock(), getVmAllocationPolicy().getHost(guest).getGuestScheduler()
 					.getAllocatedMipsForGuest(guest));
 		} else {
-			//Log.printlnConcat(CloudSim.clock(), ": Datacenter.guestAllocator: Couldn't find a host for ", guest.getClassName(), " #", guest.getId());
+			//Log.printlnConcat(getSimulation().clock(), ": Datacenter.guestAllocator: Couldn't find a host for ", guest.getClassName(), " #", guest.getId());
 		}
 	}
 
@@ -441,6 +431,7 @@ public class Datacenter extends SimEntity {
 	 */
 	protected void processVmDestroy(SimEvent ev, boolean ack) {
 		GuestEntity vm = (GuestEntity) ev.getData();
+		hostChanged(getVmAllocationPolicy().getHost(vm));
 		getVmAllocationPolicy().deallocateHostForGuest(vm);
 
 		if (ack) {
@@ -476,8 +467,10 @@ public class Datacenter extends SimEntity {
 		HostEntity host = migrate.host();
 		
 		//destroy VM in src host
+		hostChanged(getVmAllocationPolicy().getHost(vm));
 		getVmAllocationPolicy().deallocateHostForGuest(vm);
 		host.removeMigratingInGuest(vm);
+		hostChanged(host);
 
 		// @TODO: what happens to the vmId / containerId of the cloudlets hosted on the Vm?
 		// create VM in dest host
@@ -497,7 +490,7 @@ public class Datacenter extends SimEntity {
 
 		Log.formatLine(
 				"%.2f: Migration of VM #%d to Host #%d is completed",
-				CloudSim.clock(),
+				getSimulation().clock(),
 				vm.getId(),
 				host.getId());
 		vm.setInMigration(false);
@@ -543,6 +536,7 @@ public class Datacenter extends SimEntity {
 		}
 
 		// begins executing ....
+		hostChanged(getVmAllocationPolicy().getHost(vmId, userId));
 		switch (tag) {
 			case CLOUDLET_CANCEL -> processCloudletCancel(cloudletId, userId, vmId);
 			case CLOUDLET_PAUSE -> processCloudletPause(cloudletId, userId, vmId, false);
@@ -574,6 +568,7 @@ public class Datacenter extends SimEntity {
 		int destId = receivedData[4];
 
 		// get the cloudlet
+		hostChanged(getVmAllocationPolicy().getHost(vmId, userId));
 		Cloudlet cl = getVmAllocationPolicy().getHost(vmId, userId).getGuest(vmId,userId)
 				.getCloudletScheduler().cloudletCancel(cloudletId);
 
@@ -596,6 +591,7 @@ public class Datacenter extends SimEntity {
 
 			// the cloudlet will migrate from one vm to another does the destination VM exist?
 			if (destId == getId()) {
+				hostChanged(getVmAllocationPolicy().getHost(vmDestId, userId));
 				GuestEntity vm = getVmAllocationPolicy().getHost(vmDestId, userId).getGuest(vmDestId,userId);
 				if (vm == null) {
 					failed = true;
@@ -643,7 +639,7 @@ public class Datacenter extends SimEntity {
 
 			// checks whether this Cloudlet has finished or not
 			if (cl.isFinished()) {
-				String name = CloudSim.getEntityName(cl.getUserId());
+				String name = getSimulation().getEntityName(cl.getUserId());
 				Log.printlnConcat(getName(), ": Warning - ",cl.getClass().getSimpleName()," #", cl.getCloudletId(), " owned by ", name,
 						" is already completed/finished.");
 				Log.println("Therefore, it is not being executed again");
@@ -679,6 +675,7 @@ public class Datacenter extends SimEntity {
 			double fileTransferTime = predictFileTransferTime(cl.getRequiredFiles());
 
 			HostEntity host = getVmAllocationPolicy().getHost(vmId, userId);
+			hostChanged(host);
 			GuestEntity vm = host.getGuest(vmId, userId);
 			CloudletScheduler scheduler = vm.getCloudletScheduler();
 			double estimatedFinishTime = scheduler.cloudletSubmit(cl, fileTransferTime);
@@ -689,7 +686,7 @@ public class Datacenter extends SimEntity {
 				send(getId(), estimatedFinishTime, CloudActionTags.VM_DATACENTER_EVENT);
 			}
 			/*else {
-				Log.printlnConcat(CloudSim.clock(), ": [",getName(), "]: Warning - ", cl.getClass().getSimpleName()," #", cl.getCloudletId(),
+				Log.printlnConcat(getSimulation().clock(), ": [",getName(), "]: Warning - ", cl.getClass().getSimpleName()," #", cl.getCloudletId(),
 						" is paused because not enough free PEs on ", vm.getClassName(), " #", vm.getId());
 			}*/
 
@@ -753,7 +750,7 @@ public class Datacenter extends SimEntity {
 		boolean status = false;
 		if (eventTime > 0.0) { // if this cloudlet is in the exec queue
 			status = true;
-			if (eventTime > CloudSim.clock()) {
+			if (eventTime > getSimulation().clock()) {
 				schedule(getId(), eventTime, CloudActionTags.VM_DATACENTER_EVENT);
 			}
 		}
@@ -820,45 +817,270 @@ public class Datacenter extends SimEntity {
 		// if some time passed since last processing
 		// R: for term is to allow loop at simulation start. Otherwise, one initial
 		// simulation step is skipped and schedulers are not properly initialized
-		if (CloudSim.clock() < 0.111 || CloudSim.clock() >= getLastProcessTime() + CloudSim.getMinTimeBetweenEvents()) {
+		if (getSimulation().clock() < 0.111 || getSimulation().clock() >= getLastProcessTime() + getSimulation().getMinTimeBetweenEvents()) {
 			double smallerTime = Double.MAX_VALUE;
-			for (HostEntity host : getVmAllocationPolicy().getHostList()) {
+			if (hostQueue != null) {
+				smallerTime = updateChangedHosts();
+			} else {
+				double clock = getSimulation().clock();
 				// inform VMs to update processing
-				double time = host.updateCloudletsProcessing(CloudSim.clock());
-				// what time do we expect that the next cloudlet will finish?
-				if (time < smallerTime) {
-					smallerTime = time;
+				double[] times = processHosts(getVmAllocationPolicy().getHostList(),
+						host -> host.updateCloudletsProcessing(clock));
+				for (double time : times) {
+					// what time do we expect that the next cloudlet will finish?
+					if (time < smallerTime) {
+						smallerTime = time;
+					}
 				}
 			}
 			// gurantees a minimal interval before scheduling the event
-			if (smallerTime < CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01) {
-				smallerTime = CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01;
+			if (smallerTime < getSimulation().clock() + getSimulation().getMinTimeBetweenEvents() + 0.01) {
+				smallerTime = getSimulation().clock() + getSimulation().getMinTimeBetweenEvents() + 0.01;
 			}
 			if (smallerTime != Double.MAX_VALUE) {
-				schedule(getId(), (smallerTime - CloudSim.clock()), CloudActionTags.VM_DATACENTER_EVENT);
+				schedule(getId(), (smallerTime - getSimulation().clock()), CloudActionTags.VM_DATACENTER_EVENT);
 			}
-			setLastProcessTime(CloudSim.clock());
+			setLastProcessTime(getSimulation().clock());
 		}
 	}
 
+	/**
+	 * Updates the cloudlets of the hosts that have changed, or whose earliest cloudlet completion
+	 * is due, in incremental processing mode.
+	 *
+	 * @return the earliest completion time of all the hosts, or {@link Double#MAX_VALUE} if none
+	 *         has a cloudlet
+	 */
+	private double updateChangedHosts() {
+		double clock = getSimulation().clock();
+		hostQueue.sync(getVmAllocationPolicy().getHostList(), getVmAllocationPolicy().getHostListVersion());
+		// the completions due before the next event the datacenter could process are due now
+		BitSet due = hostQueue.takeDue(clock + getSimulation().getMinTimeBetweenEvents());
+		List<HostEntity> hosts = new ArrayList<>(due.cardinality());
+		for (int i = due.nextSetBit(0); i >= 0; i = due.nextSetBit(i + 1)) {
+			hosts.add(hostQueue.get(i));
+		}
+		double[] times = processHosts(hosts, host -> host.updateCloudletsProcessing(clock));
+		int k = 0;
+		for (int i = due.nextSetBit(0); i >= 0; i = due.nextSetBit(i + 1)) {
+			double time = times[k];
+			// the schedulers estimate the completions with the capacity they had before some of
+			// their cloudlets finished, which a full update corrects on the next datacenter event
+			if (hasFinishedCloudlets(hosts.get(k))) {
+				time = clock;
+			}
+			hostQueue.updated(i, clock, time);
+			k++;
+		}
+		return hostQueue.earliest();
+	}
+
+	/**
+	 * Checks whether a guest of a host has finished cloudlets that have not been returned yet.
+	 *
+	 * @param host the host
+	 * @return true if some cloudlets of the host are finished
+	 */
+	private static boolean hasFinishedCloudlets(HostEntity host) {
+		for (GuestEntity vm : host.getGuestList()) {
+			if (vm.getCloudletScheduler().isFinishedCloudlets()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Verifies if some cloudlet inside this Datacenter already finished. 
-         * If yes, send it to the User/Broker
+         * If yes, send it to the User/Broker.
+         * In incremental processing mode, only the hosts updated or changed since the last
+         * verification are visited.
 	 * 
 	 * @pre $none
 	 * @post $none
 	 */
 	protected void checkCloudletCompletion() {
+		// the hosts are only tracked once they have been updated incrementally
+		if (hostQueue != null && !hostQueue.isEmpty()) {
+			BitSet touched = hostQueue.takeTouched();
+			for (int i = touched.nextSetBit(0); i >= 0; i = touched.nextSetBit(i + 1)) {
+				returnFinishedCloudlets(hostQueue.get(i));
+			}
+			return;
+		}
 		for (HostEntity host : getVmAllocationPolicy().getHostList()) {
-			for (GuestEntity vm : host.getGuestList()) {
-				while (vm.getCloudletScheduler().isFinishedCloudlets()) {
-					Cloudlet cl = vm.getCloudletScheduler().getNextFinishedCloudlet();
-					if (cl != null) {
-						sendNow(cl.getUserId(), CloudActionTags.CLOUDLET_RETURN, cl);
+			returnFinishedCloudlets(host);
+		}
+	}
+
+	/**
+	 * Sends the finished cloudlets of the guests of a host back to their users.
+	 *
+	 * @param host the host
+	 */
+	private void returnFinishedCloudlets(HostEntity host) {
+		for (GuestEntity vm : host.getGuestList()) {
+			while (vm.getCloudletScheduler().isFinishedCloudlets()) {
+				Cloudlet cl = vm.getCloudletScheduler().getNextFinishedCloudlet();
+				if (cl != null) {
+					sendNow(cl.getUserId(), CloudActionTags.CLOUDLET_RETURN, cl);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets whether the cloudlet processing only updates the hosts whose cloudlets may have changed:
+	 * the ones a cloudlet or guest has been submitted to, or removed from, since they were last
+	 * updated, and the ones whose earliest cloudlet completion is due. Otherwise, every host is
+	 * updated on every datacenter event, and searched for finished cloudlets.
+	 * <p>
+	 * As the progress of the cloudlets of a host is then computed over longer periods, the
+	 * completion times may differ slightly from the ones of a full update. The subclasses that
+	 * change the cloudlets or guests of a host outside the methods of this class have to report it
+	 * with {@link #hostChanged(HostEntity)}, and the hosts added to or removed from the host list of
+	 * the allocation policy in place with {@link VmAllocationPolicy#hostListChanged()}. The mode only applies to the datacenters that process
+	 * their cloudlets with {@link #updateCloudletProcessing()} of this class.
+	 *
+	 * @param incremental whether only the changed and due hosts are updated
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public void setIncrementalProcessing(boolean incremental) {
+		hostQueue = incremental ? new HostProcessingQueue() : null;
+	}
+
+	/**
+	 * Checks whether the cloudlet processing only updates the hosts whose cloudlets may have changed.
+	 *
+	 * @return true if the processing is incremental
+	 * @see #setIncrementalProcessing(boolean)
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public boolean isIncrementalProcessing() {
+		return hostQueue != null;
+	}
+
+	/**
+	 * Sets whether the cloudlet processing updates the hosts in parallel, on the common
+	 * {@link ForkJoinPool}. The hosts are independent within an update, hence the cloudlets, the
+	 * state histories and the next event are the same as with a sequential update, and the messages
+	 * the hosts log are printed in the order of the hosts. The subclasses that override
+	 * {@link HostEntity#updateCloudletsProcessing(double)} must then only change the host and its
+	 * guests, and must not send events: the update of the hosts that do, such as the network hosts,
+	 * fails with an {@link IllegalStateException}.
+	 *
+	 * @param parallel whether the hosts are updated in parallel
+	 * @see #processHosts(List, ToDoubleFunction)
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public void setParallelProcessing(boolean parallel) {
+		parallelProcessing = parallel;
+	}
+
+	/**
+	 * Checks whether the cloudlet processing updates the hosts in parallel.
+	 *
+	 * @return true if the hosts are updated in parallel
+	 * @see #setParallelProcessing(boolean)
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public boolean isParallelProcessing() {
+		return parallelProcessing;
+	}
+
+	/**
+	 * Does some work on each of the given hosts, such as updating the processing of their cloudlets.
+	 * In parallel processing mode, the hosts are split into ranges that are processed on the common
+	 * {@link ForkJoinPool}, and the messages logged by the work on each range are held back, and then
+	 * printed in the order of the ranges.
+	 *
+	 * @param hosts the hosts
+	 * @param work the work, which must only change the host it is given and its guests, and must not
+	 *            send events
+	 * @return the result of the work on each host, in the order of the hosts
+	 * @see #setParallelProcessing(boolean)
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected <T extends HostEntity> double[] processHosts(List<T> hosts, ToDoubleFunction<? super T> work) {
+		double[] results = new double[hosts.size()];
+		if (!parallelProcessing || hosts.size() < 2) {
+			for (int i = 0; i < results.length; i++) {
+				results[i] = work.applyAsDouble(hosts.get(i));
+			}
+			return results;
+		}
+
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int ranges = Math.min(hosts.size(), 4 * pool.getParallelism());
+		boolean logged = !Log.isDisabled();
+		String[] messages = new String[ranges];
+		List<Callable<Void>> tasks = new ArrayList<>(ranges);
+		for (int r = 0; r < ranges; r++) {
+			int range = r;
+			int from = (int) ((long) hosts.size() * r / ranges);
+			int to = (int) ((long) hosts.size() * (r + 1) / ranges);
+			tasks.add(getSimulation().bind(() -> {
+				if (logged) {
+					Log.hold();
+				}
+				try {
+					for (int i = from; i < to; i++) {
+						results[i] = work.applyAsDouble(hosts.get(i));
 					}
+				} finally {
+					if (logged) {
+						messages[range] = Log.release();
+					}
+				}
+				return null;
+			}));
+		}
+
+		List<Future<Void>> done = pool.invokeAll(tasks);
+		try {
+			for (int r = 0; r < ranges; r++) {
+				done.get(r).get();
+				if (logged) {
+					Log.print(messages[r]);
 				}
 			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while processing the hosts.", e);
+		}
+		return results;
+	}
+
+	/**
+	 * Reports that the cloudlets or the guests of a host are about to change, so that the host is
+	 * updated by the next cloudlet processing in incremental mode. The progress of its cloudlets is
+	 * first brought to the last processing time, as a full update would have done, so that it is
+	 * computed with the shares of the resources they had until then.
+	 *
+	 * @param host the host, or <tt>null</tt>
+	 * @see #setIncrementalProcessing(boolean)
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void hostChanged(HostEntity host) {
+		if (hostQueue == null || host == null) {
+			return;
+		}
+		int i = hostQueue.indexOf(host);
+		if (i < 0) {
+			return;
+		}
+		double time = getLastProcessTime();
+		if (hostQueue.getUpdateTime(i) < time) {
+			hostQueue.updated(i, time, host.updateCloudletsProcessing(time));
 		}
+		hostQueue.changed(i);
 	}
 
 	/**
@@ -967,9 +1189,9 @@ public class Datacenter extends SimEntity {
 		// this resource should register to regional CIS.
 		// However, if not specified, then register to system CIS (the
 		// default CloudInformationService) entity.
-		int gisID = CloudSim.getEntityId(regionalCisName);
+		int gisID = getSimulation().getEntityId(regionalCisName);
 		if (gisID == -1) {
-			gisID = CloudSim.getCloudInfoServiceEntityId();
+			gisID = getSimulation().getCloudInfoServiceEntityId();
 		}
 
 		// send the registration to CIS
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -29,6 +30,9 @@ import org.cloudbus.cloudsim.lists.VmList;
  */
 public class DatacenterBroker extends SimEntity {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The list of VMs submitted to be managed by the broker. */
 	protected List<? extends GuestEntity> vmList;
 
@@ -207,10 +211,10 @@ public class DatacenterBroker extends SimEntity {
 	 * @post $none
 	 */
 	protected void processResourceCharacteristicsRequest(SimEvent ev) {
-		setDatacenterIdsList(CloudSim.getCloudResourceList());
+		setDatacenterIdsList(getSimulation().getCloudResourceList());
 		setDatacenterCharacteristicsList(new HashMap<>());
 
-		Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Cloud Resource List received with ",
+		Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Cloud Resource List received with ",
 				getDatacenterIdsList().size(), " datacenter(s)");
 
 		for (Integer datacenterId : getDatacenterIdsList()) {
@@ -237,12 +241,14 @@ public class DatacenterBroker extends SimEntity {
 		if (result == CloudSimTags.TRUE) {
 			getVmsToDatacentersMap().put(vmId, datacenterId);
 			getGuestsCreatedList().add(guest);
-			Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": ", guest.getClassName(), " #", vmId,
-					" has been created in Datacenter #", datacenterId, ", ", guest.getHost().getClassName(), " #",
-					guest.getHost().getId());
+			// the host is unknown if the datacenter is simulated by another rank, see RemoteEntity
+			HostEntity host = guest.getHost();
+			Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": ", guest.getClassName(), " #", vmId,
+					" has been created in Datacenter #", datacenterId,
+					host == null ? "" : ", " + host.getClassName() + " #" + host.getId());
 			setAllocatedVMs(allocatedVMs + 1);
 		} else {
-			//Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Creation of ", guest.getClassName(), " #", vmId,
+			//Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Creation of ", guest.getClassName(), " #", vmId,
 					//" failed in Datacenter #", datacenterId);
 		}
 
@@ -270,7 +276,7 @@ public class DatacenterBroker extends SimEntity {
 				if (!getGuestsCreatedList().isEmpty()) { // if some vm were created
 					submitCloudlets();
 				} else { // no vms created. abort
-					Log.printlnConcat(CloudSim.clock(), ": ", getName(),
+					Log.printlnConcat(getSimulation().clock(), ": ", getName(),
 							": none of the required VMs could be created. Aborting");
 					finishExecution();
 				}
@@ -290,12 +296,12 @@ public class DatacenterBroker extends SimEntity {
 	protected void processCloudletReturn(SimEvent ev) {
 		Cloudlet cloudlet = (Cloudlet) ev.getData();
 		getCloudletReceivedList().add(cloudlet);
-		Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": ", cloudlet.getClass().getSimpleName(), " #", cloudlet.getCloudletId(),
+		Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": ", cloudlet.getClass().getSimpleName(), " #", cloudlet.getCloudletId(),
 				" return received");
-		Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": The number of finished Cloudlets is:", getCloudletReceivedList().size());
+		Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": The number of finished Cloudlets is:", getCloudletReceivedList().size());
 		cloudletsSubmitted--;
 		if (getCloudletList().isEmpty() && cloudletsSubmitted == 0) { // all cloudlets executed
-			Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": All Cloudlets executed. Finishing...");
+			Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": All Cloudlets executed. Finishing...");
 			//clearDatacenters();
 			finishExecution();
 		} else { // some cloudlets haven't finished yet
@@ -341,10 +347,10 @@ public class DatacenterBroker extends SimEntity {
 	protected void createVmsInDatacenter(int datacenterId) {
 		// send as much vms as possible for this datacenter before trying the next one
 		int requestedVms = 0;
-		String datacenterName = CloudSim.getEntityName(datacenterId);
+		String datacenterName = getSimulation().getEntityName(datacenterId);
 		for (GuestEntity vm : getGuestList()) {
 			if (!getVmsToDatacentersMap().containsKey(vm.getId())) {
-//				Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Trying to Create ", vm.getClassName(),
+//				Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Trying to Create ", vm.getClassName(),
 //						" #", vm.getId(), " in ", datacenterName);
 				sendNow(datacenterId, CloudActionTags.VM_CREATE_ACK, vm);
 				requestedVms++;
@@ -378,10 +384,10 @@ public class DatacenterBroker extends SimEntity {
 
 					if(!Log.isDisabled()) {
 						if (vm != null) {
-							Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Postponing execution of cloudlet ",
+							Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Postponing execution of cloudlet ",
 									cloudlet.getCloudletId(), ": bount ", vm.getClassName(), " #", vm.getId(), " not available");
 						} else {
-							Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Postponing execution of cloudlet ",
+							Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Postponing execution of cloudlet ",
 									cloudlet.getCloudletId(), ": bount guest entity of id ", cloudlet.getGuestId(), " doesn't exist");
 						}
 					}
@@ -390,7 +396,7 @@ public class DatacenterBroker extends SimEntity {
 			}
 
 			if (!Log.isDisabled()) {
-				Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Sending ", cloudlet.getClass().getSimpleName(),
+				Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Sending ", cloudlet.getClass().getSimpleName(),
 						" #", cloudlet.getCloudletId(), " to " + vm.getClassName() + " #", vm.getId());
 			}
 			
@@ -414,7 +420,7 @@ public class DatacenterBroker extends SimEntity {
 	 */
 	public void clearDatacenters() {
 		for (GuestEntity vm : getGuestsCreatedList()) {
-			//Log.printlnConcat(CloudSim.clock(), ": ", getName(), ": Destroying ", vm.getClassName(), " #", vm.getId());
+			//Log.printlnConcat(getSimulation().clock(), ": ", getName(), ": Destroying ", vm.getClassName(), " #", vm.getId());
 			sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudActionTags.VM_DESTROY, vm);
 		}
 
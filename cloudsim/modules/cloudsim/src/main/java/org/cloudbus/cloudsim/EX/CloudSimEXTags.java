@@ -19,5 +19,20 @@ public enum CloudSimEXTags implements CloudSimTags {
     BROKER_RECORD_UTIL_NOW,
     BROKER_AUTOSCALE_NOW,
 
-    DATACENTER_BOOT_VM_TAG
+    DATACENTER_BOOT_VM_TAG;
+
+    /** The dense index of the tag, see {@link #index()}. */
+    private int index;
+
+    static {
+        int first = CloudSimTags.firstIndex(CloudSimEXTags.class);
+        for (CloudSimEXTags tag : values()) {
+            tag.index = first + tag.ordinal();
+        }
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
 }
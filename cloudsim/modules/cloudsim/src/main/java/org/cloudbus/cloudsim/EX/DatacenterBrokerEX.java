@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.EX.vm.VmStatus;
 import org.cloudbus.cloudsim.EX.vm.VmEX;
 import org.cloudbus.cloudsim.lists.VmList;
 
+import java.io.Serial;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.logging.Level;
@@ -25,6 +26,10 @@ import java.util.logging.Level;
  * @author Remo Andreoli
  */
 public class DatacenterBrokerEX extends DatacenterBroker {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** Number of VM destructions requested. */
     private int vmDestructsRequested = 0;
 
@@ -5,6 +5,7 @@ import org.cloudbus.cloudsim.core.*;
 import org.cloudbus.cloudsim.EX.delay.ConstantVmBootDelay;
 import org.cloudbus.cloudsim.EX.delay.IVmBootDelayDistribution;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,6 +17,10 @@ import java.util.Objects;
  * 
  */
 public class DatacenterEX extends Datacenter {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private IVmBootDelayDistribution delayDistribution = new ConstantVmBootDelay(0);
 
     public DatacenterEX(String name, DatacenterCharacteristics characteristics, VmAllocationPolicy vmAllocationPolicy,
@@ -26,7 +31,7 @@ public class DatacenterEX extends Datacenter {
     public DatacenterEX(String name, DatacenterCharacteristics characteristics, VmAllocationPolicy vmAllocationPolicy,
                         List<Storage> storageList, double schedulingInterval, IVmBootDelayDistribution delayDistribution)
             throws Exception {
-        super(name, characteristics, vmAllocationPolicy, storageList, schedulingInterval);
+        this(name, characteristics, vmAllocationPolicy, storageList, schedulingInterval);
         this.delayDistribution = delayDistribution;
     }
 
@@ -34,14 +39,20 @@ public class DatacenterEX extends Datacenter {
     public void setDelayDistribution(IVmBootDelayDistribution delayDistribution) { this.delayDistribution = delayDistribution; }
 
     @Override
-    protected void processOtherEvent(final SimEvent ev) {
-        if (ev.getTag() == CloudSimEXTags.DATACENTER_BOOT_VM_TAG) {
-            GuestEntity vm = (GuestEntity) ev.getData();
-            if (vm.isBeingInstantiated()) {
-                vm.setBeingInstantiated(false);
-            }
-        } else {
-            super.processOtherEvent(ev);
+    protected void registerHandlers() {
+        super.registerHandlers();
+        registerHandler(CloudSimEXTags.DATACENTER_BOOT_VM_TAG, this::processVmBoot);
+    }
+
+    /**
+     * Completes the boot of a VM, once its boot delay has elapsed.
+     *
+     * @param ev the {@link CloudSimEXTags#DATACENTER_BOOT_VM_TAG} event, carrying the VM
+     */
+    protected void processVmBoot(final SimEvent ev) {
+        GuestEntity vm = (GuestEntity) ev.getData();
+        if (vm.isBeingInstantiated()) {
+            vm.setBeingInstantiated(false);
         }
     }
 
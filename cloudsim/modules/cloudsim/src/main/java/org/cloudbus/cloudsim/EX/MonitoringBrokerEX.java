@@ -9,6 +9,7 @@ import org.cloudbus.cloudsim.EX.disk.HddCloudlet;
 import org.cloudbus.cloudsim.EX.disk.HddVm;
 import org.cloudbus.cloudsim.EX.vm.MonitoredVmEX;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -29,6 +30,10 @@ import java.util.Map;
  * 
  */
 public class MonitoringBrokerEX extends DatacenterBrokerEX {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** The time of the first measurement. */
     private final double offset = Math.min(0.01, CloudSim.getMinTimeBetweenEvents());
     /** The period between subsequent VM utilisation measurements. */
@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.VmScheduler;
 import org.cloudbus.cloudsim.core.GuestEntity;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -26,6 +27,9 @@ import java.util.Map;
  */
 public abstract class VmSchedulerWithIndependentPes<P extends Pe> extends VmScheduler {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final LinkedHashMap<P, VmScheduler> peIdsToSchedulers = new LinkedHashMap<>();
 
     public VmSchedulerWithIndependentPes(final List<P> pelist) {
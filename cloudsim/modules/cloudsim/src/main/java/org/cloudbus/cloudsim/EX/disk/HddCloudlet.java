@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.EX.disk;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.Consts;
 import org.cloudbus.cloudsim.UtilizationModelFull;
@@ -16,6 +18,9 @@ import org.cloudbus.cloudsim.EX.util.TextUtil;
  */
 public class HddCloudlet extends Cloudlet {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private static final UtilizationModelFull UTIL_MODEL_FULL = new UtilizationModelFull();
 
     /** The length of Cloudlet finished so far. */
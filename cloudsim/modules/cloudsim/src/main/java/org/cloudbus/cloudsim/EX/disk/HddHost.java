@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
 
+import java.io.Serial;
 import java.util.List;
 
 /**
@@ -21,6 +22,9 @@ import java.util.List;
  */
 public class HddHost extends Host {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** The list of harddisks. */
     private final List<? extends HddPe> hddList;
     /** A scheduler for the harddisk operations. */
@@ -7,6 +7,7 @@ import org.cloudbus.cloudsim.EX.vm.MonitoredVmEX;
 import org.cloudbus.cloudsim.EX.vm.VMMetadata;
 import org.cloudbus.cloudsim.EX.vm.VmStatus;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
@@ -22,6 +23,9 @@ import java.util.List;
  */
 public class HddVm extends MonitoredVmEX {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** The IO MIPS. */
     private double ioMips;
     private final LinkedHashSet<Integer> hdds = new LinkedHashSet<>();
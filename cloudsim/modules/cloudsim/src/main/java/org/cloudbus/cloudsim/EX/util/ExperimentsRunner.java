@@ -1,6 +1,8 @@
 package org.cloudbus.cloudsim.EX.util;
 
 import org.apache.commons.lang3.SystemUtils;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
 
 import java.io.File;
 import java.io.IOException;
@@ -13,11 +15,18 @@ import java.util.concurrent.Future;
 
 /**
  * 
- * A utility that runs a set of experiments in different JVM processes. Since
- * CloudSim makes heavy use of static data, experiments can not be run in
- * multiple threads within the same JVM. With this utility class one can spawn
- * multiple independent JVM process, redirect their standard outputs to a single
- * place and synchronize with their ends.
+ * A utility that runs a set of experiments in different JVM processes. With
+ * this utility class one can spawn multiple independent JVM process, redirect
+ * their standard outputs to a single place and synchronize with their ends.
+ * 
+ * <br>
+ * <br>
+ * Experiments that only rely on the simulation core can also be run in the
+ * threads of the current JVM with
+ * {@link #runExperimentsInProcess(List, int)}, since each thread gets its own
+ * {@link SimulationContext}. This saves the JVM startup and warm-up of every
+ * experiment, but global facilities such as the {@code Log} and the
+ * {@code NetworkTopology} are still shared by all of them.
  * 
  * <br>
  * <br>
@@ -99,6 +108,58 @@ public class ExperimentsRunner {
         System.err.println("All experiments are finished");
     }
 
+    /**
+     * Runs a set of experiments in the threads of the current JVM. Each
+     * experiment is executed on a thread bound to a fresh
+     * {@link SimulationContext}, hence it must initialise and run its
+     * simulation through {@link CloudSim} from within
+     * {@link Runnable#run()}.
+     * 
+     * @param experiments
+     *            - the experiments to run.
+     * @param numFreeCPUs
+     *            - number of processors to leave unused. See
+     *            {@link #runExperiments(List, int)}.
+     * 
+     * @throws Exception
+     *             - if something goes wrong.
+     */
+    public static synchronized void runExperimentsInProcess(final List<? extends Runnable> experiments,
+            final int numFreeCPUs) throws Exception {
+
+        if (!experiments.isEmpty()) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            int coresToUse = cores <= numFreeCPUs ? 1 : cores - numFreeCPUs;
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(coresToUse, experiments.size()));
+            Collection<Future<?>> futures = new ArrayList<>();
+
+            for (final Runnable experiment : experiments) {
+                Runnable runnable = () -> {
+                    CloudSim.setSimulationContext(new SimulationContext());
+                    try {
+                        experiment.run();
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                        System.err.println("!!! Experiment " + experiment + " has failed!!!");
+                    } finally {
+                        CloudSim.clearSimulationContext();
+                    }
+                };
+                futures.add(pool.submit(runnable));
+            }
+
+            // Wait until all are finished
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            pool.shutdown();
+        }
+        System.err.println();
+        System.err.println("All experiments are finished");
+    }
+
     private static int[] getHeapArgs() {
         RuntimeMXBean runtimeMxBean = ManagementFactory.getRuntimeMXBean();
         List<String> arguments = runtimeMxBean.getInputArguments();
@@ -4,6 +4,7 @@ import org.apache.commons.lang3.mutable.MutableDouble;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.cloudbus.cloudsim.CloudletScheduler;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +22,9 @@ import java.util.List;
  */
 public class MonitoredVmEX extends VmEX {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final double summaryPeriodLength;
 
     private final MonitoredData data = new MonitoredData();
@@ -5,6 +5,7 @@ import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.EX.util.Id;
 
+import java.io.Serial;
 import java.util.EnumSet;
 import java.util.Objects;
 
@@ -18,6 +19,9 @@ import java.util.Objects;
  */
 public class VmEX extends Vm {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private VmStatus status;
     private final VMMetadata metadata;
 
@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.*;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
@@ -29,6 +30,9 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  */
 public class Host implements HostEntity {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The id of the host. */
 	private int id;
 
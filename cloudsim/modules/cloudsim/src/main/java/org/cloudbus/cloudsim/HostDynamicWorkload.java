@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,6 +29,9 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  */
 public class HostDynamicWorkload extends Host {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The utilization mips. */
 	private double utilizationMips;
 
@@ -71,7 +75,7 @@ public class HostDynamicWorkload extends Host {
 		}
 
 		for (GuestEntity vm : getGuestList()) {
-			getGuestScheduler().allocatePesForGuest(vm, vm.getCurrentRequestedMips());
+			getGuestScheduler().allocatePesForGuest(vm, vm.getCurrentRequestedMipsBuffer());
 		}
 
 		for (GuestEntity vm : getGuestList()) {
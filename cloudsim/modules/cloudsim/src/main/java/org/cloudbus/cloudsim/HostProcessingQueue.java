@@ -0,0 +1,222 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.cloudbus.cloudsim.core.HostEntity;
+
+/**
+ * The hosts of a datacenter whose cloudlets have to be updated, for the incremental processing
+ * of {@link Datacenter#setIncrementalProcessing(boolean)}: the hosts that have changed since they
+ * were last updated, and the ones whose earliest cloudlet completion is due, which are found
+ * through a priority queue of the completion times.
+ * <p>
+ * The hosts are known by their position in the host list of the allocation policy, so that they
+ * are updated in the same order as by a full update. The queue keeps the completion times that
+ * have been superseded until they are polled, and is rebuilt when they outnumber the hosts. A host
+ * queued twice at the same time is updated once.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class HostProcessingQueue implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** A completion time of a host. */
+	private record Completion(double time, int host) implements Comparable<Completion>, Serializable {
+		@Override
+		public int compareTo(Completion other) {
+			return time != other.time ? Double.compare(time, other.time) : Integer.compare(host, other.host);
+		}
+	}
+
+	/** The hosts, as last seen in the host list. */
+	private HostEntity[] hosts = new HostEntity[0];
+
+	/** The host list the hosts were last taken from, or <tt>null</tt> if they have not been yet. */
+	private List<? extends HostEntity> hostList;
+
+	/** The version of the host list the hosts were last taken from. */
+	private int hostListVersion;
+
+	/** The position of each host. */
+	private final Map<HostEntity, Integer> index = new IdentityHashMap<>();
+
+	/** The earliest completion time of each host, or {@link Double#MAX_VALUE} if it has no cloudlet. */
+	private double[] next = new double[0];
+
+	/** The time each host was last updated at. */
+	private double[] updateTime = new double[0];
+
+	/** The completion times, some of which may have been superseded. */
+	private final PriorityQueue<Completion> completions = new PriorityQueue<>();
+
+	/** The hosts that have changed since they were last updated. */
+	private final BitSet dirty = new BitSet();
+
+	/** The hosts that have been updated or changed since their finished cloudlets were last collected. */
+	private final BitSet touched = new BitSet();
+
+	/**
+	 * Follows the changes of the host list, in which case all the hosts are considered changed.
+	 * The list is only read again when it has been replaced, or its version has changed.
+	 *
+	 * @param hostList the host list
+	 * @param version the version of the host list
+	 * @see VmAllocationPolicy#getHostListVersion()
+	 */
+	void sync(List<? extends HostEntity> hostList, int version) {
+		if (hostList == this.hostList && version == hostListVersion) {
+			return;
+		}
+		this.hostList = hostList;
+		hostListVersion = version;
+		hosts = hostList.toArray(new HostEntity[0]);
+		index.clear();
+		for (int i = 0; i < hosts.length; i++) {
+			index.put(hosts[i], i);
+		}
+		next = new double[hosts.length];
+		Arrays.fill(next, Double.MAX_VALUE);
+		updateTime = new double[hosts.length];
+		completions.clear();
+		dirty.set(0, hosts.length);
+		touched.set(0, hosts.length);
+	}
+
+	/**
+	 * Gets the position of a host.
+	 *
+	 * @param host the host
+	 * @return its position, or -1 if it is not tracked
+	 */
+	int indexOf(HostEntity host) {
+		Integer i = index.get(host);
+		return i == null ? -1 : i;
+	}
+
+	/**
+	 * Notes that a host has changed.
+	 *
+	 * @param i the position of the host
+	 */
+	void changed(int i) {
+		dirty.set(i);
+		touched.set(i);
+	}
+
+	/**
+	 * Takes the hosts to update: the changed ones and the ones whose earliest completion is due.
+	 *
+	 * @param time the time up to which the completions are due
+	 * @return the positions of the hosts, which have to be passed to {@link #updated(int, double, double)}
+	 */
+	BitSet takeDue(double time) {
+		BitSet due = (BitSet) dirty.clone();
+		dirty.clear();
+		while (!completions.isEmpty() && completions.peek().time() <= time) {
+			Completion c = completions.poll();
+			if (next[c.host()] == c.time()) {
+				due.set(c.host());
+			}
+		}
+		return due;
+	}
+
+	/**
+	 * Records the earliest completion time of a host that has just been updated.
+	 *
+	 * @param i the position of the host
+	 * @param now the time the host has been updated at
+	 * @param time its earliest completion time, or {@link Double#MAX_VALUE} if it has no cloudlet
+	 */
+	void updated(int i, double now, double time) {
+		touched.set(i);
+		updateTime[i] = now;
+		next[i] = time;
+		if (time != Double.MAX_VALUE) {
+			completions.add(new Completion(time, i));
+		}
+		if (completions.size() > 2 * hosts.length + 16) {
+			completions.clear();
+			for (int h = 0; h < hosts.length; h++) {
+				if (next[h] != Double.MAX_VALUE) {
+					completions.add(new Completion(next[h], h));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the time a host was last updated at.
+	 *
+	 * @param i the position of the host
+	 * @return the time
+	 */
+	double getUpdateTime(int i) {
+		return updateTime[i];
+	}
+
+	/**
+	 * Gets the earliest completion time of all the hosts.
+	 *
+	 * @return the time, or {@link Double#MAX_VALUE} if no host has a cloudlet
+	 */
+	double earliest() {
+		while (!completions.isEmpty()) {
+			Completion c = completions.peek();
+			if (next[c.host()] == c.time()) {
+				return c.time();
+			}
+			completions.poll();
+		}
+		return Double.MAX_VALUE;
+	}
+
+	/**
+	 * Takes the hosts that have been updated or changed since this method was last called,
+	 * which are the only ones that may have finished cloudlets.
+	 *
+	 * @return the positions of the hosts
+	 */
+	BitSet takeTouched() {
+		BitSet taken = (BitSet) touched.clone();
+		touched.clear();
+		return taken;
+	}
+
+	/**
+	 * Checks whether no host is tracked, e.g. because the queue has not been synchronised with
+	 * the host list yet.
+	 *
+	 * @return true if no host is tracked
+	 */
+	boolean isEmpty() {
+		return hosts.length == 0;
+	}
+
+	/**
+	 * Gets a host.
+	 *
+	 * @param i the position of the host
+	 * @return the host
+	 */
+	HostEntity get(int i) {
+		return hosts[i];
+	}
+}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -31,8 +32,14 @@ public class Log {
          the call for any print method has no effect. */
 	private static boolean disabled;
 	
-	/** Buffer to avoid creating new string builder upon every print. */
-	private static final StringBuilder buffer = new StringBuilder();
+	/**
+	 * Buffer to avoid creating new string builder upon every print. There is one per thread,
+	 * as simulations and partitions of simulations may run on several threads.
+	 */
+	private static final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(StringBuilder::new);
+
+	/** The messages each thread holds back, see {@link #hold()}. */
+	private static final ThreadLocal<ByteArrayOutputStream> held = new ThreadLocal<>();
 
 	/**
 	 * Prints a message.
@@ -41,8 +48,9 @@ public class Log {
 	 */
 	public static void print(String message) {
 		if (!isDisabled()) {
+			OutputStream out = held.get();
 			try {
-				getOutput().write(message.getBytes());
+				(out != null ? out : getOutput()).write(message.getBytes());
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -94,6 +102,7 @@ public class Log {
 	 */
 	public static void printConcat(Object... messages) {
 		if (!isDisabled()) {
+			StringBuilder buffer = buffers.get();
 			buffer.setLength(0); // Clear the buffer		    
             for (Object message : messages) {
                 buffer.append(message);
@@ -109,6 +118,7 @@ public class Log {
 	 */
 	public static void printlnConcat(Object... messages) {
 		if (!isDisabled()) {
+			StringBuilder buffer = buffers.get();
 			buffer.setLength(0); // Clear the buffer		    
             for (Object message : messages) {
                 buffer.append(message);
@@ -160,6 +170,29 @@ public class Log {
 		}
 	}
 
+	/**
+	 * Holds back the messages the calling thread prints from now on, until {@link #release()}.
+	 * The work done in parallel on behalf of a single entity holds its messages, which are then
+	 * printed in the order a sequential run would have printed them.
+	 *
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static void hold() {
+		held.set(new ByteArrayOutputStream());
+	}
+
+	/**
+	 * Stops holding back the messages of the calling thread.
+	 *
+	 * @return the messages held since {@link #hold()}, to be printed by the caller
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static String release() {
+		ByteArrayOutputStream out = held.get();
+		held.remove();
+		return out == null ? "" : out.toString();
+	}
+
 	/**
 	 * Sets the output stream.
 	 * 
@@ -0,0 +1,349 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * A MIPS share: the MIPS of each virtual PE of a guest, stored in a <tt>double</tt> array.
+ * <p>
+ * It is a {@link List} of doubles, so that it can be passed wherever the schedulers take a list
+ * of MIPS, but the {@link VmScheduler guest schedulers}, {@link CloudletScheduler cloudlet schedulers}
+ * and PE provisioners read and write it through its primitive methods, such as {@link #getMips(int)}
+ * and {@link #addMips(double)}, which neither box the values nor allocate, unless the array has
+ * to grow. A share can also be reused as a buffer through {@link #setMips(List)}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class MipsShare extends AbstractList<Double> implements RandomAccess, Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private static final double[] EMPTY = {};
+
+	/** The MIPS of the virtual PEs, followed by unused slots. */
+	private double[] mips;
+
+	/** The number of virtual PEs. */
+	private int size;
+
+	/**
+	 * Creates an empty MIPS share.
+	 */
+	public MipsShare() {
+		mips = EMPTY;
+	}
+
+	/**
+	 * Creates an empty MIPS share, with room for some virtual PEs.
+	 *
+	 * @param capacity the number of virtual PEs to make room for
+	 */
+	public MipsShare(int capacity) {
+		mips = capacity == 0 ? EMPTY : new double[capacity];
+	}
+
+	/**
+	 * Creates a MIPS share whose virtual PEs all have the same MIPS.
+	 *
+	 * @param mips the MIPS of each virtual PE
+	 * @param pes the number of virtual PEs
+	 */
+	public MipsShare(double mips, int pes) {
+		this(pes);
+		Arrays.fill(this.mips, 0, pes, mips);
+		size = pes;
+	}
+
+	/**
+	 * Creates a copy of a MIPS share.
+	 *
+	 * @param share the MIPS of each virtual PE
+	 */
+	public MipsShare(List<Double> share) {
+		this(share.size());
+		size = share.size();
+		if (share instanceof MipsShare other) {
+			System.arraycopy(other.mips, 0, mips, 0, size);
+		} else {
+			for (int i = 0; i < size; i++) {
+				mips[i] = share.get(i);
+			}
+		}
+	}
+
+	/**
+	 * Gets a list of MIPS as a MIPS share.
+	 *
+	 * @param share the MIPS of each virtual PE
+	 * @return the share itself if it is a MIPS share, or a copy of it otherwise
+	 */
+	public static MipsShare of(List<Double> share) {
+		return share instanceof MipsShare mipsShare ? mipsShare : new MipsShare(share);
+	}
+
+	/**
+	 * Gets the total MIPS of a list of MIPS, without boxing them if it is a MIPS share.
+	 *
+	 * @param share the MIPS of each virtual PE
+	 * @return the total MIPS
+	 */
+	public static double totalOf(List<Double> share) {
+		if (share instanceof MipsShare mipsShare) {
+			return mipsShare.getTotalMips();
+		}
+		double total = 0;
+		for (double mips : share) {
+			total += mips;
+		}
+		return total;
+	}
+
+	/**
+	 * Gets the MIPS of a virtual PE.
+	 *
+	 * @param index the index of the virtual PE
+	 * @return its MIPS
+	 */
+	public double getMips(int index) {
+		checkIndex(index);
+		return mips[index];
+	}
+
+	/**
+	 * Sets the MIPS of a virtual PE.
+	 *
+	 * @param index the index of the virtual PE
+	 * @param mips its MIPS
+	 * @return the previous MIPS of the virtual PE
+	 */
+	public double setMips(int index, double mips) {
+		checkIndex(index);
+		double previous = this.mips[index];
+		this.mips[index] = mips;
+		return previous;
+	}
+
+	/**
+	 * Adds a virtual PE at the end of the share.
+	 *
+	 * @param mips the MIPS of the virtual PE
+	 */
+	public void addMips(double mips) {
+		if (size == this.mips.length) {
+			grow(size + 1);
+		}
+		this.mips[size++] = mips;
+		modCount++;
+	}
+
+	/**
+	 * Replaces the virtual PEs of the share with PEs of the same MIPS, reusing its array.
+	 *
+	 * @param mips the MIPS of each virtual PE
+	 * @param pes  the number of virtual PEs
+	 */
+	public void fillMips(double mips, int pes) {
+		if (pes > this.mips.length) {
+			grow(pes);
+		}
+		Arrays.fill(this.mips, 0, pes, mips);
+		size = pes;
+		modCount++;
+	}
+
+	/**
+	 * Replaces the virtual PEs of the share with the ones of another share, reusing its array.
+	 *
+	 * @param share the MIPS of each virtual PE
+	 */
+	public void setMips(List<Double> share) {
+		if (share == this) {
+			return;
+		}
+		size = 0;
+		addAllMips(share);
+	}
+
+	/**
+	 * Adds the virtual PEs of another share at the end of this one.
+	 *
+	 * @param share the MIPS of each virtual PE
+	 */
+	public void addAllMips(List<Double> share) {
+		int n = share.size();
+		if (size + n > mips.length) {
+			grow(size + n);
+		}
+		if (share instanceof MipsShare other) {
+			System.arraycopy(other.mips, 0, mips, size, n);
+		} else {
+			for (int i = 0; i < n; i++) {
+				mips[size + i] = share.get(i);
+			}
+		}
+		size += n;
+		modCount++;
+	}
+
+	/**
+	 * Removes the virtual PEs that have no MIPS.
+	 */
+	public void removeNonPositive() {
+		int n = 0;
+		for (int i = 0; i < size; i++) {
+			if (mips[i] > 0) {
+				mips[n++] = mips[i];
+			}
+		}
+		if (n != size) {
+			size = n;
+			modCount++;
+		}
+	}
+
+	/**
+	 * Gets the total MIPS of the virtual PEs.
+	 *
+	 * @return the total MIPS
+	 */
+	public double getTotalMips() {
+		double total = 0;
+		for (int i = 0; i < size; i++) {
+			total += mips[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Gets the MIPS of the virtual PEs.
+	 *
+	 * @return a new array of the MIPS
+	 */
+	public double[] toDoubleArray() {
+		return Arrays.copyOf(mips, size);
+	}
+
+	@Override
+	public Double get(int index) {
+		return getMips(index);
+	}
+
+	@Override
+	public Double set(int index, Double mips) {
+		return setMips(index, mips);
+	}
+
+	@Override
+	public void add(int index, Double mips) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		if (size == this.mips.length) {
+			grow(size + 1);
+		}
+		System.arraycopy(this.mips, index, this.mips, index + 1, size - index);
+		this.mips[index] = mips;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(Collection<? extends Double> share) {
+		if (share instanceof List) {
+			addAllMips((List<Double>) share);
+			return !share.isEmpty();
+		}
+		return super.addAll(share);
+	}
+
+	@Override
+	public Double remove(int index) {
+		double previous = getMips(index);
+		System.arraycopy(mips, index + 1, mips, index, size - index - 1);
+		size--;
+		modCount++;
+		return previous;
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super Double> filter) {
+		int n = 0;
+		for (int i = 0; i < size; i++) {
+			if (!filter.test(mips[i])) {
+				mips[n++] = mips[i];
+			}
+		}
+		boolean removed = n != size;
+		if (removed) {
+			size = n;
+			modCount++;
+		}
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		if (!(o instanceof MipsShare other)) {
+			return super.equals(o);
+		}
+		if (other.size != size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (Double.doubleToLongBits(mips[i]) != Double.doubleToLongBits(other.mips[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (int i = 0; i < size; i++) {
+			hashCode = 31 * hashCode + Double.hashCode(mips[i]);
+		}
+		return hashCode;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void grow(int capacity) {
+		mips = Arrays.copyOf(mips, Math.max(capacity, 2 * mips.length));
+		modCount++;
+	}
+}
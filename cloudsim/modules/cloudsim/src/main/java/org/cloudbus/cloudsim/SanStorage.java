@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.Iterator;
 import java.util.List;
 
@@ -23,6 +24,9 @@ import java.util.List;
  */
 public class SanStorage extends HarddriveStorage {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The bandwidth of SAN network. */
 	double bandwidth;
 
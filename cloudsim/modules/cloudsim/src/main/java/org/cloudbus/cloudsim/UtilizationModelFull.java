@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+
 /**
  * The UtilizationModelFull class is a simple model, according to which a Cloudlet always utilizes
  * a given allocated resource at 100%, all the time.
@@ -17,6 +19,9 @@ package org.cloudbus.cloudsim;
  */
 public class UtilizationModelFull implements UtilizationModel {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Gets the utilization percentage of a given resource
          * in relation to the total capacity of that resource allocated
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+
 /**
  * The UtilizationModelNull class is a simple model, according to which a Cloudlet always require
  * zero capacity for a given resource all the time.
@@ -17,6 +19,9 @@ package org.cloudbus.cloudsim;
  */
 public class UtilizationModelNull implements UtilizationModel {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public double getUtilization(double time) {
 		return 0;
@@ -12,6 +12,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.Serial;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -29,6 +30,9 @@ import java.util.Random;
  */
 public class UtilizationModelStochastic implements UtilizationModel {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The random generator. */
 	private Random randomGenerator;
 
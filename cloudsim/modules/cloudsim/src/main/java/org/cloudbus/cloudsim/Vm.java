@@ -13,7 +13,9 @@ import org.cloudbus.cloudsim.core.VirtualEntity;
 import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
+import org.cloudbus.cloudsim.util.MethodOverride;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -30,6 +32,9 @@ import java.util.List;
  */
 public class Vm implements VirtualEntity {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The VM unique id. */
 	private final int id;
 
@@ -120,6 +125,12 @@ public class Vm implements VirtualEntity {
 	 */
 	private final List<VmStateHistoryEntry> stateHistory = new LinkedList<>();
 
+	/** Whether the subclasses override {@link #getCurrentRequestedMips()}. */
+	private static final MethodOverride requestedMipsOverride = new MethodOverride(Vm.class, "getCurrentRequestedMips");
+
+	/** The share returned by {@link #getCurrentRequestedMipsBuffer()}, refilled by each call. */
+	private final MipsShare currentRequestedMips = new MipsShare();
+
 	private int virtualizationOverhead;
 
 	/**
@@ -157,7 +168,7 @@ public class Vm implements VirtualEntity {
 			CloudletScheduler cloudletScheduler) {
 		this.id = id;
 		setUserId(userId);
-		setUid(GuestEntity.getUid(userId, id));
+		setUid(GuestEntity.getUid(GuestEntity.getKey(userId, id)));
 		setMips(mips);
 		setNumberOfPes(numberOfPes);
 		setRam(ram);
@@ -301,17 +312,29 @@ public class Vm implements VirtualEntity {
 	 * @return the current requested mips
 	 */
 	public List<Double> getCurrentRequestedMips() {
-		List<Double> currentRequestedMips;
+		return new MipsShare(fillCurrentRequestedMips());
+	}
 
+	@Override
+	public List<Double> getCurrentRequestedMipsBuffer() {
+		if (requestedMipsOverride.isOverriddenBy(getClass())) {
+			return getCurrentRequestedMips();
+		}
+		return fillCurrentRequestedMips();
+	}
+
+	/**
+	 * Refills the share returned by {@link #getCurrentRequestedMipsBuffer()}.
+	 *
+	 * @return the refilled share
+	 */
+	private MipsShare fillCurrentRequestedMips() {
 		if (isBeingInstantiated()) {
-			currentRequestedMips = new ArrayList<>(getNumberOfPes());
-			for (int i = 0; i < getNumberOfPes(); i++) {
-				currentRequestedMips.add(getMips());
-			}
+			currentRequestedMips.fillMips(getMips(), getNumberOfPes());
 		} else {
-			currentRequestedMips = getCloudletScheduler().getCurrentRequestedMips();
+			currentRequestedMips.setMips(getCloudletScheduler().getCurrentRequestedMips());
 			for (GuestEntity guest : getGuestList()) {
-				currentRequestedMips.addAll(guest.getCurrentRequestedMips());
+				currentRequestedMips.addAllMips(guest.getCurrentRequestedMipsBuffer());
 			}
 		}
 
@@ -448,6 +471,7 @@ public class Vm implements VirtualEntity {
 	public long getSize() { return size; }
 	public void setSize(long size) { this.size = size; }
 
+	@Deprecated
 	public String getUid() { return uid; }
 	public void setUid(String uid) { this.uid = uid; }
 
@@ -580,7 +604,7 @@ public class Vm implements VirtualEntity {
 	public List<VmStateHistoryEntry> getStateHistory() { return stateHistory; }
 
 	/**
-	 * DEPRECATED: USE GuestEntity.getUid(userId, vmId) instead!
+	 * DEPRECATED: USE GuestEntity.getKey(userId, vmId) instead!
 	 */
 	@Deprecated
 	public static String getUid(int userId, int vmId) {
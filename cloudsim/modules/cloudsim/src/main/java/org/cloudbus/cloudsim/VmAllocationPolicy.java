@@ -12,9 +12,11 @@ import org.cloudbus.cloudsim.container.core.Container;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
+import org.cloudbus.cloudsim.util.LongMap;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -29,7 +31,10 @@ import java.util.Map;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmAllocationPolicy {
+public abstract class VmAllocationPolicy implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	public record GuestMapping (
 		GuestEntity vm,
@@ -53,10 +58,13 @@ public abstract class VmAllocationPolicy {
 	/** The host list. */
 	private List<? extends HostEntity> hostList;
 
+	/** The number of times the host list has been set or reported changed. */
+	private int hostListVersion;
+
 	/** The map between each guest and its allocated host.
-	 * The map key is a guest UID and the value is the allocated host for that VM.
+	 * The map key is a guest {@link GuestEntity#getKey() key} and the value is the allocated host for that VM.
 	 */
-	private Map<String, HostEntity> guestTable;
+	private LongMap<HostEntity> guestTable;
 
 	/**
 	 * Creates a new VmAllocationPolicy object.
@@ -67,7 +75,7 @@ public abstract class VmAllocationPolicy {
 	 */
 	public VmAllocationPolicy(List<? extends HostEntity> list) {
 		setHostList(list);
-		setGuestTable(new HashMap<>());
+		setGuestTableByKey(new LongMap<>());
 	}
 
 	/**
@@ -112,7 +120,7 @@ public abstract class VmAllocationPolicy {
 		}
 
 		if (host.guestCreate(guest)) { // if vm has been successfully created in the host
-			getGuestTable().put(guest.getUid(), host);
+			getGuestTableByKey().put(guest.getKey(), host);
 			//Log.printlnConcat(CloudSim.clock(), ": ", datacenterName, ".guestAllocator: ", guest.getClassName(), " #", guest.getId(), " has been allocated to ", host.getClassName(), " #", host.getId());
 			return true;
 		}
@@ -145,7 +153,7 @@ public abstract class VmAllocationPolicy {
 	 * @post $none
 	 */
 	public void deallocateHostForGuest(GuestEntity guest) {
-		HostEntity host = getGuestTable().remove(guest.getUid());
+		HostEntity host = getGuestTableByKey().remove(guest.getKey());
 		if (host != null) {
 			host.guestDestroy(guest);
 		}
@@ -166,8 +174,45 @@ public abstract class VmAllocationPolicy {
 	public Host findHostForVm(Vm vm) { return (Host) findHostForGuest(vm); }
 
 
-	public Map<String, HostEntity> getGuestTable() { return guestTable; }
-	protected void setGuestTable(Map<String, HostEntity> guestTable) { this.guestTable = guestTable; }
+	/**
+	 * Gets the map between each guest and its allocated host, by guest uid.
+	 *
+	 * @return a view of the guest table
+	 * @deprecated use {@link #getGuestTableByKey()}
+	 */
+	@Deprecated
+	public Map<String, HostEntity> getGuestTable() {
+		return guestTable.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
+	}
+
+	/**
+	 * Sets the map between each guest and its allocated host, by guest uid.
+	 *
+	 * @param guestTable the guest table, which is copied
+	 * @deprecated use {@link #setGuestTableByKey(LongMap)}
+	 */
+	@Deprecated
+	protected void setGuestTable(Map<String, HostEntity> guestTable) {
+		LongMap<HostEntity> table = new LongMap<>();
+		guestTable.forEach((uid, host) -> table.put(GuestEntity.getKey(uid), host));
+		setGuestTableByKey(table);
+	}
+
+	/**
+	 * Gets the map between each guest and its allocated host.
+	 *
+	 * @return the hosts, by guest {@link GuestEntity#getKey() key}
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LongMap<HostEntity> getGuestTableByKey() { return guestTable; }
+
+	/**
+	 * Sets the map between each guest and its allocated host.
+	 *
+	 * @param guestTable the hosts, by guest {@link GuestEntity#getKey() key}
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void setGuestTableByKey(LongMap<HostEntity> guestTable) { this.guestTable = guestTable; }
 
 	/**
 	 * Get the host that is executing the given VM.
@@ -177,10 +222,10 @@ public abstract class VmAllocationPolicy {
 	 * @pre $none
 	 * @post $none
 	 */
-	public HostEntity getHost(GuestEntity guest) { return getGuestTable().get(guest.getUid()); }
+	public HostEntity getHost(GuestEntity guest) { return getGuestTableByKey().get(guest.getKey()); }
 
 	@Deprecated
-	public Host getHost(Vm vm) { return (Host) getGuestTable().get(vm.getUid()); }
+	public Host getHost(Vm vm) { return (Host) getGuestTableByKey().get(vm.getKey()); }
 
 	/**
 	 * Get the host that is executing the given VM belonging to the given user.
@@ -191,7 +236,7 @@ public abstract class VmAllocationPolicy {
 	 * @pre $none
 	 * @post $none
 	 */
-	public HostEntity getHost(int vmId, int userId) { return getGuestTable().get(GuestEntity.getUid(userId, vmId)); };
+	public HostEntity getHost(int vmId, int userId) { return getGuestTableByKey().get(GuestEntity.getKey(userId, vmId)); };
 
 	/**
 	 * Sets the host list.
@@ -200,6 +245,29 @@ public abstract class VmAllocationPolicy {
 	 */
 	protected void setHostList(List<? extends HostEntity> hostList) {
 		this.hostList = hostList;
+		hostListVersion++;
+	}
+
+	/**
+	 * Reports that hosts have been added to or removed from the host list in place, so that the
+	 * datacenters that keep track of the hosts, e.g. in incremental processing mode, see them.
+	 *
+	 * @see Datacenter#setIncrementalProcessing(boolean)
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public void hostListChanged() {
+		hostListVersion++;
+	}
+
+	/**
+	 * Gets the version of the host list, which changes whenever the list is set or reported changed.
+	 *
+	 * @return the version of the host list
+	 * @see #hostListChanged()
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public int getHostListVersion() {
+		return hostListVersion;
 	}
 
 	/**
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.core.HostEntity;
@@ -26,6 +27,10 @@ import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicyRandomSelection;
  * @since CloudSim Toolkit 7.0
  */
 public class VmAllocationPolicySimple extends VmAllocationWithSelectionPolicy {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Creates a new VmAllocationPolicySimple object.
 	 * 
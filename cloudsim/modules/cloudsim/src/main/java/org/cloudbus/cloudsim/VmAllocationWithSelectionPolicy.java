@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -11,6 +12,10 @@ import java.util.*;
  * Modified by Remo Andreoli (March 2024)
  */
 public class VmAllocationWithSelectionPolicy extends VmAllocationPolicy {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private SelectionPolicy<HostEntity> selectionPolicy;
 
     private Set<HostEntity> excludedHostCandidates;
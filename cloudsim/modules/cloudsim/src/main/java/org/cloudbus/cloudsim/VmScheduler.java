@@ -7,13 +7,14 @@
 
 package org.cloudbus.cloudsim;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.lists.PeList;
+import org.cloudbus.cloudsim.util.LongMap;
 
 /**
  * VmScheduler is an abstract class that represents the policy used by a Virtual Machine Monitor (VMM) 
@@ -27,30 +28,33 @@ import org.cloudbus.cloudsim.lists.PeList;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmScheduler {
+public abstract class VmScheduler implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The PEs of the host where the scheduler is associated. */
 	private List<? extends Pe> peList;
 
-	/** The map of VMs to PEs, where each key is a VM id and each value is
+	/** The map of VMs to PEs, where each key is a VM {@link GuestEntity#getKey() key} and each value is
          * a list of PEs allocated to that VM. */
-	private Map<String, List<Pe>> peMap;
+	private LongMap<List<Pe>> peMap;
 
-	/** The map of VMs to MIPS, were each key is a VM id and each value is
+	/** The map of VMs to MIPS, were each key is a VM {@link GuestEntity#getKey() key} and each value is
          * the currently allocated MIPS from the respective PE to that VM. 
          * The PEs where the MIPS capacity is get are defined
          * in the {@link #peMap}.
          */
-	private Map<String, List<Double>> mipsMapAllocated;
+	private LongMap<List<Double>> mipsMapAllocated;
 
 	/** The total available MIPS that can be allocated on demand for VMs. */
     private double availableMips;
 
-	/** The VMs migrating in the host (arriving). It is the list of VM ids */
-	private List<String> guestsMigratingIn;
+	/** The VMs migrating in the host (arriving), by VM key. */
+	private LongMap<GuestEntity> guestsMigratingIn;
 
-	/** The VMs migrating out the host (departing). It is the list of VM ids */
-	private List<String> guestsMigratingOut;
+	/** The VMs migrating out the host (departing), by VM key. */
+	private LongMap<GuestEntity> guestsMigratingOut;
 
 	/**
 	 * Creates a new VmScheduler.
@@ -61,11 +65,11 @@ public abstract class VmScheduler {
 	 */
 	public VmScheduler(List<? extends Pe> pelist) {
 		setPeList(pelist);
-		setPeMap(new HashMap<>());
-		setMipsMapAllocated(new HashMap<>());
+		setPeMapByKey(new LongMap<>());
+		setMipsMapAllocatedByKey(new LongMap<>());
 		setAvailableMips(PeList.getTotalMips(getPeList()));
-		setGuestsMigratingIn(new ArrayList<>());
-		setGuestsMigratingOut(new ArrayList<>());
+		setGuestsMigratingInByKey(new LongMap<>());
+		setGuestsMigratingOutByKey(new LongMap<>());
 	}
 
 	/**
@@ -107,7 +111,7 @@ public abstract class VmScheduler {
 	 * @post $none
 	 */
 	public void deallocatePesForAllGuests() {
-		getMipsMapAllocated().clear();
+		getMipsMapAllocatedByKey().clear();
 		setAvailableMips(PeList.getTotalMips(getPeList()));
 		for (Pe pe : getPeList()) {
 			pe.getPeProvisioner().deallocateMipsForAllGuests();
@@ -126,7 +130,7 @@ public abstract class VmScheduler {
 	 * @return the pes allocated for the given vm
 	 */
 	public List<Pe> getPesAllocatedForGuest(GuestEntity guest) {
-		return getPeMap().get(guest.getUid());
+		return getPeMapByKey().get(guest.getKey());
 	}
 
 	@Deprecated
@@ -143,7 +147,7 @@ public abstract class VmScheduler {
 	 * @post $none
 	 */
 	public List<Double> getAllocatedMipsForGuest(GuestEntity guest) {
-		return getMipsMapAllocated().get(guest.getUid());
+		return getMipsMapAllocatedByKey().get(guest.getKey());
 	}
 
 	@Deprecated
@@ -158,14 +162,11 @@ public abstract class VmScheduler {
 	 * @return the total allocated mips for the vm
 	 */
 	public double getTotalAllocatedMipsForGuest(GuestEntity guest) {
-		double allocated = 0;
 		List<Double> mipsMap = getAllocatedMipsForGuest(guest);
 		if (mipsMap != null) {
-			for (double mips : mipsMap) {
-				allocated += mips;
-			}
+			return MipsShare.totalOf(mipsMap);
 		}
-		return allocated;
+		return 0;
 	}
 
 	@Deprecated
@@ -214,22 +215,100 @@ public abstract class VmScheduler {
 	public List<? extends Pe> getPeList() { return peList; }
 	protected void setPeList(List<? extends Pe> peList) { this.peList = peList; }
 
-	public Map<String, List<Pe>> getPeMap() { return peMap; }
-	protected void setPeMap(Map<String, List<Pe>> peMap) { this.peMap = peMap; }
+	/**
+	 * Gets the PEs allocated to each VM, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the PE map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LongMap<List<Pe>> getPeMapByKey() { return peMap; }
+	protected void setPeMapByKey(LongMap<List<Pe>> peMap) { this.peMap = peMap; }
 
-	public Map<String, List<Double>> getMipsMapAllocated() { return mipsMapAllocated; }
-	protected void setMipsMapAllocated(Map<String, List<Double>> mipsMapAllocated) { this.mipsMapAllocated = mipsMapAllocated; }
+	/**
+	 * Gets the MIPS allocated to each VM, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the MIPS map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LongMap<List<Double>> getMipsMapAllocatedByKey() { return mipsMapAllocated; }
+	protected void setMipsMapAllocatedByKey(LongMap<List<Double>> mipsMapAllocated) { this.mipsMapAllocated = mipsMapAllocated; }
 
 	public double getAvailableMips() { return availableMips; }
 	protected void setAvailableMips(double availableMips) { this.availableMips = availableMips; }
 
+	/**
+	 * Gets the VMs migrating in the host, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the VMs migrating in
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LongMap<GuestEntity> getGuestsMigratingInByKey() { return guestsMigratingIn; }
+	protected void setGuestsMigratingInByKey(LongMap<GuestEntity> guestsMigratingIn) { this.guestsMigratingIn = guestsMigratingIn; }
+
+	/**
+	 * Gets the VMs migrating out of the host, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the VMs migrating out
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LongMap<GuestEntity> getGuestsMigratingOutByKey() { return guestsMigratingOut; }
+	protected void setGuestsMigratingOutByKey(LongMap<GuestEntity> guestsMigratingOut) { this.guestsMigratingOut = guestsMigratingOut; }
+
+	/**
+	 * Gets a view of a table of this scheduler by guest uid, for the deprecated methods.
+	 */
+	static <V> Map<String, V> byUid(LongMap<V> table) {
+		return table.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
+	}
+
+	/**
+	 * Copies a table by guest uid, for the deprecated methods.
+	 */
+	static <V> LongMap<V> byKey(Map<String, ? extends V> table) {
+		LongMap<V> copy = new LongMap<>();
+		table.forEach((uid, value) -> copy.put(GuestEntity.getKey(uid), value));
+		return copy;
+	}
+
+	/** @deprecated use {@link #getPeMapByKey()} */
+	@Deprecated
+	public Map<String, List<Pe>> getPeMap() { return byUid(peMap); }
+	/** @deprecated use {@link #setPeMapByKey(LongMap)} */
+	@Deprecated
+	protected void setPeMap(Map<String, List<Pe>> peMap) { setPeMapByKey(byKey(peMap)); }
+
+	/** @deprecated use {@link #getMipsMapAllocatedByKey()} */
+	@Deprecated
+	public Map<String, List<Double>> getMipsMapAllocated() { return byUid(mipsMapAllocated); }
+	/** @deprecated use {@link #setMipsMapAllocatedByKey(LongMap)} */
+	@Deprecated
+	protected void setMipsMapAllocated(Map<String, List<Double>> mipsMapAllocated) {
+		setMipsMapAllocatedByKey(byKey(mipsMapAllocated));
+	}
+
+	/** @deprecated use {@link #getGuestsMigratingInByKey()} */
+	@Deprecated
 	public List<String> getGuestsMigratingIn() {
-		return guestsMigratingIn;
+		return guestsMigratingIn.asKeyList(String.class, GuestEntity::getKey, GuestEntity::getUid);
+	}
+	/** @deprecated use {@link #setGuestsMigratingInByKey(LongMap)} */
+	@Deprecated
+	protected void setGuestsMigratingIn(List<String> guestsMigratingIn) {
+		setGuestsMigratingInByKey(new LongMap<>());
+		getGuestsMigratingIn().addAll(guestsMigratingIn);
 	}
-	protected void setGuestsMigratingIn(List<String> guestsMigratingIn) { this.guestsMigratingIn = guestsMigratingIn; }
 
-	public List<String> getGuestsMigratingOut() { return guestsMigratingOut; }
-	protected void setGuestsMigratingOut(List<String> guestsMigratingOut) { this.guestsMigratingOut = guestsMigratingOut; }
+	/** @deprecated use {@link #getGuestsMigratingOutByKey()} */
+	@Deprecated
+	public List<String> getGuestsMigratingOut() {
+		return guestsMigratingOut.asKeyList(String.class, GuestEntity::getKey, GuestEntity::getUid);
+	}
+	/** @deprecated use {@link #setGuestsMigratingOutByKey(LongMap)} */
+	@Deprecated
+	protected void setGuestsMigratingOut(List<String> guestsMigratingOut) {
+		setGuestsMigratingOutByKey(new LongMap<>());
+		getGuestsMigratingOut().addAll(guestsMigratingOut);
+	}
 
 	@Deprecated
 	public List<String> getVmsMigratingIn() { return getGuestsMigratingIn(); }
@@ -239,7 +318,7 @@ public abstract class VmScheduler {
 	public List<String> getVmsMigratingOut() { return getGuestsMigratingOut(); }
 
 	@Deprecated
-	public Map<String, List<Double>> getMipsMap() { return mipsMapAllocated; }
+	public Map<String, List<Double>> getMipsMap() { return getMipsMapAllocated(); }
 
 
 }
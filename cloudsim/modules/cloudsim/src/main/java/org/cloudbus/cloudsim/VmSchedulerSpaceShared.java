@@ -9,9 +9,10 @@
 package org.cloudbus.cloudsim;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.util.LongMap;
 
+import java.io.Serial;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -30,9 +31,12 @@ import java.util.Map;
  */
 public class VmSchedulerSpaceShared extends VmScheduler {
 
-	/** A map between each VM and its allocated PEs, where the key is a VM ID and
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** A map between each VM and its allocated PEs, where the key is a VM {@link GuestEntity#getKey() key} and
          * the value a list of PEs allocated to VM. */
-	private Map<String, List<Pe>> peAllocationMap;
+	private LongMap<List<Pe>> peAllocationMap;
 
 	/** The list of free PEs yet available in the host. */
 	private List<Pe> freePes;
@@ -44,7 +48,7 @@ public class VmSchedulerSpaceShared extends VmScheduler {
 	 */
 	public VmSchedulerSpaceShared(List<? extends Pe> pelist) {
 		super(pelist);
-		setPeAllocationMap(new HashMap<>());
+		setPeAllocationMapByKey(new LongMap<>());
 		setFreePes(new ArrayList<>());
 		getFreePes().addAll(pelist);
 	}
@@ -77,44 +81,67 @@ public class VmSchedulerSpaceShared extends VmScheduler {
 
 		getFreePes().removeAll(selectedPes);
 
-		getPeAllocationMap().put(guest.getUid(), selectedPes);
-		getMipsMapAllocated().put(guest.getUid(), mipsShare);
+		getPeAllocationMapByKey().put(guest.getKey(), selectedPes);
+		// the requested share may be a buffer reused by the guest, so the allocation keeps a copy
+		MipsShare mipsShareAllocated = new MipsShare(mipsShare);
+		getMipsMapAllocatedByKey().put(guest.getKey(), mipsShareAllocated);
 		setAvailableMips(getAvailableMips() - totalMips);
-		guest.setCurrentAllocatedMips(mipsShare);
+		guest.setCurrentAllocatedMips(mipsShareAllocated);
 
 		return true;
 	}
 
 	@Override
 	public void deallocatePesForGuest(GuestEntity guest) {
-		getFreePes().addAll(getPeAllocationMap().get(guest.getUid()));
-		getPeAllocationMap().remove(guest.getUid());
+		getFreePes().addAll(getPeAllocationMapByKey().remove(guest.getKey()));
 
 		double totalMips = 0;
-		for (double mips : getMipsMapAllocated().get(guest.getUid())) {
+		for (double mips : getMipsMapAllocatedByKey().remove(guest.getKey())) {
 			totalMips += mips;
 		}
 		setAvailableMips(getAvailableMips() + totalMips);
+	}
+
+	/**
+	 * Sets the pe allocation map, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @param peAllocationMap the pe allocation map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void setPeAllocationMapByKey(LongMap<List<Pe>> peAllocationMap) {
+		this.peAllocationMap = peAllocationMap;
+	}
 
-		getMipsMapAllocated().remove(guest.getUid());
+	/**
+	 * Gets the pe allocation map, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the pe allocation map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected LongMap<List<Pe>> getPeAllocationMapByKey() {
+		return peAllocationMap;
 	}
 
 	/**
 	 * Sets the pe allocation map.
 	 * 
 	 * @param peAllocationMap the pe allocation map
+	 * @deprecated use {@link #setPeAllocationMapByKey(LongMap)}
 	 */
+	@Deprecated
 	protected void setPeAllocationMap(Map<String, List<Pe>> peAllocationMap) {
-		this.peAllocationMap = peAllocationMap;
+		setPeAllocationMapByKey(byKey(peAllocationMap));
 	}
 
 	/**
 	 * Gets the pe allocation map.
 	 * 
 	 * @return the pe allocation map
+	 * @deprecated use {@link #getPeAllocationMapByKey()}
 	 */
+	@Deprecated
 	protected Map<String, List<Pe>> getPeAllocationMap() {
-		return peAllocationMap;
+		return byUid(peAllocationMap);
 	}
 
 	/**
@@ -7,16 +7,19 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serial;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.PeProvisioner;
+import org.cloudbus.cloudsim.util.LongMap;
+import org.cloudbus.cloudsim.util.MethodOverride;
 
 /**
  * VmSchedulerTimeShared is a Virtual Machine Monitor (VMM) allocation policy that allocates one or more PEs 
@@ -33,14 +36,39 @@ import org.cloudbus.cloudsim.provisioners.PeProvisioner;
  */
 public class VmSchedulerTimeShared extends VmScheduler {
 
-	/** The map of requested mips, where each key is a VM
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** Whether the PE provisioners override {@link PeProvisioner#deallocateMipsForGuest(long)}. */
+	private static final MethodOverride keyRelease =
+			new MethodOverride(PeProvisioner.class, "deallocateMipsForGuest", long.class);
+
+	/** The map of requested mips, where each key is a VM {@link GuestEntity#getKey() key}
          * and each value is a list of MIPS requested by that VM. 
          */
-	private Map<String, List<Double>> mipsMapRequested;
+	private LongMap<List<Double>> mipsMapRequested;
 
 	/** The number of host's PEs in use. */
 	private int pesInUse;
 
+	/** The MIPS shares the VMs are currently provisioned on the PEs for, by VM key. */
+	private final LongMap<MipsShare> mipsMapProvisioned = new LongMap<>();
+
+	/** The indexes of the PEs that new virtual PEs can still be provisioned on. */
+	private final BitSet openPes = new BitSet();
+
+	/** The index of each PE in the {@link #indexedPeList}. */
+	private final Map<Pe, Integer> peIndex = new IdentityHashMap<>();
+
+	/** The PE list the {@link #peIndex} was built for. */
+	private List<? extends Pe> indexedPeList;
+
+	/** Whether the provisioners of all the PEs can release the PEs of a single VM. */
+	private boolean releasesByKey;
+
+	/** The MIPS shares no longer held by this scheduler, which are reused for the next ones. */
+	private final ArrayDeque<MipsShare> spareShares = new ArrayDeque<>();
+
 	/**
 	 * Instantiates a new vm time-shared scheduler.
 	 * 
@@ -48,7 +76,7 @@ public class VmSchedulerTimeShared extends VmScheduler {
 	 */
 	public VmSchedulerTimeShared(List<? extends Pe> pelist) {
 		super(pelist);
-		setMipsMapRequested(new HashMap<>());
+		setMipsMapRequestedByKey(new LongMap<>());
 	}
 
 	@Override
@@ -56,31 +84,36 @@ public class VmSchedulerTimeShared extends VmScheduler {
 		/*
 		 * //@TODO add the same to RAM and BW provisioners
 		 */
+		long key = guest.getKey();
 		if (guest.isInMigration()) {
-			if (!getGuestsMigratingIn().contains(guest.getUid()) && !getGuestsMigratingOut().contains(guest.getUid())) {
-				getGuestsMigratingOut().add(guest.getUid());
+			if (!getGuestsMigratingInByKey().containsKey(key) && !getGuestsMigratingOutByKey().containsKey(key)) {
+				getGuestsMigratingOutByKey().put(key, guest);
 			}
 		} else {
-			getGuestsMigratingOut().remove(guest.getUid());
+			getGuestsMigratingOutByKey().remove(key);
 		}
-		boolean result = allocatePesForGuest(guest.getUid(), mipsShareRequested);
+		boolean result = allocatePesForGuest(key, mipsShareRequested);
 		updatePeProvisioning();
 		return result;
 	}
 
 	/**
 	 * Allocate PEs for a vm.
-	 * 
-	 * @param vmUid the vm uid
+	 *
+	 * @param key the {@link GuestEntity#getKey() key} of the vm
 	 * @param mipsShareRequested the list of mips share requested by the vm
 	 * @return true, if successful
+	 * @since CloudSim Toolkit 7.0
 	 */
-	protected boolean allocatePesForGuest(String vmUid, List<Double> mipsShareRequested) {
+	protected boolean allocatePesForGuest(long key, List<Double> mipsShareRequested) {
+		MipsShare requested = newMipsShare(mipsShareRequested);
 		double totalRequestedMips = 0;
 		double peMips = getPeCapacity();
-		for (Double mips : mipsShareRequested) {
+		for (int i = 0; i < requested.size(); i++) {
+			double mips = requested.getMips(i);
 			// each virtual PE of a VM must require not more than the capacity of a physical PE
 			if (mips > peMips) {
+				releaseMipsShare(requested);
 				return false;
 			}
 			totalRequestedMips += mips;
@@ -88,97 +121,230 @@ public class VmSchedulerTimeShared extends VmScheduler {
 
 		// This scheduler does not allow over-subscription
 		if (getAvailableMips() < totalRequestedMips) {
+			releaseMipsShare(requested);
 			return false;
 		}
 
-		getMipsMapRequested().put(vmUid, mipsShareRequested);
-		setPesInUse(getPesInUse() + mipsShareRequested.size());
+		releaseMipsShare(getMipsMapRequestedByKey().put(key, requested));
+		setPesInUse(getPesInUse() + requested.size());
 
-		if (getGuestsMigratingIn().contains(vmUid)) {
+		boolean migratingIn = getGuestsMigratingInByKey().containsKey(key);
+		boolean migratingOut = getGuestsMigratingOutByKey().containsKey(key);
+		if (migratingIn) {
 			// the destination host only experience 10% of the migrating VM's MIPS
 			totalRequestedMips *= 0.1;
 		}
 
-		List<Double> mipsShareAllocated = new ArrayList<>();
-		for (Double mipsRequested : mipsShareRequested) {
-			if (getGuestsMigratingOut().contains(vmUid)) {
+		MipsShare mipsShareAllocated = newMipsShare();
+		for (int i = 0; i < requested.size(); i++) {
+			double mipsRequested = requested.getMips(i);
+			if (migratingOut) {
 				// performance degradation due to migration = 10% MIPS
 				mipsRequested *= 0.9;
-			} else if (getGuestsMigratingIn().contains(vmUid)) {
+			} else if (migratingIn) {
 				// the destination host only experience 10% of the migrating VM's MIPS
 				mipsRequested *= 0.1;
 			}
-			mipsShareAllocated.add(mipsRequested);
+			mipsShareAllocated.addMips(mipsRequested);
 		}
 
-		getMipsMapAllocated().put(vmUid, mipsShareAllocated);
+		releaseMipsShare(getMipsMapAllocatedByKey().put(key, mipsShareAllocated));
 		setAvailableMips(getAvailableMips() - totalRequestedMips);
 
 		return true;
 	}
 
 	/**
-	 * Update allocation of VMs on PEs.
-         * @todo The method is too long and may be refactored to make clearer its
-         * responsibility.
+	 * Gets an empty MIPS share, reusing one released by {@link #releaseMipsShare(List)} if any, so
+	 * that updating the allocations of the guests does not allocate new arrays.
+	 *
+	 * @return the MIPS share
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected MipsShare newMipsShare() {
+		MipsShare share = spareShares.poll();
+		if (share == null) {
+			return new MipsShare();
+		}
+		share.clear();
+		return share;
+	}
+
+	/**
+	 * Gets a copy of a MIPS share, reusing one released by {@link #releaseMipsShare(List)} if any.
+	 *
+	 * @param mipsShare the MIPS of each virtual PE
+	 * @return the copy
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected MipsShare newMipsShare(List<Double> mipsShare) {
+		MipsShare share = newMipsShare();
+		share.setMips(mipsShare);
+		return share;
+	}
+
+	/**
+	 * Releases a MIPS share obtained from {@link #newMipsShare()}, once it is no longer held by
+	 * this scheduler, so that it can be reused. The MIPS shares of the requested and allocated maps
+	 * are released as they are replaced or removed.
+	 *
+	 * @param share the MIPS share, or <tt>null</tt>
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void releaseMipsShare(List<Double> share) {
+		if (share instanceof MipsShare mipsShare) {
+			spareShares.push(mipsShare);
+		}
+	}
+
+	/**
+	 * Releases the MIPS shares of a map, and clears it.
+	 *
+	 * @param mipsMap the map
+	 */
+	private void releaseMipsShares(LongMap<? extends List<Double>> mipsMap) {
+		for (List<Double> share : mipsMap.values()) {
+			releaseMipsShare(share);
+		}
+		mipsMap.clear();
+	}
+
+	/**
+	 * Update allocation of VMs on PEs. Only the VMs whose allocated MIPS changed since they were
+	 * provisioned are released from their PEs and provisioned again, in the order they were
+	 * allocated; every other VM keeps its PEs. New virtual PEs go to the first PEs that still have
+	 * free MIPS, which are kept in an index updated as VMs are provisioned and released.
+	 * If a PE provisioner does not override {@link PeProvisioner#deallocateMipsForGuest(long)},
+	 * all the VMs are released and provisioned again instead.
 	 */
 	protected void updatePeProvisioning() {
-		getPeMap().clear();
-		for (Pe pe : getPeList()) {
-			pe.getPeProvisioner().deallocateMipsForAllGuests();
+		if (indexedPeList != getPeList()) {
+			resetPeProvisioning();
+		} else if (!releasesByKey) {
+			deprovisionAllPes();
 		}
 
-		Iterator<? extends Pe> peIterator = getPeList().iterator();
-		Pe pe = peIterator.next();
-		PeProvisioner peProvisioner = pe.getPeProvisioner();
-		double availableMips = peProvisioner.getAvailableMips();
+		LongMap<List<Double>> mipsMapAllocated = getMipsMapAllocatedByKey();
+		for (long key : mipsMapProvisioned.keys()) {
+			List<Double> mipsShare = mipsMapAllocated.get(key);
+			if (mipsShare == null || !mipsMapProvisioned.get(key).equals(mipsShare)) {
+				releasePes(key);
+			}
+		}
+		for (long key : mipsMapAllocated.keys()) {
+			if (!mipsMapProvisioned.containsKey(key)) {
+				provisionPes(key, mipsMapAllocated.get(key));
+			}
+		}
+	}
 
-		for (Map.Entry<String, List<Double>> entry : getMipsMapAllocated().entrySet()) {
-			String vmUid = entry.getKey();
-			getPeMap().put(vmUid, new LinkedList<>());
+	/**
+	 * Spreads the allocated MIPS of a VM among the PEs, from the first PE that has free MIPS on.
+	 *
+	 * @param key the {@link GuestEntity#getKey() key} of the vm
+	 * @param mipsShareAllocated the MIPS allocated to the vm
+	 */
+	private void provisionPes(long key, List<Double> mipsShareAllocated) {
+		MipsShare share = newMipsShare(mipsShareAllocated);
+		mipsMapProvisioned.put(key, share);
+		List<Pe> pes = new ArrayList<>(share.size());
+		getPeMapByKey().put(key, pes);
 
-			// Spread mips share among the Pes
-			for (double mips : entry.getValue()) {
-				while (mips >= 0.1) { // rounding error
-					if (availableMips >= mips) {
-						peProvisioner.allocateMipsForGuest(vmUid, mips);
-						getPeMap().get(vmUid).add(pe);
-						availableMips -= mips;
+		List<? extends Pe> peList = getPeList();
+		int index = openPes.nextSetBit(0);
+		for (int i = 0; i < share.size(); i++) {
+			double mips = share.getMips(i);
+			while (mips >= 0.1) { // rounding error
+				if (index < 0 || index >= peList.size()) {
+					Log.printlnConcat("There is no enough MIPS (", mips, ") to accommodate VM ", GuestEntity.getUid(key));
+					return;
+				}
+				Pe pe = peList.get(index);
+				PeProvisioner peProvisioner = pe.getPeProvisioner();
+				double availableMips = peProvisioner.getAvailableMips();
+				if (availableMips >= mips) {
+					peProvisioner.allocateMipsForGuest(key, mips);
+					pes.add(pe);
+					break;
+				} else { // next pe needed, no more space
+					peProvisioner.allocateMipsForGuest(key, availableMips);
+					pes.add(pe);
+					mips -= availableMips;
+					if (mips <= 0.1) {
 						break;
-					} else { // next pe needed, no more space
-						peProvisioner.allocateMipsForGuest(vmUid, availableMips);
-						getPeMap().get(vmUid).add(pe);
-						mips -= availableMips;
-						if (mips <= 0.1) {
-							break;
-						}
-						if (!peIterator.hasNext()) {
-							Log.printlnConcat("There is no enough MIPS (", mips, ") to accommodate VM ", vmUid);
-							// System.exit(0);
-						}
-						pe = peIterator.next();
-						peProvisioner = pe.getPeProvisioner();
-						availableMips = peProvisioner.getAvailableMips();
 					}
+					openPes.clear(index);
+					index = openPes.nextSetBit(index + 1);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Releases the PEs provisioned for a VM, opening again those that get free MIPS.
+	 *
+	 * @param key the {@link GuestEntity#getKey() key} of the vm
+	 */
+	private void releasePes(long key) {
+		releaseMipsShare(mipsMapProvisioned.remove(key));
+		List<Pe> pes = getPeMapByKey().remove(key);
+		if (pes == null) {
+			return;
+		}
+		for (Pe pe : pes) {
+			PeProvisioner peProvisioner = pe.getPeProvisioner();
+			peProvisioner.deallocateMipsForGuest(key);
+			if (peProvisioner.getAvailableMips() > 0) {
+				openPes.set(peIndex.get(pe));
+			}
+		}
+	}
+
+	/**
+	 * Re-indexes the PEs of the host, releasing the PEs of all VMs.
+	 */
+	private void resetPeProvisioning() {
+		peIndex.clear();
+		indexedPeList = getPeList();
+		releasesByKey = true;
+		for (int i = 0; i < indexedPeList.size(); i++) {
+			Pe pe = indexedPeList.get(i);
+			releasesByKey &= keyRelease.isOverriddenBy(pe.getPeProvisioner().getClass());
+			peIndex.put(pe, i);
+		}
+		deprovisionAllPes();
+	}
+
+	/**
+	 * Releases the MIPS of all VMs on every PE, and forgets the PEs provisioned for them.
+	 */
+	private void deprovisionAllPes() {
+		for (Pe pe : getPeList()) {
+			pe.getPeProvisioner().deallocateMipsForAllGuests();
+		}
+		releaseAllPes();
+	}
+
+	/**
+	 * Forgets the PEs provisioned for all VMs, opening all PEs again.
+	 */
+	private void releaseAllPes() {
+		getPeMapByKey().clear();
+		releaseMipsShares(mipsMapProvisioned);
+		openPes.clear();
+		openPes.set(0, getPeList().size());
+	}
+
 	@Override
 	public void deallocatePesForGuest(GuestEntity guest) {
-		getMipsMapRequested().remove(guest.getUid());
+		releaseMipsShare(getMipsMapRequestedByKey().remove(guest.getKey()));
 		setPesInUse(0);
-		getMipsMapAllocated().clear();
+		releaseMipsShares(getMipsMapAllocatedByKey());
 		setAvailableMips(PeList.getTotalMips(getPeList()));
 
-		for (Pe pe : getPeList()) {
-			pe.getPeProvisioner().deallocateMipsForGuest(guest);
-		}
-
 		// Re-allocate to remaining guests
-		for (Map.Entry<String, List<Double>> entry : getMipsMapRequested().entrySet()) {
-			allocatePesForGuest(entry.getKey(), entry.getValue());
+		for (long key : getMipsMapRequestedByKey().keys()) {
+			allocatePesForGuest(key, getMipsMapRequestedByKey().get(key));
 		}
 		updatePeProvisioning();
 	}
@@ -191,9 +357,11 @@ public class VmSchedulerTimeShared extends VmScheduler {
 	 */
 	@Override
 	public void deallocatePesForAllGuests() {
+		releaseMipsShares(getMipsMapAllocatedByKey());
 		super.deallocatePesForAllGuests();
-		getMipsMapRequested().clear();
+		releaseMipsShares(getMipsMapRequestedByKey());
 		setPesInUse(0);
+		releaseAllPes();
 	}
 
 	/**
@@ -225,21 +393,45 @@ public class VmSchedulerTimeShared extends VmScheduler {
 		return pesInUse;
 	}
 
+	/**
+	 * Gets the mips map requested, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the mips map requested
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected LongMap<List<Double>> getMipsMapRequestedByKey() {
+		return mipsMapRequested;
+	}
+
+	/**
+	 * Sets the mips map requested, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @param mipsMapRequested the mips map requested
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void setMipsMapRequestedByKey(LongMap<List<Double>> mipsMapRequested) {
+		this.mipsMapRequested = mipsMapRequested;
+	}
+
 	/**
 	 * Gets the mips map requested.
 	 * 
 	 * @return the mips map requested
+	 * @deprecated use {@link #getMipsMapRequestedByKey()}
 	 */
+	@Deprecated
 	protected Map<String, List<Double>> getMipsMapRequested() {
-		return mipsMapRequested;
+		return byUid(mipsMapRequested);
 	}
 
 	/**
 	 * Sets the mips map requested.
 	 * 
 	 * @param mipsMapRequested the mips map requested
+	 * @deprecated use {@link #setMipsMapRequestedByKey(LongMap)}
 	 */
+	@Deprecated
 	protected void setMipsMapRequested(Map<String, List<Double>> mipsMapRequested) {
-		this.mipsMapRequested = mipsMapRequested;
+		setMipsMapRequestedByKey(byKey(mipsMapRequested));
 	}
 }
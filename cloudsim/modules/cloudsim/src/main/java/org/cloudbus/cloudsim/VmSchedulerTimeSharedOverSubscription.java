@@ -7,13 +7,12 @@
 
 package org.cloudbus.cloudsim;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.Serial;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 
+import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.lists.PeList;
+import org.cloudbus.cloudsim.util.LongMap;
 
 /**
  * This is a Time-Shared VM Scheduler, which allows over-subscription. In other words, the scheduler
@@ -27,6 +26,12 @@ import org.cloudbus.cloudsim.lists.PeList;
  */
 public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The capped requested MIPS of each VM, reused by each redistribution of the MIPS. */
+	private final LongMap<MipsShare> mipsMapCapped = new LongMap<>();
+
 	/**
 	 * Instantiates a new vm scheduler time shared over subscription.
 	 * 
@@ -43,56 +48,61 @@ public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared
          * It cannot be allocated more CPU capacity for each virtual PE than the MIPS 
          * capacity of a single physical PE.
 	 * 
-	 * @param vmUid the vm uid
+	 * @param key the {@link GuestEntity#getKey() key} of the vm
 	 * @param mipsShareRequested the list of mips share requested
 	 * @return true, if successful
 	 */
 	@Override
-	protected boolean allocatePesForGuest(String vmUid, List<Double> mipsShareRequested) {
+	protected boolean allocatePesForGuest(long key, List<Double> mipsShareRequested) {
+		MipsShare requested = newMipsShare(mipsShareRequested);
 		double totalRequestedMips = 0;
 
 		// if the requested mips is bigger than the capacity of a single PE, we cap
 		// the request to the PE's capacity
-		List<Double> mipsShareRequestedCapped = new ArrayList<>();
+		MipsShare mipsShareRequestedCapped = newMipsShare();
 		double peMips = getPeCapacity();
-		for (Double mips : mipsShareRequested) {
+		for (int i = 0; i < requested.size(); i++) {
+			double mips = requested.getMips(i);
 			if (mips > peMips) {
-				mipsShareRequestedCapped.add(peMips);
+				mipsShareRequestedCapped.addMips(peMips);
 				totalRequestedMips += peMips;
 			} else {
-				mipsShareRequestedCapped.add(mips);
+				mipsShareRequestedCapped.addMips(mips);
 				totalRequestedMips += mips;
 			}
 		}
 
-		getMipsMapRequested().put(vmUid, mipsShareRequested);
-		setPesInUse(getPesInUse() + mipsShareRequested.size());
+		releaseMipsShare(getMipsMapRequestedByKey().put(key, requested));
+		setPesInUse(getPesInUse() + requested.size());
 
-		if (getGuestsMigratingIn().contains(vmUid)) {
+		boolean migratingIn = getGuestsMigratingInByKey().containsKey(key);
+		boolean migratingOut = getGuestsMigratingOutByKey().containsKey(key);
+		if (migratingIn) {
 			// the destination host only experience 10% of the migrating VM's MIPS
 			totalRequestedMips *= 0.1;
 		}
 
 		if (getAvailableMips() >= totalRequestedMips) {
-			List<Double> mipsShareAllocated = new ArrayList<>();
-			for (Double mipsRequested : mipsShareRequestedCapped) {
-				if (getGuestsMigratingOut().contains(vmUid)) {
+			MipsShare mipsShareAllocated = newMipsShare();
+			for (int i = 0; i < mipsShareRequestedCapped.size(); i++) {
+				double mipsRequested = mipsShareRequestedCapped.getMips(i);
+				if (migratingOut) {
 					// performance degradation due to migration = 10% MIPS
 					mipsRequested *= 0.9;
-				} else if (getGuestsMigratingIn().contains(vmUid)) {
+				} else if (migratingIn) {
 					// the destination host only experience 10% of the migrating VM's MIPS
 					mipsRequested *= 0.1;
 				}
-				mipsShareAllocated.add(mipsRequested);
+				mipsShareAllocated.addMips(mipsRequested);
 			}
 
-			getMipsMapAllocated().put(vmUid, mipsShareAllocated);
+			releaseMipsShare(getMipsMapAllocatedByKey().put(key, mipsShareAllocated));
 			setAvailableMips(getAvailableMips() - totalRequestedMips);
 		} else {
 			redistributeMipsDueToOverSubscription();
 		}
+		releaseMipsShare(mipsShareRequestedCapped);
 
-        mipsShareRequestedCapped.clear();
         return true;
     }
 
@@ -105,27 +115,26 @@ public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared
 		// proportionally
 		double totalRequiredMipsByAllVms = 0;
 
-		Map<String, List<Double>> mipsMapCapped = new HashMap<>();
-		for (Entry<String, List<Double>> entry : getMipsMapRequested().entrySet()) {
+		for (long key : getMipsMapRequestedByKey().keys()) {
 
 			double requiredMipsByThisVm = 0.0;
-			String vmId = entry.getKey();
-			List<Double> mipsShareRequested = entry.getValue();
-			List<Double> mipsShareRequestedCapped = new ArrayList<>();
+			MipsShare mipsShareRequested = MipsShare.of(getMipsMapRequestedByKey().get(key));
+			MipsShare mipsShareRequestedCapped = newMipsShare();
 			double peMips = getPeCapacity();
-			for (Double mips : mipsShareRequested) {
+			for (int i = 0; i < mipsShareRequested.size(); i++) {
+				double mips = mipsShareRequested.getMips(i);
 				if (mips > peMips) {
-					mipsShareRequestedCapped.add(peMips);
+					mipsShareRequestedCapped.addMips(peMips);
 					requiredMipsByThisVm += peMips;
 				} else {
-					mipsShareRequestedCapped.add(mips);
+					mipsShareRequestedCapped.addMips(mips);
 					requiredMipsByThisVm += mips;
 				}
 			}
 
-			mipsMapCapped.put(vmId, mipsShareRequestedCapped);
+			mipsMapCapped.put(key, mipsShareRequestedCapped);
 
-			if (getGuestsMigratingIn().contains(entry.getKey())) {
+			if (getGuestsMigratingInByKey().containsKey(key)) {
 				// the destination host only experience 10% of the migrating VM's MIPS
 				requiredMipsByThisVm *= 0.1;
 			}
@@ -136,21 +145,24 @@ public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared
 		double scalingFactor = totalAvailableMips / totalRequiredMipsByAllVms;
 
 		// Clear the old MIPS allocation
-		getMipsMapAllocated().clear();
+		for (List<Double> mipsShareAllocated : getMipsMapAllocatedByKey().values()) {
+			releaseMipsShare(mipsShareAllocated);
+		}
+		getMipsMapAllocatedByKey().clear();
 
 		// Update the actual MIPS allocated to the VMs
-		for (Entry<String, List<Double>> entry : mipsMapCapped.entrySet()) {
-			String vmUid = entry.getKey();
-			List<Double> requestedMips = entry.getValue();
+		for (long key : mipsMapCapped.keys()) {
+			MipsShare requestedMips = mipsMapCapped.get(key);
 
-			List<Double> updatedMipsAllocation = new ArrayList<>();
-			for (Double mips : requestedMips) {
-				if (getGuestsMigratingOut().contains(vmUid)) {
+			MipsShare updatedMipsAllocation = newMipsShare();
+			for (int i = 0; i < requestedMips.size(); i++) {
+				double mips = requestedMips.getMips(i);
+				if (getGuestsMigratingOutByKey().containsKey(key)) {
 					// the original amount is scaled
 					mips *= scalingFactor;
 					// performance degradation due to migration = 10% MIPS
 					mips *= 0.9;
-				} else if (getGuestsMigratingIn().contains(vmUid)) {
+				} else if (getGuestsMigratingInByKey().containsKey(key)) {
 					// the destination host only experiences 10% of the migrating VM's MIPS
 					mips *= 0.1;
 					// the final 10% of the requested MIPS are scaled
@@ -159,13 +171,14 @@ public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared
 					mips *= scalingFactor;
 				}
 
-				updatedMipsAllocation.add(Math.floor(mips));
+				updatedMipsAllocation.addMips(Math.floor(mips));
 			}
 
 			// add in the new map
-			getMipsMapAllocated().put(vmUid, updatedMipsAllocation);
-
+			getMipsMapAllocatedByKey().put(key, updatedMipsAllocation);
+			releaseMipsShare(requestedMips);
 		}
+		mipsMapCapped.clear();
 
 		// As the host is oversubscribed, there no more available MIPS
 		setAvailableMips(0);
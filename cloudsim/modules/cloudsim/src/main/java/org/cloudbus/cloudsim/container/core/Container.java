@@ -11,7 +11,7 @@ import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 
-import java.util.ArrayList;
+import java.io.Serial;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -21,6 +21,9 @@ import java.util.List;
  */
 public class Container implements GuestEntity {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** The id. */
     private final int id;
 
@@ -105,7 +108,7 @@ public class Container implements GuestEntity {
             CloudletScheduler containerCloudletScheduler) {
         this.id = id;
         setUserId(userId);
-        setUid(GuestEntity.getUid(userId, id));
+        setUid(GuestEntity.getUid(GuestEntity.getKey(userId, id)));
         setMips(mips);
         setNumberOfPes(numberOfPes);
         setRam(ram);
@@ -217,14 +220,7 @@ public class Container implements GuestEntity {
     @Override
     public List<Double> getCurrentRequestedMips() {
         if (isBeingInstantiated()) {
-            List<Double> currentRequestedMips = new ArrayList<>();
-
-            for (int i = 0; i < getNumberOfPes(); i++) {
-                currentRequestedMips.add(getMips());
-
-            }
-
-            return currentRequestedMips;
+            return new MipsShare(getMips(), getNumberOfPes());
         }
 
 
@@ -244,6 +240,7 @@ public class Container implements GuestEntity {
     public int getUserId() { return userId; }
     protected void setUserId(int userId) { this.userId = userId; }
 
+    @Deprecated
     public String getUid() { return uid; }
     public void setUid(String uid) { this.uid = uid; }
 
@@ -44,5 +44,20 @@ public enum ContainerCloudSimTags implements CloudSimTags {
      * Denotes a new VM is created in data center by the local scheduler
      * Invoked in the data center.
      */
-    VM_NEW_CREATE,
+    VM_NEW_CREATE;
+
+    /** The dense index of the tag, see {@link #index()}. */
+    private int index;
+
+    static {
+        int first = CloudSimTags.firstIndex(ContainerCloudSimTags.class);
+        for (ContainerCloudSimTags tag : values()) {
+            tag.index = first + tag.ordinal();
+        }
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
 }
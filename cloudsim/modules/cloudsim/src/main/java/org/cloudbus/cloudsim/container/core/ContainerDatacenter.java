@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.container.core;
 import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.*;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +19,10 @@ import java.util.List;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class ContainerDatacenter extends Datacenter {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The container provisioner.
      */
@@ -65,6 +70,13 @@ public class ContainerDatacenter extends Datacenter {
         setLogAddress(logAddress);
     }
 
+    @Override
+    protected void registerHandlers() {
+        super.registerHandlers();
+        registerHandler(ContainerCloudSimTags.CONTAINER_SUBMIT, ev -> processContainerSubmit(ev, true));
+        registerHandler(ContainerCloudSimTags.CONTAINER_MIGRATE, ev -> processContainerMigrate(ev, false));
+    }
+
     /**
      * Overrides this method when making a new and different type of resource. <br>
      * <b>NOTE:</b> You do not need to override {} method, if you use this method.
@@ -76,27 +88,6 @@ public class ContainerDatacenter extends Datacenter {
         // empty. This should be override by a child class
     }
 
-    /**
-     * Processes events or services that are available for this PowerDatacenter.
-     *
-     * @param ev a Sim_event object
-     * @pre ev != null
-     * @post $none
-     */
-    @Override
-    public void processEvent(SimEvent ev) {
-        CloudSimTags tag = ev.getTag();
-        if (tag == ContainerCloudSimTags.CONTAINER_SUBMIT) {
-            processContainerSubmit(ev, true);
-        } else if (tag == ContainerCloudSimTags.CONTAINER_MIGRATE) {
-            processContainerMigrate(ev, false);
-
-            // other (potentially unknown tags) are processed by the base class
-        } else {
-            super.processEvent(ev);
-        }
-    }
-
     public void processContainerSubmit(SimEvent ev, boolean ack) {
         List<Container> containerList = (List<Container>) ev.getData();
 
@@ -123,7 +114,7 @@ public class ContainerDatacenter extends Datacenter {
 
                 container.updateCloudletsProcessing(CloudSim.clock(), getContainerAllocationPolicy().getHost(container).getGuestScheduler().getAllocatedMipsForGuest(container));
             } else {
-                Log.println(String.format("Datacenter.containerAllocator: Couldn't find a vm to host the container #%s", container.getUid()));
+                Log.println(String.format("Datacenter.containerAllocator: Couldn't find a vm to host the container #%s", GuestEntity.getUid(container.getKey())));
             }
         }
     }
@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.core.*;
 import org.cloudbus.cloudsim.lists.CloudletList;
 import org.cloudbus.cloudsim.lists.VmList;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,6 +27,10 @@ import java.util.HashMap;
  */
 
 public class ContainerDatacenterBroker extends DatacenterBroker {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The container list
      */
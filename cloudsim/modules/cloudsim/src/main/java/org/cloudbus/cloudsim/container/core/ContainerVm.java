@@ -12,7 +12,9 @@ import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
+import org.cloudbus.cloudsim.util.MethodOverride;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +37,9 @@ import java.util.List;
  */
 public class ContainerVm extends Vm {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The Cloudlet scheduler.
      */
@@ -64,6 +69,17 @@ public class ContainerVm extends Vm {
      */
     private final List<GuestEntity> containersMigratingIn = new ArrayList<>();
 
+    /**
+     * Whether the subclasses override {@link #getCurrentRequestedMips()}.
+     */
+    private static final MethodOverride requestedMipsOverride =
+            new MethodOverride(ContainerVm.class, "getCurrentRequestedMips");
+
+    /**
+     * The share returned by {@link #getCurrentRequestedMipsBuffer()}, refilled by each call.
+     */
+    private final MipsShare currentRequestedMips = new MipsShare();
+
     /**
      * Creates a new VMCharacteristics object.
      * @param id
@@ -182,14 +198,29 @@ public class ContainerVm extends Vm {
      */
     @Override
     public List<Double> getCurrentRequestedMips() {
-        List<Double> currentRequestedMips = new ArrayList<>(getNumberOfPes());
+        return new MipsShare(fillCurrentRequestedMips());
+    }
+
+    @Override
+    public List<Double> getCurrentRequestedMipsBuffer() {
+        if (requestedMipsOverride.isOverriddenBy(getClass())) {
+            return getCurrentRequestedMips();
+        }
+        return fillCurrentRequestedMips();
+    }
+
+    /**
+     * Refills the share returned by {@link #getCurrentRequestedMipsBuffer()}.
+     *
+     * @return the refilled share
+     */
+    private MipsShare fillCurrentRequestedMips() {
         if (isBeingInstantiated()) {
-            for (int i = 0; i < getNumberOfPes(); i++) {
-                currentRequestedMips.add(getMips());
-            }
+            currentRequestedMips.fillMips(getMips(), getNumberOfPes());
         } else {
+            currentRequestedMips.clear();
             for (GuestEntity container : getGuestList()) {
-                currentRequestedMips.addAll(container.getCurrentRequestedMips());
+                currentRequestedMips.addAllMips(container.getCurrentRequestedMipsBuffer());
             }
         }
         //Log.printLine("Vm: get Current requested Mips" + currentRequestedMips);
@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.power.PowerHost;
 
 import java.io.IOException;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,6 +25,9 @@ import java.util.List;
  */
 public class PowerContainerDatacenter extends ContainerDatacenter {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
 
     /**
      * The power.
@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.power.PowerHost;
 
 import java.io.IOException;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,6 +24,10 @@ import java.util.List;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class PowerContainerDatacenterCM extends PowerContainerDatacenter {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The disable container migrations.
      */
@@ -16,7 +16,9 @@ import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.power.PowerHost;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
+import org.cloudbus.cloudsim.util.LatencyHistogram;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -25,6 +27,9 @@ import java.util.*;
  */
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends VmAllocationPolicySimpler {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * The vm selection policy.
      */
@@ -51,23 +56,35 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
     private final Map<Integer, List<Double>> timeHistory = new HashMap<>();
 
     /**
-     * The execution time history vm selection.
+     * The histogram of the execution times of the vm selection, in nanoseconds.
      */
-    private final List<Double> executionTimeHistoryVmSelection = new ArrayList<>();
+    private final LatencyHistogram executionTimeHistogramVmSelection = new LatencyHistogram();
 
     /**
-     * The execution time history host selection.
+     * The histogram of the execution times of the host selection, in nanoseconds.
      */
-    private final List<Double> executionTimeHistoryHostSelection = new ArrayList<>();
+    private final LatencyHistogram executionTimeHistogramHostSelection = new LatencyHistogram();
 
     /**
-     * The execution time history vm reallocation.
+     * The histogram of the execution times of the vm reallocation, in nanoseconds.
      */
-    private final List<Double> executionTimeHistoryVmReallocation = new ArrayList<>();
+    private final LatencyHistogram executionTimeHistogramVmReallocation = new LatencyHistogram();
 
     /**
-     * The execution time history total.
+     * The histogram of the execution times of the whole optimization, in nanoseconds.
      */
+    private final LatencyHistogram executionTimeHistogramTotal = new LatencyHistogram();
+
+    /** The history of the execution times of the vm selection, in seconds. */
+    private final List<Double> executionTimeHistoryVmSelection = new ArrayList<>();
+
+    /** The history of the execution times of the host selection, in seconds. */
+    private final List<Double> executionTimeHistoryHostSelection = new ArrayList<>();
+
+    /** The history of the execution times of the vm reallocation, in seconds. */
+    private final List<Double> executionTimeHistoryVmReallocation = new ArrayList<>();
+
+    /** The history of the execution times of the whole optimization, in seconds. */
     private final List<Double> executionTimeHistoryTotal = new ArrayList<>();
 
     /**
@@ -91,34 +108,33 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
      */
     @Override
     public List<GuestMapping> optimizeAllocation(List<? extends GuestEntity> vmList) {
-        ExecutionTimeMeasurer.start("optimizeAllocationTotal");
+        ExecutionTimeMeasurer.Measurement total = ExecutionTimeMeasurer.start();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationHostSelection");
+        ExecutionTimeMeasurer.Measurement hostSelection = ExecutionTimeMeasurer.start();
         List<PowerHost> overUtilizedHosts = getOverUtilizedHosts();
-        getExecutionTimeHistoryHostSelection().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationHostSelection"));
+        long hostSelectionTime = hostSelection.stop();
 
         printOverUtilizedHosts(overUtilizedHosts);
 
         saveAllocation();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationVmSelection");
+        ExecutionTimeMeasurer.Measurement vmSelection = ExecutionTimeMeasurer.start();
         List<? extends GuestEntity> vmsToMigrate = getVmsToMigrateFromHosts(overUtilizedHosts);
-        getExecutionTimeHistoryVmSelection().add(ExecutionTimeMeasurer.end("optimizeAllocationVmSelection"));
+        long vmSelectionTime = vmSelection.stop();
 
         Log.println("Reallocation of VMs from the over-utilized hosts:");
-        ExecutionTimeMeasurer.start("optimizeAllocationVmReallocation");
+        ExecutionTimeMeasurer.Measurement vmReallocation = ExecutionTimeMeasurer.start();
         List<GuestMapping> migrationMap = getNewVmPlacement(vmsToMigrate, new HashSet<Host>(
                 overUtilizedHosts));
-        getExecutionTimeHistoryVmReallocation().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationVmReallocation"));
+        long vmReallocationTime = vmReallocation.stop();
         Log.println();
 
         migrationMap.addAll(getMigrationMapFromUnderUtilizedHosts(overUtilizedHosts, migrationMap));
 
         restoreAllocation();
 
-        getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
+        long totalTime = total.stop();
+        recordExecutionTimes(hostSelectionTime, vmSelectionTime, vmReallocationTime, totalTime);
 
         return migrationMap;
     }
@@ -558,7 +574,7 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
                 Log.printlnConcat("Couldn't restore VM #", vm.getId(), " on host #", host.getId());
                 System.exit(0);
             }
-            getGuestTable().put(vm.getUid(), host);
+            getGuestTableByKey().put(vm.getKey(), host);
         }
     }
 
@@ -668,38 +684,106 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends
         return timeHistory;
     }
 
+    /**
+     * Records the execution times of the steps of a call of {@link #optimizeAllocation(List)}.
+     *
+     * @param hostSelection the time spent in the host selection, in nanoseconds
+     * @param vmSelection the time spent in the VM selection, in nanoseconds
+     * @param vmReallocation the time spent in the VM reallocation, in nanoseconds
+     * @param total the total time of the call, in nanoseconds
+     * @since CloudSim Toolkit 7.0
+     */
+    protected void recordExecutionTimes(long hostSelection, long vmSelection, long vmReallocation, long total) {
+        executionTimeHistogramHostSelection.record(hostSelection);
+        executionTimeHistogramVmSelection.record(vmSelection);
+        executionTimeHistogramVmReallocation.record(vmReallocation);
+        executionTimeHistogramTotal.record(total);
+        executionTimeHistoryHostSelection.add(hostSelection / 1e9);
+        executionTimeHistoryVmSelection.add(vmSelection / 1e9);
+        executionTimeHistoryVmReallocation.add(vmReallocation / 1e9);
+        executionTimeHistoryTotal.add(total / 1e9);
+    }
+
+    /**
+     * Gets the histogram of the execution times of the vm selection.
+     *
+     * @return the histogram of the execution times, in nanoseconds
+     * @since CloudSim Toolkit 7.0
+     */
+    public LatencyHistogram getExecutionTimeHistogramVmSelection() {
+        return executionTimeHistogramVmSelection;
+    }
+
     /**
      * Gets the execution time history vm selection.
      *
-     * @return the execution time history vm selection
+     * @return the execution times of the vm selection, in seconds
+     * @deprecated use {@link #getExecutionTimeHistogramVmSelection()}, which does not keep every execution time
      */
+    @Deprecated
     public List<Double> getExecutionTimeHistoryVmSelection() {
         return executionTimeHistoryVmSelection;
     }
 
+    /**
+     * Gets the histogram of the execution times of the host selection.
+     *
+     * @return the histogram of the execution times, in nanoseconds
+     * @since CloudSim Toolkit 7.0
+     */
+    public LatencyHistogram getExecutionTimeHistogramHostSelection() {
+        return executionTimeHistogramHostSelection;
+    }
+
     /**
      * Gets the execution time history host selection.
      *
-     * @return the execution time history host selection
+     * @return the execution times of the host selection, in seconds
+     * @deprecated use {@link #getExecutionTimeHistogramHostSelection()}, which does not keep every execution time
      */
+    @Deprecated
     public List<Double> getExecutionTimeHistoryHostSelection() {
         return executionTimeHistoryHostSelection;
     }
 
+    /**
+     * Gets the histogram of the execution times of the vm reallocation.
+     *
+     * @return the histogram of the execution times, in nanoseconds
+     * @since CloudSim Toolkit 7.0
+     */
+    public LatencyHistogram getExecutionTimeHistogramVmReallocation() {
+        return executionTimeHistogramVmReallocation;
+    }
+
     /**
      * Gets the execution time history vm reallocation.
      *
-     * @return the execution time history vm reallocation
+     * @return the execution times of the vm reallocation, in seconds
+     * @deprecated use {@link #getExecutionTimeHistogramVmReallocation()}, which does not keep every execution time
      */
+    @Deprecated
     public List<Double> getExecutionTimeHistoryVmReallocation() {
         return executionTimeHistoryVmReallocation;
     }
 
+    /**
+     * Gets the histogram of the execution times of the whole optimization.
+     *
+     * @return the histogram of the execution times, in nanoseconds
+     * @since CloudSim Toolkit 7.0
+     */
+    public LatencyHistogram getExecutionTimeHistogramTotal() {
+        return executionTimeHistogramTotal;
+    }
+
     /**
      * Gets the execution time history total.
      *
-     * @return the execution time history total
+     * @return the execution times of the whole optimization, in seconds
+     * @deprecated use {@link #getExecutionTimeHistogramTotal()}, which does not keep every execution time
      */
+    @Deprecated
     public List<Double> getExecutionTimeHistoryTotal() {
         return executionTimeHistoryTotal;
     }
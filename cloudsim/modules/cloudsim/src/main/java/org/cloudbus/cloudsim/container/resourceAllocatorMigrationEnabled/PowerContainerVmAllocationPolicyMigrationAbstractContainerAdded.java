@@ -24,6 +24,7 @@ import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
 
+import java.io.Serial;
 import java.util.*;
 
 
@@ -34,6 +35,9 @@ import java.util.*;
 
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainerAdded extends PowerContainerVmAllocationPolicyMigrationAbstract {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private ContainerDatacenter datacenter;
     /**
      * The container selection policy.
@@ -64,35 +68,34 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainer
     @Override
     public List<GuestMapping> optimizeAllocation(List<? extends GuestEntity> vmList) {
 
-        ExecutionTimeMeasurer.start("optimizeAllocationTotal");
+        ExecutionTimeMeasurer.Measurement total = ExecutionTimeMeasurer.start();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationHostSelection");
+        ExecutionTimeMeasurer.Measurement hostSelection = ExecutionTimeMeasurer.start();
         List<PowerHost> overUtilizedHosts = getOverUtilizedHosts();
-        getExecutionTimeHistoryHostSelection().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationHostSelection"));
+        long hostSelectionTime = hostSelection.stop();
 
         printOverUtilizedHosts(overUtilizedHosts);
 
         saveAllocation();
 
-        ExecutionTimeMeasurer.start("optimizeAllocationContainerSelection");
+        ExecutionTimeMeasurer.Measurement containerSelection = ExecutionTimeMeasurer.start();
         List<? extends GuestEntity> containersToMigrate = getContainersToMigrateFromHosts(overUtilizedHosts);
-        getExecutionTimeHistoryVmSelection().add(ExecutionTimeMeasurer.end("optimizeAllocationContainerSelection"));
+        long containerSelectionTime = containerSelection.stop();
 
         Log.println("Reallocation of Containers from the over-utilized hosts:");
-        ExecutionTimeMeasurer.start("optimizeAllocationVmReallocation");
+        ExecutionTimeMeasurer.Measurement vmReallocation = ExecutionTimeMeasurer.start();
         List<GuestMapping> migrationMap = getPlacementForLeftContainers(containersToMigrate, new HashSet<Host>(overUtilizedHosts));
 
 
-        getExecutionTimeHistoryVmReallocation().add(
-                ExecutionTimeMeasurer.end("optimizeAllocationVmReallocation"));
+        long vmReallocationTime = vmReallocation.stop();
         Log.println();
 
         migrationMap.addAll(getContainerMigrationMapFromUnderUtilizedHosts(overUtilizedHosts, migrationMap));
 
         restoreAllocation();
 
-        getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
+        long totalTime = total.stop();
+        recordExecutionTimes(hostSelectionTime, containerSelectionTime, vmReallocationTime, totalTime);
 
         return migrationMap;
 
@@ -667,7 +670,7 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainer
                     System.exit(0);
                 }
 
-                getGuestTable().put(vm.getUid(), host);
+                getGuestTableByKey().put(vm.getKey(), host);
             }
 //            vm.containerDestroyAll();
 //            vm.reallocateMigratingInContainers();
@@ -694,7 +697,7 @@ public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainer
 
                 }
                 getDatacenter().getContainerAllocationPolicy().
-                        getGuestTable().put(container.getUid(), vm);
+                        getGuestTableByKey().put(container.getKey(), vm);
 //            container.setVm(vm);
 
             }
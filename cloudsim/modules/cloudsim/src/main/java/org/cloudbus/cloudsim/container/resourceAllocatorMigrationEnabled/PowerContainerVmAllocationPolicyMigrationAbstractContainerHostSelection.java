@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.HostEntity;
 import org.cloudbus.cloudsim.power.PowerHost;
 
+import java.io.Serial;
 import java.util.*;
 
 /**
@@ -25,6 +26,9 @@ import java.util.*;
  */
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelection extends PowerContainerVmAllocationPolicyMigrationAbstractContainerAdded {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private SelectionPolicy<HostEntity> hostSelectionPolicy;
 
     public PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelection(List<? extends HostEntity> hostList, SelectionPolicy<GuestEntity> vmSelectionPolicy,
@@ -12,6 +12,7 @@ import org.cloudbus.cloudsim.core.VirtualEntity;
 import org.cloudbus.cloudsim.power.PowerHost;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 
+import java.io.Serial;
 import java.util.List;
 
 /**
@@ -20,6 +21,9 @@ import java.util.List;
  */
 public class PowerContainerVmAllocationPolicyMigrationStaticThreshold extends PowerContainerVmAllocationPolicyMigrationAbstract {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /** The utilization threshold. */
     private double utilizationThreshold = 0.9;
 
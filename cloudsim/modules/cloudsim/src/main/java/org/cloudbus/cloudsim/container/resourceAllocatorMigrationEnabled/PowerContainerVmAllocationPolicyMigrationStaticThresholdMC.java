@@ -15,6 +15,7 @@ import org.cloudbus.cloudsim.core.VirtualEntity;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.power.PowerHost;
 
+import java.io.Serial;
 import java.util.List;
 
 /**
@@ -22,6 +23,10 @@ import java.util.List;
  * Modified by Remo Andreoli (Feb 2024)
  */
 public class PowerContainerVmAllocationPolicyMigrationStaticThresholdMC extends PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelection {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
 //public class PowerContainerVmAllocationPolicyMigrationStaticThresholdMC extends PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelectionUnderUtilizedAdded {
 
 
@@ -0,0 +1,302 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link FutureEventList} implemented as a calendar queue, which provides amortised O(1)
+ * insertion and removal when the distribution of the event times is reasonably stable.
+ * <p>
+ * The time axis is divided into "days" of a fixed width, and the days are mapped
+ * onto a circular array of sorted buckets, like the days of a year on a desk calendar.
+ * The earliest event is found by scanning the buckets starting from the day of the
+ * last dequeued event. The number of buckets follows the number of events, and the
+ * width of a day is re-estimated from the gaps between the earliest events at each resize.
+ *
+ * @see <a href="https://doi.org/10.1145/63039.63045">R. Brown, Calendar queues: a fast O(1)
+ *      priority queue implementation for the simulation event set problem, CACM 1988</a>
+ * @since CloudSim Toolkit 7.0
+ */
+public class CalendarQueue implements FutureEventList {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The minimum number of buckets. */
+	private static final int MIN_BUCKETS = 2;
+
+	/** The number of events sampled to estimate the width of a day. */
+	private static final int SAMPLE_SIZE = 25;
+
+	/** A incremental number used for event attribute */
+	private long serial = 0;
+
+	/**
+	 * A decreasing negative number given to the events added to the head of the queue, so that
+	 * they precede the other events with the same time, the latest added first.
+	 */
+	private long firstSerial = 0;
+
+	/** The circular array of buckets. */
+	private EventBucket[] buckets;
+
+	/** The width of a day, in simulation time. */
+	private double width;
+
+	/** The number of events in the queue. */
+	private int size;
+
+	/** The day of the last dequeued event; no event in the queue is earlier than this day. */
+	private long currentDay;
+
+	/** The bucket holding the earliest event, or -1 if it has to be searched for. */
+	private int minBucket = -1;
+
+	/**
+	 * Creates an empty calendar queue.
+	 */
+	public CalendarQueue() {
+		this(1.0);
+	}
+
+	/**
+	 * Creates an empty calendar queue with an initial width of the days.
+	 *
+	 * @param width the initial width of a day, in simulation time
+	 */
+	public CalendarQueue(double width) {
+		if (width <= 0) {
+			throw new IllegalArgumentException("The width of a day should be positive, but is:" + width);
+		}
+		this.width = width;
+		buckets = newBuckets(MIN_BUCKETS);
+	}
+
+	@Override
+	public void addEvent(SimEvent newEvent) {
+		newEvent.setSerial(serial++);
+		insert(newEvent);
+	}
+
+	@Override
+	public void addEventFirst(SimEvent newEvent) {
+		newEvent.setSerial(--firstSerial);
+		insert(newEvent);
+	}
+
+	@Override
+	public SimEvent peek() {
+		if (size == 0) {
+			return null;
+		}
+		return buckets[findMinBucket()].last();
+	}
+
+	@Override
+	public SimEvent poll() {
+		if (size == 0) {
+			return null;
+		}
+		int b = findMinBucket();
+		SimEvent ev = buckets[b].pollLast();
+		size--;
+		minBucket = -1;
+
+		if (size < buckets.length / 2 && buckets.length > MIN_BUCKETS) {
+			resize(buckets.length / 2);
+		}
+		return ev;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		for (EventBucket bucket : buckets) {
+			bucket.clear();
+		}
+		size = 0;
+		currentDay = 0;
+		minBucket = -1;
+	}
+
+	@Override
+	public Iterator<SimEvent> iterator() {
+		return new EventBucket.BucketIterator(Arrays.asList(buckets), () -> {
+			size--;
+			minBucket = -1;
+		});
+	}
+
+	/**
+	 * Gets the number of buckets currently in use.
+	 *
+	 * @return the number of buckets
+	 */
+	public int getNumberOfBuckets() {
+		return buckets.length;
+	}
+
+	/**
+	 * Gets the current width of a day.
+	 *
+	 * @return the width of a day, in simulation time
+	 */
+	public double getWidth() {
+		return width;
+	}
+
+	private long dayOf(SimEvent ev) {
+		return (long) (ev.eventTime() / width);
+	}
+
+	private int bucketOf(long day) {
+		return (int) (day & (buckets.length - 1));
+	}
+
+	private void insert(SimEvent ev) {
+		long day = dayOf(ev);
+		if (size == 0 || day < currentDay) {
+			currentDay = day;
+		}
+		buckets[bucketOf(day)].insertSorted(ev);
+		size++;
+		minBucket = -1;
+
+		if (size > 2 * buckets.length) {
+			resize(buckets.length * 2);
+		}
+	}
+
+	/**
+	 * Finds the bucket holding the earliest event, scanning the days starting from
+	 * {@link #currentDay}. If no event is found within a whole year, a direct search
+	 * among the earliest event of each bucket is performed instead.
+	 *
+	 * @return the index of the bucket
+	 */
+	private int findMinBucket() {
+		if (minBucket >= 0) {
+			return minBucket;
+		}
+
+		for (int i = 0; i < buckets.length; i++) {
+			EventBucket bucket = buckets[bucketOf(currentDay)];
+			if (!bucket.isEmpty() && dayOf(bucket.last()) <= currentDay) {
+				minBucket = bucketOf(currentDay);
+				return minBucket;
+			}
+			currentDay++;
+		}
+
+		// direct search
+		SimEvent min = null;
+		for (int i = 0; i < buckets.length; i++) {
+			if (!buckets[i].isEmpty() && (min == null || EventBucket.ORDER.compare(buckets[i].last(), min) < 0)) {
+				min = buckets[i].last();
+				minBucket = i;
+			}
+		}
+		currentDay = dayOf(min);
+		return minBucket;
+	}
+
+	/**
+	 * Changes the number of buckets, re-estimating the width of a day and
+	 * re-distributing all the events.
+	 *
+	 * @param newSize the new number of buckets, a power of two
+	 */
+	private void resize(int newSize) {
+		List<SimEvent> events = new ArrayList<>(size);
+		for (EventBucket bucket : buckets) {
+			for (int i = 0; i < bucket.size(); i++) {
+				events.add(bucket.get(i));
+			}
+		}
+
+		double newWidth = estimateWidth(events);
+		if (newWidth > 0) {
+			width = newWidth;
+		}
+
+		buckets = newBuckets(newSize);
+		size = 0;
+		minBucket = -1;
+		for (SimEvent ev : events) {
+			insert(ev);
+		}
+	}
+
+	/**
+	 * Estimates the width of a day as three times the average gap between the earliest events,
+	 * discarding gaps larger than twice the average.
+	 *
+	 * @param events the events in the queue
+	 * @return the estimated width, or 0 if it cannot be estimated
+	 */
+	private double estimateWidth(List<SimEvent> events) {
+		if (events.size() < 2) {
+			return 0;
+		}
+
+		// selection of the earliest events, kept sorted
+		int n = Math.min(SAMPLE_SIZE, events.size());
+		SimEvent[] sample = new SimEvent[n];
+		int filled = 0;
+		for (SimEvent ev : events) {
+			if (filled == n && EventBucket.ORDER.compare(ev, sample[n - 1]) >= 0) {
+				continue;
+			}
+			int i = filled < n ? filled++ : n - 1;
+			while (i > 0 && EventBucket.ORDER.compare(ev, sample[i - 1]) < 0) {
+				sample[i] = sample[i - 1];
+				i--;
+			}
+			sample[i] = ev;
+		}
+
+		double total = sample[n - 1].eventTime() - sample[0].eventTime();
+		double average = total / (n - 1);
+		double sum = 0;
+		int count = 0;
+		for (int i = 1; i < n; i++) {
+			double gap = sample[i].eventTime() - sample[i - 1].eventTime();
+			if (gap <= 2 * average) {
+				sum += gap;
+				count++;
+			}
+		}
+		if (count == 0 || sum == 0) {
+			return 0;
+		}
+		return 3 * sum / count;
+	}
+
+	private static EventBucket[] newBuckets(int n) {
+		EventBucket[] buckets = new EventBucket[n];
+		for (int i = 0; i < n; i++) {
+			buckets[i] = new EventBucket();
+		}
+		return buckets;
+	}
+}
@@ -253,5 +253,20 @@ public enum CloudActionTags implements CloudSimTags {
 
 	NETWORK_PKT_DOWN,
 
-    NETWORK_PKT_REACHED_HOST
+    NETWORK_PKT_REACHED_HOST;
+
+	/** The dense index of the tag, see {@link #index()}. */
+	private int index;
+
+	static {
+		int first = CloudSimTags.firstIndex(CloudActionTags.class);
+		for (CloudActionTags tag : values()) {
+			tag.index = first + tag.ordinal();
+		}
+	}
+
+	@Override
+	public int index() {
+		return index;
+	}
 }
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serial;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -30,6 +32,9 @@ import org.cloudbus.cloudsim.Log;
  */
 public class CloudInformationService extends SimEntity {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** A list containing the id of all entities that are registered at the 
          * Cloud Information Service (CIS). 
          * //@TODO It is not clear if this list is a list of host id's or datacenter id's.
@@ -127,6 +132,23 @@ public class CloudInformationService extends SimEntity {
 		notifyAllEntity();
 	}
 
+	@Override
+	protected Object saveState() {
+		return List.of(new ArrayList<>(resList), new ArrayList<>(arList), new ArrayList<>(gisList));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void restoreState(Object state) {
+		List<List<Integer>> lists = (List<List<Integer>>) state;
+		resList.clear();
+		resList.addAll(lists.get(0));
+		arList.clear();
+		arList.addAll(lists.get(1));
+		gisList.clear();
+		gisList.addAll(lists.get(2));
+	}
+
 	/**
 	 * Gets the list of all CloudResource IDs, including hostList that support Advance Reservation.
 	 * 
@@ -8,14 +8,14 @@
 
 package org.cloudbus.cloudsim.core;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.core.predicates.Predicate;
@@ -27,6 +27,11 @@ import org.cloudbus.cloudsim.core.predicates.PredicateNone;
  * The main class of the simulation.
  * It provides all the methods to start, pause and stop simulated entities.
  * It stores and dispatches all the discrete events to be processed at run-time by the entities.
+ * <p>
+ * The simulation state is held by a {@link SimulationContext}; the static methods of this class
+ * delegate to the context bound to the calling thread, which is created by
+ * {@link #init(int, Calendar, boolean)}. Independent simulations can therefore run concurrently
+ * in the same JVM, each one on its own thread.
  * 
  * @author Rodrigo N. Calheiros
  * @author Anton Beloglazov
@@ -38,58 +43,100 @@ public class CloudSim {
 	/** The Constant CLOUDSIM_VERSION_STRING. */
 	private static final String CLOUDSIM_VERSION_STRING = "7.0";
 
-	/** The id of CIS entity. */
-	private static int cisId = -1;
-
-	/** The id of CloudSimShutdown entity. */
-	private static int shutdownId = -1;
-
-	/** The CIS object. */
-	private static CloudInformationService cis = null;
+	/**
+	 * The simulation context bound to each thread. A thread is bound to a context by
+	 * {@link #init(int, Calendar, boolean)} or {@link #setSimulationContext(SimulationContext)};
+	 * the threads it starts are not, unless their work is wrapped by
+	 * {@link SimulationContext#bind(Runnable)}.
+	 */
+	private static final ThreadLocal<SimulationContext> context = new ThreadLocal<>();
 
-	/** The Constant NOT_FOUND. */
-	private static final int NOT_FOUND = -1;
+	/**
+	 * The context of the last simulation initialised, used by the threads bound to no context.
+	 * A program that runs a single simulation can thus call the static methods of this class from
+	 * any thread; only concurrent simulations need their threads to be bound explicitly.
+	 */
+	private static volatile SimulationContext defaultContext;
 
-	/** The trace flag. */
-	private static boolean traceFlag = false;
+	/**
+	 * Gets the simulation context bound to the calling thread or, if there is none, the context of
+	 * the last simulation initialised by {@link #init(int, Calendar, boolean)}.
+	 *
+	 * @return the current simulation context
+	 * @throws IllegalStateException if no simulation context is bound to the calling thread and
+	 *             no simulation was initialised yet
+	 */
+	public static SimulationContext getSimulationContext() {
+		SimulationContext simulationContext = context.get();
+		if (simulationContext == null) {
+			simulationContext = defaultContext;
+			if (simulationContext == null) {
+				throw new IllegalStateException("No simulation context is bound to thread " + Thread.currentThread().getName()
+						+ ": call CloudSim.init() or CloudSim.setSimulationContext() first.");
+			}
+		}
+		return simulationContext;
+	}
 
-	/** The calendar. */
-	private static Calendar calendar = null;
+	/**
+	 * Checks whether a simulation context is bound to the calling thread, rather than used as the
+	 * default one.
+	 *
+	 * @return true if a simulation context is bound, false otherwise
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static boolean hasSimulationContext() {
+		return context.get() != null;
+	}
 
-	/** The termination time. */
-	private static double terminateAt = -1;
+	/**
+	 * Binds a simulation context to the calling thread. All the static methods of this class
+	 * invoked afterwards by the thread act on the given context.
+	 *
+	 * @param simulationContext the context to bind
+	 */
+	public static void setSimulationContext(SimulationContext simulationContext) {
+		if (simulationContext == null) {
+			throw new IllegalArgumentException("The simulation context can't be null.");
+		}
+		context.set(simulationContext);
+	}
 
-	/** The minimal time between events. Events within shorter periods after the last event are discarded. */
-	private static double minTimeBetweenEvents = 0.01;
-	
 	/**
-	 * Initialises all the common attributes.
-	 * 
-	 * @param _calendar the _calendar
-	 * @param _traceFlag the _trace flag
-	 * @param numUser number of users
-	 * @throws Exception This happens when creating this entity before initialising CloudSim package
-	 *             or this entity name is <tt>null</tt> or empty
-	 * @pre $none
-	 * @post $none
+	 * Unbinds the simulation context of the calling thread, e.g. once a pooled thread is done
+	 * running a simulation, so that the thread does not keep it reachable.
+	 *
+	 * @since CloudSim Toolkit 7.0
 	 */
-	private static void initCommonVariable(Calendar _calendar, boolean _traceFlag, int numUser)
-			throws Exception {
-		initialize();
-		// NOTE: the order for the below 3 lines are important
-		traceFlag = _traceFlag;
+	public static void clearSimulationContext() {
+		context.remove();
+	}
 
-		// Set the current Wall clock time as the starting time of
-		// simulation
-		if (_calendar == null) {
-			calendar = Calendar.getInstance();
+	/**
+	 * Binds a simulation context to the calling thread, or unbinds it.
+	 *
+	 * @param simulationContext the context to bind, or <tt>null</tt> to unbind it
+	 * @return the context previously bound, or <tt>null</tt> if none was
+	 */
+	static SimulationContext swapSimulationContext(SimulationContext simulationContext) {
+		SimulationContext previous = context.get();
+		if (simulationContext == null) {
+			context.remove();
 		} else {
-			calendar = _calendar;
+			context.set(simulationContext);
 		}
+		return previous;
+	}
 
-		// creates a CloudSimShutdown object
-		CloudSimShutdown shutdown = new CloudSimShutdown("CloudSimShutdown", numUser);
-		shutdownId = shutdown.getId();
+	/**
+	 * Binds a new simulation context to the calling thread, and makes it the default context of
+	 * the threads bound to none.
+	 *
+	 * @param simulationContext the context
+	 */
+	private static void bindInitialisedContext(SimulationContext simulationContext) {
+		setSimulationContext(simulationContext);
+		defaultContext = simulationContext;
 	}
 
 	/**
@@ -101,6 +148,7 @@ public class CloudSim {
 	 * <li>CloudSimShutdown
 	 * </ul>
 	 * <p>
+	 * A new {@link SimulationContext} is created and bound to the calling thread.
 	 * 
 	 * @param numUser the number of User Entities created. This parameters indicates that
 	 *            {@link CloudSimShutdown} first waits for all user entities's
@@ -114,14 +162,27 @@ public class CloudSim {
 	 * @post $none
 	 */
 	public static void init(int numUser, Calendar cal, boolean traceFlag) {
-		try {
-			initCommonVariable(cal, traceFlag, numUser);
-
-			// create a GIS object
-			cis = new CloudInformationService("CloudInformationService");
+		init(numUser, cal, traceFlag, new EventQueue());
+	}
 
-			// set all the above entity IDs
-			cisId = cis.getId();
+	/**
+	 * Initialises CloudSim parameters, using a given implementation of the future event list.
+	 * This method should be called before creating any entities.
+	 *
+	 * @param numUser the number of User Entities created
+	 * @param cal starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @param futureEventList an empty list that will hold the future events, such as
+	 *            {@link EventQueue}, {@link CalendarQueue} or {@link LadderQueue}
+	 * @see #init(int, Calendar, boolean)
+	 * @pre numUser >= 0
+	 * @post $none
+	 */
+	public static void init(int numUser, Calendar cal, boolean traceFlag, FutureEventList futureEventList) {
+		bindInitialisedContext(new SimulationContext(futureEventList));
+		try {
+			getSimulationContext().init(numUser, cal, traceFlag);
 		} catch (Exception s) {
 			Log.println("CloudSim.init(): The simulation has been terminated due to an unexpected error");
 			Log.println(s.getMessage());
@@ -157,7 +218,32 @@ public class CloudSim {
 	    }
 	    
 	    init(numUser, cal, traceFlag);
-	    CloudSim.minTimeBetweenEvents = minTimeBetweenEvents;
+	    getSimulationContext().setMinTimeBetweenEvents(minTimeBetweenEvents);
+	}
+
+	/**
+	 * Initialises CloudSim parameters, using a given implementation of the future event list.
+	 * This method should be called before creating any entities.
+	 *
+	 * @param numUser the number of User Entities created
+	 * @param cal starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @param minTimeBetweenEvents - the minimal period between events. Events within shorter periods
+	 * after the last event are discarded.
+	 * @param futureEventList an empty list that will hold the future events
+	 * @see #init(int, Calendar, boolean, FutureEventList)
+	 * @pre numUser >= 0
+	 * @post $none
+	 */
+	public static void init(int numUser, Calendar cal, boolean traceFlag, double minTimeBetweenEvents,
+							FutureEventList futureEventList) {
+	    if (minTimeBetweenEvents <= 0) {
+		throw new IllegalArgumentException("The minimal time between events should be positive, but is:" + minTimeBetweenEvents);
+	    }
+
+	    init(numUser, cal, traceFlag, futureEventList);
+	    getSimulationContext().setMinTimeBetweenEvents(minTimeBetweenEvents);
 	}
 	
 	
@@ -181,12 +267,8 @@ public class CloudSim {
 		try {
 			double clock = run();
 
-			// reset all static variables
-			cisId = -1;
-			shutdownId = -1;
-			cis = null;
-			calendar = null;
-			traceFlag = false;
+			// reset the attributes set by init
+			getSimulationContext().reset();
 
 			return clock;
 		} catch (IllegalArgumentException e) {
@@ -196,6 +278,100 @@ public class CloudSim {
 		}
 	}
 
+	/**
+	 * Makes the simulation run in parallel, with the entities split into partitions.
+	 * This method should be called after all the entities have been created and before
+	 * starting the simulation.
+	 *
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 * @see SimulationContext#setPartitions(List, int)
+	 */
+	public static void setPartitions(List<? extends Collection<? extends SimEntity>> partitions, int numThreads) {
+		getSimulationContext().setPartitions(partitions, numThreads);
+	}
+
+	/**
+	 * Makes this process a rank of a simulation distributed over several processes, which
+	 * simulate the entities that this one stands in for by {@link RemoteEntity remote entities}.
+	 * This method should be called after all the entities have been created and before
+	 * starting the simulation.
+	 *
+	 * @param transport the transport to the other ranks
+	 * @param lookahead the minimum delay of the events sent to other ranks
+	 * @see SimulationContext#setDistributed(Transport, double)
+	 */
+	public static void setDistributed(Transport transport, double lookahead) {
+		getSimulationContext().setDistributed(transport, lookahead);
+	}
+
+	/**
+	 * Makes the simulation run in parallel, with the entities split into partitions that are
+	 * executed optimistically. All the entities must support checkpointing.
+	 * This method should be called after all the entities have been created and before
+	 * starting the simulation.
+	 *
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 * @param window the length of the windows run speculatively by the partitions
+	 * @see SimulationContext#setOptimisticPartitions(List, int, double)
+	 */
+	public static void setOptimisticPartitions(List<? extends Collection<? extends SimEntity>> partitions,
+			int numThreads, double window) {
+		getSimulationContext().setOptimisticPartitions(partitions, numThreads, window);
+	}
+
+	/**
+	 * Sets whether the events are recycled once they have been processed, rather than allocated
+	 * for every message. This method should be called before starting the simulation.
+	 *
+	 * @param eventPooling the pooling mode
+	 * @see SimulationContext#setEventPooling(EventPooling)
+	 */
+	public static void setEventPooling(EventPooling eventPooling) {
+		getSimulationContext().setEventPooling(eventPooling);
+	}
+
+	/**
+	 * Coalesces the events with given tags that the entities send to themselves, e.g. the
+	 * {@link CloudActionTags#VM_DATACENTER_EVENT updates} of the datacenters: their times are
+	 * rounded up to a multiple of a time quantum, and the events due at the same time are merged.
+	 *
+	 * @param quantum the time quantum
+	 * @param tags the tags of the coalesced events
+	 * @return the coalescing, which gathers the statistics of the delayed and merged events
+	 * @see SimulationContext#setEventCoalescing(EventCoalescing)
+	 */
+	public static EventCoalescing setEventCoalescing(double quantum, CloudSimTags... tags) {
+		EventCoalescing coalescing = new EventCoalescing(quantum, tags);
+		getSimulationContext().setEventCoalescing(coalescing);
+		return coalescing;
+	}
+
+	/**
+	 * Sets the trace the dispatched events are recorded to, e.g. to replay the flow of events of
+	 * the simulation later. The trace has to be closed once the simulation is over.
+	 *
+	 * @param trace the trace, or <tt>null</tt> to stop recording
+	 * @see SimulationContext#setEventTrace(EventTrace)
+	 */
+	public static void setEventTrace(EventTrace trace) {
+		getSimulationContext().setEventTrace(trace);
+	}
+
+	/**
+	 * Gathers the metrics of the engine while the simulation runs: the rate of events, the depth
+	 * of the future event queue, and the number of events and handler latency by tag and entity.
+	 *
+	 * @return the metrics, which can be read or written at any time
+	 * @see SimulationContext#setMetrics(EngineMetrics)
+	 */
+	public static EngineMetrics enableMetrics() {
+		EngineMetrics metrics = new EngineMetrics();
+		getSimulationContext().setMetrics(metrics);
+		return metrics;
+	}
+
 	/**
 	 * Stops Cloud Simulation. This should be only called if
 	 * any of the user defined entities <b>explicitly</b> want to terminate simulation during
@@ -222,8 +398,7 @@ public class CloudSim {
 	 * @return true, if successful; false otherwise.
 	 */
 	public static void terminateSimulation() {
-		running = false;
-		printMessage("Simulation: Reached termination time.");
+		getSimulationContext().terminateSimulation();
 	}
 
 	/**
@@ -233,12 +408,7 @@ public class CloudSim {
 	 * @return true, if successful otherwise.
 	 */
 	public static boolean terminateSimulation(double time) {
-		if (time <= clock) {
-			return false;
-		} else {
-			terminateAt = time;
-		}
-		return true;
+		return getSimulationContext().terminateSimulation(time);
 	}
 
 	
@@ -247,7 +417,7 @@ public class CloudSim {
 	 * @return the minimum time between events.
 	 */
 	public static double getMinTimeBetweenEvents() {
-	    return minTimeBetweenEvents;
+	    return getSimulationContext().getMinTimeBetweenEvents();
 	}
 
 	/**
@@ -258,13 +428,7 @@ public class CloudSim {
 	 * @post $none
 	 */
 	public static Calendar getSimulationCalendar() {
-		// make a new copy
-		Calendar clone = calendar;
-		if (calendar != null) {
-			clone = (Calendar) calendar.clone();
-		}
-
-		return clone;
+		return getSimulationContext().getSimulationCalendar();
 	}
 
 	/**
@@ -275,7 +439,7 @@ public class CloudSim {
 	 * @post $result >= -1
 	 */
 	public static int getCloudInfoServiceEntityId() {
-		return cisId;
+		return getSimulationContext().getCloudInfoServiceEntityId();
 	}
 
 	/**
@@ -288,58 +452,17 @@ public class CloudSim {
 	 * @post $none
 	 */
 	public static List<Integer> getCloudResourceList() {
-		if (cis == null) {
-			return null;
-		}
-
-		return cis.getList();
+		return getSimulationContext().getCloudResourceList();
 	}
 
 	// ======== SIMULATION METHODS ===============//
 
-	/** The entities. */
-	private static List<SimEntity> entities;
-
-	/** The future event queue. */
-	protected static EventQueue future;
-
-
-	/** 
-         * The current simulation clock.
-         */
-	private static double clock;
-
-	/** Flag for checking if the simulation is running. */
-	private static boolean running;
-
-	/** The entities by name. */
-	private static Map<String, SimEntity> entitiesByName;
-
-	// The predicates used in entity wait methods
-	/** The wait predicates. */
-	private static Map<Integer, Predicate> waitPredicates;
-
-	/** The paused. */
-	private static boolean paused = false;
-
-	/** The pause at. */
-	private static long pauseAt = -1;
-
-	/** The abrupt terminate. */
-	private static boolean abruptTerminate = false;
-
 	/**
 	 * Initialise the simulation for stand alone simulations. This function should be called at the
-	 * start of the simulation.
+	 * start of the simulation. It binds a fresh {@link SimulationContext} to the calling thread.
 	 */
 	protected static void initialize() {
-		Log.println("Initialising...");
-		entities = new ArrayList<>();
-		entitiesByName = new LinkedHashMap<>();
-		future = new EventQueue();
-		waitPredicates = new HashMap<>();
-		clock = 0;
-		running = false;
+		bindInitialisedContext(new SimulationContext());
 	}
 
 	// The two standard predicates
@@ -358,7 +481,7 @@ public class CloudSim {
 	 * @return the simulation time
 	 */
 	public static double clock() {
-		return clock;
+		return getSimulationContext().clock();
 	}
 
 	/**
@@ -367,17 +490,17 @@ public class CloudSim {
 	 * @return The number of entities
 	 */
 	public static int getNumEntities() {
-		return entities.size();
+		return getSimulationContext().getNumEntities();
 	}
 
 	/**
 	 * Get the entity with a given id.
 	 * 
 	 * @param id the entity's unique id number
-	 * @return The entity, or if it could not be found
+	 * @return The entity, or <tt>null</tt> if it could not be found or has been removed
 	 */
 	public static SimEntity getEntity(int id) {
-		return entities.get(id);
+		return getSimulationContext().getEntity(id);
 	}
 
 	/**
@@ -387,7 +510,19 @@ public class CloudSim {
 	 * @return The entity
 	 */
 	public static SimEntity getEntity(String name) {
-		return entitiesByName.get(name);
+		return getSimulationContext().getEntity(name);
+	}
+
+	/**
+	 * Gets a reference to the entity with a given name, which is resolved once rather than on
+	 * every event sent through it.
+	 * 
+	 * @param name The entity's name
+	 * @return the reference
+	 * @see SimulationContext#getEntityRef(String)
+	 */
+	public static EntityRef getEntityRef(String name) {
+		return getSimulationContext().getEntityRef(name);
 	}
 
 	/**
@@ -397,12 +532,7 @@ public class CloudSim {
 	 * @return The entity's unique id number
 	 */
 	public static int getEntityId(String name) {
-		SimEntity obj = entitiesByName.get(name);
-		if (obj == null) {
-			return NOT_FOUND;
-		} else {
-			return obj.getId();
-		}
+		return getSimulationContext().getEntityId(name);
 	}
 
 	/**
@@ -414,11 +544,7 @@ public class CloudSim {
 	 * @post $none
 	 */
 	public static String getEntityName(int entityID) {
-		try {
-			return getEntity(entityID).getName();
-		} catch (Exception e) {
-			return null;
-		}
+		return getSimulationContext().getEntityName(entityID);
 	}
 
 	/**
@@ -442,10 +568,7 @@ public class CloudSim {
 	 * @return the entity iterator
 	 */
 	public static List<SimEntity> getEntityList() {
-		// create a new list to prevent the user from changing
-		// the list of entities used by Simulation
-		List<SimEntity> list = new LinkedList<>(entities);
-		return list;
+		return getSimulationContext().getEntityList();
 	}
 
 	// Public update methods
@@ -457,69 +580,36 @@ public class CloudSim {
 	 * @param e The new entity
 	 */
 	public static void addEntity(SimEntity e) {
-		SimEvent evt;
-		if (running) {
-			// Post an event to make this entity
-			evt = new SimEvent(SimEvent.CREATE, clock, 1, 0, CloudActionTags.BLANK, e);
-			future.addEvent(evt);
-		}
-		if (e.getId() == -1) { // Only add once!
-			int id = entities.size();
-			e.setId(id);
-			entities.add(e);
-			entitiesByName.put(e.getName(), e);
-		}
+		getSimulationContext().addEntity(e);
 	}
 
 	/**
-	 * Internal method used to add a new entity to the simulation when the simulation is running. It
-	 * should <b>not</b> be called from user simulations.
+	 * Removes an entity from the simulation. The events still on their way to it are dropped,
+	 * and its id is not given to another entity.
 	 * 
-	 * @param e The new entity
+	 * @param e The entity
+	 * @return true if the entity was in the simulation
+	 * @see SimulationContext#removeEntity(SimEntity)
 	 */
-	protected static void addEntityDynamically(SimEntity e) {
-		if (e == null) {
-			throw new IllegalArgumentException("Adding null entity.");
-		} else {
-			printMessage("Adding: " + e.getName());
-		}
-		e.startEntity();
+	public static boolean removeEntity(SimEntity e) {
+		return getSimulationContext().removeEntity(e);
 	}
 
 	/**
-	 * Internal method used to run one tick of the simulation. This method should <b>not</b> be
-	 * called in simulations.
+	 * Internal method used to add a new entity to the simulation when the simulation is running. It
+	 * should <b>not</b> be called from user simulations.
 	 * 
-	 * @return true if there are events to be processed, false if event queue is empty
+	 * @param e The new entity
 	 */
-	private static boolean runClockTick() {
-		SimEntity ent;
-		for (int i = 0; i < entities.size(); i++) {
-			ent = entities.get(i);
-			if (ent.getState() == SimEntity.EntityStatus.RUNNABLE) {
-				ent.run();
-			}
-		}
-
-		if (future.isEmpty()) {
-			running = false;
-			//printMessage(CloudSim.clock()+": Simulation: No more future events");
-			return false;
-		}
-
-		double clk = future.peek().eventTime();
-		while (!future.isEmpty() && future.peek().eventTime() == clk) {
-			dispatchEvent(future.poll());
-		}
-
-		return true;
+	protected static void addEntityDynamically(SimEntity e) {
+		getSimulationContext().addEntityDynamically(e);
 	}
 
 	/**
 	 * Internal method used to stop the simulation. This method should <b>not</b> be used directly.
 	 */
 	public static void runStop() {
-		printMessage("Simulation completed.");
+		Log.println("Simulation completed.");
 	}
 
 	/**
@@ -529,9 +619,7 @@ public class CloudSim {
 	 * @param delay the delay
 	 */
 	public static void pause(int srcId, double delay) {
-		SimEvent e = new SimEvent(SimEvent.HOLD_DONE, clock + delay, srcId);
-		future.addEvent(e);
-		entities.get(srcId).setState(SimEntity.EntityStatus.HOLDING);
+		getSimulationContext().pause(srcId, delay);
 	}
 
 	/**
@@ -542,17 +630,10 @@ public class CloudSim {
 	 * @param delay the delay
 	 * @param tag the tag
 	 * @param data the data
+	 * @return the event, which can be used to cancel it
 	 */
-	public static void send(int srcId, int dstId, double delay, CloudSimTags tag, Object data) {
-		if (delay < 0) {
-			throw new IllegalArgumentException("Send delay can't be negative.");
-		}
-		if(delay >= Double.MAX_VALUE) {
-			throw new RuntimeException("Send delay can't be infinite.");
-		}
-
-		SimEvent e = new SimEvent(SimEvent.SEND, clock + delay, srcId, dstId, tag, data);
-		future.addEvent(e);
+	public static SimEvent send(int srcId, int dstId, double delay, CloudSimTags tag, Object data) {
+		return getSimulationContext().send(srcId, dstId, delay, tag, data);
 	}
 
 	/**
@@ -563,14 +644,10 @@ public class CloudSim {
 	 * @param delay the delay
 	 * @param tag the tag
 	 * @param data the data
+	 * @return the event, which can be used to cancel it
 	 */
-	public static void sendFirst(int srcId, int dstId, double delay, CloudSimTags tag, Object data) {
-		if (delay < 0) {
-			throw new IllegalArgumentException("Send delay can't be negative.");
-		}
-
-		SimEvent e = new SimEvent(SimEvent.SEND, clock + delay, srcId, dstId, tag, data);
-		future.addEventFirst(e);
+	public static SimEvent sendFirst(int srcId, int dstId, double delay, CloudSimTags tag, Object data) {
+		return getSimulationContext().sendFirst(srcId, dstId, delay, tag, data);
 	}
 
 	/**
@@ -582,11 +659,7 @@ public class CloudSim {
 	 * @param p the p
 	 */
 	public static void wait(int srcId, Predicate p) {
-		entities.get(srcId).setState(SimEntity.EntityStatus.WAITING);
-		if (p != SIM_ANY) {
-			// If a predicate has been used store it in order to check it
-			waitPredicates.put(srcId, p);
-		}
+		getSimulationContext().wait(srcId, p);
 	}
 
 	/**
@@ -597,80 +670,30 @@ public class CloudSim {
 	 * @return the sim event
 	 */
 	public static SimEvent cancel(int srcId, Predicate p) {
-		SimEvent ev;
-		Iterator<SimEvent> iter = future.iterator();
-		while (iter.hasNext()) {
-			ev = iter.next();
-			if (ev.getSourceId() == srcId && p.match(ev)) {
-				iter.remove();
-				return ev;
-			}
-		}
-		return null;
+		return getSimulationContext().cancel(srcId, p);
 	}
 
 	/**
 	 * Removes all events that match a given predicate from the future event queue returns true if
-	 * at least one event has been cancelled; false otherwise.
+	 * at least one event has been cancelled; false otherwise. Only the pending events of the
+	 * source entity are examined.
 	 * 
 	 * @param srcId the entity source id
 	 * @param p the p
 	 * @return true, if successful
 	 */
 	public static boolean cancelAll(int srcId, Predicate p) {
-		SimEvent ev;
-		int previousSize = future.size();
-		Iterator<SimEvent> iter = future.iterator();
-		while (iter.hasNext()) {
-			ev = iter.next();
-			if (ev.getSourceId() == srcId && p.match(ev)) {
-				iter.remove();
-			}
-		}
-		return previousSize < future.size();
+		return getSimulationContext().cancelAll(srcId, p);
 	}
 
-	//
-	// Private internal methods
-	//
-
 	/**
-	 * Dispatch event to destination entity
-	 * 
-	 * @param e the e
+	 * Removes a given event from the future event queue, in constant time.
+	 *
+	 * @param ev the event, as returned by {@link #send(int, int, double, CloudSimTags, Object)}
+	 * @return true if the event has been cancelled; false if it was already dispatched or cancelled
 	 */
-	private static void dispatchEvent(SimEvent e) {
-		int dstId = e.getDestinationId();
-		int srcId = e.getSourceId();
-		SimEntity destEnt = entities.get(dstId);
-
-		// Update the system's clock
-		if (e.eventTime() < clock) {
-			throw new IllegalArgumentException("Past event detected.");
-		}
-		clock = e.eventTime();
-
-		// Ok now process it
-		switch (e.getType()) {
-			case SimEvent.ENULL -> throw new IllegalArgumentException("Event has a null type.");
-			case SimEvent.CREATE -> {
-				addEntityDynamically((SimEntity) e.getData());
-			}
-			case SimEvent.SEND -> {
-                if (destEnt.getState() == SimEntity.EntityStatus.WAITING) { // NOTE: this branch is never used
-                    Predicate p = waitPredicates.get(dstId);
-
-                    if ((p == null) || (p.match(e))) {
-                        destEnt.setState(SimEntity.EntityStatus.RUNNABLE);
-                        waitPredicates.remove(dstId);
-                    }
-                }
-				destEnt.getIncomingEvents().add(e);
-            }
-			case SimEvent.HOLD_DONE -> entities.get(srcId).setState(SimEntity.EntityStatus.RUNNABLE);
-			default -> {
-			}
-		}
+	public static boolean cancel(SimEvent ev) {
+		return getSimulationContext().cancel(ev);
 	}
 
 	/**
@@ -678,13 +701,7 @@ public class CloudSim {
 	 * simulations.
 	 */
 	public static void runStart() {
-		running = true;
-		// Start all the entities
-		for (SimEntity ent : entities) {
-			ent.startEntity();
-		}
-
-		printMessage("Entities started.");
+		getSimulationContext().runStart();
 	}
 
 	/**
@@ -694,7 +711,7 @@ public class CloudSim {
 	 * @return if the simulation is still running, otherwise
 	 */
 	public static boolean running() {
-		return running;
+		return getSimulationContext().running();
 	}
 
 	/**
@@ -703,8 +720,7 @@ public class CloudSim {
 	 * @return true, if successful otherwise.
 	 */
 	public static boolean pauseSimulation() {
-		paused = true;
-		return paused;
+		return getSimulationContext().pauseSimulation();
 	}
 
 	/**
@@ -714,12 +730,7 @@ public class CloudSim {
 	 * @return true, if successful otherwise.
 	 */
 	public static boolean pauseSimulation(long time) {
-		if (time <= clock) {
-			return false;
-		} else {
-			pauseAt = time;
-		}
-		return true;
+		return getSimulationContext().pauseSimulation(time);
 	}
 
 	/**
@@ -728,13 +739,7 @@ public class CloudSim {
 	 * @return if the simulation has been restarted or or otherwise.
 	 */
 	public static boolean resumeSimulation() {
-		paused = false;
-
-		if (pauseAt <= clock) {
-			pauseAt = -1;
-		}
-
-		return !paused;
+		return getSimulationContext().resumeSimulation();
 	}
 
 	/**
@@ -744,91 +749,70 @@ public class CloudSim {
 	 * @return the last clock value
 	 */
 	public static double run() {
-		if (!running) {
-			runStart();
-		}
-		while (true) {
-			if (!runClockTick() || abruptTerminate) {
-				break;
-			}
-
-			// this block allows termination of simulation at a specific time
-			if (terminateAt > 0.0 && clock >= terminateAt) {
-				terminateSimulation();
-				clock = terminateAt;
-				break;
-			}
-
-			if (pauseAt != -1
-					&& ((!future.isEmpty() && clock <= pauseAt && pauseAt <= future.peek()
-							.eventTime()) || future.isEmpty() && pauseAt <= clock)) {
-				pauseSimulation();
-				clock = pauseAt;
-			}
-
-			while (paused) {
-				try {
-					Thread.sleep(100);
-				} catch (InterruptedException e) {
-					e.printStackTrace();
-				}
-			}
-		}
-
-		double clock = clock();
-
-		//finishSimulation();
-		//runStop();
+		return getSimulationContext().run();
+	}
 
-		return clock;
+	/**
+	 * Runs the simulation until a given time, and returns with the simulation still running,
+	 * so that it can be run further, e.g. by an interactive controller.
+	 *
+	 * @param time the time up to which the events are processed
+	 * @return the clock
+	 * @see SimulationContext#runUntil(double)
+	 */
+	public static double runUntil(double time) {
+		return getSimulationContext().runUntil(time);
 	}
 
 	/**
-	 * Internal method that allows the entities to terminate. This method should <b>not</b> be used
-	 * in user simulations.
+	 * Saves a snapshot of the simulation to a file, e.g. after {@link #runUntil(double)}, so that it
+	 * can be resumed later by {@link #restoreSnapshot(Path)}.
+	 *
+	 * @param file the file, which is replaced if it exists
+	 * @throws IOException if the file cannot be written
+	 * @see SimulationContext#saveSnapshot(OutputStream)
 	 */
-	private static void finishSimulation() {
-		// Allow all entities to exit their body method
-		if (!abruptTerminate) {
-			for (SimEntity ent : entities) {
-				if (ent.getState() != SimEntity.EntityStatus.FINISHED) {
-					ent.run();
-				}
-			}
+	public static void saveSnapshot(Path file) throws IOException {
+		try (OutputStream out = Files.newOutputStream(file)) {
+			getSimulationContext().saveSnapshot(out);
 		}
+	}
 
-		for (SimEntity ent : entities) {
-			ent.shutdownEntity();
+	/**
+	 * Restores a snapshot saved by {@link #saveSnapshot(Path)}, and binds it to the calling thread.
+	 * Like a simulation initialised by {@link #init(int, Calendar, boolean)}, it becomes the default
+	 * context of the threads bound to none.
+	 * The simulation is resumed from where it stopped by running it, e.g. by {@link #startSimulation()},
+	 * and its entities can be found by {@link #getEntity(String)}.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file cannot be read
+	 * @throws ClassNotFoundException if a class of the snapshot cannot be found
+	 * @see SimulationContext#loadSnapshot(InputStream)
+	 */
+	public static void restoreSnapshot(Path file) throws IOException, ClassNotFoundException {
+		try (InputStream in = Files.newInputStream(file)) {
+			bindInitialisedContext(SimulationContext.loadSnapshot(in));
 		}
-
-		// reset all static variables
-		// Private data members
-		entities = null;
-		entitiesByName = null;
-		future = null;
-		clock = 0L;
-		running = false;
-
-		waitPredicates = null;
-		paused = false;
-		pauseAt = -1;
-		abruptTerminate = false;
 	}
 
 	/**
-	 * Abruptally terminate.
+	 * Runs the simulation for a given number of events, and returns with the simulation still running,
+	 * so that it can be run further, e.g. by an interactive controller.
+	 *
+	 * @param events the minimum number of events to process
+	 * @return the clock
+	 * @see SimulationContext#step(long)
 	 */
-	public static void abruptallyTerminate() {
-		abruptTerminate = true;
+	public static double step(long events) {
+		return getSimulationContext().step(events);
 	}
 
 	/**
-	 * Prints a message about the progress of the simulation.
-	 * 
-	 * @param message the message
+	 * Abruptally terminate.
 	 */
-	private static void printMessage(String message) {
-		Log.println(message);
+	public static void abruptallyTerminate() {
+		getSimulationContext().abruptallyTerminate();
 	}
 
 	/**
@@ -837,7 +821,7 @@ public class CloudSim {
 	 * @return true, if is paused
 	 */
 	public static boolean isPaused() {
-		return paused;
+		return getSimulationContext().isPaused();
 	}
 
 }
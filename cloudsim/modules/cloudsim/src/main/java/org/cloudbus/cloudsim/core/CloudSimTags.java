@@ -16,4 +16,30 @@ package org.cloudbus.cloudsim.core;
 public interface CloudSimTags {
     int TRUE = 1;
     int FALSE = 0;
+
+    /**
+     * Gets the dense index of the tag among all the tags of all the enums, which can be used to
+     * look the tag up in arrays, e.g. the handler tables of an {@link EventDispatcher}.
+     * The constants of an enum have consecutive indexes, in the order of their ordinals.
+     *
+     * @return the index of the tag, which never changes while the program runs
+     */
+    default int index() {
+        return TagIndex.of(this);
+    }
+
+    /**
+     * Gets the index of the first constant of an enum of tags, reserving the indexes of all its
+     * constants the first time. The enums of the toolkit call it once, when they are initialised, and
+     * keep the index of each constant in a field returned by {@link #index()}, so that dispatching an
+     * event does not look the index up.
+     *
+     * @param type the enum of tags
+     * @return the index of its first constant; the constant of ordinal <tt>i</tt> has index
+     *         <tt>firstIndex + i</tt>
+     * @since CloudSim Toolkit 7.0
+     */
+    static int firstIndex(Class<? extends CloudSimTags> type) {
+        return TagIndex.firstIndex(type);
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.cloudbus.cloudsim.NetworkTopology;
+
+/**
+ * Runs a simulation whose entities have been partitioned into logical processes, with a
+ * conservative synchronisation of the partitions.
+ * <p>
+ * Every window lasts for the <i>lookahead</i>, i.e. the minimum delay of the {@link NetworkTopology}
+ * between two entities of different partitions. No event sent within the window can reach
+ * another partition before the end of the window, hence every partition processes its own
+ * events of the window on its own thread. When the lookahead is zero, e.g. because some entities
+ * are not mapped to the topology, each window is a single dispatch round: the partitions still
+ * process the events of the round in parallel.
+ * <p>
+ * Provided that the entities of different partitions only interact through events, the results
+ * are identical to the ones of the sequential simulation.
+ *
+ * @see SimulationContext#setPartitions(List, int)
+ * @since CloudSim Toolkit 7.0
+ */
+final class ConservativeExecutor extends ParallelExecutor {
+
+	/** The lookahead, i.e. the minimum delay of the events between partitions. */
+	private double lookahead;
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param simulation the simulation
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 */
+	ConservativeExecutor(SimulationContext simulation, List<? extends Collection<? extends SimEntity>> partitions,
+			int numThreads) {
+		super(simulation, partitions, numThreads);
+	}
+
+	@Override
+	boolean isOptimistic() {
+		return false;
+	}
+
+	/**
+	 * Gets the lookahead of the partitions.
+	 *
+	 * @return the lookahead
+	 */
+	@Override
+	double getWindowLength() {
+		return lookahead;
+	}
+
+	@Override
+	void start() {
+		super.start();
+		lookahead = computeLookahead();
+	}
+
+	@Override
+	double runWindow(SimEvent first, double end) {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (SimulationContext process : processes) {
+			LogicalProcess lp = process.getLogicalProcess();
+			lp.open(first, end);
+
+			SimEvent next = process.peekEvent();
+			if (next != null && lp.inWindow(next, true)) {
+				tasks.add(task(process, process::runWindow));
+			}
+		}
+		runAll(tasks);
+
+		for (SimulationContext process : processes) {
+			for (SimEvent ev : process.getLogicalProcess().getOutbox()) {
+				deliver(process, ev);
+			}
+		}
+		return clock();
+	}
+
+	/**
+	 * Computes the lookahead as the minimum network delay between two entities of different partitions.
+	 * It is zero if any of these entities is not mapped to the network topology.
+	 *
+	 * @return the lookahead
+	 */
+	private double computeLookahead() {
+		List<List<Integer>> members = new ArrayList<>();
+		for (int i = 0; i < processes.length; i++) {
+			members.add(new ArrayList<>());
+		}
+		for (int id = 0; id < partitionOf.length; id++) {
+			members.get(partitionOf[id]).add(id);
+		}
+		members.removeIf(List::isEmpty);
+		if (members.size() < 2) {
+			return Double.POSITIVE_INFINITY;
+		}
+		if (!NetworkTopology.isNetworkEnabled()) {
+			return 0;
+		}
+
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < members.size(); i++) {
+			for (int j = 0; j < members.size(); j++) {
+				if (i == j) {
+					continue;
+				}
+				for (int src : members.get(i)) {
+					for (int dst : members.get(j)) {
+						min = Math.min(min, NetworkTopology.getDelay(src, dst));
+						if (min <= 0) {
+							return 0;
+						}
+					}
+				}
+			}
+		}
+		return min;
+	}
+}
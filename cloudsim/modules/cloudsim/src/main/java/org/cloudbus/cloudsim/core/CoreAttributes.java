@@ -7,13 +7,15 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serializable;
+
 /**
  * An interface for implementing attributes that are shared between Host and Guest entities.
  *
  * @author Remo Andreoli
  * @since CloudSim Toolkit 7.0
  */
-public interface CoreAttributes {
+public interface CoreAttributes extends Serializable {
     /**
      * Gets the number of allocated pes to the guest entity.
      *
@@ -0,0 +1,313 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a rank of a simulation distributed over several processes, which exchange the events
+ * sent to the {@link RemoteEntity remote entities} through a {@link Transport}.
+ * <p>
+ * The ranks are synchronised conservatively, as the partitions of a {@link ConservativeExecutor}:
+ * they agree on the earliest event of the whole simulation, and process on their own the events of
+ * the window from that time on, as long as the lookahead. The events the ranks send to each other
+ * during a window are due after its end, and are exchanged once all the ranks have completed it.
+ * With no lookahead, a window is a single dispatch round.
+ *
+ * @see SimulationContext#setDistributed(Transport, double)
+ * @since CloudSim Toolkit 7.0
+ */
+final class DistributedExecutor {
+
+	/** The simulation of this rank. */
+	private final SimulationContext simulation;
+
+	/** The transport to the other ranks. */
+	private final Transport transport;
+
+	/** The minimum delay of the events sent to other ranks. */
+	private final double lookahead;
+
+	/** The events to send to the other ranks at the end of the window, by rank. */
+	private final List<List<RemoteEvent>> outboxes = new ArrayList<>();
+
+	/** The time of the earliest event in the outboxes. */
+	private double earliestSent = Double.POSITIVE_INFINITY;
+
+	/** The end of the current window, before which no event can be sent to another rank. */
+	private double windowEnd;
+
+	/** Whether the ranks have checked that they hold the same entities. */
+	private boolean started;
+
+	/**
+	 * An event sent to another rank. The tag is sent as an object, as the tag indexes of
+	 * {@link CloudSimTags#index()} are specific to each process.
+	 */
+	private record RemoteEvent(double time, int source, int destination, CloudSimTags tag, Object data)
+			implements Serializable {
+	}
+
+	/**
+	 * The message a rank sends to every other rank at the end of a window.
+	 *
+	 * @param earliest the time of the earliest event of the rank, including the ones it sends
+	 * @param terminateAt the time the rank terminates the simulation at, or a non-positive value
+	 * @param aborted whether the rank has terminated the simulation abruptly
+	 * @param events the events for the receiver
+	 */
+	private record Window(double earliest, double terminateAt, boolean aborted, List<RemoteEvent> events)
+			implements Serializable {
+	}
+
+	/**
+	 * The entities of a rank, by id, exchanged before the simulation starts.
+	 *
+	 * @param names the names of the entities, <tt>null</tt> for the removed ones
+	 * @param ranks the rank that simulates each entity, or -1 for the ones of the rank itself
+	 */
+	private record Directory(String[] names, int[] ranks) implements Serializable {
+	}
+
+	/**
+	 * The outcome of the exchange at the end of a window, which is the same for all the ranks.
+	 *
+	 * @param start the time of the earliest event of the simulation
+	 * @param terminateAt the earliest time a rank terminates the simulation at, or a non-positive value
+	 * @param aborted whether a rank has terminated the simulation abruptly
+	 */
+	record Round(double start, double terminateAt, boolean aborted) {
+	}
+
+	/**
+	 * Creates the executor of a rank.
+	 *
+	 * @param simulation the simulation of this rank
+	 * @param transport the transport to the other ranks
+	 * @param lookahead the minimum delay of the events sent to other ranks
+	 */
+	DistributedExecutor(SimulationContext simulation, Transport transport, double lookahead) {
+		if (lookahead < 0 || Double.isNaN(lookahead) || Double.isInfinite(lookahead)) {
+			throw new IllegalArgumentException("The lookahead must be finite and non-negative.");
+		}
+		this.simulation = simulation;
+		this.transport = transport;
+		this.lookahead = lookahead;
+		for (int peer = 0; peer < transport.getSize(); peer++) {
+			outboxes.add(new ArrayList<>());
+		}
+	}
+
+	double getLookahead() {
+		return lookahead;
+	}
+
+	boolean isStarted() {
+		return started;
+	}
+
+	/**
+	 * Sets the end of the window about to be run.
+	 *
+	 * @param windowEnd the end of the window
+	 */
+	void setWindowEnd(double windowEnd) {
+		this.windowEnd = windowEnd;
+	}
+
+	/**
+	 * Checks that all the ranks hold the same entities, and that every remote entity is
+	 * simulated by its rank.
+	 *
+	 * @throws IllegalStateException if the entities of the ranks do not match
+	 */
+	void start() {
+		if (started) {
+			return;
+		}
+		int bound = simulation.getEntityIdBound();
+		String[] names = new String[bound];
+		int[] ranks = new int[bound];
+		Arrays.fill(ranks, -1);
+		for (SimEntity ent : simulation.getEntityList()) {
+			names[ent.getId()] = ent.getName();
+			if (ent instanceof RemoteEntity remote) {
+				if (remote.getRank() == transport.getRank() || remote.getRank() >= transport.getSize()) {
+					throw new IllegalStateException(remote.getName() + " can't be simulated by rank "
+							+ remote.getRank() + ".");
+				}
+				ranks[ent.getId()] = remote.getRank();
+			}
+		}
+		Directory[] directories = exchange(peer -> new Directory(names, ranks), Directory.class);
+		for (int peer = 0; peer < directories.length; peer++) {
+			Directory other = directories[peer];
+			if (other == null) {
+				continue;
+			}
+			if (!Arrays.equals(names, other.names())) {
+				throw new IllegalStateException("Rank " + peer + " has other entities than rank "
+						+ transport.getRank() + "; they must be created in the same order.");
+			}
+			for (int id = 0; id < bound; id++) {
+				if (ranks[id] == peer && other.ranks()[id] != -1) {
+					throw new IllegalStateException(names[id] + " is not simulated by rank " + peer + ".");
+				}
+			}
+		}
+		started = true;
+	}
+
+	/**
+	 * Holds an event sent to an entity of another rank until the end of the window.
+	 *
+	 * @param e the event
+	 * @return true if the event is for another rank, false if it is for this one
+	 * @throws IllegalStateException if the event is due within the window
+	 */
+	boolean forwards(SimEvent e) {
+		if (e.getType() != SimEvent.SEND
+				|| !(simulation.getEntity(e.getDestinationId()) instanceof RemoteEntity remote)) {
+			return false;
+		}
+		if (e.eventTime() < windowEnd) {
+			throw new IllegalStateException("An event has been sent to " + remote.getName() + " of rank "
+					+ remote.getRank() + " with a delay shorter than the lookahead.");
+		}
+		outboxes.get(remote.getRank()).add(new RemoteEvent(e.eventTime(), e.getSourceId(), e.getDestinationId(),
+				e.getTag(), e.getData()));
+		earliestSent = Math.min(earliestSent, e.eventTime());
+		return true;
+	}
+
+	/**
+	 * Sends the events of the window to the other ranks, adds theirs to the simulation, and
+	 * agrees with them on the start of the next window.
+	 *
+	 * @param next the time of the earliest future event of this rank
+	 * @param terminateAt the time this rank terminates the simulation at, or a non-positive value
+	 * @param aborted whether this rank has terminated the simulation abruptly
+	 * @return the outcome, the same for all the ranks
+	 */
+	Round exchange(double next, double terminateAt, boolean aborted) {
+		double earliest = Math.min(next, earliestSent);
+		Window[] windows = exchange(peer -> new Window(earliest, terminateAt, aborted, outboxes.get(peer)),
+				Window.class);
+		for (List<RemoteEvent> outbox : outboxes) {
+			outbox.clear();
+		}
+		earliestSent = Double.POSITIVE_INFINITY;
+
+		double start = earliest;
+		double terminate = terminateAt;
+		boolean abort = aborted;
+		for (Window window : windows) {
+			if (window == null) {
+				continue;
+			}
+			start = Math.min(start, window.earliest());
+			if (window.terminateAt() > 0 && (terminate <= 0 || window.terminateAt() < terminate)) {
+				terminate = window.terminateAt();
+			}
+			abort |= window.aborted();
+			for (RemoteEvent ev : window.events()) {
+				if (simulation.getEntity(ev.destination()) instanceof RemoteEntity) {
+					throw new IllegalStateException("An event for " + simulation.getEntityName(ev.destination())
+							+ " has reached a rank that does not simulate it.");
+				}
+				simulation.receive(ev.time(), ev.source(), ev.destination(), ev.tag(), ev.data());
+			}
+		}
+		return new Round(start, terminate, abort);
+	}
+
+	/**
+	 * Sends a message to every other rank, and receives theirs. The messages are sent concurrently
+	 * with the receptions, so that no rank waits for another to receive its messages.
+	 *
+	 * @param messages the message to each rank
+	 * @param type the type of the messages
+	 * @return the messages of the other ranks, by rank; the one of this rank is <tt>null</tt>
+	 */
+	private <T> T[] exchange(IntFunction<Object> messages, Class<T> type) {
+		int size = transport.getSize();
+		int rank = transport.getRank();
+		Thread[] senders = new Thread[size];
+		IOException[] failures = new IOException[size];
+		for (int peer = 0; peer < size; peer++) {
+			if (peer == rank) {
+				continue;
+			}
+			int receiver = peer;
+			byte[] message = serialize(messages.apply(peer));
+			senders[peer] = Thread.ofVirtual().start(() -> {
+				try {
+					transport.send(receiver, message);
+				} catch (IOException e) {
+					failures[receiver] = e;
+				}
+			});
+		}
+
+		@SuppressWarnings("unchecked")
+		T[] received = (T[]) Array.newInstance(type, size);
+		try {
+			for (int peer = 0; peer < size; peer++) {
+				if (peer != rank) {
+					received[peer] = type.cast(deserialize(transport.receive(peer)));
+				}
+			}
+			for (Thread sender : senders) {
+				if (sender != null) {
+					sender.join();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while exchanging events with the other ranks.", e);
+		}
+		for (IOException failure : failures) {
+			if (failure != null) {
+				throw new UncheckedIOException(failure);
+			}
+		}
+		return received;
+	}
+
+	private static byte[] serialize(Object message) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+			objects.writeObject(message);
+		} catch (IOException e) {
+			throw new UncheckedIOException("The events sent to other ranks must be serializable.", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] message) throws IOException {
+		try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(message))) {
+			return objects.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("A rank has sent an object of an unknown class.", e);
+		}
+	}
+}
@@ -0,0 +1,303 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.cloudbus.cloudsim.util.LatencyHistogram;
+
+/**
+ * The metrics of the simulation engine, gathered while a simulation runs if they have been set
+ * by {@link SimulationContext#setMetrics(EngineMetrics)}: the number of events dispatched and
+ * their rate, the depth of the future event queue, the number of events of each tag, and the
+ * latency of the event handlers of each class of entities.
+ * <p>
+ * The latency of the handlers is measured for every batch of events an entity is given at once
+ * by {@link SimEntity#processEvents(java.util.List)}, and split evenly among the events of the batch.
+ * <p>
+ * The metrics can be written as CSV or JSON, at the end of the run or periodically, from a
+ * {@link #setSnapshotListener(double, Consumer) snapshot listener}. Only the sequential runs are
+ * measured.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class EngineMetrics {
+
+	/** The wall-clock time the run started at, in nanoseconds. */
+	private long startNanos;
+
+	/** The wall-clock time the run last returned at, in nanoseconds, or 0 while it is running. */
+	private long endNanos;
+
+	/** The number of events dispatched. */
+	private long dispatchedEvents;
+
+	/** The number of distinct times at which events have been dispatched. */
+	private long ticks;
+
+	/** The sum of the depths of the future event queue, sampled before every tick. */
+	private long totalQueueDepth;
+
+	/** The highest depth of the future event queue. */
+	private int maxQueueDepth;
+
+	/** The number of events dispatched, by tag index. */
+	private long[] tagCounts = new long[64];
+
+	/** The tags, by tag index. */
+	private CloudSimTags[] tags = new CloudSimTags[64];
+
+	/** The latency of the handlers, by class of entity. */
+	private final Map<Class<?>, LatencyHistogram> handlers = new LinkedHashMap<>();
+
+	/** The simulation time between two snapshots. */
+	private double snapshotInterval;
+
+	/** The listener of the snapshots, or <tt>null</tt>. */
+	private Consumer<EngineMetrics> snapshotListener;
+
+	/** The simulation time of the next snapshot. */
+	private double nextSnapshot;
+
+	/**
+	 * Sets a listener called periodically while the simulation runs, e.g. to write the metrics.
+	 *
+	 * @param interval the simulation time between two calls
+	 * @param listener the listener, or <tt>null</tt> to remove it
+	 */
+	public void setSnapshotListener(double interval, Consumer<EngineMetrics> listener) {
+		if (listener != null && !(interval > 0)) {
+			throw new IllegalArgumentException("The snapshot interval must be positive.");
+		}
+		snapshotInterval = interval;
+		snapshotListener = listener;
+		nextSnapshot = interval;
+	}
+
+	/**
+	 * Records that the run has started.
+	 */
+	void started() {
+		if (startNanos == 0) {
+			startNanos = System.nanoTime();
+		}
+		endNanos = 0;
+	}
+
+	/**
+	 * Records that the run has returned, i.e. has completed or has been stopped until it is run further.
+	 */
+	void finished() {
+		endNanos = System.nanoTime();
+	}
+
+	/**
+	 * Records a dispatched event.
+	 *
+	 * @param ev the event
+	 */
+	void dispatched(SimEvent ev) {
+		dispatchedEvents++;
+		CloudSimTags tag = ev.getTag();
+		if (tag != null) {
+			int index = tag.index();
+			if (index >= tagCounts.length) {
+				int length = Math.max(index + 1, tagCounts.length * 2);
+				tagCounts = Arrays.copyOf(tagCounts, length);
+				tags = Arrays.copyOf(tags, length);
+			}
+			tagCounts[index]++;
+			tags[index] = tag;
+		}
+	}
+
+	/**
+	 * Records the end of the dispatch of the events of a time.
+	 *
+	 * @param clock the time
+	 * @param queueDepth the number of events in the future event queue before the dispatch
+	 */
+	void tick(double clock, int queueDepth) {
+		ticks++;
+		totalQueueDepth += queueDepth;
+		maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+		if (snapshotListener != null && clock >= nextSnapshot) {
+			nextSnapshot = (Math.floor(clock / snapshotInterval) + 1) * snapshotInterval;
+			snapshotListener.accept(this);
+		}
+	}
+
+	/**
+	 * Records the processing of a batch of events by an entity.
+	 *
+	 * @param entity the entity
+	 * @param events the number of events of the batch
+	 * @param nanos the time taken by the handlers
+	 */
+	void handled(SimEntity entity, int events, long nanos) {
+		handlers.computeIfAbsent(entity.getClass(), type -> new LatencyHistogram()).record(nanos, events);
+	}
+
+	/**
+	 * Gets the number of events dispatched.
+	 *
+	 * @return the number of events
+	 */
+	public long getDispatchedEvents() {
+		return dispatchedEvents;
+	}
+
+	/**
+	 * Gets the wall-clock time the simulation has run for.
+	 *
+	 * @return the time in seconds
+	 */
+	public double getElapsedSeconds() {
+		if (startNanos == 0) {
+			return 0;
+		}
+		return ((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos) / 1e9;
+	}
+
+	/**
+	 * Gets the number of events dispatched per second of wall-clock time.
+	 *
+	 * @return the rate of events
+	 */
+	public double getEventsPerSecond() {
+		double elapsed = getElapsedSeconds();
+		return elapsed == 0 ? 0 : dispatchedEvents / elapsed;
+	}
+
+	/**
+	 * Gets the mean depth of the future event queue, sampled at every time events are dispatched.
+	 *
+	 * @return the mean depth
+	 */
+	public double getMeanQueueDepth() {
+		return ticks == 0 ? 0 : (double) totalQueueDepth / ticks;
+	}
+
+	/**
+	 * Gets the highest depth of the future event queue.
+	 *
+	 * @return the highest depth
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	/**
+	 * Gets the number of events dispatched for each tag.
+	 *
+	 * @return the number of events, by tag
+	 */
+	public Map<CloudSimTags, Long> getTagCounts() {
+		Map<CloudSimTags, Long> counts = new LinkedHashMap<>();
+		for (int i = 0; i < tagCounts.length; i++) {
+			if (tagCounts[i] > 0) {
+				counts.put(tags[i], tagCounts[i]);
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Gets the latency of the handlers of each class of entities.
+	 *
+	 * @return the latency histograms, by class of entity
+	 */
+	public Map<Class<?>, LatencyHistogram> getHandlerLatencies() {
+		return handlers;
+	}
+
+	/**
+	 * Writes the metrics as CSV, one metric per row, with the columns
+	 * <tt>metric,name,count,value</tt>.
+	 *
+	 * @param out the output
+	 * @throws IOException if the metrics cannot be written
+	 */
+	public void writeCsv(Appendable out) throws IOException {
+		out.append("metric,name,count,value\n");
+		csv(out, "events", "", dispatchedEvents, "");
+		csv(out, "elapsed_seconds", "", "", getElapsedSeconds());
+		csv(out, "events_per_second", "", "", getEventsPerSecond());
+		csv(out, "queue_depth_mean", "", "", getMeanQueueDepth());
+		csv(out, "queue_depth_max", "", "", maxQueueDepth);
+		for (Map.Entry<CloudSimTags, Long> entry : getTagCounts().entrySet()) {
+			csv(out, "tag", name(entry.getKey()), entry.getValue(), "");
+		}
+		for (Map.Entry<Class<?>, LatencyHistogram> entry : handlers.entrySet()) {
+			String name = entry.getKey().getName();
+			LatencyHistogram latency = entry.getValue();
+			csv(out, "handler_mean_ns", name, latency.getCount(), latency.getMean());
+			csv(out, "handler_p50_ns", name, latency.getCount(), latency.getPercentile(50));
+			csv(out, "handler_p99_ns", name, latency.getCount(), latency.getPercentile(99));
+			csv(out, "handler_max_ns", name, latency.getCount(), latency.getMax());
+		}
+	}
+
+	/**
+	 * Writes the metrics as a JSON object.
+	 *
+	 * @param out the output
+	 * @throws IOException if the metrics cannot be written
+	 */
+	public void writeJson(Appendable out) throws IOException {
+		out.append("{\"events\":").append(Long.toString(dispatchedEvents))
+				.append(",\"elapsedSeconds\":").append(Double.toString(getElapsedSeconds()))
+				.append(",\"eventsPerSecond\":").append(Double.toString(getEventsPerSecond()))
+				.append(",\"queueDepth\":{\"mean\":").append(Double.toString(getMeanQueueDepth()))
+				.append(",\"max\":").append(Integer.toString(maxQueueDepth)).append('}')
+				.append(",\"tags\":{");
+		String separator = "";
+		for (Map.Entry<CloudSimTags, Long> entry : getTagCounts().entrySet()) {
+			out.append(separator).append('"').append(name(entry.getKey())).append("\":")
+					.append(Long.toString(entry.getValue()));
+			separator = ",";
+		}
+		out.append("},\"handlers\":{");
+		separator = "";
+		for (Map.Entry<Class<?>, LatencyHistogram> entry : handlers.entrySet()) {
+			LatencyHistogram latency = entry.getValue();
+			out.append(separator).append('"').append(entry.getKey().getName()).append("\":{")
+					.append("\"count\":").append(Long.toString(latency.getCount()))
+					.append(",\"meanNs\":").append(Double.toString(latency.getMean()))
+					.append(",\"p50Ns\":").append(Long.toString(latency.getPercentile(50)))
+					.append(",\"p99Ns\":").append(Long.toString(latency.getPercentile(99)))
+					.append(",\"maxNs\":").append(Long.toString(latency.getMax())).append('}');
+			separator = ",";
+		}
+		out.append("}}");
+	}
+
+	private static void csv(Appendable out, String metric, String name, Object count, Object value)
+			throws IOException {
+		out.append(metric).append(',').append(name).append(',').append(String.valueOf(count)).append(',')
+				.append(String.valueOf(value)).append('\n');
+	}
+
+	/**
+	 * Gets the name of a tag, qualified by its enum, as several enums may have constants with the same name.
+	 *
+	 * @param tag the tag
+	 * @return the name
+	 */
+	private static String name(CloudSimTags tag) {
+		if (tag instanceof Enum<?> constant) {
+			return constant.getDeclaringClass().getSimpleName() + "." + constant.name();
+		}
+		return String.valueOf(tag);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A reference to an entity by name, returned by {@link SimulationContext#getEntityRef(String)}.
+ * <p>
+ * The name is resolved when the reference is first used, and again only if the entity it was
+ * resolved to has been removed, e.g. to reach the entity that replaced it under the same name.
+ * Sending events through a reference thus costs no name lookup once it has been resolved, unlike
+ * the methods of {@link SimEntity} that take the name of the destination.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class EntityRef implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The name of the entity. */
+	private final String name;
+
+	/** The registry the name is resolved in. */
+	private final EntityRegistry registry;
+
+	/** The entity the name was last resolved to, or <tt>null</tt>. */
+	private SimEntity entity;
+
+	/**
+	 * Creates a reference to an entity.
+	 *
+	 * @param name the name of the entity
+	 * @param registry the registry the name is resolved in
+	 */
+	EntityRef(String name, EntityRegistry registry) {
+		this.name = name;
+		this.registry = registry;
+	}
+
+	/**
+	 * Gets the name of the entity.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gets the entity.
+	 *
+	 * @return the entity, or <tt>null</tt> if there is no entity with this name
+	 */
+	public SimEntity getEntity() {
+		SimEntity resolved = entity;
+		if (resolved == null || registry.get(resolved.getId()) != resolved) {
+			resolved = registry.get(name);
+			entity = resolved;
+		}
+		return resolved;
+	}
+
+	/**
+	 * Gets the id of the entity.
+	 *
+	 * @return the id, or -1 if there is no entity with this name
+	 */
+	public int getId() {
+		SimEntity resolved = getEntity();
+		return resolved == null ? -1 : resolved.getId();
+	}
+
+	@Override
+	public String toString() {
+		return "EntityRef[" + name + "]";
+	}
+}
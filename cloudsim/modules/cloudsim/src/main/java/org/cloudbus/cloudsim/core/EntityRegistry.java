@@ -0,0 +1,184 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The registry of the entities of a simulation, by id and by name.
+ * <p>
+ * The ids are given in the order the entities are added and are never reused, so an entity can
+ * be removed while events are still on their way to it: they are dropped when they arrive,
+ * instead of reaching another entity. The id space is thus sparse once entities have been
+ * removed, and the ids range from 0 to {@link #idBound()}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class EntityRegistry implements Iterable<SimEntity>, Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The entities, by id; the slots of the removed entities are <tt>null</tt>. */
+	private SimEntity[] byId = new SimEntity[64];
+
+	/** The id of the next entity. */
+	private int nextId;
+
+	/** The number of entities. */
+	private int size;
+
+	/** The entities, by name. */
+	private final Map<String, SimEntity> byName = new HashMap<>();
+
+	/** The references to the entities by name, interned so that each is resolved once. */
+	private final Map<String, EntityRef> refs = new HashMap<>();
+
+	/**
+	 * Adds an entity, and gives it the next id.
+	 *
+	 * @param e the entity
+	 */
+	void add(SimEntity e) {
+		if (nextId == byId.length) {
+			byId = Arrays.copyOf(byId, byId.length * 2);
+		}
+		e.setId(nextId);
+		byId[nextId++] = e;
+		byName.put(e.getName(), e);
+		size++;
+	}
+
+	/**
+	 * Removes an entity. Its id is not given to another entity.
+	 *
+	 * @param e the entity
+	 * @return true if the entity was registered
+	 */
+	boolean remove(SimEntity e) {
+		int id = e.getId();
+		if (get(id) != e) {
+			return false;
+		}
+		byId[id] = null;
+		byName.remove(e.getName(), e);
+		size--;
+		return true;
+	}
+
+	/**
+	 * Gets an entity.
+	 *
+	 * @param id the id of the entity
+	 * @return the entity, or <tt>null</tt> if there is none with this id or it has been removed
+	 */
+	SimEntity get(int id) {
+		return id >= 0 && id < nextId ? byId[id] : null;
+	}
+
+	/**
+	 * Gets an entity.
+	 *
+	 * @param name the name of the entity
+	 * @return the entity, or <tt>null</tt> if there is none with this name
+	 */
+	SimEntity get(String name) {
+		return byName.get(name);
+	}
+
+	/**
+	 * Gets the interned reference to the entity with a given name, which may not exist yet.
+	 *
+	 * @param name the name of the entity
+	 * @return the reference
+	 */
+	EntityRef ref(String name) {
+		return refs.computeIfAbsent(name, key -> new EntityRef(key, this));
+	}
+
+	/**
+	 * Checks whether an id has been given to an entity, which may have been removed since.
+	 *
+	 * @param id the id
+	 * @return true if the id has been given
+	 */
+	boolean isAssigned(int id) {
+		return id >= 0 && id < nextId;
+	}
+
+	/**
+	 * Gets the bound of the ids given so far, e.g. to size the arrays indexed by entity id.
+	 *
+	 * @return the id of the next entity
+	 */
+	int idBound() {
+		return nextId;
+	}
+
+	/**
+	 * Gets the number of entities.
+	 *
+	 * @return the number of entities that have been added and not removed
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all the entities.
+	 */
+	void clear() {
+		Arrays.fill(byId, 0, nextId, null);
+		nextId = 0;
+		size = 0;
+		byName.clear();
+		refs.clear();
+	}
+
+	/**
+	 * Iterates over the entities in the order of their ids. The entities added during the
+	 * iteration are not visited, and the ones removed are skipped if they have not been visited yet.
+	 *
+	 * @return the iterator
+	 */
+	@Override
+	public Iterator<SimEntity> iterator() {
+		int bound = nextId;
+		return new Iterator<>() {
+			private int id = advance(0);
+
+			private int advance(int from) {
+				while (from < bound && byId[from] == null) {
+					from++;
+				}
+				return from;
+			}
+
+			@Override
+			public boolean hasNext() {
+				id = advance(id);
+				return id < bound;
+			}
+
+			@Override
+			public SimEntity next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return byId[id++];
+			}
+		};
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable array of events used as a bucket by the {@link CalendarQueue} and the
+ * {@link LadderQueue}. A bucket is either kept sorted, in descending order so that
+ * the earliest event can be removed from the tail in constant time, or used as an
+ * unsorted bag that is sorted on demand.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class EventBucket implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Orders events by time and serial. Unlike {@link SimEvent#compareTo(SimEvent)}
+	 * this ordering is consistent, as required by the sorting algorithms.
+	 */
+	static final Comparator<SimEvent> ORDER = (a, b) -> {
+		int cmp = Double.compare(a.eventTime(), b.eventTime());
+		return cmp != 0 ? cmp : Long.compare(a.getSerial(), b.getSerial());
+	};
+
+	private static final Comparator<SimEvent> REVERSE_ORDER = ORDER.reversed();
+
+	private SimEvent[] items = new SimEvent[4];
+
+	private int size;
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	SimEvent get(int index) {
+		return items[index];
+	}
+
+	/**
+	 * Appends an event, without keeping the bucket sorted.
+	 *
+	 * @param ev the event
+	 */
+	void add(SimEvent ev) {
+		grow();
+		items[size++] = ev;
+	}
+
+	/**
+	 * Inserts an event in a sorted bucket, keeping it sorted.
+	 *
+	 * @param ev the event
+	 */
+	void insertSorted(SimEvent ev) {
+		grow();
+		// binary search for the first position holding an event earlier than ev
+		int lo = 0;
+		int hi = size;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (ORDER.compare(items[mid], ev) >= 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		System.arraycopy(items, lo, items, lo + 1, size - lo);
+		items[lo] = ev;
+		size++;
+	}
+
+	/**
+	 * Sorts an unsorted bucket.
+	 */
+	void sort() {
+		Arrays.sort(items, 0, size, REVERSE_ORDER);
+	}
+
+	/**
+	 * Gets the earliest event of a sorted bucket.
+	 *
+	 * @return the earliest event
+	 */
+	SimEvent last() {
+		return items[size - 1];
+	}
+
+	/**
+	 * Removes the earliest event of a sorted bucket.
+	 *
+	 * @return the earliest event
+	 */
+	SimEvent pollLast() {
+		SimEvent ev = items[--size];
+		items[size] = null;
+		return ev;
+	}
+
+	/**
+	 * Removes the event at a given position, preserving the order of the others.
+	 *
+	 * @param index the position
+	 */
+	void removeAt(int index) {
+		System.arraycopy(items, index + 1, items, index, size - index - 1);
+		items[--size] = null;
+	}
+
+	/**
+	 * Gets the earliest event of an unsorted bucket.
+	 *
+	 * @return the earliest event, or <tt>null</tt> if the bucket is empty
+	 */
+	SimEvent min() {
+		SimEvent min = null;
+		for (int i = 0; i < size; i++) {
+			if (min == null || ORDER.compare(items[i], min) < 0) {
+				min = items[i];
+			}
+		}
+		return min;
+	}
+
+	void clear() {
+		Arrays.fill(items, 0, size, null);
+		size = 0;
+	}
+
+	private void grow() {
+		if (size == items.length) {
+			items = Arrays.copyOf(items, size << 1);
+		}
+	}
+
+	/**
+	 * An iterator over the events of a list of buckets, supporting removal.
+	 */
+	static class BucketIterator implements Iterator<SimEvent> {
+		private final List<EventBucket> buckets;
+		private final Runnable onRemove;
+		private int bucket;
+		private int next;
+		private int lastBucket;
+		private int last = -1;
+
+		/**
+		 * Creates an iterator.
+		 *
+		 * @param buckets the buckets to iterate over
+		 * @param onRemove notified each time an event is removed through the iterator
+		 */
+		BucketIterator(List<EventBucket> buckets, Runnable onRemove) {
+			this.buckets = buckets;
+			this.onRemove = onRemove;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (bucket < buckets.size()) {
+				if (next < buckets.get(bucket).size()) {
+					return true;
+				}
+				bucket++;
+				next = 0;
+			}
+			return false;
+		}
+
+		@Override
+		public SimEvent next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastBucket = bucket;
+			last = next++;
+			return buckets.get(bucket).get(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			buckets.get(lastBucket).removeAt(last);
+			if (lastBucket == bucket) {
+				next = last;
+			}
+			last = -1;
+			onRemove.run();
+		}
+	}
+}
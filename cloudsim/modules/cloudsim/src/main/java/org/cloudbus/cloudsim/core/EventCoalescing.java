@@ -0,0 +1,166 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The coalescing of the events an entity sends to itself, e.g. the
+ * {@link CloudActionTags#VM_DATACENTER_EVENT updates} of a datacenter, set by
+ * {@link SimulationContext#setEventCoalescing(EventCoalescing)}.
+ * <p>
+ * The time of such an event is rounded up to the next multiple of a time quantum, and the event
+ * is merged with the event with the same tag and data the entity has already sent itself for
+ * the same time, if any. Many updates that would occur at nearly the same time, e.g. when the
+ * cloudlets of many hosts finish within a few milliseconds, then result in a single one. As the
+ * events are only ever delayed, by less than the quantum, an entity never processes an update
+ * before the time it was due, but it may process it slightly later: the coalescing keeps the
+ * statistics of these delays, which bound how much the results differ from an exact run.
+ * <p>
+ * Sending an event that is merged returns the event it is merged into, hence cancelling it
+ * cancels both.
+ * <p>
+ * Only the sequential runs are coalesced.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class EventCoalescing implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The time quantum. */
+	private final double quantum;
+
+	/** The tags of the events that are coalesced. */
+	private final Set<CloudSimTags> tags = new HashSet<>();
+
+	/** The number of events merged into an event sent before. */
+	private long mergedEvents;
+
+	/** The number of events whose time has been rounded up. */
+	private long delayedEvents;
+
+	/** The sum of the delays of the events. */
+	private double totalDelay;
+
+	/** The longest delay of an event. */
+	private double maxDelay;
+
+	/**
+	 * Creates the coalescing of the events with given tags.
+	 *
+	 * @param quantum the time quantum, which must be positive
+	 * @param tags the tags of the events that are coalesced when an entity sends them to itself
+	 */
+	public EventCoalescing(double quantum, CloudSimTags... tags) {
+		if (!(quantum > 0) || Double.isInfinite(quantum)) {
+			throw new IllegalArgumentException("The coalescing time quantum must be positive.");
+		}
+		this.quantum = quantum;
+		for (CloudSimTags tag : tags) {
+			this.tags.add(tag);
+		}
+	}
+
+	/**
+	 * Checks whether an event sent by an entity is coalesced.
+	 *
+	 * @param src the source of the event
+	 * @param dst the destination of the event
+	 * @param tag the tag of the event
+	 * @return true if the entity sends the event to itself and its tag is coalesced
+	 */
+	boolean applies(int src, int dst, CloudSimTags tag) {
+		return src == dst && tags.contains(tag);
+	}
+
+	/**
+	 * Rounds the time of an event up to the next multiple of the quantum, and records the delay.
+	 *
+	 * @param time the exact time of the event
+	 * @return the time of the event once coalesced
+	 */
+	double quantize(double time) {
+		double quantized = Math.ceil(time / quantum) * quantum;
+		if (quantized < time) {
+			// the division may round the time down
+			quantized += quantum;
+		}
+		if (quantized > time) {
+			double delay = quantized - time;
+			delayedEvents++;
+			totalDelay += delay;
+			maxDelay = Math.max(maxDelay, delay);
+		}
+		return quantized;
+	}
+
+	/**
+	 * Records that an event has been merged into another one.
+	 */
+	void merged() {
+		mergedEvents++;
+	}
+
+	/**
+	 * Gets the time quantum.
+	 *
+	 * @return the time quantum
+	 */
+	public double getQuantum() {
+		return quantum;
+	}
+
+	/**
+	 * Gets the number of events that have been merged into an event sent before, i.e. the number
+	 * of events saved by the coalescing.
+	 *
+	 * @return the number of merged events
+	 */
+	public long getMergedEvents() {
+		return mergedEvents;
+	}
+
+	/**
+	 * Gets the number of coalesced events that have been delayed.
+	 *
+	 * @return the number of delayed events
+	 */
+	public long getDelayedEvents() {
+		return delayedEvents;
+	}
+
+	/**
+	 * Gets the mean delay of the delayed events.
+	 *
+	 * @return the mean delay, or 0 if no event has been delayed
+	 */
+	public double getMeanDelay() {
+		return delayedEvents == 0 ? 0 : totalDelay / delayedEvents;
+	}
+
+	/**
+	 * Gets the longest delay of an event, which is shorter than the quantum.
+	 *
+	 * @return the longest delay
+	 */
+	public double getMaxDelay() {
+		return maxDelay;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EventCoalescing[quantum=%s, merged=%d, delayed=%d, meanDelay=%.6f, maxDelay=%.6f]",
+				quantum, mergedEvents, delayedEvents, getMeanDelay(), maxDelay);
+	}
+}
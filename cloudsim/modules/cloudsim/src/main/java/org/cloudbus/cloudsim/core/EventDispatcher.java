@@ -0,0 +1,133 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A table of the handlers of the events received by an entity, by tag.
+ * <p>
+ * The handlers are held in an array indexed by the {@link CloudSimTags#index() index} of their tags,
+ * so that the handler of an event is found with a single array access, rather than by comparing
+ * its tag with every tag the entity knows. Registering a handler for a tag replaces the previous one,
+ * which lets the subclasses of an entity override how it handles some tags without overriding
+ * the whole {@link SimEntity#processEvent(SimEvent)} method.
+ * <p>
+ * The handlers are serializable, so that the entities can be saved to a
+ * {@link SimulationContext#saveSnapshot(java.io.OutputStream) snapshot}. As the indexes of the tags
+ * are only valid for the program that assigned them, the table is saved by tag and rebuilt when it
+ * is loaded.
+ *
+ * @see SimEntity#registerHandler(CloudSimTags, Handler)
+ * @since CloudSim Toolkit 7.0
+ */
+public final class EventDispatcher implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The handler of the events with a given tag. Lambdas and method references that are
+	 * passed as handlers are serializable.
+	 */
+	@FunctionalInterface
+	public interface Handler extends Consumer<SimEvent>, Serializable {
+	}
+
+	/** The handlers, by tag index. */
+	private transient Handler[] handlers = new Handler[64];
+
+	/** The tags of the handlers, by tag index. */
+	private transient CloudSimTags[] tags = new CloudSimTags[64];
+
+	/**
+	 * Registers the handler of the events with a tag, replacing the previous one if any.
+	 *
+	 * @param tag the tag
+	 * @param handler the handler, or <tt>null</tt> to remove the handler of the tag
+	 */
+	public void register(CloudSimTags tag, Handler handler) {
+		int index = tag.index();
+		if (index >= handlers.length) {
+			handlers = Arrays.copyOf(handlers, Math.max(index + 1, handlers.length * 2));
+			tags = Arrays.copyOf(tags, handlers.length);
+		}
+		handlers[index] = handler;
+		tags[index] = tag;
+	}
+
+	/**
+	 * Gets the handler of the events with a tag.
+	 *
+	 * @param tag the tag
+	 * @return the handler, or <tt>null</tt> if no handler is registered for the tag
+	 */
+	public Handler get(CloudSimTags tag) {
+		int index = tag.index();
+		return index < handlers.length ? handlers[index] : null;
+	}
+
+	/**
+	 * Passes an event to the handler of its tag.
+	 *
+	 * @param ev the event
+	 * @return true if the event has been handled; false if no handler is registered for its tag
+	 */
+	public boolean dispatch(SimEvent ev) {
+		CloudSimTags tag = ev.getTag();
+		if (tag == null) {
+			return false;
+		}
+		Handler handler = get(tag);
+		if (handler == null) {
+			return false;
+		}
+		handler.accept(ev);
+		return true;
+	}
+
+	/**
+	 * Writes the handlers along with their tags.
+	 *
+	 * @param out the stream
+	 * @throws IOException if the handlers cannot be written
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		for (int index = 0; index < handlers.length; index++) {
+			if (handlers[index] != null) {
+				out.writeObject(tags[index]);
+				out.writeObject(handlers[index]);
+			}
+		}
+		out.writeObject(null);
+	}
+
+	/**
+	 * Reads the handlers, and registers them with the indexes their tags have in this program.
+	 *
+	 * @param in the stream
+	 * @throws IOException if the handlers cannot be read
+	 * @throws ClassNotFoundException if the class of a tag or handler cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		handlers = new Handler[64];
+		tags = new CloudSimTags[64];
+		for (Object tag = in.readObject(); tag != null; tag = in.readObject()) {
+			register((CloudSimTags) tag, (Handler) in.readObject());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the pending events of a simulation by source entity and tag.
+ * It allows {@link SimulationContext#cancel(int, org.cloudbus.cloudsim.core.predicates.Predicate)}
+ * and {@link SimulationContext#cancelAll(int, org.cloudbus.cloudsim.core.predicates.Predicate)}
+ * to look up the events of an entity without scanning the whole future event list.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class EventIndex implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The pending events, by source entity id and by tag. */
+	private final List<Map<CloudSimTags, Set<SimEvent>>> bySource = new ArrayList<>();
+
+	/**
+	 * Adds a pending event.
+	 *
+	 * @param ev the event
+	 */
+	void add(SimEvent ev) {
+		int src = ev.getSourceId();
+		while (bySource.size() <= src) {
+			bySource.add(null);
+		}
+		Map<CloudSimTags, Set<SimEvent>> byTag = bySource.get(src);
+		if (byTag == null) {
+			byTag = new LinkedHashMap<>();
+			bySource.set(src, byTag);
+		}
+		byTag.computeIfAbsent(ev.getTag(), tag -> new LinkedHashSet<>()).add(ev);
+	}
+
+	/**
+	 * Removes an event, once it has been dispatched or cancelled.
+	 *
+	 * @param ev the event
+	 */
+	void remove(SimEvent ev) {
+		Set<SimEvent> events = get(ev.getSourceId(), ev.getTag());
+		if (!events.isEmpty()) {
+			events.remove(ev);
+		}
+	}
+
+	/**
+	 * Gets the pending events sent by an entity with a given tag.
+	 *
+	 * @param src the id of the source entity
+	 * @param tag the tag
+	 * @return the events, in the order they have been sent
+	 */
+	Set<SimEvent> get(int src, CloudSimTags tag) {
+		Map<CloudSimTags, Set<SimEvent>> byTag = src >= 0 && src < bySource.size() ? bySource.get(src) : null;
+		if (byTag == null) {
+			return Collections.emptySet();
+		}
+		Set<SimEvent> events = byTag.get(tag);
+		return events == null ? Collections.emptySet() : events;
+	}
+
+	/**
+	 * Gets the pending events sent by an entity, grouped by tag.
+	 *
+	 * @param src the id of the source entity
+	 * @return the groups of events
+	 */
+	Collection<Set<SimEvent>> get(int src) {
+		Map<CloudSimTags, Set<SimEvent>> byTag = src >= 0 && src < bySource.size() ? bySource.get(src) : null;
+		return byTag == null ? Collections.emptyList() : byTag.values();
+	}
+
+	/**
+	 * Removes all the events.
+	 */
+	void clear() {
+		bySource.clear();
+	}
+}
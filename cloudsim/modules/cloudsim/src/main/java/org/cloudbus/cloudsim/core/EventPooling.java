@@ -0,0 +1,40 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+/**
+ * Whether the {@link SimEvent}s of a simulation are recycled once they have been processed, instead
+ * of being allocated for every message.
+ * <p>
+ * When the events are pooled, an event sent to an entity is recycled after the
+ * {@link SimEntity#processEvents(java.util.List)} call that handed it over returns. The entities
+ * must therefore not keep a reference to the events they process, nor to the events they send
+ * once these have been delivered: they have to copy the fields they need, e.g. the data of the event.
+ * The events that are cancelled, or that the entities take out of their incoming events by
+ * themselves, are never recycled.
+ *
+ * @see SimulationContext#setEventPooling(EventPooling)
+ * @since CloudSim Toolkit 7.0
+ */
+public enum EventPooling {
+
+	/** The events are allocated for every message, and never recycled. This is the default. */
+	DISABLED,
+
+	/** The processed events are recycled for the next messages. */
+	ENABLED,
+
+	/**
+	 * The processed events are released as with {@link #ENABLED}, but never reused: any later access
+	 * to a released event throws an {@link IllegalStateException}. This mode allocates as much as
+	 * {@link #DISABLED}, and is meant to check that the entities do not retain the events before
+	 * enabling the pooling.
+	 */
+	CHECKED
+}
@@ -10,26 +10,51 @@ package org.cloudbus.cloudsim.core;
 
 import org.cloudbus.cloudsim.Log;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.PriorityQueue;
 
 /**
- * This class implements the event queue used by {@link CloudSim}.
+ * This class implements the event queue used by {@link CloudSim}, as a binary heap.
+ * It is the default {@link FutureEventList}.
  *
  * @author Remo Andreoli
  * @since CloudSim Toolkit 7.0
  *
  */
-public class EventQueue extends PriorityQueue<SimEvent> {
+public class EventQueue extends PriorityQueue<SimEvent> implements FutureEventList {
 	/** A incremental number used for event attribute */
 	private long serial = 0;
 
+	/**
+	 * A decreasing negative number given to the events added to the head of the queue, so that
+	 * they precede the other events with the same time, the latest added first.
+	 */
+	private long firstSerial = 0;
+
+	/**
+	 * Creates an empty queue ordered by {@link SimEvent#compareTo(SimEvent)}.
+	 */
+	public EventQueue() {
+		super();
+	}
+
+	/**
+	 * Creates an empty queue with a specific order of the events.
+	 *
+	 * @param order the order of the events
+	 */
+	EventQueue(Comparator<SimEvent> order) {
+		super(order);
+	}
+
 	/**
 	 * Adds a new event to the queue. Adding a new event to the queue preserves the temporal order of
 	 * the events in the queue.
 	 * 
 	 * @param newEvent The event to be put in the queue.
 	 */
+	@Override
 	public void addEvent(SimEvent newEvent) {
 		newEvent.setSerial(serial++);
 		this.add(newEvent);
@@ -40,8 +65,9 @@ public class EventQueue extends PriorityQueue<SimEvent> {
 	 * 
 	 * @param newEvent The event to be put in the queue.
 	 */
+	@Override
 	public void addEventFirst(SimEvent newEvent) {
-		newEvent.setSerial(0);
+		newEvent.setSerial(--firstSerial);
 		this.add(newEvent);
 	}
 
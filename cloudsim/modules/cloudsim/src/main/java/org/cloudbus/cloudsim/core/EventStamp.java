@@ -0,0 +1,90 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.Comparator;
+
+/**
+ * The position of an event in the order of a sequential run, which is given to the events of a
+ * simulation whose entities are run in parallel partitions.
+ * <p>
+ * A sequential run dispatches the events of a given time in rounds: the events already in the
+ * future event queue when the clock reaches that time, then the ones sent at that time with no delay,
+ * and so on. Within a round, the events are dispatched in the order they have been sent, i.e. by
+ * the time and the round at which they have been sent, then by the id of the sending entity,
+ * as the entities are run in the order of their ids; the events sent to be dispatched first
+ * precede the others of their round, in the reverse order. The stamp records all these values, so that
+ * every partition can dispatch its events in the same order as a sequential run without knowing
+ * about the events of the other partitions.
+ *
+ * @param round the dispatch round of the event, within its time
+ * @param first whether the event has been sent to be dispatched before the other events of its round
+ * @param sendTime the time at which the event has been sent
+ * @param sendRound the dispatch round in which the event has been sent
+ * @param sender the id of the entity that sent the event, or -1 if it has not been sent by an entity being run
+ * @param seq the number of events sent before this one by the same entity in the same round
+ * @see LogicalProcess
+ * @since CloudSim Toolkit 7.0
+ */
+record EventStamp(int round, boolean first, double sendTime, int sendRound, int sender, long seq) {
+
+	/** The order in which a sequential run dispatches stamped events. */
+	static final Comparator<SimEvent> DISPATCH_ORDER = (a, b) -> {
+		int c = Double.compare(a.eventTime(), b.eventTime());
+		if (c != 0) {
+			return c;
+		}
+		EventStamp x = a.getStamp();
+		EventStamp y = b.getStamp();
+		c = Integer.compare(x.round, y.round);
+		if (c != 0) {
+			return c;
+		}
+		c = Boolean.compare(y.first, x.first);
+		if (c != 0) {
+			return c;
+		}
+		c = Double.compare(x.sendTime, y.sendTime);
+		if (c == 0) {
+			c = Integer.compare(x.sendRound, y.sendRound);
+		}
+		if (c == 0) {
+			c = Integer.compare(x.sender, y.sender);
+		}
+		if (c == 0) {
+			c = Long.compare(x.seq, y.seq);
+		}
+		// the events sent to be dispatched first are dispatched latest sent first
+		return x.first ? -c : c;
+	};
+
+	/**
+	 * Creates the stamp of an event sent before the simulation has started, which is dispatched
+	 * in the same order as by its serial number.
+	 *
+	 * @param ev the event
+	 * @return the stamp
+	 */
+	static EventStamp initial(SimEvent ev) {
+		// the serials of the events added first decrease from -1, so their negation is their sending order
+		long serial = ev.getSerial();
+		return new EventStamp(0, serial < 0, Double.NEGATIVE_INFINITY, 0, -1, serial < 0 ? -serial : serial);
+	}
+
+	/**
+	 * Checks whether the event has been sent before a given dispatch round.
+	 *
+	 * @param time the time of the round
+	 * @param round the round, within its time
+	 * @return true if the event has been sent in an earlier round
+	 */
+	boolean sentBefore(double time, int round) {
+		return sendTime < time || sendTime == time && sendRound < round;
+	}
+}
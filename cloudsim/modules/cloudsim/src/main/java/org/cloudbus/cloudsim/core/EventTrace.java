@@ -0,0 +1,367 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * An append-only binary log of the events dispatched by a simulation, recorded by
+ * {@link SimulationContext#setEventTrace(EventTrace)}.
+ * <p>
+ * The trace is a memory-mapped file made of a header followed by fixed-width records, one for
+ * every dispatched event in the order it was dispatched: its time, serial number, source,
+ * destination, tag and type. As the records have the same width and are sorted by time, a
+ * {@link Reader} can jump to the first event of any time without reading the events before it,
+ * and replay the rest at disk speed. The data of the events is not recorded, hence replaying a
+ * trace reproduces the flow of events of a run, e.g. to compare two runs or find the time a
+ * regression starts, but not the state of the entities.
+ * <p>
+ * The {@link CloudSimTags#index() indexes} of the tags are only valid for the program that
+ * recorded the trace, so the tags are written to a dictionary file next to the trace,
+ * named after the trace with the <tt>.tags</tt> extension, when the trace is closed.
+ * <p>
+ * Only the sequential runs are recorded.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class EventTrace implements Closeable {
+
+	/** The first bytes of a trace file. */
+	private static final int MAGIC = 0x43535452;
+
+	/** The version of the layout of the records. */
+	private static final int VERSION = 1;
+
+	/** The size of the header: the magic number, the version and the size of a record. */
+	static final int HEADER_BYTES = 16;
+
+	/** The size of a record: time, serial, source, destination, tag index and type. */
+	static final int RECORD_BYTES = 32;
+
+	/** The number of records of a mapped region of the file. */
+	private static final int CHUNK_RECORDS = 1 << 20;
+
+	/** The file of the trace. */
+	private final Path file;
+
+	private final FileChannel channel;
+
+	/** The region of the file the next records are written to. */
+	private MappedByteBuffer chunk;
+
+	/** The number of records written. */
+	private long size;
+
+	/** The recorded tags, by index. */
+	private CloudSimTags[] tags = new CloudSimTags[64];
+
+	private EventTrace(Path file, FileChannel channel) {
+		this.file = file;
+		this.channel = channel;
+	}
+
+	/**
+	 * Creates a trace file, replacing the file if it exists.
+	 *
+	 * @param file the file
+	 * @return the trace, which has to be closed once the simulation is over
+	 * @throws IOException if the file cannot be created
+	 */
+	public static EventTrace create(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(0).flip();
+		channel.write(header, 0);
+		return new EventTrace(file, channel);
+	}
+
+	/**
+	 * Appends the record of an event.
+	 *
+	 * @param ev the event, which is being dispatched
+	 */
+	void record(SimEvent ev) {
+		if (chunk == null || !chunk.hasRemaining()) {
+			chunk = map(channel, FileChannel.MapMode.READ_WRITE, size / CHUNK_RECORDS);
+		}
+		CloudSimTags tag = ev.getTag();
+		int index = -1;
+		if (tag != null) {
+			index = tag.index();
+			if (index >= tags.length) {
+				tags = Arrays.copyOf(tags, Math.max(index + 1, tags.length * 2));
+			}
+			tags[index] = tag;
+		}
+		chunk.putDouble(ev.eventTime())
+				.putLong(ev.getSerial())
+				.putInt(ev.getSourceId())
+				.putInt(ev.getDestinationId())
+				.putInt(index)
+				.putInt(ev.getType());
+		size++;
+	}
+
+	/**
+	 * Gets the number of events recorded.
+	 *
+	 * @return the number of records
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Cuts the file after the last record and writes the dictionary of the tags.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		if (chunk != null) {
+			chunk.force();
+			chunk = null;
+		}
+		channel.truncate(HEADER_BYTES + size * RECORD_BYTES);
+		channel.close();
+
+		List<String> lines = new ArrayList<>();
+		for (int index = 0; index < tags.length; index++) {
+			CloudSimTags tag = tags[index];
+			if (tag instanceof Enum<?> constant) {
+				lines.add(index + "\t" + constant.getDeclaringClass().getName() + "\t" + constant.name());
+			}
+		}
+		Files.write(dictionary(file), lines, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Maps a region of a trace file.
+	 *
+	 * @param channel the channel of the file
+	 * @param mode the mapping mode
+	 * @param number the number of the region
+	 * @return the region, positioned at its start
+	 */
+	private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long number) {
+		try {
+			return channel.map(mode, HEADER_BYTES + number * CHUNK_RECORDS * RECORD_BYTES,
+					(long) CHUNK_RECORDS * RECORD_BYTES);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Path dictionary(Path file) {
+		return file.resolveSibling(file.getFileName() + ".tags");
+	}
+
+	/**
+	 * The record of a dispatched event.
+	 *
+	 * @param time the time of the event
+	 * @param serial the serial number of the event, which orders the events with the same time
+	 * @param source the ID of the source entity
+	 * @param destination the ID of the destination entity
+	 * @param tag the tag, or <tt>null</tt> if the event has no tag or its tag is not an enum constant
+	 * @param type the type, e.g. {@link SimEvent#SEND}
+	 */
+	public record Record(double time, long serial, int source, int destination, CloudSimTags tag, int type) {
+	}
+
+	/**
+	 * Reads a trace file.
+	 */
+	public static final class Reader implements Closeable {
+
+		private final FileChannel channel;
+
+		/** The mapped regions of the file, mapped the first time they are read. */
+		private final MappedByteBuffer[] chunks;
+
+		/** The number of records. */
+		private final long size;
+
+		/** The recorded tags, by index. */
+		private final Map<Integer, CloudSimTags> tags = new HashMap<>();
+
+		private Reader(FileChannel channel, long size) {
+			this.channel = channel;
+			this.size = size;
+			this.chunks = new MappedByteBuffer[(int) ((size + CHUNK_RECORDS - 1) / CHUNK_RECORDS)];
+		}
+
+		/**
+		 * Opens a trace file, which has been closed by the program that recorded it.
+		 *
+		 * @param file the file
+		 * @return the reader
+		 * @throws IOException if the file cannot be read or is not a trace
+		 */
+		public static Reader open(Path file) throws IOException {
+			FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			channel.read(header, 0);
+			header.flip();
+			if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION
+					|| header.getInt() != RECORD_BYTES) {
+				channel.close();
+				throw new IOException(file + " is not an event trace.");
+			}
+
+			Reader reader = new Reader(channel, (channel.size() - HEADER_BYTES) / RECORD_BYTES);
+			Path dictionary = dictionary(file);
+			if (Files.exists(dictionary)) {
+				for (String line : Files.readAllLines(dictionary, StandardCharsets.UTF_8)) {
+					String[] fields = line.split("\t");
+					CloudSimTags tag = resolve(fields[1], fields[2]);
+					if (tag != null) {
+						reader.tags.put(Integer.parseInt(fields[0]), tag);
+					}
+				}
+			}
+			return reader;
+		}
+
+		/**
+		 * Finds a tag recorded in the dictionary of a trace.
+		 *
+		 * @param type the name of the enum of the tag
+		 * @param name the name of the constant
+		 * @return the tag, or <tt>null</tt> if the enum or the constant no longer exist
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static CloudSimTags resolve(String type, String name) {
+			try {
+				return (CloudSimTags) Enum.valueOf((Class<? extends Enum>) Class.forName(type), name);
+			} catch (ClassNotFoundException | IllegalArgumentException | ClassCastException e) {
+				return null;
+			}
+		}
+
+		/**
+		 * Gets the number of events recorded.
+		 *
+		 * @return the number of records
+		 */
+		public long size() {
+			return size;
+		}
+
+		/**
+		 * Reads a record.
+		 *
+		 * @param i the number of the record, starting from 0
+		 * @return the record
+		 */
+		public Record get(long i) {
+			if (i < 0 || i >= size) {
+				throw new IndexOutOfBoundsException("Record " + i + " out of " + size);
+			}
+			ByteBuffer chunk = chunk(i / CHUNK_RECORDS);
+			int offset = (int) (i % CHUNK_RECORDS) * RECORD_BYTES;
+			return new Record(chunk.getDouble(offset),
+					chunk.getLong(offset + 8),
+					chunk.getInt(offset + 16),
+					chunk.getInt(offset + 20),
+					tags.get(chunk.getInt(offset + 24)),
+					chunk.getInt(offset + 28));
+		}
+
+		/**
+		 * Gets the time of a record, without reading the rest of it.
+		 *
+		 * @param i the number of the record
+		 * @return the time of the event
+		 */
+		private double time(long i) {
+			return chunk(i / CHUNK_RECORDS).getDouble((int) (i % CHUNK_RECORDS) * RECORD_BYTES);
+		}
+
+		/**
+		 * Finds the first event dispatched at or after a given time, by binary search.
+		 *
+		 * @param time the time
+		 * @return the number of the record, or {@link #size()} if all the events are older
+		 */
+		public long seek(double time) {
+			long low = 0;
+			long high = size;
+			while (low < high) {
+				long middle = (low + high) >>> 1;
+				if (time(middle) < time) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * Replays the events dispatched during an interval of time, in the order they were dispatched.
+		 *
+		 * @param from the start of the interval
+		 * @param until the end of the interval, exclusive
+		 * @param consumer the consumer of the records
+		 * @return the number of events replayed
+		 */
+		public long replay(double from, double until, Consumer<Record> consumer) {
+			long count = 0;
+			for (long i = seek(from); i < size; i++) {
+				Record record = get(i);
+				if (record.time() >= until) {
+					break;
+				}
+				consumer.accept(record);
+				count++;
+			}
+			return count;
+		}
+
+		private ByteBuffer chunk(long number) {
+			MappedByteBuffer chunk = chunks[(int) number];
+			if (chunk == null) {
+				long records = Math.min(CHUNK_RECORDS, size - number * CHUNK_RECORDS);
+				try {
+					chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+							HEADER_BYTES + number * CHUNK_RECORDS * RECORD_BYTES, records * RECORD_BYTES);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				chunks[(int) number] = chunk;
+			}
+			return chunk;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
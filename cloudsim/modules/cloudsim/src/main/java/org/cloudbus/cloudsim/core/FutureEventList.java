@@ -0,0 +1,85 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serializable;
+import java.util.Iterator;
+
+/**
+ * An interface for the future event list (FEL) of a simulation, i.e., the priority queue
+ * holding the events that have been scheduled but not yet dispatched.
+ * Events are retrieved in the order defined by {@link SimEvent#compareTo(SimEvent)}, that is
+ * by time and, for events with the same time, by insertion order.
+ * <p>
+ * The implementation in use is selected by
+ * {@link CloudSim#init(int, java.util.Calendar, boolean, double, FutureEventList)}.
+ *
+ * @see EventQueue
+ * @see CalendarQueue
+ * @see LadderQueue
+ * @since CloudSim Toolkit 7.0
+ */
+public interface FutureEventList extends Iterable<SimEvent>, Serializable {
+
+	/**
+	 * Adds a new event to the list, after all the events with the same time.
+	 *
+	 * @param newEvent The event to be put in the list.
+	 */
+	void addEvent(SimEvent newEvent);
+
+	/**
+	 * Adds a new event to the list, before all the events with the same time.
+	 *
+	 * @param newEvent The event to be put in the list.
+	 */
+	void addEventFirst(SimEvent newEvent);
+
+	/**
+	 * Retrieves, but does not remove, the earliest event of the list.
+	 *
+	 * @return the earliest event, or <tt>null</tt> if the list is empty
+	 */
+	SimEvent peek();
+
+	/**
+	 * Retrieves and removes the earliest event of the list.
+	 *
+	 * @return the earliest event, or <tt>null</tt> if the list is empty
+	 */
+	SimEvent poll();
+
+	/**
+	 * Gets the number of events in the list.
+	 *
+	 * @return the number of events
+	 */
+	int size();
+
+	/**
+	 * Checks if the list has no events.
+	 *
+	 * @return <tt>true</tt> if the list is empty
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Removes all the events from the list.
+	 */
+	void clear();
+
+	/**
+	 * Gets an iterator over the events of the list, in no particular order.
+	 * The iterator supports {@link Iterator#remove()}.
+	 *
+	 * @return the iterator
+	 */
+	@Override
+	Iterator<SimEvent> iterator();
+}
@@ -34,6 +34,19 @@ public interface GuestEntity extends CoreAttributes {
      */
     List<Double> getCurrentRequestedMips();
 
+    /**
+     * Gets the current requested mips in a share that the next call may reuse, and so overwrite.
+     * The hosts hand it to their guest scheduler, which copies it, without allocating a new list
+     * at every update.
+     *
+     * @return the current requested mips, valid until the next call
+     * @see #getCurrentRequestedMips()
+     * @since CloudSim Toolkit 7.0
+     */
+    default List<Double> getCurrentRequestedMipsBuffer() {
+        return getCurrentRequestedMips();
+    }
+
     /**
      * Gets the current requested total mips (i.e., sum of mips for each virtual PE).
      *
@@ -41,7 +54,7 @@ public interface GuestEntity extends CoreAttributes {
      */
     default double getCurrentRequestedTotalMips() {
         double totalMips = 0.0;
-        for (Double mips : getCurrentRequestedMips()) {
+        for (Double mips : getCurrentRequestedMipsBuffer()) {
             totalMips += mips;
         }
         return totalMips;
@@ -54,7 +67,7 @@ public interface GuestEntity extends CoreAttributes {
      */
     default double getCurrentRequestedMaxMips() {
         double maxMips = 0.0;
-        for (Double mips : getCurrentRequestedMips()) {
+        for (Double mips : getCurrentRequestedMipsBuffer()) {
             if (mips > maxMips) {
                 maxMips = mips;
             }
@@ -179,7 +192,10 @@ public interface GuestEntity extends CoreAttributes {
      * Gets unique string identifier of the VM.
      *
      * @return string uid
+     * @deprecated the guests are known by their {@link #getKey() key}, which is neither built nor
+     *             hashed as a string
      */
+    @Deprecated
     String getUid();
 
     /**
@@ -188,11 +204,62 @@ public interface GuestEntity extends CoreAttributes {
      * @param userId the user id
      * @param vmId the vm id
      * @return string uid
+     * @deprecated use {@link #getKey(int, int)}
      */
+    @Deprecated
     static String getUid(int userId, int vmId) {
         return userId + "-" + vmId;
     }
 
+    /**
+     * Gets the unique key of the guest, which identifies it in the tables of the allocation
+     * policies, guest schedulers and provisioners.
+     *
+     * @return the key
+     * @see #getKey(int, int)
+     * @since CloudSim Toolkit 7.0
+     */
+    default long getKey() {
+        return getKey(getUserId(), getId());
+    }
+
+    /**
+     * Generates the unique key of a guest: its user id in the high 32 bits, and its id in the low ones.
+     *
+     * @param userId the user id
+     * @param guestId the guest id
+     * @return the key
+     * @since CloudSim Toolkit 7.0
+     */
+    static long getKey(int userId, int guestId) {
+        return ((long) userId << 32) | (guestId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the key of a guest from its {@link #getUid(int, int) string uid}, for the deprecated
+     * methods that take uids.
+     *
+     * @param uid the uid
+     * @return the key
+     * @since CloudSim Toolkit 7.0
+     */
+    static long getKey(String uid) {
+        int dash = uid.indexOf('-', 1);
+        return getKey(Integer.parseInt(uid.substring(0, dash)), Integer.parseInt(uid.substring(dash + 1)));
+    }
+
+    /**
+     * Gets the {@link #getUid(int, int) string uid} of a guest from its key, for the deprecated
+     * methods that expose uids.
+     *
+     * @param key the key
+     * @return the uid
+     * @since CloudSim Toolkit 7.0
+     */
+    static String getUid(long key) {
+        return (int) (key >> 32) + "-" + (int) key;
+    }
+
     /** The mips allocation history.
      * @TODO Instead of using a list, this attribute would be
      * a map, where the key can be the history time
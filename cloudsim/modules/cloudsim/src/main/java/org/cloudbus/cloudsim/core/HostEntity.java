@@ -69,7 +69,7 @@ public interface HostEntity extends CoreAttributes {
         }
 
         // NOTE: this calls peProvisioner.allocateMipsForGuest
-        if (!getGuestScheduler().allocatePesForGuest(guest, guest.getCurrentRequestedMips())) {
+        if (!getGuestScheduler().allocatePesForGuest(guest, guest.getCurrentRequestedMipsBuffer())) {
             Log.printlnConcat(CloudSim.clock(), "[GuestScheduler.guestCreate] Allocation of ", guest.getClassName(), " #",guest.getId(),
                     " failed by Number of PEs or MIPS");
             getGuestRamProvisioner().deallocateRamForGuest(guest);
@@ -144,12 +144,12 @@ public interface HostEntity extends CoreAttributes {
             if (!getGuestList().contains(guest)) {
                 getGuestList().add(guest);
             }
-            if (!getGuestScheduler().getGuestsMigratingIn().contains(guest.getUid())) {
-                getGuestScheduler().getGuestsMigratingIn().add(guest.getUid());
+            if (!getGuestScheduler().getGuestsMigratingInByKey().containsKey(guest.getKey())) {
+                getGuestScheduler().getGuestsMigratingInByKey().put(guest.getKey(), guest);
             }
             getGuestRamProvisioner().allocateRamForGuest(guest, guest.getCurrentRequestedRam());
             getGuestBwProvisioner().allocateBwForGuest(guest, guest.getCurrentRequestedBw());
-            getGuestScheduler().allocatePesForGuest(guest, guest.getCurrentRequestedMips());
+            getGuestScheduler().allocatePesForGuest(guest, guest.getCurrentRequestedMipsBuffer());
             setStorage(getStorage() - guest.getSize());
         }
     }
@@ -164,7 +164,7 @@ public interface HostEntity extends CoreAttributes {
         getGuestsMigratingIn().remove(guest);
         getGuestList().remove(guest);
         //Log.printlnConcat(getClassName()," # ",getId()," removeMigratingInGuest: ",guest.getClassName()," #",guest.getId()," is deleted from the list");
-        getGuestScheduler().getGuestsMigratingIn().remove(guest.getUid());
+        getGuestScheduler().getGuestsMigratingInByKey().remove(guest.getKey());
         guest.setInMigration(false);
     }
 
@@ -195,8 +195,8 @@ public interface HostEntity extends CoreAttributes {
                 System.exit(0);
             }
 
-            getGuestScheduler().getGuestsMigratingIn().add(guest.getUid());
-            if (!getGuestScheduler().allocatePesForGuest(guest, guest.getCurrentRequestedMips())) {
+            getGuestScheduler().getGuestsMigratingInByKey().put(guest.getKey(), guest);
+            if (!getGuestScheduler().allocatePesForGuest(guest, guest.getCurrentRequestedMipsBuffer())) {
                 //Log.printlnConcat("[host.addMigratingInGuest] Allocation of ", guest.getClassName(), " #", guest.getId(), " to ", getClassName(), " #",
 								  //getId(), " failed by MIPS");
                 System.exit(0);
@@ -0,0 +1,123 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.BitSet;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * A {@link PredicateType}, {@link PredicateNotType} or {@link PredicateFrom} compiled into a set of
+ * {@link CloudSimTags#index() tag indexes} or source IDs, so that matching an event is a single lookup
+ * whatever the number of tags or sources of the predicate. The simulation compiles the predicates
+ * the entities wait for, as they are matched against every event sent to a waiting entity.
+ * <p>
+ * As the indexes of the tags are only valid for the program that assigned them, the predicate is
+ * serialized as the predicate it was compiled from, and compiled again when it is deserialized.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+final class IndexedPredicate extends Predicate {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The predicate this predicate was compiled from. */
+	private final Predicate source;
+
+	/** The indexes of the tags, or <tt>null</tt> if the predicate matches the sources. */
+	private final BitSet tags;
+
+	/** The IDs of the sources, or <tt>null</tt> if the predicate matches the tags. */
+	private final BitSet sources;
+
+	/** Whether the predicate matches the events whose tag is <em>not</em> one of the {@link #tags}. */
+	private final boolean negated;
+
+	private IndexedPredicate(Predicate source, BitSet tags, BitSet sources, boolean negated) {
+		this.source = source;
+		this.tags = tags;
+		this.sources = sources;
+		this.negated = negated;
+	}
+
+	/**
+	 * Compiles a predicate, if it is one of the standard predicates that can be indexed.
+	 *
+	 * @param p the predicate
+	 * @return the compiled predicate, or the predicate itself if it cannot be compiled
+	 */
+	static Predicate of(Predicate p) {
+		if (p instanceof PredicateType type) {
+			BitSet tags = tagIndexes(type.getTags());
+			return tags == null ? p : new IndexedPredicate(p, tags, null, false);
+		}
+		if (p instanceof PredicateNotType notType) {
+			BitSet tags = tagIndexes(notType.getTags());
+			return tags == null ? p : new IndexedPredicate(p, tags, null, true);
+		}
+		if (p instanceof PredicateFrom from) {
+			BitSet sources = new BitSet();
+			for (int id : from.getIds()) {
+				if (id >= 0) {
+					sources.set(id);
+				}
+			}
+			return new IndexedPredicate(p, null, sources, false);
+		}
+		return p;
+	}
+
+	/**
+	 * Gets the indexes of tags.
+	 *
+	 * @param tags the tags
+	 * @return the indexes, or <tt>null</tt> if one of the tags is <tt>null</tt>
+	 */
+	private static BitSet tagIndexes(CloudSimTags[] tags) {
+		BitSet indexes = new BitSet();
+		for (CloudSimTags tag : tags) {
+			if (tag == null) {
+				return null;
+			}
+			indexes.set(tag.index());
+		}
+		return indexes;
+	}
+
+	@Override
+	public boolean match(SimEvent ev) {
+		if (tags == null) {
+			return ev.getSourceId() >= 0 && sources.get(ev.getSourceId());
+		}
+		CloudSimTags tag = ev.getTag();
+		return (tag != null && tags.get(tag.index())) != negated;
+	}
+
+	private Object writeReplace() {
+		return new Compiled(source);
+	}
+
+	/**
+	 * The serialized form of a compiled predicate.
+	 *
+	 * @param source the predicate it was compiled from
+	 */
+	private record Compiled(Predicate source) implements Serializable {
+
+		private Object readResolve() {
+			return of(source);
+		}
+	}
+}
@@ -0,0 +1,322 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link FutureEventList} implemented as a ladder queue, which provides O(1) amortised
+ * insertion and removal and, unlike the {@link CalendarQueue}, adapts to skewed and
+ * changing distributions of the event times without resizing.
+ * <p>
+ * The queue is made of three tiers:
+ * <ul>
+ * <li><b>Top</b>: an unsorted bag holding the events far in the future, i.e., later
+ * than {@link #topStart};</li>
+ * <li><b>Ladder</b>: a stack of rungs, each one dividing a time interval into buckets of
+ * equal width. The buckets are unsorted, and a bucket of a rung that has too many events
+ * is split into a new, finer-grained rung;</li>
+ * <li><b>Bottom</b>: a sorted list holding the earliest events.</li>
+ * </ul>
+ * Events are removed from the bottom. When it is empty, the next bucket of the deepest rung
+ * is sorted and moved into it; when the ladder is empty, the top is spread onto a new rung.
+ *
+ * @see <a href="https://doi.org/10.1145/1103323.1103324">W. T. Tang, R. S. M. Goh, I. L.-J. Thng,
+ *      Ladder queue: An O(1) priority queue structure for large-scale discrete event simulation,
+ *      ACM TOMACS 2005</a>
+ * @since CloudSim Toolkit 7.0
+ */
+public class LadderQueue implements FutureEventList {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The number of events of a bucket above which it is split into a new rung. */
+	private static final int THRESHOLD = 50;
+
+	/** The maximum number of rungs of the ladder. */
+	private static final int MAX_RUNGS = 8;
+
+	/** A incremental number used for event attribute */
+	private long serial = 0;
+
+	/**
+	 * A decreasing negative number given to the events added to the head of the queue, so that
+	 * they precede the other events with the same time, the latest added first.
+	 */
+	private long firstSerial = 0;
+
+	/** The unsorted bag of the events in the far future. */
+	private final EventBucket top = new EventBucket();
+
+	/** The minimum event time of the top. */
+	private double topMin;
+
+	/** The maximum event time of the top. */
+	private double topMax;
+
+	/**
+	 * The events later than this time are inserted into the top. The events at this time go
+	 * to the ladder, with the other events of that time, so that they are sorted together.
+	 */
+	private double topStart = Double.NEGATIVE_INFINITY;
+
+	/** The rungs of the ladder, from the coarsest to the finest grained. */
+	private final List<Rung> rungs = new ArrayList<>();
+
+	/** The sorted list of the earliest events. */
+	private final EventBucket bottom = new EventBucket();
+
+	/** The number of events in the queue. */
+	private int size;
+
+	/**
+	 * A rung of the ladder, dividing the interval starting at {@link #start} into buckets
+	 * of equal width. The buckets before {@link #current} have already been moved
+	 * to a finer rung or to the bottom.
+	 */
+	private static class Rung implements Serializable {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		final double start;
+		final double width;
+		final EventBucket[] buckets;
+		int current;
+
+		Rung(double start, double width, int n) {
+			this.start = start;
+			this.width = width;
+			buckets = new EventBucket[n];
+		}
+
+		/**
+		 * Checks whether an event belongs to the current bucket or a later one. The earlier
+		 * events belong to a finer rung or to the bottom.
+		 */
+		boolean accepts(double time) {
+			// the same bucket computation as add, so that the events of a time are never split
+			return current < buckets.length && Math.floor((time - start) / width) >= current;
+		}
+
+		void add(SimEvent ev) {
+			int b = (int) ((ev.eventTime() - start) / width);
+			b = Math.max(current, Math.min(buckets.length - 1, b));
+			if (buckets[b] == null) {
+				buckets[b] = new EventBucket();
+			}
+			buckets[b].add(ev);
+		}
+	}
+
+	@Override
+	public void addEvent(SimEvent newEvent) {
+		newEvent.setSerial(serial++);
+		insert(newEvent);
+	}
+
+	@Override
+	public void addEventFirst(SimEvent newEvent) {
+		newEvent.setSerial(--firstSerial);
+		insert(newEvent);
+	}
+
+	@Override
+	public SimEvent peek() {
+		if (bottom.isEmpty() && !refill()) {
+			return null;
+		}
+		return bottom.last();
+	}
+
+	@Override
+	public SimEvent poll() {
+		if (bottom.isEmpty() && !refill()) {
+			return null;
+		}
+		if (--size == 0) {
+			// start afresh, so that the next events are spread on the ladder again
+			rungs.clear();
+			topStart = Double.NEGATIVE_INFINITY;
+		}
+		return bottom.pollLast();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public void clear() {
+		top.clear();
+		rungs.clear();
+		bottom.clear();
+		topStart = Double.NEGATIVE_INFINITY;
+		size = 0;
+	}
+
+	@Override
+	public Iterator<SimEvent> iterator() {
+		List<EventBucket> buckets = new ArrayList<>();
+		buckets.add(bottom);
+		for (Rung rung : rungs) {
+			for (int i = rung.current; i < rung.buckets.length; i++) {
+				if (rung.buckets[i] != null) {
+					buckets.add(rung.buckets[i]);
+				}
+			}
+		}
+		buckets.add(top);
+		return new EventBucket.BucketIterator(buckets, () -> size--);
+	}
+
+	/**
+	 * Gets the current number of rungs of the ladder.
+	 *
+	 * @return the number of rungs
+	 */
+	public int getNumberOfRungs() {
+		return rungs.size();
+	}
+
+	private void insert(SimEvent ev) {
+		size++;
+		double time = ev.eventTime();
+
+		if (time > topStart) {
+			if (top.isEmpty()) {
+				topMin = time;
+				topMax = time;
+			} else {
+				topMin = Math.min(topMin, time);
+				topMax = Math.max(topMax, time);
+			}
+			top.add(ev);
+			return;
+		}
+
+		for (Rung rung : rungs) {
+			if (rung.accepts(time)) {
+				rung.add(ev);
+				return;
+			}
+		}
+
+		bottom.insertSorted(ev);
+	}
+
+	/**
+	 * Moves the next events into the bottom.
+	 *
+	 * @return <tt>true</tt> if the bottom is not empty afterwards
+	 */
+	private boolean refill() {
+		while (bottom.isEmpty()) {
+			if (rungs.isEmpty()) {
+				if (top.isEmpty()) {
+					return false;
+				}
+				spreadTop();
+				continue;
+			}
+
+			Rung rung = rungs.get(rungs.size() - 1);
+			EventBucket bucket = nextBucket(rung);
+			if (bucket == null) {
+				rungs.remove(rungs.size() - 1);
+				continue;
+			}
+
+			int b = rung.current - 1;
+			rung.buckets[b] = null;
+			if (bucket.size() > THRESHOLD && rungs.size() < MAX_RUNGS) {
+				if (spawnRung(bucket, rung.start + b * rung.width)) {
+					continue;
+				}
+			}
+			moveToBottom(bucket);
+		}
+		return true;
+	}
+
+	/**
+	 * Advances a rung to its next non-empty bucket.
+	 *
+	 * @param rung the rung
+	 * @return the bucket, or <tt>null</tt> if the rung has no more events
+	 */
+	private EventBucket nextBucket(Rung rung) {
+		while (rung.current < rung.buckets.length) {
+			EventBucket bucket = rung.buckets[rung.current++];
+			if (bucket != null && !bucket.isEmpty()) {
+				return bucket;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Spreads the events of the top onto a new rung, or moves them to the bottom
+	 * if all of them have the same time.
+	 */
+	private void spreadTop() {
+		topStart = topMax;
+		double width = (topMax - topMin) / top.size();
+		if (width <= 0 || !spawnRung(top, topMin)) {
+			moveToBottom(top);
+		}
+		top.clear();
+	}
+
+	/**
+	 * Creates a new rung holding the events of a bucket.
+	 *
+	 * @param bucket the events
+	 * @param start the start time of the new rung
+	 * @return <tt>true</tt> if the rung has been created, <tt>false</tt> if the events
+	 *         cannot be split because they all have the same time
+	 */
+	private boolean spawnRung(EventBucket bucket, double start) {
+		double max = Double.NEGATIVE_INFINITY;
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < bucket.size(); i++) {
+			max = Math.max(max, bucket.get(i).eventTime());
+			min = Math.min(min, bucket.get(i).eventTime());
+		}
+		double width = (max - start) / bucket.size();
+		if (min == max || width <= 0 || Double.isInfinite(width)) {
+			return false;
+		}
+
+		Rung rung = new Rung(start, width, bucket.size() + 1);
+		for (int i = 0; i < bucket.size(); i++) {
+			rung.add(bucket.get(i));
+		}
+		rungs.add(rung);
+		return true;
+	}
+
+	private void moveToBottom(EventBucket bucket) {
+		for (int i = 0; i < bucket.size(); i++) {
+			bottom.add(bucket.get(i));
+		}
+		bottom.sort();
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The state of a partition of a parallel simulation that is specific to the time window being
+ * executed: the bounds of the window, the dispatch round being processed and the events that
+ * have to be delivered at the end of the window.
+ * <p>
+ * Every event sent by the entities of the partition is given an {@link EventStamp}, and the
+ * future events of the partition are ordered by {@link EventStamp#DISPATCH_ORDER}, so that they are
+ * dispatched in the same order as in a sequential run. The events that the partition can't process
+ * within the window, either because they are for another partition or because they are past the end
+ * of the window, are held in an outbox.
+ *
+ * @see ParallelExecutor
+ * @since CloudSim Toolkit 7.0
+ */
+final class LogicalProcess {
+
+	/** The index of the partition. */
+	private final int index;
+
+	/** The partition of each entity, by entity id. */
+	private final int[] partitionOf;
+
+	/** Whether the events for other partitions may be due within the window, to be processed speculatively. */
+	private final boolean optimistic;
+
+	/** The future events of the partition. */
+	private final EventQueue queue = new EventQueue(EventStamp.DISPATCH_ORDER);
+
+	/** The start of the current window. */
+	private double start;
+
+	/** The dispatch round of the window start. */
+	private int startRound;
+
+	/** The end of the current window, exclusive unless it is equal to its start. */
+	private double end;
+
+	/** The time of the round being processed. */
+	private double time;
+
+	/** The dispatch round being processed, within its time. */
+	private int round;
+
+	/** The id of the entity being run, or -1 while dispatching. */
+	private int entity = -1;
+
+	/** The number of events sent by the entity being run in the current round. */
+	private long seq;
+
+	/** The events to deliver at the end of the window, in the order they have been sent. */
+	private final List<SimEvent> outbox = new ArrayList<>();
+
+	/**
+	 * Creates a logical process.
+	 *
+	 * @param index the index of the partition
+	 * @param partitionOf the partition of each entity, by entity id
+	 * @param optimistic whether the partition processes the events of a window speculatively
+	 */
+	LogicalProcess(int index, int[] partitionOf, boolean optimistic) {
+		this.index = index;
+		this.partitionOf = partitionOf;
+		this.optimistic = optimistic;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	EventQueue getQueue() {
+		return queue;
+	}
+
+	/**
+	 * Checks whether an entity belongs to this partition.
+	 *
+	 * @param id the entity id
+	 * @return true if the entity is run by this partition
+	 */
+	boolean owns(int id) {
+		return partitionOf[id] == index;
+	}
+
+	/**
+	 * Starts a new window, or starts again the current one after a rollback.
+	 *
+	 * @param first the earliest event of the whole simulation, which defines the window start
+	 * @param end the end of the window
+	 */
+	void open(SimEvent first, double end) {
+		start = first.eventTime();
+		startRound = first.getStamp().round();
+		this.end = end;
+		time = start;
+		round = startRound;
+		entity = -1;
+		outbox.clear();
+	}
+
+	/**
+	 * Checks whether an event can be dispatched in the current window.
+	 *
+	 * @param ev the event
+	 * @param first whether no events have been dispatched in the window yet
+	 * @return true if the event is within the window
+	 */
+	boolean inWindow(SimEvent ev, boolean first) {
+		return ev.eventTime() < end
+				|| first && ev.eventTime() == start && ev.getStamp().round() == startRound;
+	}
+
+	/**
+	 * Records that the events of a dispatch round are being dispatched.
+	 *
+	 * @param next the first event of the round
+	 */
+	void dispatching(SimEvent next) {
+		time = next.eventTime();
+		round = next.getStamp().round();
+		entity = -1;
+		seq = 0;
+	}
+
+	/**
+	 * Checks whether an event belongs to the dispatch round being processed.
+	 *
+	 * @param ev the event
+	 * @return true if the event has to be dispatched in the current round
+	 */
+	boolean inRound(SimEvent ev) {
+		return ev.eventTime() == time && ev.getStamp().round() == round;
+	}
+
+	/**
+	 * Records that an entity is being run, so that the events it sends are attributed to it.
+	 *
+	 * @param id the entity id
+	 */
+	void running(int id) {
+		entity = id;
+		seq = 0;
+	}
+
+	/**
+	 * Gives a new event its position in the order of a sequential run.
+	 *
+	 * @param ev the event
+	 * @param first whether the event has to be dispatched before the other events of its round
+	 */
+	void stamp(SimEvent ev, boolean first) {
+		int dispatchRound = ev.eventTime() == time ? round + 1 : 0;
+		ev.setStamp(new EventStamp(dispatchRound, first, time, round, entity, seq++));
+	}
+
+	/**
+	 * Checks whether a new event can be processed by this partition within the current window.
+	 *
+	 * @param ev the event
+	 * @return true if the event can be processed locally; false if it has to be posted
+	 * @throws IllegalStateException if the partition is synchronised conservatively and the event is for
+	 *             another partition and due before the end of the window, i.e. it has been sent with a delay
+	 *             shorter than the lookahead
+	 */
+	boolean accepts(SimEvent ev) {
+		if (partitionOf[ev.getDestinationId()] != index) {
+			if (!optimistic && ev.eventTime() < end) {
+				throw new IllegalStateException("Event " + ev.getTag() + " from entity #" + ev.getSourceId()
+						+ " to entity #" + ev.getDestinationId() + " at " + ev.eventTime()
+						+ " is due before the end of the parallel window at " + end
+						+ ": the delays between partitions must not be shorter than the lookahead.");
+			}
+			return false;
+		}
+		return ev.eventTime() < end;
+	}
+
+	/**
+	 * Adds an event to the outbox.
+	 *
+	 * @param ev the event
+	 */
+	void post(SimEvent ev) {
+		outbox.add(ev);
+	}
+
+	List<SimEvent> getOutbox() {
+		return outbox;
+	}
+}
@@ -0,0 +1,600 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * The incoming events of a {@link SimEntity}, which have been delivered to the entity
+ * but not processed yet.
+ * <p>
+ * The simulation delivers the events in the order they have to be processed, hence they are
+ * simply held in a FIFO ring buffer. The events that are removed out of order, by
+ * {@link #select(Predicate)}, are replaced by empty slots that are skipped by {@link #poll()}.
+ * <p>
+ * The first time the events are looked up by a {@link PredicateType}, the positions of the
+ * events with the tags of the predicate start being indexed, so that later lookups for these tags
+ * do not scan the whole buffer. As the same few tags are looked up over and over
+ * (e.g. {@link CloudActionTags#VM_MIGRATE} by the power datacenters), the other events are never
+ * indexed. Likewise, the positions of the events from a source start being indexed the first time
+ * the events are looked up by a {@link PredicateFrom} with that source.
+ * <p>
+ * The first time the events are looked up by a {@link PredicateNotType}, all the tags are indexed,
+ * so that the first event whose tag is not excluded is found by looking at the first indexed event
+ * of each tag rather than at every event.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class Mailbox implements Iterable<SimEvent>, Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The position returned by {@link #find(Predicate)} when no event matches. */
+	private static final long NONE = Long.MIN_VALUE;
+
+	/** The ring buffer of events, indexed by position modulo its length. Removed events leave a null slot. */
+	private SimEvent[] events = new SimEvent[8];
+
+	/** The position of the first slot in use. */
+	private long head;
+
+	/** The position of the next free slot. */
+	private long tail;
+
+	/** The number of events, excluding the empty slots. */
+	private int size;
+
+	/** The positions of the events with the indexed tags, by tag. */
+	private final Map<CloudSimTags, Positions> index = new HashMap<>();
+
+	/** The positions of the events from the indexed sources, by source ID. */
+	private final Map<Integer, Positions> sources = new HashMap<>();
+
+	/** Whether all the tags are indexed, rather than only the tags that have been looked up. */
+	private boolean allTags;
+
+	/**
+	 * Adds an event at the end of the mailbox.
+	 *
+	 * @param ev the event
+	 */
+	public void add(SimEvent ev) {
+		if (tail - head == events.length) {
+			grow();
+		}
+		events[slot(tail)] = ev;
+		track(ev, tail, false);
+		tail++;
+		size++;
+	}
+
+	/**
+	 * Adds events at the beginning of the mailbox, before the events it already holds,
+	 * e.g. the events of a batch that an entity has not processed.
+	 *
+	 * @param batch the events, in the order they have to be processed
+	 */
+	void addFirst(List<SimEvent> batch) {
+		for (int i = batch.size() - 1; i >= 0; i--) {
+			if (tail - head == events.length) {
+				grow();
+			}
+			SimEvent ev = batch.get(i);
+			head--;
+			events[slot(head)] = ev;
+			track(ev, head, true);
+			size++;
+		}
+	}
+
+	/**
+	 * Removes all the events of the mailbox at once.
+	 *
+	 * @param batch the list the events are added to, in the order they have to be processed
+	 * @return the number of events removed
+	 */
+	public int drainTo(List<SimEvent> batch) {
+		int count = size;
+		for (long position = head; position < tail; position++) {
+			SimEvent ev = events[slot(position)];
+			if (ev != null) {
+				batch.add(ev);
+				events[slot(position)] = null;
+			}
+		}
+		head = tail;
+		size = 0;
+		for (Positions positions : index.values()) {
+			positions.clear();
+		}
+		for (Positions positions : sources.values()) {
+			positions.clear();
+		}
+		return count;
+	}
+
+	/**
+	 * Removes the first event of the mailbox.
+	 *
+	 * @return the first event, or <tt>null</tt> if the mailbox is empty
+	 */
+	public SimEvent poll() {
+		while (head < tail) {
+			SimEvent ev = events[slot(head)];
+			events[slot(head)] = null;
+			head++;
+			if (ev != null) {
+				untrack(ev, head - 1);
+				size--;
+				return ev;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the first event that matches a predicate.
+	 *
+	 * @param p the predicate
+	 * @return the event, or <tt>null</tt> if no event matches
+	 */
+	public SimEvent select(Predicate p) {
+		long position = find(p);
+		if (position == NONE) {
+			return null;
+		}
+
+		SimEvent ev = events[slot(position)];
+		untrack(ev, position);
+		if (position == head) {
+			events[slot(head)] = null;
+			head++;
+		} else {
+			events[slot(position)] = null;
+		}
+		size--;
+		return ev;
+	}
+
+	/**
+	 * Gets the first event that matches a predicate, without removing it.
+	 *
+	 * @param p the predicate
+	 * @return the event, or <tt>null</tt> if no event matches
+	 */
+	public SimEvent peek(Predicate p) {
+		long position = find(p);
+		return position == NONE ? null : events[slot(position)];
+	}
+
+	/**
+	 * Counts the events that match a predicate.
+	 *
+	 * @param p the predicate
+	 * @return the number of matching events
+	 */
+	public int count(Predicate p) {
+		if (p instanceof PredicateType) {
+			CloudSimTags[] tags = ((PredicateType) p).getTags();
+			int count = 0;
+			for (int i = 0; i < tags.length; i++) {
+				if (!contains(tags, i, tags[i])) {
+					count += indexed(tags[i]).size();
+				}
+			}
+			return count;
+		}
+		if (p instanceof PredicateFrom) {
+			int[] ids = ((PredicateFrom) p).getIds();
+			int count = 0;
+			for (int i = 0; i < ids.length; i++) {
+				if (!contains(ids, i, ids[i])) {
+					count += indexedSource(ids[i]).size();
+				}
+			}
+			return count;
+		}
+		if (p instanceof PredicateNotType) {
+			indexAllTags();
+			CloudSimTags[] excluded = ((PredicateNotType) p).getTags();
+			int count = 0;
+			for (Map.Entry<CloudSimTags, Positions> entry : index.entrySet()) {
+				if (!contains(excluded, excluded.length, entry.getKey())) {
+					count += entry.getValue().size();
+				}
+			}
+			return count;
+		}
+
+		int count = 0;
+		for (long position = head; position < tail; position++) {
+			SimEvent ev = events[slot(position)];
+			if (ev != null && p.match(ev)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of events in the mailbox.
+	 *
+	 * @return the number of events
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether the mailbox is empty.
+	 *
+	 * @return true if there are no events
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all the events.
+	 */
+	public void clear() {
+		Arrays.fill(events, null);
+		head = tail = 0;
+		size = 0;
+		index.clear();
+		sources.clear();
+		allTags = false;
+	}
+
+	/**
+	 * Iterates over the events in the order they will be processed.
+	 *
+	 * @return the iterator
+	 */
+	@Override
+	public Iterator<SimEvent> iterator() {
+		return new Iterator<>() {
+			private final long end = tail;
+			private long position = skip(head);
+
+			@Override
+			public boolean hasNext() {
+				return position < end;
+			}
+
+			@Override
+			public SimEvent next() {
+				if (end != tail) {
+					throw new ConcurrentModificationException();
+				}
+				if (position >= end) {
+					throw new NoSuchElementException();
+				}
+				SimEvent ev = events[slot(position)];
+				position = skip(position + 1);
+				return ev;
+			}
+
+			private long skip(long from) {
+				while (from < end && events[slot(from)] == null) {
+					from++;
+				}
+				return from;
+			}
+		};
+	}
+
+	/**
+	 * Finds the position of the first event that matches a predicate.
+	 *
+	 * @param p the predicate
+	 * @return the position, or {@link #NONE} if no event matches
+	 */
+	private long find(Predicate p) {
+		if (p instanceof PredicateType) {
+			long first = NONE;
+			for (CloudSimTags tag : ((PredicateType) p).getTags()) {
+				first = min(first, indexed(tag));
+			}
+			return first;
+		}
+		if (p instanceof PredicateFrom) {
+			long first = NONE;
+			for (int id : ((PredicateFrom) p).getIds()) {
+				first = min(first, indexedSource(id));
+			}
+			return first;
+		}
+		if (p instanceof PredicateNotType) {
+			indexAllTags();
+			CloudSimTags[] excluded = ((PredicateNotType) p).getTags();
+			long first = NONE;
+			for (Map.Entry<CloudSimTags, Positions> entry : index.entrySet()) {
+				if (!contains(excluded, excluded.length, entry.getKey())) {
+					first = min(first, entry.getValue());
+				}
+			}
+			return first;
+		}
+
+		for (long position = head; position < tail; position++) {
+			SimEvent ev = events[slot(position)];
+			if (ev != null && p.match(ev)) {
+				return position;
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Gets the positions of the events with a tag, starting to index the tag if needed.
+	 *
+	 * @param tag the tag
+	 * @return the positions
+	 */
+	private Positions indexed(CloudSimTags tag) {
+		Positions positions = index.get(tag);
+		if (positions == null) {
+			positions = new Positions();
+			for (long position = head; position < tail; position++) {
+				SimEvent ev = events[slot(position)];
+				if (ev != null && ev.getTag() == tag) {
+					positions.add(position);
+				}
+			}
+			index.put(tag, positions);
+		}
+		return positions;
+	}
+
+	/**
+	 * Gets the positions of the events from a source, starting to index the source if needed.
+	 *
+	 * @param id the ID of the source
+	 * @return the positions
+	 */
+	private Positions indexedSource(int id) {
+		Positions positions = sources.get(id);
+		if (positions == null) {
+			positions = new Positions();
+			for (long position = head; position < tail; position++) {
+				SimEvent ev = events[slot(position)];
+				if (ev != null && ev.getSourceId() == id) {
+					positions.add(position);
+				}
+			}
+			sources.put(id, positions);
+		}
+		return positions;
+	}
+
+	/**
+	 * Starts indexing all the tags, including the tags of the events added later.
+	 */
+	private void indexAllTags() {
+		if (allTags) {
+			return;
+		}
+		Map<CloudSimTags, Positions> added = new HashMap<>();
+		for (long position = head; position < tail; position++) {
+			SimEvent ev = events[slot(position)];
+			if (ev != null && !index.containsKey(ev.getTag())) {
+				added.computeIfAbsent(ev.getTag(), tag -> new Positions()).add(position);
+			}
+		}
+		index.putAll(added);
+		allTags = true;
+	}
+
+	/**
+	 * Records the position of an event in the indexes of its tag and source.
+	 *
+	 * @param ev the event
+	 * @param position the position of the event
+	 * @param first whether the event is added before all the events of the mailbox
+	 */
+	private void track(SimEvent ev, long position, boolean first) {
+		Positions byTag = index.get(ev.getTag());
+		if (byTag == null && allTags) {
+			byTag = new Positions();
+			index.put(ev.getTag(), byTag);
+		}
+		if (byTag != null) {
+			byTag.add(position, first);
+		}
+		if (!sources.isEmpty()) {
+			Positions bySource = sources.get(ev.getSourceId());
+			if (bySource != null) {
+				bySource.add(position, first);
+			}
+		}
+	}
+
+	/**
+	 * Removes the position of an event from the indexes of its tag and source.
+	 *
+	 * @param ev the event
+	 * @param position the position of the event
+	 */
+	private void untrack(SimEvent ev, long position) {
+		Positions byTag = index.get(ev.getTag());
+		if (byTag != null) {
+			byTag.remove(position);
+		}
+		if (!sources.isEmpty()) {
+			Positions bySource = sources.get(ev.getSourceId());
+			if (bySource != null) {
+				bySource.remove(position);
+			}
+		}
+	}
+
+	/**
+	 * Gets the lower of a position and the first indexed position.
+	 *
+	 * @param first the position, or {@link #NONE}
+	 * @param positions the indexed positions
+	 * @return the lower position, or {@link #NONE} if there is none
+	 */
+	private static long min(long first, Positions positions) {
+		if (!positions.isEmpty() && (first == NONE || positions.first() < first)) {
+			return positions.first();
+		}
+		return first;
+	}
+
+	/**
+	 * Checks whether one of the first tags of an array is a given tag, e.g. to count the events of
+	 * the tags that appear twice in a predicate only once.
+	 *
+	 * @param tags the tags
+	 * @param length the number of tags to check
+	 * @param tag the tag
+	 * @return true if the tag is found
+	 */
+	private static boolean contains(CloudSimTags[] tags, int length, CloudSimTags tag) {
+		for (int i = 0; i < length; i++) {
+			if (tags[i] == tag) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether one of the first IDs of an array is a given ID.
+	 *
+	 * @param ids the IDs
+	 * @param length the number of IDs to check
+	 * @param id the ID
+	 * @return true if the ID is found
+	 */
+	private static boolean contains(int[] ids, int length, int id) {
+		for (int i = 0; i < length; i++) {
+			if (ids[i] == id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int slot(long position) {
+		return (int) (position & (events.length - 1));
+	}
+
+	/**
+	 * Doubles the capacity of the ring buffer, keeping the events at the same positions.
+	 */
+	private void grow() {
+		SimEvent[] old = events;
+		events = new SimEvent[old.length * 2];
+		for (long position = head; position < tail; position++) {
+			events[slot(position)] = old[(int) (position & (old.length - 1))];
+		}
+	}
+
+	/**
+	 * A FIFO queue of the positions of the events with a given tag.
+	 */
+	private static final class Positions implements Serializable {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private long[] values = new long[4];
+
+		private int first;
+
+		private int size;
+
+		void add(long position) {
+			ensureCapacity();
+			values[(first + size) & (values.length - 1)] = position;
+			size++;
+		}
+
+		void add(long position, boolean first) {
+			if (first) {
+				addFirst(position);
+			} else {
+				add(position);
+			}
+		}
+
+		void addFirst(long position) {
+			ensureCapacity();
+			first = (first - 1) & (values.length - 1);
+			values[first] = position;
+			size++;
+		}
+
+		private void ensureCapacity() {
+			if (size == values.length) {
+				long[] grown = new long[values.length * 2];
+				for (int i = 0; i < size; i++) {
+					grown[i] = get(i);
+				}
+				values = grown;
+				first = 0;
+			}
+		}
+
+		long first() {
+			return values[first];
+		}
+
+		void pollFirst() {
+			first = (first + 1) & (values.length - 1);
+			size--;
+		}
+
+		void remove(long position) {
+			for (int i = 0; i < size; i++) {
+				if (get(i) == position) {
+					for (int j = i; j > 0; j--) {
+						values[(first + j) & (values.length - 1)] = get(j - 1);
+					}
+					pollFirst();
+					return;
+				}
+			}
+		}
+
+		long get(int i) {
+			return values[(first + i) & (values.length - 1)];
+		}
+
+		int size() {
+			return size;
+		}
+
+		void clear() {
+			first = 0;
+			size = 0;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+	}
+}
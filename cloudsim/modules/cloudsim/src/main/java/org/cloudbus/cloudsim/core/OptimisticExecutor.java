@@ -0,0 +1,263 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs a simulation whose entities have been partitioned into logical processes, with an
+ * optimistic (Time Warp) synchronisation of the partitions.
+ * <p>
+ * The windows have a fixed length, which does not depend on the delays between the partitions.
+ * Every partition saves its state, and the ones of its entities, at the start of the window and
+ * processes its events of the window speculatively, i.e. without waiting for the events that the
+ * other partitions may send within the window. These events are exchanged once all the partitions
+ * have run the window. A partition that receives new events, or anti-messages that annihilate the
+ * events it has received before, is rolled back to the start of the window and runs it again with its
+ * updated events, until no partition sends different events. The state saved at the start of the
+ * window is discarded once the window is committed, as no partition can be rolled back past it.
+ * <p>
+ * When a partition runs a window again, its execution is identical until it dispatches the earliest
+ * of its updated events. The events it sends before are kept as they are, and only the ones sent later
+ * are compared with the events sent by the previous execution. Therefore, every run of the partitions
+ * fixes at least the events of one more dispatch round, and the window completes after a finite
+ * number of rollbacks. The events are dispatched in the same order as in a sequential run, hence
+ * the results are identical to the ones of the sequential simulation.
+ *
+ * @see SimulationContext#setOptimisticPartitions(List, int, double)
+ * @since CloudSim Toolkit 7.0
+ */
+final class OptimisticExecutor extends ParallelExecutor {
+
+	/** The length of the windows. */
+	private final double window;
+
+	/** The number of times a partition has been rolled back. */
+	private long rollbacks;
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param simulation the simulation
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 * @param window the length of the windows
+	 */
+	OptimisticExecutor(SimulationContext simulation, List<? extends Collection<? extends SimEntity>> partitions,
+			int numThreads, double window) {
+		super(simulation, partitions, numThreads);
+		if (!(window > 0)) {
+			throw new IllegalArgumentException("The window length must be positive.");
+		}
+		this.window = window;
+	}
+
+	@Override
+	boolean isOptimistic() {
+		return true;
+	}
+
+	@Override
+	double getWindowLength() {
+		return window;
+	}
+
+	/**
+	 * Gets the number of times a partition has been rolled back to the start of a window.
+	 *
+	 * @return the number of rollbacks
+	 */
+	long getRollbacks() {
+		return rollbacks;
+	}
+
+	@Override
+	double runWindow(SimEvent first, double end) {
+		int n = processes.length;
+		Object[] saved = new Object[n];
+		List<List<SimEvent>> sent = new ArrayList<>();
+		List<List<SimEvent>> received = new ArrayList<>();
+		for (int p = 0; p < n; p++) {
+			sent.add(null);
+			received.add(new ArrayList<>());
+		}
+
+		Rollbacks rollback = new Rollbacks(n);
+		for (int p = 0; p < n; p++) {
+			SimulationContext process = processes[p];
+			process.getLogicalProcess().open(first, end);
+			SimEvent next = process.peekEvent();
+			if (next != null && process.getLogicalProcess().inWindow(next, true)) {
+				rollback.update(p, Double.NEGATIVE_INFINITY, 0);
+			}
+		}
+
+		while (true) {
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (int p = 0; p < n; p++) {
+				if (!rollback.dirty[p]) {
+					continue;
+				}
+				final int index = p;
+				SimulationContext process = processes[p];
+				if (saved[p] != null) {
+					rollbacks++;
+				}
+				tasks.add(task(process, () -> {
+					if (saved[index] == null) {
+						saved[index] = process.saveState();
+					} else {
+						process.restoreState(saved[index]);
+					}
+					process.getLogicalProcess().open(first, end);
+					for (SimEvent ev : received.get(index)) {
+						process.deliver(ev);
+					}
+					process.runWindow();
+				}));
+			}
+			if (tasks.isEmpty()) {
+				break;
+			}
+			runAll(tasks);
+
+			Rollbacks ran = rollback;
+			rollback = new Rollbacks(n);
+			for (int p = 0; p < n; p++) {
+				if (ran.dirty[p]) {
+					List<SimEvent> outbox = new ArrayList<>(processes[p].getLogicalProcess().getOutbox());
+					compare(sent.get(p), outbox, ran.time[p], ran.round[p], end, rollback);
+					sent.set(p, outbox);
+				}
+			}
+
+			for (List<SimEvent> events : received) {
+				events.clear();
+			}
+			for (List<SimEvent> events : sent) {
+				if (events != null) {
+					for (SimEvent ev : events) {
+						if (ev.eventTime() < end) {
+							received.get(partitionOf[ev.getDestinationId()]).add(ev);
+						}
+					}
+				}
+			}
+		}
+
+		// commit the window: the events within it have been dispatched by their partition
+		for (int p = 0; p < n; p++) {
+			if (sent.get(p) != null) {
+				for (SimEvent ev : sent.get(p)) {
+					if (ev.eventTime() < end) {
+						processes[p].forget(ev);
+					} else {
+						deliver(processes[p], ev);
+					}
+				}
+			}
+		}
+		return clock();
+	}
+
+	/**
+	 * Compares the events sent within the window by the last execution of a partition with the ones
+	 * sent by the previous execution, and marks the partitions that receive different events to be
+	 * rolled back. The events sent before the earliest updated event of the partition are the same,
+	 * as the execution is identical until it is dispatched.
+	 *
+	 * @param previous the events sent by the previous execution, or <tt>null</tt> if this is the first one
+	 * @param events the events sent by the last execution
+	 * @param fromTime the time of the earliest updated event of the partition
+	 * @param fromRound the dispatch round of the earliest updated event of the partition
+	 * @param end the end of the window
+	 * @param rollback the partitions to roll back, which is updated
+	 */
+	private void compare(List<SimEvent> previous, List<SimEvent> events, double fromTime, int fromRound,
+			double end, Rollbacks rollback) {
+		Map<EventStamp, SimEvent> unmatched = new HashMap<>();
+		if (previous == null) {
+			fromTime = Double.NEGATIVE_INFINITY;
+		} else {
+			for (SimEvent ev : previous) {
+				if (ev.eventTime() < end && !ev.getStamp().sentBefore(fromTime, fromRound)) {
+					unmatched.put(ev.getStamp(), ev);
+				}
+			}
+		}
+
+		for (SimEvent ev : events) {
+			if (ev.eventTime() >= end || ev.getStamp().sentBefore(fromTime, fromRound)) {
+				continue;
+			}
+			SimEvent match = unmatched.remove(ev.getStamp());
+			if (match == null || !isSame(match, ev)) {
+				rollback.update(partitionOf[ev.getDestinationId()], ev.eventTime(), ev.getStamp().round());
+				if (match != null) {
+					rollback.update(partitionOf[match.getDestinationId()], match.eventTime(),
+							match.getStamp().round());
+				}
+			}
+		}
+
+		// the anti-messages of the events that have not been sent again
+		for (SimEvent ev : unmatched.values()) {
+			rollback.update(partitionOf[ev.getDestinationId()], ev.eventTime(), ev.getStamp().round());
+		}
+	}
+
+	/**
+	 * Checks whether two events sent by different executions of a partition are the same,
+	 * in which case the receiving partition does not need to be rolled back.
+	 *
+	 * @param a an event
+	 * @param b the other event
+	 * @return true if the events have the same content
+	 */
+	private static boolean isSame(SimEvent a, SimEvent b) {
+		return a.eventTime() == b.eventTime() && a.getType() == b.getType()
+				&& a.getSourceId() == b.getSourceId() && a.getDestinationId() == b.getDestinationId()
+				&& a.getTag() == b.getTag() && Objects.deepEquals(a.getData(), b.getData());
+	}
+
+	/**
+	 * The partitions that have to run a window again, along with the earliest dispatch round
+	 * from which their events have been updated.
+	 */
+	private static final class Rollbacks {
+
+		final boolean[] dirty;
+
+		final double[] time;
+
+		final int[] round;
+
+		Rollbacks(int n) {
+			dirty = new boolean[n];
+			time = new double[n];
+			round = new int[n];
+			Arrays.fill(time, Double.POSITIVE_INFINITY);
+		}
+
+		void update(int p, double time, int round) {
+			dirty[p] = true;
+			if (time < this.time[p] || time == this.time[p] && round < this.round[p]) {
+				this.time[p] = time;
+				this.round[p] = round;
+			}
+		}
+	}
+}
@@ -0,0 +1,306 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a simulation whose entities have been partitioned into logical processes, each one
+ * with its own future events, on a pool of threads.
+ * <p>
+ * The simulation advances by time windows, from the earliest future event of all the partitions.
+ * The partitions that have events within the window process them on their own thread. The events
+ * they send to the other partitions, or past the end of the window, are delivered once all the
+ * partitions have completed the window. The subclasses define the length of the windows and how
+ * the partitions are synchronised within them.
+ * <p>
+ * The events are stamped with their position in the order of a sequential run, hence the
+ * partitions dispatch their events in the same order as the sequential simulation.
+ *
+ * @see EventStamp
+ * @since CloudSim Toolkit 7.0
+ */
+abstract class ParallelExecutor {
+
+	/** The simulation being executed. */
+	protected final SimulationContext simulation;
+
+	/** The partitions given by the user. */
+	private final List<List<SimEntity>> partitions;
+
+	/** The number of threads that run the partitions. */
+	private final int numThreads;
+
+	/** The partition run by each thread. */
+	private final ThreadLocal<SimulationContext> current = new ThreadLocal<>();
+
+	/** The partitions, the first one holding the entities not assigned to any partition. */
+	protected SimulationContext[] processes;
+
+	/** The partition of each entity, by entity id. */
+	protected int[] partitionOf;
+
+	/** The threads that run the partitions. */
+	private ExecutorService pool;
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param simulation the simulation
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 */
+	ParallelExecutor(SimulationContext simulation, List<? extends Collection<? extends SimEntity>> partitions,
+			int numThreads) {
+		if (numThreads < 1) {
+			throw new IllegalArgumentException("The number of threads must be positive.");
+		}
+		this.simulation = simulation;
+		this.numThreads = numThreads;
+		this.partitions = new ArrayList<>();
+		for (Collection<? extends SimEntity> partition : partitions) {
+			for (SimEntity ent : partition) {
+				if (ent.getSimulation() != simulation) {
+					throw new IllegalArgumentException("Entity " + ent.getName() + " belongs to another simulation.");
+				}
+			}
+			this.partitions.add(new ArrayList<>(partition));
+		}
+	}
+
+	/**
+	 * Checks whether the partitions process the events of a window speculatively.
+	 *
+	 * @return true if the partitions may receive events within the window
+	 */
+	abstract boolean isOptimistic();
+
+	/**
+	 * Gets the length of the windows.
+	 *
+	 * @return the window length
+	 */
+	abstract double getWindowLength();
+
+	/**
+	 * Runs a window on all the partitions that have events within it, and then delivers the
+	 * events they have posted.
+	 *
+	 * @param first the earliest event of the whole simulation, which defines the window start
+	 * @param end the end of the window
+	 * @return the time of the last dispatched event
+	 */
+	abstract double runWindow(SimEvent first, double end);
+
+	/**
+	 * Gets the partition run by the calling thread.
+	 *
+	 * @return the partition, or <tt>null</tt> if the thread does not run any partition
+	 */
+	SimulationContext current() {
+		return current.get();
+	}
+
+	/**
+	 * Checks whether the partitions are being run.
+	 *
+	 * @return true if the partitions have been started
+	 */
+	boolean isStarted() {
+		return processes != null;
+	}
+
+	/**
+	 * Creates the partitions and moves to them the events sent so far, which are dispatched
+	 * in the order of their serial numbers.
+	 */
+	void start() {
+		partitionOf = new int[simulation.getEntityIdBound()];
+		for (int i = 0; i < partitions.size(); i++) {
+			for (SimEntity ent : partitions.get(i)) {
+				if (partitionOf[ent.getId()] != 0) {
+					throw new IllegalArgumentException("Entity " + ent.getName() + " is in more than one partition.");
+				}
+				partitionOf[ent.getId()] = i + 1;
+			}
+		}
+
+		processes = new SimulationContext[partitions.size() + 1];
+		for (int i = 0; i < processes.length; i++) {
+			processes[i] = new SimulationContext(simulation, new LogicalProcess(i, partitionOf, isOptimistic()));
+		}
+
+		SimEvent ev;
+		while ((ev = simulation.pollEvent()) != null) {
+			ev.setStamp(EventStamp.initial(ev));
+			processes[partitionOf[ev.getDestinationId()]].deliver(ev);
+		}
+		pool = Executors.newFixedThreadPool(numThreads);
+	}
+
+	/**
+	 * Stops the threads that run the partitions.
+	 */
+	void stop() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Gets the earliest future event among all the partitions.
+	 *
+	 * @return the earliest event, or <tt>null</tt> if there are no more events
+	 */
+	SimEvent peekEvent() {
+		SimEvent first = null;
+		for (SimulationContext process : processes) {
+			SimEvent ev = process.peekEvent();
+			if (ev != null && (first == null || EventStamp.DISPATCH_ORDER.compare(ev, first) < 0)) {
+				first = ev;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * Checks whether all the partitions are still running, i.e. none of them has terminated the simulation.
+	 *
+	 * @return true if the simulation is running
+	 */
+	boolean isRunning() {
+		for (SimulationContext process : processes) {
+			if (!process.running()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether an entity has required the abrupt termination of the simulation.
+	 *
+	 * @return true if a partition has been abruptly terminated
+	 */
+	boolean isAborted() {
+		for (SimulationContext process : processes) {
+			if (process.isAbruptlyTerminated()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a task that runs some work on a partition, from a thread of the pool.
+	 *
+	 * @param process the partition
+	 * @param work the work
+	 * @return the task
+	 */
+	protected Callable<Void> task(SimulationContext process, Runnable work) {
+		return () -> {
+			SimulationContext previous = CloudSim.swapSimulationContext(simulation);
+			current.set(process);
+			try {
+				work.run();
+			} finally {
+				current.remove();
+				CloudSim.swapSimulationContext(previous);
+			}
+			return null;
+		};
+	}
+
+	/**
+	 * Runs some work on behalf of a partition, from a thread other than the one that runs it.
+	 *
+	 * @param process the partition
+	 * @param work the work
+	 * @return the result of the work
+	 * @throws Exception if the work fails
+	 * @see SimulationContext#bind(Callable)
+	 */
+	<T> T callAs(SimulationContext process, Callable<T> work) throws Exception {
+		SimulationContext previous = current.get();
+		current.set(process);
+		try {
+			return work.call();
+		} finally {
+			if (previous == null) {
+				current.remove();
+			} else {
+				current.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Runs tasks on the pool, and waits for all of them to complete.
+	 *
+	 * @param tasks the tasks
+	 */
+	protected void runAll(List<Callable<Void>> tasks) {
+		try {
+			if (tasks.size() == 1) {
+				tasks.get(0).call();
+			} else {
+				for (Future<Void> result : pool.invokeAll(tasks)) {
+					result.get();
+				}
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Delivers an event posted by a partition to the partition of its destination,
+	 * unless it has been cancelled.
+	 *
+	 * @param source the partition that posted the event
+	 * @param ev the event
+	 */
+	protected void deliver(SimulationContext source, SimEvent ev) {
+		source.forget(ev);
+		if (!ev.isCancelled()) {
+			processes[partitionOf[ev.getDestinationId()]].deliver(ev);
+		}
+	}
+
+	/**
+	 * Gets the clock of the simulation, i.e. the latest clock of the partitions.
+	 *
+	 * @return the clock
+	 */
+	protected double clock() {
+		double clock = 0;
+		for (SimulationContext process : processes) {
+			clock = Math.max(clock, process.clock());
+		}
+		return clock;
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+
+/**
+ * An entity whose behaviour is written as a sequential {@link #body() process}, which holds for
+ * some simulation time and waits for events in-line, instead of reacting to every event in
+ * {@link #processEvent(SimEvent)}:
+ * <pre>
+ * protected void body() {
+ *     sendNow(datacenterId, CloudActionTags.VM_CREATE, vm);
+ *     SimEvent ack = await(new PredicateType(CloudActionTags.VM_CREATE_ACK));
+ *     hold(10);
+ *     ...
+ * }
+ * </pre>
+ * The body runs on a virtual thread, started when the entity is started. The simulation and the
+ * body never run at the same time: the simulation hands over to the body when an event it awaits
+ * arrives, and waits until the body holds, awaits again, or returns. As the virtual thread is
+ * unmounted while it awaits, a process costs no platform thread, and thousands of them can be
+ * simulated.
+ * <p>
+ * The events that arrive while the body is not awaiting them are kept until it does, in the order
+ * they arrived. The events given to the body must not be kept after it awaits again, as they may
+ * be recycled, see {@link EventPooling}.
+ * <p>
+ * The bodies still holding or awaiting events when the simulation is over are unwound. Process
+ * entities are only supported by sequential runs, and are not saved in snapshots.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public abstract class ProcessEntity extends SimEntity {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** What the body hands back to the simulation when it awaits an event or returns. */
+	private static final Object YIELD = new Object();
+
+	/** The virtual thread that runs the body, or <tt>null</tt> if it has not been started or is over. */
+	private transient Thread thread;
+
+	/** The events handed over to the body. */
+	private transient SynchronousQueue<SimEvent> toBody;
+
+	/** The signals handed back to the simulation: {@link #YIELD}, or the failure of the body. */
+	private transient SynchronousQueue<Object> toSimulation;
+
+	/** The predicate of the events the body awaits, or <tt>null</tt> if it is over. */
+	private transient Predicate awaited;
+
+	/**
+	 * Thrown within the body to unwind it when the simulation ends before the body does.
+	 */
+	private static final class Terminated extends RuntimeException {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		Terminated() {
+			super(null, null, false, false);
+		}
+	}
+
+	/**
+	 * Creates a new process entity.
+	 *
+	 * @param name the name of the entity
+	 */
+	public ProcessEntity(String name) {
+		super(name);
+	}
+
+	/**
+	 * The process of the entity, run once from the time the simulation starts. It may
+	 * {@link #hold(double) hold} and {@link #await(Predicate) await events}, and send events with
+	 * the methods of {@link SimEntity}. The entity does not process events once its body has returned.
+	 */
+	protected abstract void body();
+
+	/**
+	 * Starts the body of the entity, and runs it until it first holds or awaits an event.
+	 */
+	@Override
+	public void startEntity() {
+		super.startEntity();
+		toBody = new SynchronousQueue<>();
+		toSimulation = new SynchronousQueue<>();
+		awaited = CloudSim.SIM_NONE;
+		thread = Thread.ofVirtual().name(getName()).unstarted(getSimulation().bind(this::runBody));
+		thread.start();
+		waitForBody();
+	}
+
+	/**
+	 * Runs the body on its thread, and hands back to the simulation once it is over.
+	 */
+	private void runBody() {
+		Object outcome = YIELD;
+		try {
+			body();
+		} catch (Terminated e) {
+			// the simulation has ended
+		} catch (RuntimeException | Error e) {
+			outcome = e;
+		}
+		awaited = null;
+		thread = null;
+		try {
+			toSimulation.put(outcome);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits until the body holds, awaits an event or returns.
+	 *
+	 * @throws RuntimeException if the body has failed
+	 */
+	private void waitForBody() {
+		Object outcome;
+		try {
+			outcome = toSimulation.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while " + getName() + " was running.", e);
+		}
+		if (outcome instanceof RuntimeException failure) {
+			throw failure;
+		}
+		if (outcome instanceof Error failure) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Hands the events the body awaits over to it, one by one, and keeps the others.
+	 *
+	 * @param events the events delivered to the entity
+	 */
+	@Override
+	protected void processEvents(List<SimEvent> events) {
+		List<SimEvent> kept = new ArrayList<>(events);
+		int i = 0;
+		while (awaited != null && i < kept.size()) {
+			SimEvent ev = kept.get(i);
+			if (!awaited.match(ev)) {
+				i++;
+				continue;
+			}
+			kept.remove(i);
+			try {
+				toBody.put(ev);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while " + getName() + " was running.", e);
+			}
+			waitForBody();
+			// the body awaits other events, which may be among the ones kept so far
+			i = 0;
+		}
+		if (awaited != null) {
+			deferEvents(kept);
+		}
+	}
+
+	/**
+	 * Not used, as the events are handed over to the body.
+	 *
+	 * @param ev the event
+	 */
+	@Override
+	public final void processEvent(SimEvent ev) {
+		throw new UnsupportedOperationException("The events of a process entity are awaited by its body.");
+	}
+
+	/**
+	 * Waits, within the body, for the next event matching a predicate. The events that arrived
+	 * before and match the predicate are returned first.
+	 *
+	 * @param p the predicate
+	 * @return the event
+	 * @throws IllegalStateException if not called from the body
+	 */
+	protected SimEvent await(Predicate p) {
+		if (Thread.currentThread() != thread) {
+			throw new IllegalStateException("Only the body of " + getName() + " can await events.");
+		}
+		awaited = p;
+		try {
+			toSimulation.put(YIELD);
+			return toBody.take();
+		} catch (InterruptedException e) {
+			throw new Terminated();
+		}
+	}
+
+	/**
+	 * Waits, within the body, for the next event.
+	 *
+	 * @return the event
+	 */
+	protected SimEvent await() {
+		return await(CloudSim.SIM_ANY);
+	}
+
+	/**
+	 * Holds, within the body, for a simulation time. The events that arrive meanwhile are kept
+	 * until the body awaits them.
+	 *
+	 * @param delay the simulation time
+	 */
+	protected void hold(double delay) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("Negative delay supplied.");
+		}
+		SimEvent wakeUp = schedule(getId(), delay, CloudActionTags.BLANK, null);
+		if (wakeUp == null) {
+			// the simulation is over
+			throw new Terminated();
+		}
+		await(new Predicate() {
+			@Override
+			public boolean match(SimEvent ev) {
+				return ev == wakeUp;
+			}
+		});
+	}
+
+	/**
+	 * Checks whether the body is over.
+	 *
+	 * @return true if the body has returned, or has not been started
+	 */
+	public boolean isBodyOver() {
+		return awaited == null;
+	}
+
+	/**
+	 * Unwinds the body if it is still holding or awaiting an event, once the simulation is over.
+	 * The body is interrupted where it awaits, so that its <tt>finally</tt> blocks are run.
+	 */
+	void terminate() {
+		Thread running = thread;
+		if (running != null) {
+			running.interrupt();
+			waitForBody();
+		}
+	}
+
+	@Override
+	public void shutdownEntity() {
+		terminate();
+		super.shutdownEntity();
+	}
+}
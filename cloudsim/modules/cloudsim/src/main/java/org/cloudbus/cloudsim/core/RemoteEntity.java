@@ -0,0 +1,101 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serial;
+
+/**
+ * The stand-in for an entity that is simulated by another rank of a distributed simulation, see
+ * {@link SimulationContext#setDistributed(Transport, double)}. Every rank creates the same entities
+ * in the same order, so that they have the same ids everywhere, but creates a remote entity instead
+ * of each entity another rank simulates: the events sent to it are forwarded to that rank, and the
+ * events of the entity come from it.
+ * <p>
+ * A remote entity that stands for a resource such as a {@link org.cloudbus.cloudsim.Datacenter}
+ * registers to the {@link CloudInformationService} of its rank, like the resource does on its own
+ * rank, so that the brokers of every rank can find it.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class RemoteEntity extends SimEntity {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The rank that simulates the entity. */
+	private final int rank;
+
+	/** Whether the entity is registered as a resource. */
+	private final boolean resource;
+
+	/**
+	 * Creates the stand-in for an entity of another rank.
+	 *
+	 * @param name the name of the entity
+	 * @param rank the rank that simulates the entity
+	 */
+	public RemoteEntity(String name, int rank) {
+		this(name, rank, false);
+	}
+
+	/**
+	 * Creates the stand-in for an entity of another rank.
+	 *
+	 * @param name the name of the entity
+	 * @param rank the rank that simulates the entity
+	 * @param resource whether the entity is a resource registered to the {@link CloudInformationService}
+	 */
+	public RemoteEntity(String name, int rank, boolean resource) {
+		super(name);
+		if (rank < 0) {
+			throw new IllegalArgumentException("The rank can't be negative.");
+		}
+		this.rank = rank;
+		this.resource = resource;
+	}
+
+	/**
+	 * Gets the rank that simulates the entity.
+	 *
+	 * @return the rank
+	 */
+	public int getRank() {
+		return rank;
+	}
+
+	/**
+	 * Checks whether the entity is registered as a resource.
+	 *
+	 * @return true if it is registered to the {@link CloudInformationService}
+	 */
+	public boolean isResource() {
+		return resource;
+	}
+
+	/**
+	 * Registers the entity to the {@link CloudInformationService} if it is a resource. The entity
+	 * is started by its own rank.
+	 */
+	@Override
+	public void startEntity() {
+		if (resource) {
+			sendNow(getSimulation().getCloudInfoServiceEntityId(), CloudActionTags.REGISTER_RESOURCE, getId());
+		}
+	}
+
+	/**
+	 * Not used, as the events of a remote entity are forwarded to its rank when they are sent.
+	 *
+	 * @param ev the event
+	 */
+	@Override
+	public void processEvent(SimEvent ev) {
+		throw new IllegalStateException("The events of " + getName() + " are processed by rank " + rank + ".");
+	}
+}
@@ -2,11 +2,16 @@ package org.cloudbus.cloudsim.core;
 
 import org.cloudbus.cloudsim.core.predicates.PredicateType;
 import org.cloudbus.cloudsim.Log;
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Collections;
 
 /* a CPU, a network link, ... */
 public class ScheduledResource extends SimEntity {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
     public static class ResourceUse implements Comparable<ResourceUse> {
         public int src;
         public int dst;
@@ -0,0 +1,255 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link Transport} between processes on the same machine, over ring buffers in memory-mapped
+ * files, e.g. in <tt>/dev/shm</tt>. Each ordered pair of ranks has its own ring buffer, written by
+ * the sender only and read by the receiver only, so that no lock is needed. The messages larger than
+ * a ring buffer are streamed through it while the receiver reads them.
+ * <p>
+ * The ranks have to be given the same directory, which must not hold the files of a previous run.
+ * A rank waiting for a message spins for a while, and then sleeps between polls.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class SharedMemoryTransport implements Transport {
+
+	/** The positions of a ring buffer, accessed with memory ordering across the processes. */
+	private static final VarHandle POSITION = MethodHandles.byteBufferViewVarHandle(long[].class,
+			ByteOrder.nativeOrder());
+
+	/** The offset of the read position, written by the receiver. */
+	private static final int HEAD = 0;
+
+	/** The offset of the write position, written by the sender, on another cache line than the read one. */
+	private static final int TAIL = 64;
+
+	/** The offset of the data. */
+	private static final int DATA = 128;
+
+	/** The number of polls a waiting rank spins for before it sleeps. */
+	private static final int SPINS = 1 << 12;
+
+	/** The longest sleep between two polls, in nanoseconds. */
+	private static final long MAX_SLEEP = 1_000_000;
+
+	/** The rank of this process. */
+	private final int rank;
+
+	/** The number of ranks. */
+	private final int size;
+
+	/** The time to wait for a peer, in nanoseconds, or 0 to wait forever. */
+	private final long timeout;
+
+	/** The ring buffers of the messages to the other ranks, by rank. */
+	private final Ring[] out;
+
+	/** The ring buffers of the messages from the other ranks, by rank. */
+	private final Ring[] in;
+
+	/**
+	 * A ring buffer mapped from a file. The read and write positions only grow, and are
+	 * taken modulo the capacity to find the data.
+	 */
+	private final class Ring {
+
+		private final FileChannel channel;
+
+		private final MappedByteBuffer buffer;
+
+		private final int capacity;
+
+		Ring(Path file, int capacity) throws IOException {
+			this.capacity = capacity;
+			channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, DATA + (long) capacity);
+		}
+
+		/**
+		 * Writes bytes, waiting for the receiver to make room for them.
+		 */
+		void write(byte[] src, int offset, int length, int peer) throws IOException {
+			long tail = (long) POSITION.getOpaque(buffer, TAIL);
+			long waitStart = 0;
+			int idle = 0;
+			while (length > 0) {
+				long free = capacity - (tail - (long) POSITION.getAcquire(buffer, HEAD));
+				if (free == 0) {
+					waitStart = idle(idle++, waitStart, peer);
+					continue;
+				}
+				idle = 0;
+				waitStart = 0;
+				int at = (int) (tail % capacity);
+				int n = (int) Math.min(Math.min(free, length), capacity - at);
+				buffer.put(DATA + at, src, offset, n);
+				tail += n;
+				offset += n;
+				length -= n;
+				POSITION.setRelease(buffer, TAIL, tail);
+			}
+		}
+
+		/**
+		 * Reads bytes, waiting for the sender to write them.
+		 */
+		void read(byte[] dst, int offset, int length, int peer) throws IOException {
+			long head = (long) POSITION.getOpaque(buffer, HEAD);
+			long waitStart = 0;
+			int idle = 0;
+			while (length > 0) {
+				long available = (long) POSITION.getAcquire(buffer, TAIL) - head;
+				if (available == 0) {
+					waitStart = idle(idle++, waitStart, peer);
+					continue;
+				}
+				idle = 0;
+				waitStart = 0;
+				int at = (int) (head % capacity);
+				int n = (int) Math.min(Math.min(available, length), capacity - at);
+				buffer.get(DATA + at, dst, offset, n);
+				head += n;
+				offset += n;
+				length -= n;
+				POSITION.setRelease(buffer, HEAD, head);
+			}
+		}
+
+		void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Maps the ring buffers between this rank and the other ranks, creating their files if the
+	 * other ranks have not yet.
+	 *
+	 * @param directory the directory of the files of the ring buffers
+	 * @param rank the rank of this process
+	 * @param size the number of ranks
+	 * @param capacity the capacity of each ring buffer, in bytes
+	 * @param timeout the time to wait for each message of a peer, and for room to send it one, in
+	 *            milliseconds, or 0 to wait forever
+	 * @throws IOException if a file cannot be mapped
+	 */
+	public SharedMemoryTransport(Path directory, int rank, int size, int capacity, int timeout) throws IOException {
+		if (rank < 0 || rank >= size) {
+			throw new IllegalArgumentException("The rank must be between 0 and " + (size - 1) + ".");
+		}
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity must be positive.");
+		}
+		this.rank = rank;
+		this.size = size;
+		this.timeout = timeout * 1_000_000L;
+		out = new Ring[size];
+		in = new Ring[size];
+		try {
+			for (int peer = 0; peer < size; peer++) {
+				if (peer != rank) {
+					out[peer] = new Ring(directory.resolve(rank + "-" + peer + ".ring"), capacity);
+					in[peer] = new Ring(directory.resolve(peer + "-" + rank + ".ring"), capacity);
+				}
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits a little while for a peer.
+	 *
+	 * @param idle the number of polls made so far
+	 * @param waitStart the time the wait started at, in nanoseconds, or 0 on the first poll
+	 * @param peer the rank of the peer
+	 * @return the time the wait started at
+	 * @throws IOException if the peer has not made progress in time, or the thread is interrupted
+	 */
+	private long idle(int idle, long waitStart, int peer) throws IOException {
+		long now = System.nanoTime();
+		if (waitStart == 0) {
+			return now;
+		}
+		if (timeout > 0 && now - waitStart > timeout) {
+			throw new IOException("Rank " + peer + " has not responded in time.");
+		}
+		if (idle < SPINS) {
+			Thread.onSpinWait();
+		} else {
+			LockSupport.parkNanos(Math.min(MAX_SLEEP, 1000L << Math.min(idle - SPINS, 10)));
+			if (Thread.interrupted()) {
+				throw new InterruptedIOException("Interrupted while waiting for rank " + peer + ".");
+			}
+		}
+		return waitStart;
+	}
+
+	@Override
+	public int getRank() {
+		return rank;
+	}
+
+	@Override
+	public int getSize() {
+		return size;
+	}
+
+	@Override
+	public void send(int peer, byte[] message) throws IOException {
+		int length = message.length;
+		byte[] header = { (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length };
+		out[peer].write(header, 0, header.length, peer);
+		out[peer].write(message, 0, length, peer);
+	}
+
+	@Override
+	public byte[] receive(int peer) throws IOException {
+		byte[] header = new byte[4];
+		in[peer].read(header, 0, header.length, peer);
+		int length = (header[0] & 0xff) << 24 | (header[1] & 0xff) << 16 | (header[2] & 0xff) << 8
+				| header[3] & 0xff;
+		byte[] message = new byte[length];
+		in[peer].read(message, 0, length, peer);
+		return message;
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException failure = null;
+		for (Ring[] rings : new Ring[][] { out, in }) {
+			for (Ring ring : rings) {
+				if (ring != null) {
+					try {
+						ring.close();
+					} catch (IOException e) {
+						failure = e;
+					}
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
@@ -8,12 +8,15 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.NetworkTopology;
 import org.cloudbus.cloudsim.core.predicates.Predicate;
 
-import java.util.Iterator;
-
 /**
  * This class represents a simulation entity. An entity handles events and can send events to other
  * entities. When this class is extended, there are a few methods that need to be implemented:
@@ -31,7 +34,11 @@ import java.util.Iterator;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class SimEntity implements Cloneable {
+public abstract class SimEntity implements Cloneable, Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Entity states */
 	public enum EntityStatus {
 		RUNNABLE,
@@ -43,7 +50,16 @@ public abstract class SimEntity implements Cloneable {
 	private String name;
 	private int id;
 	private EntityStatus state;
-	protected EventQueue incomingEvents;
+	protected Mailbox incomingEvents;
+
+	/** The handlers of the events, by tag, once {@link #registerHandlers()} has been called. */
+	private EventDispatcher handlers;
+
+	/** The events being processed by {@link #run()}, reused from one run to the next. */
+	private final List<SimEvent> batch = new ArrayList<>();
+
+	/** The simulation context this entity is bound to. */
+	private final SimulationContext simulation;
 
 	/**
 	 * Creates a new entity.
@@ -57,9 +73,10 @@ public abstract class SimEntity implements Cloneable {
 		this.name = name;
 		id = -1;
 		state = EntityStatus.RUNNABLE;
-		incomingEvents = new EventQueue();
+		incomingEvents = new Mailbox();
 
-		CloudSim.addEntity(this);
+		simulation = CloudSim.getSimulationContext();
+		simulation.addEntity(this);
 	}
 
 	/**
@@ -80,7 +97,22 @@ public abstract class SimEntity implements Cloneable {
 		return id;
 	}
 
-	public EventQueue getIncomingEvents() {
+	/**
+	 * Gets the simulation context this entity is bound to, i.e., the context
+	 * that was current for the creating thread.
+	 *
+	 * @return the simulation context
+	 */
+	public SimulationContext getSimulation() {
+		return simulation;
+	}
+
+	/**
+	 * Gets the events that have been delivered to this entity and not processed yet.
+	 *
+	 * @return the incoming events
+	 */
+	public Mailbox getIncomingEvents() {
 		return incomingEvents;
 	}
 
@@ -92,13 +124,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the int
 	 */
 	public int waiting(Predicate p) {
-		int count = 0;
-		for (SimEvent event : incomingEvents) {
-			if ((event.getDestinationId() == id) && (p.match(event))) {
-				count++;
-			}
-		}
-		return count;
+		return incomingEvents.count(p);
 	}
 
 	/**
@@ -108,20 +134,11 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the sim event
 	 */
 	public SimEvent selectEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!simulation.running()) {
 			return null;
 		}
 
-		SimEvent ev;
-		Iterator<SimEvent> iterator = incomingEvents.iterator();
-		while (iterator.hasNext()) {
-			ev = iterator.next();
-			if (ev.getDestinationId() == id && p.match(ev)) {
-				iterator.remove();
-				return ev;
-			}
-		}
-		return null;
+		return incomingEvents.select(p);
 	}
 
 	/**
@@ -131,14 +148,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the sim event
 	 */
 	public SimEvent findFirstDeferred(Predicate p) {
-		SimEvent ev;
-		for (SimEvent simEvent : incomingEvents) {
-			ev = simEvent;
-			if (ev.getDestinationId() == id && p.match(ev)) {
-				return ev;
-			}
-		}
-		return null;
+		return incomingEvents.peek(p);
 	}
 
 	/** Schedule event functions */
@@ -149,12 +159,14 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag event type.
 	 * @param data The data to be sent with the event.
+	 * @return the event, which can be cancelled with {@link #cancelEvent(SimEvent)},
+	 *         or <tt>null</tt> if the simulation is not running
 	 */
-	public void schedule(int dstId, double delay, CloudSimTags tag, Object data) {
-		if (!CloudSim.running()) {
-			return;
+	public SimEvent schedule(int dstId, double delay, CloudSimTags tag, Object data) {
+		if (!simulation.running()) {
+			return null;
 		}
-		CloudSim.send(id, dstId, delay, tag, data);
+		return simulation.send(id, dstId, delay, tag, data);
 	}
 
 	/**
@@ -177,7 +189,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @param data The data to be sent with the event.
 	 */
 	public void schedule(String dstName, double delay, CloudSimTags tag, Object data) {
-		schedule(CloudSim.getEntityId(dstName), delay, tag, data);
+		schedule(simulation.getEntityId(dstName), delay, tag, data);
 	}
 
 	/**
@@ -191,6 +203,21 @@ public abstract class SimEntity implements Cloneable {
 		schedule(dstName, delay, tag, null);
 	}
 
+	/**
+	 * Sends an event to another entity by reference, with data. The reference is only resolved
+	 * once, unlike the name of the entity.
+	 *
+	 * @param dst The reference to the destination entity
+	 * @param delay How long from the current simulation time the event should be sent
+	 * @param tag event type.
+	 * @param data The data to be sent with the event.
+	 * @return the event, or <tt>null</tt> if the simulation is not running
+	 * @see SimulationContext#getEntityRef(String)
+	 */
+	public SimEvent schedule(EntityRef dst, double delay, CloudSimTags tag, Object data) {
+		return schedule(dst.getId(), delay, tag, data);
+	}
+
 	/**
 	 * Sends an event to another entity by id number, with data.
 	 * 
@@ -222,7 +249,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @param data The data to be sent with the event.
 	 */
 	public void scheduleNow(String dstName, CloudSimTags tag, Object data) {
-		schedule(CloudSim.getEntityId(dstName), 0, tag, data);
+		schedule(simulation.getEntityId(dstName), 0, tag, data);
 	}
 
 	/**
@@ -243,12 +270,14 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag event type.
 	 * @param data The data to be sent with the event.
+	 * @return the event, which can be cancelled with {@link #cancelEvent(SimEvent)},
+	 *         or <tt>null</tt> if the simulation is not running
 	 */
-	public void scheduleFirst(int dstId, double delay, CloudSimTags tag, Object data) {
-		if (!CloudSim.running()) {
-			return;
+	public SimEvent scheduleFirst(int dstId, double delay, CloudSimTags tag, Object data) {
+		if (!simulation.running()) {
+			return null;
 		}
-		CloudSim.sendFirst(id, dstId, delay, tag, data);
+		return simulation.sendFirst(id, dstId, delay, tag, data);
 	}
 
 	/**
@@ -271,7 +300,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @param data The data to be sent with the event.
 	 */
 	public void scheduleFirst(String dstName, double delay, CloudSimTags tag, Object data) {
-		scheduleFirst(CloudSim.getEntityId(dstName), delay, tag, data);
+		scheduleFirst(simulation.getEntityId(dstName), delay, tag, data);
 	}
 
 	/**
@@ -318,7 +347,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @param data The data to be sent with the event.
 	 */
 	public void scheduleFirstNow(String dstName, CloudSimTags tag, Object data) {
-		scheduleFirst(CloudSim.getEntityId(dstName), 0, tag, data);
+		scheduleFirst(simulation.getEntityId(dstName), 0, tag, data);
 	}
 
 	/**
@@ -341,10 +370,10 @@ public abstract class SimEntity implements Cloneable {
 		if (delay < 0) {
 			throw new IllegalArgumentException("Negative delay supplied.");
 		}
-		if (!CloudSim.running()) {
+		if (!simulation.running()) {
 			return;
 		}
-		CloudSim.pause(id, delay);
+		simulation.pause(id, delay);
 	}
 
 	/**
@@ -375,11 +404,25 @@ public abstract class SimEntity implements Cloneable {
 	 * @return The number of events cancelled (0 or 1)
 	 */
 	public SimEvent cancelEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!simulation.running()) {
 			return null;
 		}
 
-		return CloudSim.cancel(id, p);
+		return simulation.cancel(id, p);
+	}
+
+	/**
+	 * Cancels an event sent by this entity that is waiting in the future queue, in constant time.
+	 *
+	 * @param ev the event, as returned by {@link #schedule(int, double, CloudSimTags, Object)}
+	 * @return true if the event has been cancelled; false if it was already dispatched or cancelled
+	 */
+	public boolean cancelEvent(SimEvent ev) {
+		if (!simulation.running() || ev.getSourceId() != id) {
+			return false;
+		}
+
+		return simulation.cancel(ev);
 	}
 
 	/**
@@ -390,7 +433,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the simulation event
 	 */
 	public SimEvent getNextEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!simulation.running()) {
 			return null;
 		}
 		return selectEvent(p);
@@ -403,11 +446,11 @@ public abstract class SimEntity implements Cloneable {
 	 * @param p The predicate to match
 	 */
 	public void waitForEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!simulation.running()) {
 			return;
 		}
 
-		CloudSim.wait(id, p);
+		simulation.wait(id, p);
 		state = EntityStatus.WAITING;
 	}
 
@@ -416,7 +459,7 @@ public abstract class SimEntity implements Cloneable {
 	 * It should be responsible for starting the entity up.
 	 */
 	public void startEntity() {
-		Log.printlnConcat(CloudSim.clock(), ": ", getName(), " is starting...");
+		Log.printlnConcat(simulation.clock(), ": ", getName(), " is starting...");
 	}
 
 	/**
@@ -428,33 +471,126 @@ public abstract class SimEntity implements Cloneable {
 	 */
 	public abstract void processEvent(SimEvent ev);
 
+	/**
+	 * Registers the handlers of the events processed by the entity, by calling
+	 * {@link #registerHandler(CloudSimTags, EventDispatcher.Handler)}. It is called once, when the
+	 * entity dispatches its first event, rather than by the constructor, so that the handlers can
+	 * refer to the fully initialised entity. The subclasses call the method of their superclass
+	 * first, then register the handlers of their own tags, or replace the inherited ones.
+	 */
+	protected void registerHandlers() {
+	}
+
+	/**
+	 * Registers the handler of the events with a given tag, replacing the one registered before,
+	 * e.g. by a superclass. The entity passes its events to their handlers by calling
+	 * {@link #dispatchToHandler(SimEvent)} from its {@link #processEvent(SimEvent)} method.
+	 *
+	 * @param tag the tag
+	 * @param handler the handler of the events with the tag
+	 * @see EventDispatcher
+	 * @see #registerHandlers()
+	 */
+	protected final void registerHandler(CloudSimTags tag, EventDispatcher.Handler handler) {
+		getHandlers().register(tag, handler);
+	}
+
+	/**
+	 * Passes an event to the handler registered for its tag.
+	 *
+	 * @param ev the event
+	 * @return true if the event has been handled; false if no handler is registered for its tag
+	 */
+	protected boolean dispatchToHandler(SimEvent ev) {
+		return getHandlers().dispatch(ev);
+	}
+
+	/**
+	 * Gets the handlers of the events, registering them on the first call.
+	 *
+	 * @return the handlers
+	 */
+	private EventDispatcher getHandlers() {
+		if (handlers == null) {
+			handlers = new EventDispatcher();
+			registerHandlers();
+		}
+		return handlers;
+	}
+
 	/**
          * Shuts down the entity.
 	 * This method is invoked by the {@link CloudSim} before the simulation finishes. If you want
 	 * to save data in log files this is the method in which the corresponding code would be placed.
 	 */
 	public void shutdownEntity() {
-		Log.printlnConcat(CloudSim.clock(), ": ", getName(), " is shutting down...");
+		Log.printlnConcat(simulation.clock(), ": ", getName(), " is shutting down...");
 		incomingEvents = null;
 		state = EntityStatus.FINISHED;
 	}
 
 	/**
 	 * The run loop to process events fired during the simulation.
-	 * The events that will be processed are defined
-	 * in the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
+	 * It is only invoked on the clock ticks in which the entity has been delivered events
+	 * or has been resumed from a pause or wait. All the events delivered to the entity
+	 * are handed over at once to {@link #processEvents(List)}.
 	 *
-	 * @see #processEvent(org.cloudbus.cloudsim.core.SimEvent)
+	 * @see #processEvents(List)
 	 */
 	public void run() {
-		SimEvent ev =  incomingEvents.poll();
+		if (!simulation.running() || incomingEvents.drainTo(batch) == 0) {
+			return;
+		}
+		try {
+			EngineMetrics metrics = simulation.handlerMetrics();
+			if (metrics == null) {
+				processEvents(batch);
+			} else {
+				long start = System.nanoTime();
+				processEvents(batch);
+				metrics.handled(this, batch.size(), System.nanoTime() - start);
+			}
+			simulation.release(batch, incomingEvents);
+		} finally {
+			batch.clear();
+		}
+	}
 
-		while (ev != null) {
-			processEvent(ev);
-			if (state != EntityStatus.RUNNABLE) {
-				break;
+	/**
+	 * Processes the events delivered to the entity since it was last run, e.g. all the events
+	 * sent to it for the current simulation time, in the order they have been dispatched.
+	 * The events have been removed from the {@link #getIncomingEvents() incoming events}
+	 * of the entity.
+	 * <p>
+	 * The default implementation calls {@link #processEvent(SimEvent)} for every event. If the entity
+	 * is paused, or the simulation ends, while an event is being processed, the events after it are put
+	 * back into the incoming events, to be processed when the entity runs again. Entities that receive
+	 * many events at the same time, e.g. the completion of hundreds of cloudlets, can override this
+	 * method to handle them in bulk; the overriding methods have to process all the events, or
+	 * give back the ones they don't process with {@link #deferEvents(List)}.
+	 *
+	 * @param events the events, which must not be kept after the method returns, as they may be
+	 *            recycled, see {@link EventPooling}
+	 */
+	protected void processEvents(List<SimEvent> events) {
+		for (int i = 0; i < events.size(); i++) {
+			processEvent(events.get(i));
+			if (state != EntityStatus.RUNNABLE || !simulation.running()) {
+				deferEvents(events.subList(i + 1, events.size()));
+				return;
 			}
-			ev = incomingEvents.poll();
+		}
+	}
+
+	/**
+	 * Puts events back at the beginning of the incoming events of the entity, to be processed
+	 * the next time it runs. The events are dropped if the entity has been shut down.
+	 *
+	 * @param events the events that have not been processed, in the order they were dispatched
+	 */
+	protected void deferEvents(List<SimEvent> events) {
+		if (incomingEvents != null) {
+			incomingEvents.addFirst(events);
 		}
 	}
 
@@ -474,6 +610,68 @@ public abstract class SimEntity implements Cloneable {
 		return copy;
 	}
 
+	/**
+	 * Saves the state of the entity, so that an optimistic parallel simulation can roll the entity
+	 * back after it has processed events speculatively. The returned object must not be affected by
+	 * the later changes of the entity, e.g. it may hold copies of its mutable fields. The status and
+	 * the incoming events of the entity are saved by the simulation itself.
+	 * <p>
+	 * The default implementation does not support checkpointing, i.e. the entity can't be run
+	 * by an optimistic simulation.
+	 *
+	 * @return the saved state
+	 * @throws UnsupportedOperationException if the entity does not support checkpointing
+	 * @see #restoreState(Object)
+	 * @see CloudSim#setOptimisticPartitions(java.util.List, int, double)
+	 */
+	protected Object saveState() {
+		throw new UnsupportedOperationException("Entity " + name + " does not support checkpointing.");
+	}
+
+	/**
+	 * Restores a state saved by {@link #saveState()}. The same state may be restored several times.
+	 *
+	 * @param state the saved state
+	 * @throws UnsupportedOperationException if the entity does not support checkpointing
+	 */
+	protected void restoreState(Object state) {
+		throw new UnsupportedOperationException("Entity " + name + " does not support checkpointing.");
+	}
+
+	/**
+	 * Saves the state of the entity, along with its status and its incoming events.
+	 *
+	 * @return the saved state
+	 */
+	Object checkpoint() {
+		List<SimEvent> events = new ArrayList<>(incomingEvents.size());
+		incomingEvents.forEach(events::add);
+		return new Checkpoint(state, events, saveState());
+	}
+
+	/**
+	 * Rolls the entity back to a state saved by {@link #checkpoint()}.
+	 *
+	 * @param checkpoint the saved state
+	 */
+	void rollback(Object checkpoint) {
+		Checkpoint saved = (Checkpoint) checkpoint;
+		state = saved.status();
+		incomingEvents.clear();
+		saved.incomingEvents().forEach(incomingEvents::add);
+		restoreState(saved.state());
+	}
+
+	/**
+	 * The state of an entity, as saved by {@link #checkpoint()}.
+	 *
+	 * @param status the status of the entity
+	 * @param incomingEvents the incoming events of the entity
+	 * @param state the state saved by the entity
+	 */
+	private record Checkpoint(EntityStatus status, List<SimEvent> incomingEvents, Object state) {
+	}
+
 	// Used to set a cloned entity's name
 	/**
 	 * Sets the name.
@@ -587,7 +785,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @post $none
 	 */
 	protected void send(String dstName, double delay, CloudSimTags tag, Object data) {
-		send(CloudSim.getEntityId(dstName), delay, tag, data);
+		send(simulation.getEntityId(dstName), delay, tag, data);
 	}
 
 	/**
@@ -606,6 +804,33 @@ public abstract class SimEntity implements Cloneable {
 		send(dstName, delay, tag, null);
 	}
 
+	/**
+	 * Sends an event/message to another entity by reference, adding the network delay between
+	 * the entities as {@link #send(int, double, CloudSimTags, Object)} does. The reference is
+	 * only resolved once, unlike the name of the entity.
+	 *
+	 * @param dst the reference to the destination entity
+	 * @param delay how long from the current simulation time the event should be sent
+	 * @param tag an user-defined number representing the type of an event/message
+	 * @param data A reference to data to be sent with the event
+	 * @see SimulationContext#getEntityRef(String)
+	 */
+	protected void send(EntityRef dst, double delay, CloudSimTags tag, Object data) {
+		send(dst.getId(), delay, tag, data);
+	}
+
+	/**
+	 * Gets a reference to the entity with a given name, to send it events without looking up
+	 * its name every time.
+	 *
+	 * @param name the name of the entity
+	 * @return the reference
+	 * @see SimulationContext#getEntityRef(String)
+	 */
+	protected EntityRef getEntityRef(String name) {
+		return simulation.getEntityRef(name);
+	}
+
 	/**
 	 * Sends an event/message to another entity, with a tag representing the event type.
 	 *
@@ -646,7 +871,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @post $none
 	 */
 	protected void sendNow(String dstId, CloudSimTags tag, Object data) {
-		send(CloudSim.getEntityId(dstId), 0, tag, data);
+		send(simulation.getEntityId(dstId), 0, tag, data);
 	}
 
 	/**
@@ -8,19 +8,25 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /**
  * This class represents a simulation event which is passed between the entities in the simulation.
  * 
  * @author Costas Simatos
  * @see SimEntity
  */
-public class SimEvent implements Cloneable, Comparable<SimEvent> {
+public class SimEvent implements Cloneable, Comparable<SimEvent>, Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** Internal event type. **/
-	private final int etype;
+	private int etype;
 
 	/** The time that this event was scheduled, at which it should occur. **/
-	private final double time;
+	private double time;
 
 	/** Time that the event was removed from the queue to start service. **/
 	private double endWaitingTime;
@@ -32,7 +38,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	private int entDst;
 
 	/** The user defined type of the event. **/
-	private final CloudSimTags tag;
+	private CloudSimTags tag;
 
 	/** 
          * Any data the event is carrying. 
@@ -40,7 +46,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
          * But this modification would incur several changes in the simulator core
          * that has to be assessed first.
          **/
-	private final Object data;
+	private Object data;
 
         /**
          * An attribute to help CloudSim to identify the order of received events
@@ -52,6 +58,15 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
          */
 	private long serial = -1;
 
+	/** Whether the event has been cancelled while waiting in the future event queue. **/
+	private boolean cancelled;
+
+	/** The position of the event in the order of a sequential run, if the simulation is run in parallel. **/
+	private EventStamp stamp;
+
+	/** Whether the event has been processed and released to the pool of its simulation. **/
+	private boolean released;
+
 	// Internal event types
 
 	public static final int ENULL = 0;
@@ -73,6 +88,49 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 		endWaitingTime = -1.0;
 	}
 
+	/**
+	 * Reuses a released event for a new message, as if it had just been created.
+	 *
+	 * @return this event
+	 * @see #SimEvent(int, double, int, int, CloudSimTags, Object)
+	 */
+	SimEvent reuse(int type, double time, int src, int dest, CloudSimTags tag, Object edata) {
+		etype = type;
+		this.time = time;
+		entSrc = src;
+		entDst = dest;
+		this.tag = tag;
+		data = edata;
+		endWaitingTime = -1.0;
+		serial = -1;
+		cancelled = false;
+		stamp = null;
+		released = false;
+		return this;
+	}
+
+	/**
+	 * Marks the event as processed, so that it can be pooled. Its data is dropped, and any
+	 * later access to the event throws an exception until it is reused.
+	 */
+	void release() {
+		released = true;
+		data = null;
+	}
+
+	/**
+	 * Checks that the event has not been released, i.e. that it is not accessed through a
+	 * reference retained after it was processed.
+	 *
+	 * @throws IllegalStateException if the event has been released
+	 */
+	private void checkNotReleased() {
+		if (released) {
+			throw new IllegalStateException("The event has been released after being processed;"
+					+ " entities must not retain events when the event pooling is enabled.");
+		}
+	}
+
 	SimEvent(int type, double time, int src) {
 		this(type, time, src, src, CloudActionTags.BLANK, null);
 	}
@@ -81,6 +139,53 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 		this.serial = serial;
 	}
 
+	/**
+	 * Gets the serial number that defines the order of events with the same time.
+	 *
+	 * @return the serial number
+	 */
+	long getSerial() {
+		return serial;
+	}
+
+	/**
+	 * Marks the event as cancelled, so that it is not dispatched, or as not cancelled
+	 * when a partition of a parallel simulation is rolled back.
+	 *
+	 * @param cancelled whether the event is cancelled
+	 */
+	void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+
+	/**
+	 * Checks if the event has been cancelled while waiting in the future event queue.
+	 *
+	 * @return true if the event has been cancelled
+	 */
+	public boolean isCancelled() {
+		checkNotReleased();
+		return cancelled;
+	}
+
+	/**
+	 * Gets the position of the event in the order of a sequential run.
+	 *
+	 * @return the stamp, or <tt>null</tt> if the simulation is not run in parallel
+	 */
+	EventStamp getStamp() {
+		return stamp;
+	}
+
+	/**
+	 * Sets the position of the event in the order of a sequential run.
+	 *
+	 * @param stamp the stamp
+	 */
+	void setStamp(EventStamp stamp) {
+		this.stamp = stamp;
+	}
+
 	/**
 	 * Sets the time that the event was removed from the queue to start service. 
 	 * 
@@ -104,6 +209,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return
 	 */
 	public int getType() {
+		checkNotReleased();
 		return etype;
 	}
 
@@ -130,9 +236,15 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * 
 	 * @return the id number
 	 */
-	public int getDestinationId() { return entDst; }
+	public int getDestinationId() {
+		checkNotReleased();
+		return entDst;
+	}
 	@Deprecated
-	public int getDestination() { return entDst; }
+	public int getDestination() {
+		checkNotReleased();
+		return entDst;
+	}
 
 	/**
 	 * Get the unique id number of the entity which scheduled this event.
@@ -140,10 +252,12 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return the id number
 	 */
 	public int getSourceId() {
+		checkNotReleased();
 		return entSrc;
 	}
 	@Deprecated
 	public int getSource() {
+		checkNotReleased();
 		return entSrc;
 	}
 	/**
@@ -152,6 +266,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The simulation time
 	 */
 	public double eventTime() {
+		checkNotReleased();
 		return time;
 	}
 
@@ -161,6 +276,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The simulation time
 	 */
 	public double endWaitingTime() {
+		checkNotReleased();
 		return endWaitingTime;
 	}
 
@@ -170,6 +286,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The tag
 	 */
 	public CloudSimTags type() {
+		checkNotReleased();
 		return tag;
 	}
 
@@ -179,6 +296,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return the id number
 	 */
 	public int scheduledBy() {
+		checkNotReleased();
 		return entSrc;
 	}
 
@@ -188,6 +306,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The tag
 	 */
 	public CloudSimTags getTag() {
+		checkNotReleased();
 		return tag;
 	}
 
@@ -197,11 +316,13 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return A reference to the data
 	 */
 	public Object getData() {
+		checkNotReleased();
 		return data;
 	}
 
 	@Override
 	public Object clone() {
+		checkNotReleased();
 		return new SimEvent(etype, time, entSrc, entDst, tag, data);
 	}
 }
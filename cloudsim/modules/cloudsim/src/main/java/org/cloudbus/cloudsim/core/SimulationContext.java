@@ -0,0 +1,1932 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * The state of a single simulation run: the simulation clock, the future event queue and
+ * the registry of the simulated entities, along with the run-control flags.
+ * <p>
+ * Every {@link SimEntity} is bound to the context that was current for its thread when the
+ * entity was created. The static methods of {@link CloudSim} delegate to the context bound
+ * to the calling thread, therefore independent simulations can be executed side by side
+ * in the same JVM as long as each one of them runs on its own thread.
+ * <p>
+ * A sequential simulation can be saved to a snapshot between two runs, e.g. after
+ * {@link #runUntil(double)}, and restored later, possibly many times, to resume it from where it
+ * stopped. The snapshot holds the context and everything its entities refer to.
+ *
+ * @see CloudSim#getSimulationContext()
+ * @see CloudSim#setSimulationContext(SimulationContext)
+ * @since CloudSim Toolkit 7.0
+ */
+public class SimulationContext implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The Constant NOT_FOUND. */
+	private static final int NOT_FOUND = -1;
+
+	/** The id of CIS entity. */
+	private int cisId = -1;
+
+	/** The id of CloudSimShutdown entity. */
+	private int shutdownId = -1;
+
+	/** The CIS object. */
+	private CloudInformationService cis = null;
+
+	/** The trace flag. */
+	private boolean traceFlag = false;
+
+	/** The calendar. */
+	private Calendar calendar = null;
+
+	/** The termination time. */
+	private double terminateAt = -1;
+
+	/** The minimal time between events. Events within shorter periods after the last event are discarded. */
+	private double minTimeBetweenEvents = 0.01;
+
+	/** The entities, by id and by name. */
+	private final EntityRegistry entities;
+
+	/** The future event queue. */
+	protected final FutureEventList future;
+
+	/** The index of the pending events, by source and tag. */
+	private final EventIndex pending = new EventIndex();
+
+	/** The number of works bound by {@link #bind(Callable)} that are running on this context. */
+	private final AtomicInteger boundWork = new AtomicInteger();
+
+	/** The number of cancelled events that are still held by the future event queue. */
+	private int cancelled;
+
+	/** The ids of the entities that have been delivered events to process since the last tick. */
+	private int[] ready = new int[16];
+
+	/** The ids of the entities being run by the current tick, swapped with {@link #ready}. */
+	private int[] ticking = new int[16];
+
+	/** The number of entity ids in {@link #ready}. */
+	private int readyCount;
+
+	/** The flags of the entities that are in {@link #ready}, by entity id. */
+	private final BitSet readyFlags = new BitSet();
+
+	/** The current simulation clock. */
+	private double clock;
+
+	/** Flag for checking if the simulation is running. */
+	private boolean running;
+
+	/** The predicates used in entity wait methods. */
+	private final Map<Integer, Predicate> waitPredicates;
+
+	/** Whether the entities have been started, i.e. the simulation has been run, possibly step by step. */
+	private boolean started;
+
+	/** The paused. Set under {@link #pauseLock}, and read without it by {@link #isPaused()}. */
+	private volatile boolean paused = false;
+
+	/** The lock that guards {@link #paused}. */
+	private final ReentrantLock pauseLock = new ReentrantLock();
+
+	/** Signalled when the simulation is resumed. */
+	private final Condition resumed = pauseLock.newCondition();
+
+	/** The number of events dispatched since the simulation started. */
+	private long dispatchedEvents;
+
+	/** The pause at. */
+	private long pauseAt = -1;
+
+	/** The abrupt terminate. */
+	private boolean abruptTerminate = false;
+
+	/** The executor of the partitions of the entities, if the simulation has to be run in parallel. */
+	private transient ParallelExecutor executor;
+
+	/** The window state of this context, if it is a partition of a parallel simulation. */
+	private transient LogicalProcess process;
+
+	/** The executor of this rank, if the simulation is distributed over several processes. */
+	private transient DistributedExecutor distributed;
+
+	/** The maximum number of released events kept for reuse. */
+	private static final int MAX_POOLED_EVENTS = 1 << 16;
+
+	/** Whether the processed events are recycled. */
+	private EventPooling eventPooling = EventPooling.DISABLED;
+
+	/** The released events that can be reused, if the event pooling is enabled. */
+	private final ArrayDeque<SimEvent> eventPool = new ArrayDeque<>();
+
+	/** The coalescing of the events the entities send to themselves, or <tt>null</tt>. */
+	private EventCoalescing coalescing;
+
+	/** The trace the dispatched events are recorded to, or <tt>null</tt>. */
+	private transient EventTrace trace;
+
+	/** The metrics of the engine, or <tt>null</tt> if they are not gathered. */
+	private transient EngineMetrics metrics;
+
+	/** Whether the events are being dispatched, in which case no snapshot can be saved. */
+	private boolean inRun;
+
+	/**
+	 * Creates an empty simulation context, with no entities and the clock set to zero.
+	 * Its future events are held by an {@link EventQueue}.
+	 */
+	public SimulationContext() {
+		this(new EventQueue());
+	}
+
+	/**
+	 * Creates an empty simulation context, with no entities and the clock set to zero.
+	 *
+	 * @param future the list that will hold the future events
+	 */
+	public SimulationContext(FutureEventList future) {
+		if (future == null || !future.isEmpty()) {
+			throw new IllegalArgumentException("The future event list must be empty.");
+		}
+		entities = new EntityRegistry();
+		this.future = future;
+		waitPredicates = new HashMap<>();
+		clock = 0;
+		running = false;
+	}
+
+	/**
+	 * Creates a partition of a simulation that is run in parallel. The partition shares the
+	 * entities of the simulation, but holds the future events of its own entities.
+	 *
+	 * @param simulation the simulation
+	 * @param process the window state of the partition
+	 */
+	SimulationContext(SimulationContext simulation, LogicalProcess process) {
+		entities = simulation.entities;
+		future = process.getQueue();
+		waitPredicates = new HashMap<>();
+		minTimeBetweenEvents = simulation.minTimeBetweenEvents;
+		clock = simulation.clock;
+		running = true;
+		this.process = process;
+	}
+
+	/**
+	 * Initialises the common attributes of this context and creates the
+	 * {@link CloudSimShutdown} and {@link CloudInformationService} entities.
+	 * The context must be bound to the calling thread, so that the
+	 * created entities are registered into it.
+	 *
+	 * @param numUser the number of User Entities created
+	 * @param _calendar starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param _traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @throws Exception This happens when creating the core entities fails
+	 * @see CloudSim#init(int, Calendar, boolean)
+	 */
+	void init(int numUser, Calendar _calendar, boolean _traceFlag) throws Exception {
+		Log.println("Initialising...");
+		// NOTE: the order for the below 3 lines are important
+		traceFlag = _traceFlag;
+
+		// Set the current Wall clock time as the starting time of
+		// simulation
+		if (_calendar == null) {
+			calendar = Calendar.getInstance();
+		} else {
+			calendar = _calendar;
+		}
+
+		// creates a CloudSimShutdown object
+		CloudSimShutdown shutdown = new CloudSimShutdown("CloudSimShutdown", numUser);
+		shutdownId = shutdown.getId();
+
+		// create a GIS object
+		cis = new CloudInformationService("CloudInformationService");
+		cisId = cis.getId();
+	}
+
+	/**
+	 * Sets the minimal period between events.
+	 *
+	 * @param minTimeBetweenEvents the minimal period between events
+	 */
+	void setMinTimeBetweenEvents(double minTimeBetweenEvents) {
+		this.minTimeBetweenEvents = minTimeBetweenEvents;
+	}
+
+	/**
+	 * Returns the minimum time between events. Events within shorter periods after the last event are discarded.
+	 * @return the minimum time between events.
+	 */
+	public double getMinTimeBetweenEvents() {
+		return minTimeBetweenEvents;
+	}
+
+	/**
+	 * Resets the attributes set by {@link #init(int, Calendar, boolean)} once the simulation is over.
+	 */
+	void reset() {
+		cisId = -1;
+		shutdownId = -1;
+		cis = null;
+		calendar = null;
+		traceFlag = false;
+	}
+
+	/**
+	 * Gets a new copy of initial simulation Calendar.
+	 *
+	 * @return a new copy of Calendar object or if the context hasn't been initialized
+	 */
+	public Calendar getSimulationCalendar() {
+		// make a new copy
+		Calendar clone = calendar;
+		if (calendar != null) {
+			clone = (Calendar) calendar.clone();
+		}
+
+		return clone;
+	}
+
+	/**
+	 * Gets the entity ID of <tt>CloudInformationService</tt>.
+	 *
+	 * @return the Entity ID or if it is not found
+	 */
+	public int getCloudInfoServiceEntityId() {
+		return cisId;
+	}
+
+	/**
+	 * Gets the list of all Cloud resources registered at the CIS entity.
+	 *
+	 * @return A List containing CloudResource ID (as an Integer object) or if a CIS entity hasn't
+	 *         been created before
+	 */
+	public List<Integer> getCloudResourceList() {
+		if (cis == null) {
+			return null;
+		}
+
+		return cis.getList();
+	}
+
+	/**
+	 * Gets the list holding the future events of this context.
+	 *
+	 * @return the future event list
+	 */
+	public FutureEventList getFutureEventList() {
+		return future;
+	}
+
+	// ======== SIMULATION METHODS ===============//
+
+	/**
+	 * Get the current simulation time.
+	 *
+	 * @return the simulation time
+	 */
+	public double clock() {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.clock();
+		}
+		return clock;
+	}
+
+	/**
+	 * Get the current number of entities in the simulation.
+	 *
+	 * @return The number of entities
+	 */
+	public int getNumEntities() {
+		return entities.size();
+	}
+
+	/**
+	 * Gets the bound of the ids given to the entities so far, which may include the ids of
+	 * removed entities.
+	 *
+	 * @return the id the next entity will be given
+	 */
+	int getEntityIdBound() {
+		return entities.idBound();
+	}
+
+	/**
+	 * Get the entity with a given id.
+	 *
+	 * @param id the entity's unique id number
+	 * @return The entity, or <tt>null</tt> if it could not be found or has been removed
+	 */
+	public SimEntity getEntity(int id) {
+		return entities.get(id);
+	}
+
+	/**
+	 * Get the entity with a given name.
+	 *
+	 * @param name The entity's name
+	 * @return The entity
+	 */
+	public SimEntity getEntity(String name) {
+		return entities.get(name);
+	}
+
+	/**
+	 * Gets a reference to the entity with a given name, which is resolved once rather than on
+	 * every event sent through it. The entity does not need to exist yet.
+	 *
+	 * @param name The entity's name
+	 * @return the reference, the same for every call with the same name
+	 * @see EntityRef
+	 */
+	public EntityRef getEntityRef(String name) {
+		return entities.ref(name);
+	}
+
+	/**
+	 * Get the id of an entity with a given name.
+	 *
+	 * @param name The entity's name
+	 * @return The entity's unique id number
+	 */
+	public int getEntityId(String name) {
+		SimEntity obj = entities.get(name);
+		if (obj == null) {
+			return NOT_FOUND;
+		} else {
+			return obj.getId();
+		}
+	}
+
+	/**
+	 * Gets name of the entity given its entity ID.
+	 *
+	 * @param entityID the entity ID
+	 * @return the Entity name or if this object does not have one
+	 */
+	public String getEntityName(int entityID) {
+		SimEntity entity = getEntity(entityID);
+		return entity == null ? null : entity.getName();
+	}
+
+	/**
+	 * Returns a list of entities created for the simulation.
+	 *
+	 * @return the entity iterator
+	 */
+	public List<SimEntity> getEntityList() {
+		// create a new list to prevent the user from changing
+		// the list of entities used by Simulation
+		List<SimEntity> list = new LinkedList<>();
+		for (SimEntity ent : entities) {
+			list.add(ent);
+		}
+		return list;
+	}
+
+	/**
+	 * Add a new entity to the simulation.
+	 *
+	 * @param e The new entity
+	 */
+	public void addEntity(SimEntity e) {
+		if (executor != null && executor.isStarted() || distributed != null && distributed.isStarted()) {
+			throw new IllegalStateException("Entities can't be added while the simulation is run in parallel.");
+		}
+		SimEvent evt;
+		if (running) {
+			// Post an event to make this entity
+			evt = new SimEvent(SimEvent.CREATE, clock, 1, 0, CloudActionTags.BLANK, e);
+			enqueue(evt);
+		}
+		if (e.getId() == -1) { // Only add once!
+			entities.add(e);
+		}
+	}
+
+	/**
+	 * Removes an entity from the simulation, e.g. a broker that is no longer needed. The entity
+	 * is shut down at once and will not be run again: the events still on their way to it are
+	 * dropped when they arrive, and its id is not given to another entity. Its name can be
+	 * given to a new entity.
+	 *
+	 * @param e the entity
+	 * @return true if the entity was in the simulation
+	 * @throws IllegalStateException if the simulation is being run in parallel
+	 */
+	public boolean removeEntity(SimEntity e) {
+		if (executor != null && executor.isStarted() || distributed != null && distributed.isStarted()) {
+			throw new IllegalStateException("Entities can't be removed while the simulation is run in parallel.");
+		}
+		if (!entities.remove(e)) {
+			return false;
+		}
+		waitPredicates.remove(e.getId());
+		e.getIncomingEvents().clear();
+		if (started && e.getState() != SimEntity.EntityStatus.FINISHED) {
+			e.shutdownEntity();
+		}
+		e.setState(SimEntity.EntityStatus.FINISHED);
+		printMessage("Removing: " + e.getName());
+		return true;
+	}
+
+	/**
+	 * Internal method used to add a new entity to the simulation when the simulation is running.
+	 *
+	 * @param e The new entity
+	 */
+	void addEntityDynamically(SimEntity e) {
+		if (e == null) {
+			throw new IllegalArgumentException("Adding null entity.");
+		} else if (entities.get(e.getId()) != e) {
+			// removed before it could be started
+			return;
+		} else {
+			printMessage("Adding: " + e.getName());
+		}
+		e.startEntity();
+	}
+
+	/**
+	 * Internal method used to run one tick of the simulation.
+	 *
+	 * @param until the time after which no events are dispatched
+	 * @return true if there are events to be processed, false if event queue is empty
+	 *         or the next events are after the given time
+	 */
+	private boolean runClockTick(double until) {
+		runReadyEntities();
+
+		SimEvent next = peekEvent();
+		if (next == null) {
+			if (distributed == null) {
+				running = false;
+			}
+			return false;
+		}
+		if (next.eventTime() > until) {
+			return false;
+		}
+
+		dispatchEvents(next.eventTime());
+		return true;
+	}
+
+	/**
+	 * Runs the entities that have been delivered events, or resumed, since the last tick.
+	 */
+	private void runReadyEntities() {
+		// only the entities that got events can have work; run them in the order of their ids
+		if (readyCount > 0) {
+			int[] ids = ready;
+			int count = readyCount;
+			ready = ticking;
+			ticking = ids;
+			readyCount = 0;
+			Arrays.sort(ids, 0, count);
+			for (int i = 0; i < count; i++) {
+				readyFlags.clear(ids[i]);
+				SimEntity ent = entities.get(ids[i]);
+				if (ent != null && ent.getState() == SimEntity.EntityStatus.RUNNABLE) {
+					if (process != null) {
+						process.running(ids[i]);
+					}
+					ent.run();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Dispatches all the future events at a given time in a single pass. The clock is checked and
+	 * advanced once for the whole batch, and every event is added to the incoming events of its
+	 * destination, which processes all the events it got at once when it is run.
+	 *
+	 * @param time the time of the earliest future events
+	 */
+	private void dispatchEvents(double time) {
+		if (time < clock) {
+			throw new IllegalArgumentException("Past event detected.");
+		}
+		clock = time;
+
+		int queueDepth = metrics != null ? future.size() : 0;
+		SimEvent next = peekEvent();
+		while (next != null && next.eventTime() == time && (process == null || process.inRound(next))) {
+			SimEvent ev = future.poll();
+			if (ev == null) {
+				break;
+			}
+			pending.remove(ev);
+			dispatchedEvents++;
+			if (trace != null) {
+				trace.record(ev);
+			}
+			if (metrics != null) {
+				metrics.dispatched(ev);
+			}
+			dispatchEvent(ev);
+			next = peekEvent();
+		}
+		if (metrics != null) {
+			metrics.tick(time, queueDepth);
+		}
+	}
+
+	/**
+	 * Runs the events of this partition that are within the current window of a parallel simulation.
+	 * The events are dispatched round by round, and the entities are run after each round, as in a
+	 * sequential run, so that all the events dispatched within the window are processed by its end.
+	 */
+	void runWindow() {
+		boolean first = true;
+		SimEvent next = peekEvent();
+		while (running && !abruptTerminate && next != null && process.inWindow(next, first)) {
+			process.dispatching(next);
+			dispatchEvents(next.eventTime());
+			runReadyEntities();
+			first = false;
+			next = peekEvent();
+		}
+	}
+
+	/**
+	 * Schedules an entity to be run on the next clock tick.
+	 *
+	 * @param ent the entity
+	 */
+	private void markReady(SimEntity ent) {
+		int id = ent.getId();
+		if (readyFlags.get(id)) {
+			return;
+		}
+		readyFlags.set(id);
+		if (readyCount == ready.length) {
+			ready = Arrays.copyOf(ready, readyCount * 2);
+		}
+		ready[readyCount++] = id;
+	}
+
+	/**
+	 * Gets the earliest event of the future event queue that has not been cancelled,
+	 * discarding the cancelled events before it.
+	 *
+	 * @return the earliest event, or <tt>null</tt> if there are no more events
+	 */
+	SimEvent peekEvent() {
+		SimEvent ev = future.peek();
+		while (ev != null && ev.isCancelled()) {
+			if (future.poll() == null) {
+				return null;
+			}
+			cancelled--;
+			ev = future.peek();
+		}
+		return ev;
+	}
+
+	/**
+	 * Removes the earliest event of the future event queue that has not been cancelled.
+	 *
+	 * @return the earliest event, or <tt>null</tt> if there are no more events
+	 */
+	SimEvent pollEvent() {
+		if (peekEvent() == null) {
+			return null;
+		}
+		SimEvent ev = future.poll();
+		pending.remove(ev);
+		return ev;
+	}
+
+	/**
+	 * Adds an event to the future event queue. If this context is a partition of a parallel
+	 * simulation, the events that can't be processed within the current window are posted
+	 * to be delivered at its end.
+	 *
+	 * @param e the event
+	 */
+	private void enqueue(SimEvent e) {
+		checkNotBound();
+		if (distributed != null && distributed.forwards(e)) {
+			return;
+		}
+		if (process == null) {
+			future.addEvent(e);
+		} else {
+			process.stamp(e, false);
+			if (process.accepts(e)) {
+				future.addEvent(e);
+			} else {
+				process.post(e);
+			}
+		}
+		pending.add(e);
+	}
+
+	/**
+	 * Adds an event to the future event queue, before the other events with the same time.
+	 *
+	 * @param e the event
+	 */
+	private void enqueueFirst(SimEvent e) {
+		checkNotBound();
+		if (distributed != null && distributed.forwards(e)) {
+			return;
+		}
+		if (process == null) {
+			future.addEventFirst(e);
+		} else {
+			process.stamp(e, true);
+			if (process.accepts(e)) {
+				future.addEventFirst(e);
+			} else {
+				process.post(e);
+			}
+		}
+		pending.add(e);
+	}
+
+	/**
+	 * Fails if some work bound by {@link #bind(Callable)} is running, which must not send events:
+	 * they would be added to the future event queue concurrently, in no definite order.
+	 *
+	 * @throws IllegalStateException if some bound work is running
+	 */
+	private void checkNotBound() {
+		if (boundWork.get() != 0) {
+			throw new IllegalStateException("Events can't be sent while work bound to the simulation runs,"
+					+ " e.g. while the hosts of a datacenter are updated in parallel.");
+		}
+	}
+
+	/**
+	 * Adds an event that has been sent by another rank of a distributed simulation.
+	 *
+	 * @param time the time of the event
+	 * @param srcId the id of the sender, a remote entity of this rank
+	 * @param dstId the id of the receiver
+	 * @param tag the tag of the event
+	 * @param data the data of the event
+	 */
+	void receive(double time, int srcId, int dstId, CloudSimTags tag, Object data) {
+		enqueue(newEvent(SimEvent.SEND, time, srcId, dstId, tag, data));
+	}
+
+	/**
+	 * Adds an event that has been posted by a partition of a parallel simulation.
+	 *
+	 * @param e the event
+	 */
+	void deliver(SimEvent e) {
+		process.getQueue().add(e);
+		pending.add(e);
+	}
+
+	/**
+	 * Forgets an event that has been posted by this partition, once it is delivered.
+	 *
+	 * @param e the event
+	 */
+	void forget(SimEvent e) {
+		if (e.isCancelled()) {
+			cancelled = Math.max(0, cancelled - 1);
+		} else {
+			pending.remove(e);
+		}
+	}
+
+	/**
+	 * Saves the state of this partition of an optimistic simulation, and the ones of its entities,
+	 * so that the partition can be rolled back to it.
+	 *
+	 * @return the saved state
+	 * @throws UnsupportedOperationException if an entity of the partition does not support checkpointing
+	 * @see SimEntity#saveState()
+	 */
+	Object saveState() {
+		List<SimEvent> events = new ArrayList<>(future.size());
+		for (SimEvent ev : future) {
+			if (!ev.isCancelled()) {
+				events.add(ev);
+			}
+		}
+		List<SimEntity> owned = new ArrayList<>();
+		List<Object> checkpoints = new ArrayList<>();
+		for (SimEntity ent : entities) {
+			if (process.owns(ent.getId())) {
+				owned.add(ent);
+				checkpoints.add(ent.checkpoint());
+			}
+		}
+		return new PartitionState(clock, running, abruptTerminate, events, new HashMap<>(waitPredicates), owned,
+				checkpoints);
+	}
+
+	/**
+	 * Rolls this partition of an optimistic simulation back to a saved state.
+	 *
+	 * @param saved the state, as returned by {@link #saveState()}
+	 */
+	void restoreState(Object saved) {
+		PartitionState state = (PartitionState) saved;
+		clock = state.clock();
+		running = state.running();
+		abruptTerminate = state.abruptTerminate();
+
+		future.clear();
+		pending.clear();
+		cancelled = 0;
+		for (SimEvent ev : state.events()) {
+			ev.setCancelled(false);
+			process.getQueue().add(ev);
+			pending.add(ev);
+		}
+		readyFlags.clear();
+		readyCount = 0;
+		waitPredicates.clear();
+		waitPredicates.putAll(state.waitPredicates());
+		for (int i = 0; i < state.entities().size(); i++) {
+			state.entities().get(i).rollback(state.checkpoints().get(i));
+		}
+	}
+
+	/**
+	 * Gets the window state of this context.
+	 *
+	 * @return the window state, or <tt>null</tt> if this context is not a partition of a parallel simulation
+	 */
+	LogicalProcess getLogicalProcess() {
+		return process;
+	}
+
+	/**
+	 * Gets the context that handles the calls of the calling thread: the partition run by the thread
+	 * if the simulation is being run in parallel, or else this context.
+	 *
+	 * @return the context
+	 */
+	private SimulationContext partition() {
+		if (executor != null) {
+			SimulationContext partition = executor.current();
+			if (partition != null) {
+				return partition;
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Wraps some work, so that the thread that runs it, e.g. a monitor thread started by the thread
+	 * that runs the simulation, acts on this simulation rather than on the default one, which is
+	 * needed when several simulations run concurrently. The context previously bound to the
+	 * thread, if any, is restored once the work is done.
+	 *
+	 * @param work the work
+	 * @return the work, bound to this simulation
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public Runnable bind(Runnable work) {
+		return () -> {
+			SimulationContext previous = CloudSim.swapSimulationContext(this);
+			try {
+				work.run();
+			} finally {
+				CloudSim.swapSimulationContext(previous);
+			}
+		};
+	}
+
+	/**
+	 * Wraps some work of the calling thread, so that the thread that runs it acts on this simulation
+	 * as the calling thread does, e.g. on the same partition of a parallel run. An entity can thus
+	 * spread the independent parts of the processing of an event over a pool of threads. While such
+	 * work runs, no event can be sent, and an attempt fails with an {@link IllegalStateException}.
+	 * The context previously bound to the thread, if any, is restored once the work is done, so that
+	 * a pooled thread does not keep the simulation reachable.
+	 *
+	 * @param work the work
+	 * @return the work, bound to the simulation of the calling thread
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public <T> Callable<T> bind(Callable<T> work) {
+		SimulationContext partition = partition();
+		ParallelExecutor executor = this.executor;
+		return () -> {
+			SimulationContext previous = CloudSim.swapSimulationContext(this);
+			partition.boundWork.incrementAndGet();
+			try {
+				return partition == this ? work.call() : executor.callAs(partition, work);
+			} finally {
+				partition.boundWork.decrementAndGet();
+				CloudSim.swapSimulationContext(previous);
+			}
+		};
+	}
+
+	/**
+	 * Used to pause an entity for some time.
+	 *
+	 * @param srcId the entity source id
+	 * @param delay the delay
+	 */
+	public void pause(int srcId, double delay) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			partition.pause(srcId, delay);
+			return;
+		}
+		SimEvent e = newEvent(SimEvent.HOLD_DONE, clock + delay, srcId, srcId, CloudActionTags.BLANK, null);
+		enqueue(e);
+		entities.get(srcId).setState(SimEntity.EntityStatus.HOLDING);
+	}
+
+	/**
+	 * Used to send an event from one entity to another.
+	 *
+	 * @param srcId the src
+	 * @param dstId the dest
+	 * @param delay the delay
+	 * @param tag the tag
+	 * @param data the data
+	 * @return the event, which can be used to cancel it
+	 */
+	public SimEvent send(int srcId, int dstId, double delay, CloudSimTags tag, Object data) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.send(srcId, dstId, delay, tag, data);
+		}
+		if (delay < 0) {
+			throw new IllegalArgumentException("Send delay can't be negative.");
+		}
+		if(delay >= Double.MAX_VALUE) {
+			throw new RuntimeException("Send delay can't be infinite.");
+		}
+
+		double time = clock + delay;
+		if (coalescing != null && process == null && coalescing.applies(srcId, dstId, tag)) {
+			checkNotBound();
+			time = coalescing.quantize(time);
+			for (SimEvent sent : pending.get(srcId, tag)) {
+				if (sent.eventTime() == time && !sent.isCancelled() && sent.getDestinationId() == dstId
+						&& sent.getType() == SimEvent.SEND && Objects.equals(sent.getData(), data)) {
+					coalescing.merged();
+					return sent;
+				}
+			}
+		}
+
+		SimEvent e = newEvent(SimEvent.SEND, time, srcId, dstId, tag, data);
+		enqueue(e);
+		return e;
+	}
+
+	/**
+	 * Used to send an event from one entity to another, with priority in the queue.
+	 *
+	 * @param srcId the src
+	 * @param dstId the dest
+	 * @param delay the delay
+	 * @param tag the tag
+	 * @param data the data
+	 * @return the event, which can be used to cancel it
+	 */
+	public SimEvent sendFirst(int srcId, int dstId, double delay, CloudSimTags tag, Object data) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.sendFirst(srcId, dstId, delay, tag, data);
+		}
+		if (delay < 0) {
+			throw new IllegalArgumentException("Send delay can't be negative.");
+		}
+
+		SimEvent e = newEvent(SimEvent.SEND, clock + delay, srcId, dstId, tag, data);
+		enqueueFirst(e);
+		return e;
+	}
+
+	/**
+	 * Sets an entity's state to be waiting. Only events that satisfy the predicate
+	 * will be passed to the entity.
+	 *
+	 * @param srcId the src
+	 * @param p the p
+	 */
+	public void wait(int srcId, Predicate p) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			partition.wait(srcId, p);
+			return;
+		}
+		entities.get(srcId).setState(SimEntity.EntityStatus.WAITING);
+		if (p != CloudSim.SIM_ANY) {
+			// If a predicate has been used store it in order to check it, compiled into a lookup
+			// as it is matched against every event sent to the entity
+			waitPredicates.put(srcId, IndexedPredicate.of(p));
+		}
+	}
+
+	/**
+	 * Removes the earliest event sent by an entity that matches a predicate from the event queue.
+	 * Only the pending events of the entity are examined, and just the ones with the
+	 * given tags if the predicate is a {@link PredicateType}.
+	 *
+	 * @param srcId the entity source id
+	 * @param p the p
+	 * @return the sim event
+	 */
+	public SimEvent cancel(int srcId, Predicate p) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.cancel(srcId, p);
+		}
+		Comparator<SimEvent> order = process != null ? EventStamp.DISPATCH_ORDER : Comparator.naturalOrder();
+		SimEvent first = null;
+		for (Collection<SimEvent> events : candidates(srcId, p)) {
+			for (SimEvent ev : events) {
+				if (p.match(ev) && (first == null || order.compare(ev, first) < 0)) {
+					first = ev;
+				}
+			}
+		}
+
+		if (first != null) {
+			cancel(first);
+		}
+		return first;
+	}
+
+	/**
+	 * Removes all events sent by an entity that match a given predicate from the future event queue.
+	 *
+	 * @param srcId the entity source id
+	 * @param p the p
+	 * @return true if at least one event has been cancelled; false otherwise
+	 */
+	public boolean cancelAll(int srcId, Predicate p) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.cancelAll(srcId, p);
+		}
+		List<SimEvent> matches = new ArrayList<>();
+		for (Collection<SimEvent> events : candidates(srcId, p)) {
+			for (SimEvent ev : events) {
+				if (p.match(ev)) {
+					matches.add(ev);
+				}
+			}
+		}
+
+		for (SimEvent ev : matches) {
+			cancel(ev);
+		}
+		return !matches.isEmpty();
+	}
+
+	/**
+	 * Cancels a pending event, as returned by {@link #send(int, int, double, CloudSimTags, Object)}.
+	 * The event is marked as cancelled and is discarded when it reaches the head of the
+	 * future event queue.
+	 *
+	 * @param ev the event
+	 * @return true if the event has been cancelled; false if it was already dispatched or cancelled
+	 */
+	public boolean cancel(SimEvent ev) {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.cancel(ev);
+		}
+		if (ev.isCancelled() || !pending.get(ev.getSourceId(), ev.getTag()).contains(ev)) {
+			return false;
+		}
+		ev.setCancelled(true);
+		pending.remove(ev);
+		cancelled++;
+
+		// drop the cancelled events once they are the majority of the queue
+		if (cancelled > 1024 && cancelled > future.size() / 2) {
+			Iterator<SimEvent> iter = future.iterator();
+			while (iter.hasNext()) {
+				if (iter.next().isCancelled()) {
+					iter.remove();
+				}
+			}
+			cancelled = 0;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the groups of pending events sent by an entity that may match a predicate.
+	 *
+	 * @param srcId the entity source id
+	 * @param p the predicate
+	 * @return the groups of events
+	 */
+	private Collection<? extends Collection<SimEvent>> candidates(int srcId, Predicate p) {
+		if (p instanceof PredicateType) {
+			CloudSimTags[] tags = ((PredicateType) p).getTags();
+			List<Collection<SimEvent>> candidates = new ArrayList<>(tags.length);
+			for (CloudSimTags tag : tags) {
+				candidates.add(pending.get(srcId, tag));
+			}
+			return candidates;
+		}
+		return pending.get(srcId);
+	}
+
+	/**
+	 * Dispatch event to destination entity. The clock has already been advanced to the event time
+	 * by {@link #dispatchEvents(double)}.
+	 *
+	 * @param e the e
+	 */
+	private void dispatchEvent(SimEvent e) {
+		switch (e.getType()) {
+			case SimEvent.ENULL -> throw new IllegalArgumentException("Event has a null type.");
+			case SimEvent.CREATE -> {
+				addEntityDynamically((SimEntity) e.getData());
+			}
+			case SimEvent.SEND -> {
+				int dstId = e.getDestinationId();
+				SimEntity destEnt = entities.get(dstId);
+				if (destEnt == null) {
+					dropped(e);
+					return;
+				}
+				if (destEnt.getState() == SimEntity.EntityStatus.WAITING) {
+					Predicate p = waitPredicates.get(dstId);
+
+					if ((p == null) || (p.match(e))) {
+						destEnt.setState(SimEntity.EntityStatus.RUNNABLE);
+						waitPredicates.remove(dstId);
+					}
+				}
+				destEnt.getIncomingEvents().add(e);
+				if (destEnt.getState() == SimEntity.EntityStatus.RUNNABLE) {
+					markReady(destEnt);
+				}
+			}
+			case SimEvent.HOLD_DONE -> {
+				SimEntity srcEnt = entities.get(e.getSourceId());
+				if (srcEnt == null) {
+					dropped(e);
+					return;
+				}
+				srcEnt.setState(SimEntity.EntityStatus.RUNNABLE);
+				markReady(srcEnt);
+				release(e);
+			}
+			default -> {
+			}
+		}
+	}
+
+	/**
+	 * Drops an event whose entity is not in the simulation.
+	 *
+	 * @param e the event
+	 * @throws IllegalArgumentException if the entity has never been in the simulation
+	 */
+	private void dropped(SimEvent e) {
+		int id = e.getType() == SimEvent.HOLD_DONE ? e.getSourceId() : e.getDestinationId();
+		if (!entities.isAssigned(id)) {
+			throw new IllegalArgumentException("Event sent to unknown entity " + id + ".");
+		}
+		// the entity has been removed
+		release(e);
+	}
+
+	/**
+	 * Internal method used to start the simulation.
+	 */
+	public void runStart() {
+		running = true;
+		started = true;
+		// Start all the entities
+		for (SimEntity ent : entities) {
+			ent.startEntity();
+		}
+
+		printMessage("Entities started.");
+	}
+
+	/**
+	 * Check if the simulation is still running.
+	 *
+	 * @return if the simulation is still running, otherwise
+	 */
+	public boolean running() {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			return partition.running();
+		}
+		return running;
+	}
+
+	/**
+	 * Terminates the simulation.
+	 */
+	public void terminateSimulation() {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			partition.terminateSimulation();
+			return;
+		}
+		running = false;
+		printMessage("Simulation: Reached termination time.");
+	}
+
+	/**
+	 * Terminates the simulation at a given time.
+	 *
+	 * @param time the time at which the simulation has to be terminated
+	 * @return true, if successful otherwise.
+	 */
+	public boolean terminateSimulation(double time) {
+		if (time <= clock()) {
+			return false;
+		} else {
+			terminateAt = time;
+		}
+		return true;
+	}
+
+	/**
+	 * Pauses the simulation. The thread running the simulation blocks at the end of the current
+	 * clock tick, without consuming CPU, until {@link #resumeSimulation()} is called from another thread.
+	 *
+	 * @return true, if successful otherwise.
+	 */
+	public boolean pauseSimulation() {
+		pauseLock.lock();
+		try {
+			paused = true;
+		} finally {
+			pauseLock.unlock();
+		}
+		return true;
+	}
+
+	/**
+	 * Pauses the simulation at a given time.
+	 *
+	 * @param time the time at which the simulation has to be paused
+	 * @return true, if successful otherwise.
+	 */
+	public boolean pauseSimulation(long time) {
+		if (time <= clock()) {
+			return false;
+		} else {
+			pauseAt = time;
+		}
+		return true;
+	}
+
+	/**
+	 * Resumes the simulation that has previously been paused, waking up the thread running it.
+	 *
+	 * @return if the simulation has been restarted or or otherwise.
+	 */
+	public boolean resumeSimulation() {
+		pauseLock.lock();
+		try {
+			paused = false;
+
+			if (pauseAt <= clock) {
+				pauseAt = -1;
+			}
+			resumed.signalAll();
+		} finally {
+			pauseLock.unlock();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Checks if is paused.
+	 *
+	 * @return true, if is paused
+	 */
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * Start the simulation running. This should be called after all the entities have been setup
+	 * and added.
+	 *
+	 * @return the last clock value
+	 */
+	public double run() {
+		if (!started) {
+			runStart();
+		}
+		if (executor != null) {
+			return runParallel();
+		}
+		if (distributed != null) {
+			return runDistributed();
+		}
+		return run(Double.POSITIVE_INFINITY, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Runs the simulation until a given time: all the events up to that time are processed, and
+	 * the clock is advanced to it. The simulation can then be run further, e.g. by calling this
+	 * method again with a later time, or {@link #run()} to complete it. The simulation is started
+	 * if it has not been yet.
+	 *
+	 * @param time the time up to which the events are processed
+	 * @return the clock, which is the given time unless the simulation has completed before it
+	 * @throws IllegalStateException if the simulation is run in parallel
+	 */
+	public double runUntil(double time) {
+		checkSequential();
+		if (!started) {
+			runStart();
+		}
+		run(time, Long.MAX_VALUE);
+		if (running && !abruptTerminate && clock < time) {
+			clock = time;
+		}
+		return clock;
+	}
+
+	/**
+	 * Runs the simulation for a given number of events, and then returns with the simulation still
+	 * running, so that it can be run further. The events that are due at the same time as the last of
+	 * them are processed as well, so that the results do not depend on how the simulation is stepped.
+	 * The simulation is started if it has not been yet.
+	 *
+	 * @param events the minimum number of events to process
+	 * @return the clock, i.e. the time of the last processed event
+	 * @throws IllegalArgumentException if the number of events is not positive
+	 * @throws IllegalStateException if the simulation is run in parallel
+	 */
+	public double step(long events) {
+		if (events <= 0) {
+			throw new IllegalArgumentException("The number of events must be positive.");
+		}
+		checkSequential();
+		if (!started) {
+			runStart();
+		}
+		return run(Double.POSITIVE_INFINITY, events);
+	}
+
+	/**
+	 * Checks that the simulation can be run step by step.
+	 *
+	 * @throws IllegalStateException if the simulation is run in parallel
+	 */
+	private void checkSequential() {
+		if (executor != null || distributed != null) {
+			throw new IllegalStateException("A simulation run in parallel can't be run step by step.");
+		}
+	}
+
+	/**
+	 * Saves a snapshot of the simulation, i.e. of this context and of everything its entities refer
+	 * to: the future events, the clock, the entities and their state, such as the allocation of the
+	 * guests to the hosts and the utilization history of the hosts. The snapshot is compressed.
+	 * <p>
+	 * The snapshot can only be saved between two runs, e.g. after {@link #runUntil(double)} has
+	 * returned, and only if the simulation is sequential. All the objects the entities refer to
+	 * have to be {@link Serializable}. The static state of the program, such as the
+	 * {@link org.cloudbus.cloudsim.Log} settings, is not saved.
+	 *
+	 * @param out the stream the snapshot is written to, which is not closed
+	 * @throws IOException if the snapshot cannot be written, or an object is not serializable
+	 * @throws IllegalStateException if the simulation is running or is run in parallel
+	 * @see #loadSnapshot(InputStream)
+	 */
+	public void saveSnapshot(OutputStream out) throws IOException {
+		if (executor != null || process != null || distributed != null) {
+			throw new IllegalStateException("A simulation run in parallel can't be saved.");
+		}
+		if (inRun) {
+			throw new IllegalStateException("A snapshot can only be saved between two runs.");
+		}
+		eventPool.clear();
+		GZIPOutputStream zip = new GZIPOutputStream(out, 1 << 16);
+		ObjectOutputStream objects = new ObjectOutputStream(zip);
+		objects.writeObject(this);
+		objects.flush();
+		zip.finish();
+	}
+
+	/**
+	 * Loads a snapshot saved by {@link #saveSnapshot(OutputStream)}. The simulation can then be
+	 * resumed by running the returned context, once it is bound to the thread that runs it by
+	 * {@link CloudSim#setSimulationContext(SimulationContext)}. Every load of the same snapshot gives
+	 * an independent simulation, e.g. to try several settings from the same state.
+	 *
+	 * @param in the stream the snapshot is read from, which is not closed
+	 * @return the context
+	 * @throws IOException if the snapshot cannot be read, or was saved by another version of the classes
+	 * @throws ClassNotFoundException if a class of the snapshot cannot be found
+	 */
+	public static SimulationContext loadSnapshot(InputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream objects = new ObjectInputStream(new GZIPInputStream(in, 1 << 16));
+		return (SimulationContext) objects.readObject();
+	}
+
+	/**
+	 * Runs the simulation sequentially, until the given time or number of events.
+	 *
+	 * @param until the time after which no events are dispatched
+	 * @param events the number of events after which the simulation returns, once the events
+	 *            at the same time have been dispatched
+	 * @return the last clock value
+	 */
+	private double run(double until, long events) {
+		long last = events > Long.MAX_VALUE - dispatchedEvents ? Long.MAX_VALUE : dispatchedEvents + events;
+		inRun = true;
+		if (metrics != null) {
+			metrics.started();
+		}
+		try {
+			double time = runTicks(until, last);
+			if (!running || abruptTerminate) {
+				// the simulation is over: unwind the processes still holding or awaiting events
+				for (SimEntity ent : entities) {
+					if (ent instanceof ProcessEntity processEntity) {
+						processEntity.terminate();
+					}
+				}
+			}
+			return time;
+		} finally {
+			inRun = false;
+			if (metrics != null) {
+				metrics.finished();
+			}
+		}
+	}
+
+	/**
+	 * Runs the clock ticks until a given time, or until a given number of events has been dispatched.
+	 *
+	 * @param until the time to stop at
+	 * @param last the number of dispatched events to stop at
+	 * @return the clock
+	 */
+	private double runTicks(double until, long last) {
+		while (true) {
+			if (!runClockTick(until) || abruptTerminate) {
+				break;
+			}
+
+			// this block allows termination of simulation at a specific time
+			if (terminateAt > 0.0 && clock >= terminateAt) {
+				terminateSimulation();
+				clock = terminateAt;
+				break;
+			}
+
+			if (pauseAt != -1
+					&& ((peekEvent() != null && clock <= pauseAt && pauseAt <= peekEvent()
+							.eventTime()) || peekEvent() == null && pauseAt <= clock)) {
+				pauseSimulation();
+				clock = pauseAt;
+			}
+
+			waitWhilePaused();
+
+			if (dispatchedEvents >= last) {
+				// process the events just dispatched, as if the next tick had started
+				runReadyEntities();
+				break;
+			}
+		}
+
+		return clock;
+	}
+
+	/**
+	 * Runs the partitions of the simulation in parallel, window by window.
+	 * The termination and pause times are honoured at the end of the windows.
+	 *
+	 * @return the last clock value
+	 * @see #setPartitions(List, int)
+	 */
+	private double runParallel() {
+		executor.start();
+		try {
+			while (true) {
+				SimEvent next = executor.peekEvent();
+				if (next == null) {
+					running = false;
+					break;
+				}
+
+				double start = next.eventTime();
+				if (terminateAt > 0.0 && start >= terminateAt) {
+					terminateSimulation();
+					clock = terminateAt;
+					break;
+				}
+
+				double end = start + executor.getWindowLength();
+				if (terminateAt > 0.0) {
+					end = Math.min(end, terminateAt);
+				}
+				if (pauseAt > start) {
+					end = Math.min(end, pauseAt);
+				}
+				clock = Math.max(clock, executor.runWindow(next, end));
+
+				if (abruptTerminate || executor.isAborted()) {
+					abruptTerminate = true;
+					break;
+				}
+				if (!executor.isRunning()) {
+					terminateSimulation();
+					break;
+				}
+
+				if (pauseAt != -1) {
+					next = executor.peekEvent();
+					if (next == null || pauseAt <= next.eventTime()) {
+						pauseSimulation();
+						clock = Math.max(clock, pauseAt);
+					}
+				}
+
+				waitWhilePaused();
+			}
+		} finally {
+			executor.stop();
+		}
+
+		return clock;
+	}
+
+	/**
+	 * Runs this rank of a distributed simulation, window by window, in step with the other ranks.
+	 * The earliest termination time of the ranks is honoured by all of them.
+	 *
+	 * @return the last clock value
+	 * @see #setDistributed(Transport, double)
+	 */
+	private double runDistributed() {
+		distributed.start();
+		inRun = true;
+		if (metrics != null) {
+			metrics.started();
+		}
+		try {
+			while (true) {
+				SimEvent next = peekEvent();
+				DistributedExecutor.Round round = distributed.exchange(
+						next == null ? Double.POSITIVE_INFINITY : next.eventTime(), terminateAt, abruptTerminate);
+				if (round.aborted()) {
+					abruptTerminate = true;
+					break;
+				}
+				double start = round.start();
+				if (start == Double.POSITIVE_INFINITY) {
+					running = false;
+					break;
+				}
+				if (round.terminateAt() > 0.0 && start >= round.terminateAt()) {
+					terminateSimulation();
+					clock = round.terminateAt();
+					break;
+				}
+
+				double end = start + distributed.getLookahead();
+				if (round.terminateAt() > 0.0) {
+					end = Math.min(end, round.terminateAt());
+				}
+				distributed.setWindowEnd(end);
+				if (end > start) {
+					runTicks(Math.nextDown(end), Long.MAX_VALUE);
+				} else {
+					// no lookahead: a single dispatch round, whose events may trigger events at the same time
+					next = peekEvent();
+					if (next != null && next.eventTime() == start) {
+						dispatchEvents(start);
+					}
+					runReadyEntities();
+				}
+			}
+			for (SimEntity ent : entities) {
+				if (ent instanceof ProcessEntity processEntity) {
+					processEntity.terminate();
+				}
+			}
+		} finally {
+			inRun = false;
+			if (metrics != null) {
+				metrics.finished();
+			}
+		}
+
+		return clock;
+	}
+
+	/**
+	 * Blocks the simulation while it is paused, until {@link #resumeSimulation()} is called. If the
+	 * thread running the simulation is interrupted while it waits, the simulation is abruptly terminated.
+	 */
+	private void waitWhilePaused() {
+		if (!paused) {
+			return;
+		}
+		pauseLock.lock();
+		try {
+			while (paused) {
+				resumed.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			abruptTerminate = true;
+		} finally {
+			pauseLock.unlock();
+		}
+	}
+
+	/**
+	 * Makes the simulation run in parallel, with the entities split into partitions that are
+	 * executed by a pool of threads. The entities that are not in any of the given partitions,
+	 * such as the {@link CloudInformationService}, form one more partition.
+	 * <p>
+	 * The partitions are synchronised conservatively: the simulation advances by windows as long
+	 * as the minimum {@link org.cloudbus.cloudsim.NetworkTopology} delay between entities of different
+	 * partitions, and every partition processes its events of the window on its own. When some of these
+	 * entities are not mapped to the network topology, the partitions only process the events of a single
+	 * dispatch round in parallel. The results are identical to the ones of a sequential run as long as:
+	 * <ul>
+	 * <li>the entities of different partitions only interact through events, and do not share
+	 * any mutable state beyond the data of the events;</li>
+	 * <li>no entity is added to the simulation once it is running;</li>
+	 * <li>the entities only cancel events that are still in their own partition.</li>
+	 * </ul>
+	 * An {@link IllegalStateException} is raised if an event is sent to another partition with a
+	 * delay shorter than the lookahead. The messages printed by entities of different partitions
+	 * may be interleaved differently than in a sequential run.
+	 *
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 */
+	public void setPartitions(List<? extends Collection<? extends SimEntity>> partitions, int numThreads) {
+		if (running) {
+			throw new IllegalStateException("The partitions can't be changed while the simulation is running.");
+		}
+		executor = new ConservativeExecutor(this, partitions, numThreads);
+	}
+
+	/**
+	 * Makes the simulation run in parallel, with the entities split into partitions that are
+	 * executed optimistically by a pool of threads, according to the Time Warp protocol.
+	 * The entities that are not in any of the given partitions, such as the
+	 * {@link CloudInformationService}, form one more partition.
+	 * <p>
+	 * The simulation advances by windows of the given length, whatever the delays between the
+	 * partitions. Every partition processes its events of the window speculatively, and is rolled
+	 * back to the start of the window when the other partitions send it events within the window,
+	 * until all the partitions agree on the events they exchange. Hence, the window length trades
+	 * the number of events processed in parallel for the number of rollbacks. The results are identical
+	 * to the ones of a sequential run under the same conditions as {@link #setPartitions(List, int)},
+	 * and as long as:
+	 * <ul>
+	 * <li>all the entities support checkpointing, see {@link SimEntity#saveState()};</li>
+	 * <li>the data of the events sent between partitions are not modified by their receivers.</li>
+	 * </ul>
+	 * The messages printed by entities that are rolled back are printed again when the window is run again.
+	 * An abrupt termination of the simulation is honoured at the end of the window.
+	 *
+	 * @param partitions the partitions of the entities
+	 * @param numThreads the number of threads that run the partitions
+	 * @param window the length of the windows
+	 * @see OptimisticExecutor
+	 */
+	public void setOptimisticPartitions(List<? extends Collection<? extends SimEntity>> partitions, int numThreads,
+			double window) {
+		if (running) {
+			throw new IllegalStateException("The partitions can't be changed while the simulation is running.");
+		}
+		executor = new OptimisticExecutor(this, partitions, numThreads, window);
+	}
+
+	/**
+	 * Makes this process a rank of a simulation distributed over several processes, e.g. to simulate
+	 * a model that does not fit in the memory of one process. Every rank creates the same entities in
+	 * the same order, but creates a {@link RemoteEntity} instead of each entity that another rank
+	 * simulates, and runs its simulation. The events sent to the remote entities are sent to their
+	 * rank through the transport, with their data copied by serialisation.
+	 * <p>
+	 * The ranks are synchronised conservatively: they advance by windows as long as the lookahead,
+	 * within which each rank processes its events on its own, and exchange the events they send to each
+	 * other at the end of every window. Hence, every event sent to another rank must have a delay of at
+	 * least the lookahead, e.g. the minimum {@link org.cloudbus.cloudsim.NetworkTopology} delay between
+	 * the entities of different ranks, otherwise an {@link IllegalStateException} is raised. With no
+	 * lookahead, the ranks exchange their events after every dispatch round. The results are the same as
+	 * the ones of a sequential run, up to the order of simultaneous events sent by different ranks, as long as:
+	 * <ul>
+	 * <li>the entities of different ranks only interact through events, and the data of these events
+	 * are {@link Serializable} and do not refer to state the receiver should share with the sender;</li>
+	 * <li>no entity is added to or removed from the simulation once it is running;</li>
+	 * <li>the events sent to other ranks are not cancelled.</li>
+	 * </ul>
+	 * An abrupt termination, or a termination time, ends the simulation of all the ranks. A distributed
+	 * simulation can't be paused, nor run step by step.
+	 *
+	 * @param transport the transport to the other ranks, which is not closed by the simulation
+	 * @param lookahead the minimum delay of the events sent to other ranks
+	 * @see SocketTransport
+	 * @see SharedMemoryTransport
+	 */
+	public void setDistributed(Transport transport, double lookahead) {
+		if (running) {
+			throw new IllegalStateException("The distribution can't be changed while the simulation is running.");
+		}
+		if (executor != null) {
+			throw new IllegalStateException("A simulation run in parallel can't be distributed.");
+		}
+		distributed = new DistributedExecutor(this, transport, lookahead);
+	}
+
+	/**
+	 * Sets whether the events are recycled once they have been processed, rather than allocated
+	 * for every message. The pooling only applies to sequential runs: the events of a simulation
+	 * run in parallel are never recycled.
+	 *
+	 * @param eventPooling the pooling mode
+	 * @see EventPooling
+	 */
+	public void setEventPooling(EventPooling eventPooling) {
+		if (eventPooling == null) {
+			throw new IllegalArgumentException("The event pooling mode can't be null.");
+		}
+		this.eventPooling = eventPooling;
+		eventPool.clear();
+	}
+
+	/**
+	 * Sets the coalescing of the events the entities send to themselves, e.g. their periodic
+	 * updates, which trades a little timing accuracy for fewer events. The coalescing only applies
+	 * to sequential runs, and to the events sent afterwards.
+	 *
+	 * @param coalescing the coalescing, which also gathers the statistics of the delayed events,
+	 *            or <tt>null</tt> to send all the events at their exact time
+	 * @see EventCoalescing
+	 */
+	public void setEventCoalescing(EventCoalescing coalescing) {
+		this.coalescing = coalescing;
+	}
+
+	/**
+	 * Gets the coalescing of the events the entities send to themselves.
+	 *
+	 * @return the coalescing, or <tt>null</tt> if the events are sent at their exact time
+	 */
+	public EventCoalescing getEventCoalescing() {
+		return coalescing;
+	}
+
+	/**
+	 * Sets the trace the dispatched events are recorded to. Only sequential runs are recorded:
+	 * the events of a simulation run in parallel are not.
+	 *
+	 * @param trace the trace, or <tt>null</tt> to stop recording; it is not closed by the simulation
+	 * @see EventTrace
+	 */
+	public void setEventTrace(EventTrace trace) {
+		this.trace = trace;
+	}
+
+	/**
+	 * Gets the trace the dispatched events are recorded to.
+	 *
+	 * @return the trace, or <tt>null</tt> if the events are not recorded
+	 */
+	public EventTrace getEventTrace() {
+		return trace;
+	}
+
+	/**
+	 * Sets the metrics of the engine gathered while the simulation runs. Only sequential runs are
+	 * measured: the events of a simulation run in parallel are not.
+	 *
+	 * @param metrics the metrics, or <tt>null</tt> to stop gathering them
+	 * @see EngineMetrics
+	 */
+	public void setMetrics(EngineMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Gets the metrics of the engine gathered while the simulation runs.
+	 *
+	 * @return the metrics, or <tt>null</tt> if they are not gathered
+	 */
+	public EngineMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Gets the metrics the handlers of the entities are measured into.
+	 *
+	 * @return the metrics, or <tt>null</tt> if they are not gathered or the simulation runs in parallel
+	 */
+	EngineMetrics handlerMetrics() {
+		return executor == null && process == null ? metrics : null;
+	}
+
+	/**
+	 * Gets whether the events are recycled once they have been processed.
+	 *
+	 * @return the pooling mode
+	 */
+	public EventPooling getEventPooling() {
+		return eventPooling;
+	}
+
+	/**
+	 * Creates an event, or reuses a released one if the event pooling is enabled.
+	 *
+	 * @return the event
+	 * @see SimEvent#SimEvent(int, double, int, int, CloudSimTags, Object)
+	 */
+	private SimEvent newEvent(int type, double time, int src, int dest, CloudSimTags tag, Object data) {
+		SimEvent ev = eventPool.poll();
+		if (ev == null) {
+			return new SimEvent(type, time, src, dest, tag, data);
+		}
+		return ev.reuse(type, time, src, dest, tag, data);
+	}
+
+	/**
+	 * Releases the events that an entity has processed, if the event pooling is enabled.
+	 *
+	 * @param events the events handed over to the entity
+	 * @param deferred the incoming events of the entity, which hold the events it has not processed,
+	 *            or <tt>null</tt> if the entity has been shut down
+	 */
+	void release(List<SimEvent> events, Mailbox deferred) {
+		if (eventPooling == EventPooling.DISABLED || executor != null) {
+			return;
+		}
+		Set<SimEvent> kept = null;
+		if (deferred != null && !deferred.isEmpty()) {
+			kept = Collections.newSetFromMap(new IdentityHashMap<>());
+			deferred.forEach(kept::add);
+		}
+		for (SimEvent ev : events) {
+			if (kept == null || !kept.contains(ev)) {
+				release(ev);
+			}
+		}
+	}
+
+	/**
+	 * Releases an event that has been processed, if the event pooling is enabled.
+	 *
+	 * @param ev the event
+	 */
+	private void release(SimEvent ev) {
+		if (eventPooling == EventPooling.DISABLED || executor != null) {
+			return;
+		}
+		ev.release();
+		if (eventPooling == EventPooling.ENABLED && eventPool.size() < MAX_POOLED_EVENTS) {
+			eventPool.push(ev);
+		}
+	}
+
+	/**
+	 * Internal method that allows the entities to terminate.
+	 */
+	void finishSimulation() {
+		// Allow all entities to exit their body method
+		if (!abruptTerminate) {
+			for (SimEntity ent : entities) {
+				if (ent.getState() != SimEntity.EntityStatus.FINISHED) {
+					ent.run();
+				}
+			}
+		}
+
+		for (SimEntity ent : entities) {
+			ent.shutdownEntity();
+		}
+
+		entities.clear();
+		future.clear();
+		pending.clear();
+		cancelled = 0;
+		readyFlags.clear();
+		readyCount = 0;
+		clock = 0L;
+		running = false;
+
+		waitPredicates.clear();
+		eventPool.clear();
+		executor = null;
+		paused = false;
+		started = false;
+		dispatchedEvents = 0;
+		pauseAt = -1;
+		abruptTerminate = false;
+	}
+
+	/**
+	 * Abruptally terminate.
+	 */
+	public void abruptallyTerminate() {
+		SimulationContext partition = partition();
+		if (partition != this) {
+			partition.abruptallyTerminate();
+			return;
+		}
+		abruptTerminate = true;
+	}
+
+	/**
+	 * Checks whether the simulation has been abruptly terminated.
+	 *
+	 * @return true if an entity has required the abrupt termination of the simulation
+	 */
+	boolean isAbruptlyTerminated() {
+		return abruptTerminate;
+	}
+
+	/**
+	 * The state of a partition of an optimistic simulation at the start of a window.
+	 *
+	 * @param clock the clock of the partition
+	 * @param running whether the partition is running
+	 * @param abruptTerminate whether the partition has been abruptly terminated
+	 * @param events the future events of the partition
+	 * @param waitPredicates the predicates of the waiting entities of the partition
+	 * @param entities the entities of the partition
+	 * @param checkpoints the states of the entities of the partition
+	 */
+	private record PartitionState(double clock, boolean running, boolean abruptTerminate, List<SimEvent> events,
+			Map<Integer, Predicate> waitPredicates, List<SimEntity> entities, List<Object> checkpoints) {
+	}
+
+	/**
+	 * Prints a message about the progress of the simulation.
+	 *
+	 * @param message the message
+	 */
+	private void printMessage(String message) {
+		Log.println(message);
+	}
+
+}
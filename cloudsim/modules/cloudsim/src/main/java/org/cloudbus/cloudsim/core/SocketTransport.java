@@ -0,0 +1,186 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.List;
+
+/**
+ * A {@link Transport} over TCP connections, between processes on the same machine or on a cluster.
+ * Every rank listens on its own address, and is connected to every other rank, the ranks connecting
+ * to the ones below them. The messages are sent as frames of their length followed by their bytes.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class SocketTransport implements Transport {
+
+	/** The rank of this process. */
+	private final int rank;
+
+	/** The connections to the other ranks, by rank; the one of this rank is <tt>null</tt>. */
+	private final Socket[] sockets;
+
+	/** The streams the messages from the other ranks are read from, by rank. */
+	private final DataInputStream[] in;
+
+	/** The streams the messages to the other ranks are written to, by rank. */
+	private final DataOutputStream[] out;
+
+	/**
+	 * Connects this rank to the other ranks, waiting until they are all up.
+	 *
+	 * @param rank the rank of this process
+	 * @param addresses the addresses the ranks listen on, by rank
+	 * @param timeout the time to wait for the other ranks to connect, and then for each of their
+	 *            messages, in milliseconds, or 0 to wait forever
+	 * @throws IOException if a rank cannot be reached in time
+	 */
+	public SocketTransport(int rank, List<InetSocketAddress> addresses, int timeout) throws IOException {
+		int size = addresses.size();
+		if (rank < 0 || rank >= size) {
+			throw new IllegalArgumentException("The rank must be between 0 and " + (size - 1) + ".");
+		}
+		this.rank = rank;
+		sockets = new Socket[size];
+		in = new DataInputStream[size];
+		out = new DataOutputStream[size];
+		long deadline = timeout == 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeout;
+		try (ServerSocket server = new ServerSocket()) {
+			server.setReuseAddress(true);
+			server.bind(addresses.get(rank), size);
+			// the connections to the ranks below complete through their backlog, before they accept them
+			for (int peer = 0; peer < rank; peer++) {
+				Socket socket = connect(addresses.get(peer), deadline);
+				open(peer, socket, timeout);
+				out[peer].writeInt(rank);
+				out[peer].flush();
+			}
+			for (int i = rank + 1; i < size; i++) {
+				server.setSoTimeout(remaining(deadline));
+				Socket socket = server.accept();
+				int peer = new DataInputStream(socket.getInputStream()).readInt();
+				if (peer <= rank || peer >= size || sockets[peer] != null) {
+					socket.close();
+					throw new IOException("Unexpected connection from rank " + peer + ".");
+				}
+				open(peer, socket, timeout);
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Connects to a rank, retrying until it listens.
+	 *
+	 * @param address the address of the rank
+	 * @param deadline the time to give up at, in milliseconds
+	 * @return the connection
+	 * @throws IOException if the rank cannot be reached in time
+	 */
+	private static Socket connect(InetSocketAddress address, long deadline) throws IOException {
+		while (true) {
+			Socket socket = new Socket();
+			try {
+				socket.connect(address, remaining(deadline));
+				return socket;
+			} catch (ConnectException e) {
+				socket.close();
+				if (System.currentTimeMillis() >= deadline) {
+					throw e;
+				}
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw new IOException("Interrupted while connecting to " + address + ".", interrupted);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the time left until a deadline, as a socket timeout.
+	 *
+	 * @param deadline the deadline, in milliseconds
+	 * @return the time left, in milliseconds, or 0 for no deadline
+	 * @throws SocketTimeoutException if the deadline has passed
+	 */
+	private static int remaining(long deadline) throws SocketTimeoutException {
+		if (deadline == Long.MAX_VALUE) {
+			return 0;
+		}
+		long left = deadline - System.currentTimeMillis();
+		if (left <= 0) {
+			throw new SocketTimeoutException("The other ranks have not connected in time.");
+		}
+		return (int) Math.min(left, Integer.MAX_VALUE);
+	}
+
+	private void open(int peer, Socket socket, int timeout) throws IOException {
+		sockets[peer] = socket;
+		socket.setTcpNoDelay(true);
+		socket.setSoTimeout(timeout);
+		in[peer] = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+		out[peer] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+	}
+
+	@Override
+	public int getRank() {
+		return rank;
+	}
+
+	@Override
+	public int getSize() {
+		return sockets.length;
+	}
+
+	@Override
+	public void send(int peer, byte[] message) throws IOException {
+		DataOutputStream stream = out[peer];
+		stream.writeInt(message.length);
+		stream.write(message);
+		stream.flush();
+	}
+
+	@Override
+	public byte[] receive(int peer) throws IOException {
+		DataInputStream stream = in[peer];
+		byte[] message = new byte[stream.readInt()];
+		stream.readFully(message);
+		return message;
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException failure = null;
+		for (Socket socket : sockets) {
+			if (socket != null) {
+				try {
+					socket.close();
+				} catch (IOException e) {
+					failure = e;
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
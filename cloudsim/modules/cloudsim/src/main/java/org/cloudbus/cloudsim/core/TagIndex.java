@@ -0,0 +1,70 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns the dense indexes of the {@link CloudSimTags}.
+ * <p>
+ * The first time a tag of an enum is indexed, a range of indexes is reserved for all the constants of
+ * the enum, hence the index of a constant is the start of the range plus its ordinal. The tags that are
+ * not enum constants are given the next free index the first time they are indexed. The enums of the
+ * toolkit resolve the indexes of their constants once, when they are initialised, and the other tags are
+ * looked up here on every call of {@link CloudSimTags#index()}. The indexes are
+ * shared by all the simulations run by the program.
+ *
+ * @see CloudSimTags#index()
+ * @since CloudSim Toolkit 7.0
+ */
+final class TagIndex {
+
+	/** The next free index. */
+	private static final AtomicInteger next = new AtomicInteger();
+
+	/** The first index of the range reserved for the constants of each enum. */
+	private static final ClassValue<Integer> enumStart = new ClassValue<>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return next.getAndAdd(type.getEnumConstants().length);
+		}
+	};
+
+	/** The indexes of the tags that are not enum constants. */
+	private static final Map<CloudSimTags, Integer> others = new ConcurrentHashMap<>();
+
+	private TagIndex() {
+	}
+
+	/**
+	 * Gets the index of the first constant of an enum of tags, reserving the range of indexes of
+	 * the enum the first time.
+	 *
+	 * @param type the enum
+	 * @return the index of its first constant
+	 */
+	static int firstIndex(Class<?> type) {
+		return enumStart.get(type);
+	}
+
+	/**
+	 * Gets the index of a tag.
+	 *
+	 * @param tag the tag
+	 * @return the index
+	 */
+	static int of(CloudSimTags tag) {
+		if (tag instanceof Enum<?> constant) {
+			return firstIndex(constant.getDeclaringClass()) + constant.ordinal();
+		}
+		return others.computeIfAbsent(tag, t -> next.getAndIncrement());
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The transport of the messages between the processes, or ranks, of a distributed simulation,
+ * see {@link SimulationContext#setDistributed(Transport, double)}. Every rank can send messages to
+ * every other rank, which receives them in the order they were sent.
+ * <p>
+ * A rank sends a message to each of the other ranks at once, from several threads, while it receives
+ * theirs: the messages to different ranks may be sent concurrently, and concurrently with the
+ * receptions, and sending a message must not wait for the peer to receive the ones it sent.
+ *
+ * @see SocketTransport
+ * @see SharedMemoryTransport
+ * @since CloudSim Toolkit 7.0
+ */
+public interface Transport extends Closeable {
+
+	/**
+	 * Gets the rank of this process.
+	 *
+	 * @return the rank, from 0 to {@link #getSize()} excluded
+	 */
+	int getRank();
+
+	/**
+	 * Gets the number of processes.
+	 *
+	 * @return the number of ranks
+	 */
+	int getSize();
+
+	/**
+	 * Sends a message to another rank.
+	 *
+	 * @param peer the rank of the receiver
+	 * @param message the message
+	 * @throws IOException if the message cannot be sent
+	 */
+	void send(int peer, byte[] message) throws IOException;
+
+	/**
+	 * Receives the next message from another rank, waiting until it arrives.
+	 *
+	 * @param peer the rank of the sender
+	 * @return the message
+	 * @throws IOException if no message can be received, e.g. because the peer has failed
+	 */
+	byte[] receive(int peer) throws IOException;
+}
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -25,6 +27,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateAny extends Predicate {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Considers there is no criteria to match an event,
          * so any event received by the predicate will match.
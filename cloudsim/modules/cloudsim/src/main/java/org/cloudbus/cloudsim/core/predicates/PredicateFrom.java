@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -21,6 +23,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateFrom extends Predicate {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The IDs of source entities to check the reception of events from. */
 	private final int[] ids;
 
@@ -42,6 +47,15 @@ public class PredicateFrom extends Predicate {
 		ids = sourceIds.clone();
 	}
 
+	/**
+	 * Gets the IDs of the source entities of the events matched by this predicate.
+	 *
+	 * @return a copy of the IDs
+	 */
+	public int[] getIds() {
+		return ids.clone();
+	}
+
 	/**
 	 * Matches any event received from the registered sources.
 	 * 
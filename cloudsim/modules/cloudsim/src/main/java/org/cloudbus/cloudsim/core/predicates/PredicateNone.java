@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -23,6 +25,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateNone extends Predicate {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Considers that no event received by the predicate matches.
 	 * 
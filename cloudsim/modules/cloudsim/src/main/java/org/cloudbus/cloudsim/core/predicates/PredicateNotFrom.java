@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.SimEvent;
 
 /**
@@ -20,6 +22,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateNotFrom extends Predicate {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The IDs of source entities to check if events were not sent from. */
 	private final int[] ids;
 
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
@@ -21,6 +23,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateNotType extends Predicate {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Array of tags to verify if the tag of received events doesn't correspond to. */
 	private final CloudSimTags[] tags;
 
@@ -42,6 +47,15 @@ public class PredicateNotType extends Predicate {
 		this.tags = tags.clone();
 	}
 
+	/**
+	 * Gets the tags of the events that are not matched by this predicate.
+	 *
+	 * @return a copy of the tags
+	 */
+	public CloudSimTags[] getTags() {
+		return tags.clone();
+	}
+
 	/**
 	 * Matches any event that hasn't one of the specified {@link #tags}.
 	 * 
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.core.predicates;
 
+import java.io.Serial;
+
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEvent;
 
@@ -21,6 +23,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateType extends Predicate {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Array of tags to verify if the tag of received events correspond to. */
 	private final CloudSimTags[] tags;
 
@@ -42,6 +47,15 @@ public class PredicateType extends Predicate {
 		this.tags = tags.clone();
 	}
 
+	/**
+	 * Gets the tags of the events matched by this predicate.
+	 *
+	 * @return a copy of the tags
+	 */
+	public CloudSimTags[] getTags() {
+		return tags.clone();
+	}
+
 	/**
 	 * Matches any event that has one of the specified {@link #tags}.
 	 * 
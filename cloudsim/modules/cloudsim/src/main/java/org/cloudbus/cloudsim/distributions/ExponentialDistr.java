@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
+
 import org.apache.commons.math3.distribution.ExponentialDistribution;
 
 /**
@@ -19,6 +21,9 @@ import org.apache.commons.math3.distribution.ExponentialDistribution;
  */
 public class ExponentialDistr implements ContinuousDistribution {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The internal exponential number generator. */
 	private final ExponentialDistribution numGen;
 
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
 import java.util.Random;
 
 import org.apache.commons.math3.distribution.LogNormalDistribution;
@@ -21,6 +22,9 @@ import org.apache.commons.math3.distribution.LogNormalDistribution;
  */
 public class LognormalDistr implements ContinuousDistribution {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	
 	/** The internal Log-normal pseudo random number generator. */
 	private final LogNormalDistribution numGen;
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
 import java.util.Random;
 
 /**
@@ -20,6 +21,9 @@ import java.util.Random;
  */
 public class LomaxDistribution extends ParetoDistr implements ContinuousDistribution {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The shift. */
 	private final double shift;
 
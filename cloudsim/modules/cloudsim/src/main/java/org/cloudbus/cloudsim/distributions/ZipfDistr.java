@@ -9,6 +9,7 @@ mulation) Toolkit for Modeling and Simulation of Clouds
 
 package org.cloudbus.cloudsim.distributions;
 
+import java.io.Serial;
 import java.util.Random;
 
 /**
@@ -20,6 +21,9 @@ import java.util.Random;
  */
 public class ZipfDistr implements ContinuousDistribution {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The internal random number generator. */
 	private final Random numGen;
 
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,7 +27,10 @@ import org.cloudbus.cloudsim.Cloudlet;
  * 
  * //@TODO The attributes have to be defined as private.
  */
-public class AppCloudlet {
+public class AppCloudlet implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	public int type;
 
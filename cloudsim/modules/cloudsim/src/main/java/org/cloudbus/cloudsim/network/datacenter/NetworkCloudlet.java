@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -35,6 +36,10 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * of a super class and/or interface.
  */
 public class NetworkCloudlet extends Cloudlet implements Comparable<NetworkCloudlet> {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Current stage of cloudlet execution. */
 	public int currStageNum;
 
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.CloudletScheduler;
 import org.cloudbus.cloudsim.container.core.Container;
 import org.cloudbus.cloudsim.core.NetworkedEntity;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +27,9 @@ import java.util.Map;
 
 public class NetworkContainer extends Container implements NetworkedEntity {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     /**
      * Creates a new NetworkContainer object.
      *
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,10 @@ import org.cloudbus.cloudsim.core.*;
  * @since CloudSim Toolkit 3.0
  */
 public class NetworkDatacenter extends Datacenter {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * A map between VMs and Switches, where each key
 	 * is a VM id and the corresponding value is the id of the switch where the VM is connected to.
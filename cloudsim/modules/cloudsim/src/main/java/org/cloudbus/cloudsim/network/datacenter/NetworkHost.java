@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +38,10 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @since CloudSim Toolkit 3.0
  */
 public class NetworkHost extends Host implements NetworkedEntity {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Edge switch to which the Host is connected. */
 	private Switch sw;
 
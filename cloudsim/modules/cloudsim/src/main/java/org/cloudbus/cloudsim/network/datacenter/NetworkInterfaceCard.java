@@ -7,6 +7,9 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 import java.util.*;
 
 /**
@@ -16,7 +19,11 @@ import java.util.*;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 7.0
  */
-public class NetworkInterfaceCard {
+public class NetworkInterfaceCard implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private final List<HostPacket> pktsToSend;
 
     private final List<HostPacket> receivedPkts;
@@ -17,6 +17,7 @@ import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.provisioners.BwProvisioner;
 import org.cloudbus.cloudsim.provisioners.RamProvisioner;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +31,10 @@ import java.util.Map;
  * @since CloudSim Toolkit 7.0
  */
 public class NetworkVm extends Vm implements NetworkedEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public NetworkVm(int id, int userId, double mips, int numberOfPes, int ram, long bw, long size, String vmm, CloudletScheduler cloudletScheduler, VmScheduler guestScheduler, RamProvisioner containerRamProvisioner, BwProvisioner containerBwProvisioner, List<? extends Pe> peList) {
         super(id, userId, mips, numberOfPes, ram, bw, size, vmm, cloudletScheduler, guestScheduler, containerRamProvisioner, containerBwProvisioner, peList);
     }
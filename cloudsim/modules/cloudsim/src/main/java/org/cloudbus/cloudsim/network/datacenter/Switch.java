@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.network.datacenter;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +35,10 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  * @since CloudSim Toolkit 3.0
  */
 public class Switch extends SimEntity {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** Switch level in datacenter topology.
 	 * -) Root switch connects the Datacenter to external network.
 	 * -) Aggregate switches reside in-between the root switch and the edge switches.
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Datacenter;
@@ -41,6 +42,9 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class PowerDatacenter extends Datacenter {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The datacenter consumed power. */
 	private double power;
 
@@ -176,19 +180,22 @@ public class PowerDatacenter extends Datacenter {
 		Log.println("\n\n--------------------------------------------------------------\n\n");
 		Log.formatLine("New resource usage for the time frame starting at %.2f:", currentTime);
 
-		for (PowerHost host : this.<PowerHost> getHostList()) {
+		double[] times = processHosts(this.<PowerHost> getHostList(), host -> {
 			Log.println();
 
 			double time = host.updateCloudletsProcessing(currentTime); // inform VMs to update processing
-			if (time < minTime) {
-				minTime = time;
-			}
 
 			Log.formatLine(
 					"%.2f: [Host #%d] utilization is %.2f%%",
 					currentTime,
 					host.getId(),
 					host.getUtilizationOfCpu() * 100);
+			return time;
+		});
+		for (double time : times) {
+			if (time < minTime) {
+				minTime = time;
+			}
 		}
 
 		if (timeDiff > 0) {
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,9 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class PowerDatacenterNonPowerAware extends PowerDatacenter {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new datacenter.
 	 * 
@@ -105,11 +109,12 @@ public class PowerDatacenterNonPowerAware extends PowerDatacenter {
 
 			Log.println("\n\n--------------------------------------------------------------\n\n");
 
-			for (PowerHost host : this.<PowerHost> getHostList()) {
+			double[] times = processHosts(this.<PowerHost> getHostList(), host -> {
 				Log.formatLine("\n%.2f: Host #%d", CloudSim.clock(), host.getId());
 
-				double time = host.updateCloudletsProcessing(currentTime); // inform VMs to update
-																		// processing
+				return host.updateCloudletsProcessing(currentTime); // inform VMs to update processing
+			});
+			for (double time : times) {
 				if (time < minTime) {
 					minTime = time;
 				}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -23,6 +24,7 @@ import org.cloudbus.cloudsim.core.HostEntity;
 import org.cloudbus.cloudsim.lists.VmList;
 import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicy;
 import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
+import org.cloudbus.cloudsim.util.LatencyHistogram;
 
 /**
  * An abstract power-aware VM allocation policy that dynamically optimizes the VM
@@ -43,6 +45,9 @@ import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
  */
 public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocationPolicy {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The vm selection policy. */
 	private SelectionPolicy<GuestEntity> vmSelectionPolicy;
 
@@ -71,28 +76,40 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
          */
 	private final List<List<Double>> timeHistory = new ArrayList<>();
 
-	/** The history of time spent in VM selection 
+	/** The histogram of the time spent in VM selection 
          * every time the optimization of VM allocation method is called. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryVmSelection = new ArrayList<>();
+	private final LatencyHistogram executionTimeHistogramVmSelection = new LatencyHistogram();
 
-	/** The history of time spent in host selection 
+	/** The histogram of the time spent in host selection 
          * every time the optimization of VM allocation method is called. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryHostSelection = new ArrayList<>();
+	private final LatencyHistogram executionTimeHistogramHostSelection = new LatencyHistogram();
 
-	/** The history of time spent in VM reallocation 
+	/** The histogram of the time spent in VM reallocation 
          * every time the optimization of VM allocation method is called. 
          * @see #optimizeAllocation(java.util.List) 
          */
-	private final List<Double> executionTimeHistoryVmReallocation = new ArrayList<>();
+	private final LatencyHistogram executionTimeHistogramVmReallocation = new LatencyHistogram();
 
-	/** The history of total time spent in every call of the 
+	/** The histogram of the total time spent in every call of the 
          * optimization of VM allocation method. 
          * @see #optimizeAllocation(java.util.List) 
          */
+	private final LatencyHistogram executionTimeHistogramTotal = new LatencyHistogram();
+
+	/** The history of the execution times of the vm selection, in seconds. */
+	private final List<Double> executionTimeHistoryVmSelection = new ArrayList<>();
+
+	/** The history of the execution times of the host selection, in seconds. */
+	private final List<Double> executionTimeHistoryHostSelection = new ArrayList<>();
+
+	/** The history of the execution times of the vm reallocation, in seconds. */
+	private final List<Double> executionTimeHistoryVmReallocation = new ArrayList<>();
+
+	/** The history of the execution times of the whole optimization, in seconds. */
 	private final List<Double> executionTimeHistoryTotal = new ArrayList<>();
 
 	/**
@@ -117,33 +134,32 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 	 */
 	@Override
 	public List<GuestMapping> optimizeAllocation(List<? extends GuestEntity> vmList) {
-		ExecutionTimeMeasurer.start("optimizeAllocationTotal");
+		ExecutionTimeMeasurer.Measurement total = ExecutionTimeMeasurer.start();
 
-		ExecutionTimeMeasurer.start("optimizeAllocationHostSelection");
+		ExecutionTimeMeasurer.Measurement hostSelection = ExecutionTimeMeasurer.start();
 		List<PowerHost> overUtilizedHosts = getOverUtilizedHosts();
-		getExecutionTimeHistoryHostSelection().add(
-				ExecutionTimeMeasurer.end("optimizeAllocationHostSelection"));
+		long hostSelectionTime = hostSelection.stop();
 
 		printOverUtilizedHosts(overUtilizedHosts);
 
 		saveAllocation();
 
-		ExecutionTimeMeasurer.start("optimizeAllocationVmSelection");
+		ExecutionTimeMeasurer.Measurement vmSelection = ExecutionTimeMeasurer.start();
 		List<GuestEntity> vmsToMigrate = getVmsToMigrateFromHosts(overUtilizedHosts);
-		getExecutionTimeHistoryVmSelection().add(ExecutionTimeMeasurer.end("optimizeAllocationVmSelection"));
+		long vmSelectionTime = vmSelection.stop();
 
 		Log.println("Reallocation of VMs from the over-utilized hosts:");
-		ExecutionTimeMeasurer.start("optimizeAllocationVmReallocation");
+		ExecutionTimeMeasurer.Measurement vmReallocation = ExecutionTimeMeasurer.start();
 		List<GuestMapping> migrationMap = getNewVmPlacement(vmsToMigrate, new HashSet<>(overUtilizedHosts));
-		getExecutionTimeHistoryVmReallocation().add(
-				ExecutionTimeMeasurer.end("optimizeAllocationVmReallocation"));
+		long vmReallocationTime = vmReallocation.stop();
 		Log.println();
 
 		migrationMap.addAll(getMigrationMapFromUnderUtilizedHosts(overUtilizedHosts));
 
 		restoreAllocation();
 
-		getExecutionTimeHistoryTotal().add(ExecutionTimeMeasurer.end("optimizeAllocationTotal"));
+		long totalTime = total.stop();
+		recordExecutionTimes(hostSelectionTime, vmSelectionTime, vmReallocationTime, totalTime);
 
 		return migrationMap;
 	}
@@ -540,7 +556,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 				Log.printlnConcat("Couldn't restore VM #", vm.getId(), " on host #", host.getId());
 				System.exit(0);
 			}
-			getGuestTable().put(vm.getUid(), host);
+			getGuestTableByKey().put(vm.getKey(), host);
 		}
 	}
 
@@ -661,38 +677,106 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends VmAllocat
 		return timeHistory.get(hostId);
 	}
 
+	/**
+	 * Records the execution times of the steps of a call of {@link #optimizeAllocation(List)}.
+	 *
+	 * @param hostSelection the time spent in the host selection, in nanoseconds
+	 * @param vmSelection the time spent in the VM selection, in nanoseconds
+	 * @param vmReallocation the time spent in the VM reallocation, in nanoseconds
+	 * @param total the total time of the call, in nanoseconds
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void recordExecutionTimes(long hostSelection, long vmSelection, long vmReallocation, long total) {
+		executionTimeHistogramHostSelection.record(hostSelection);
+		executionTimeHistogramVmSelection.record(vmSelection);
+		executionTimeHistogramVmReallocation.record(vmReallocation);
+		executionTimeHistogramTotal.record(total);
+		executionTimeHistoryHostSelection.add(hostSelection / 1e9);
+		executionTimeHistoryVmSelection.add(vmSelection / 1e9);
+		executionTimeHistoryVmReallocation.add(vmReallocation / 1e9);
+		executionTimeHistoryTotal.add(total / 1e9);
+	}
+
+	/**
+	 * Gets the histogram of the execution times of the vm selection.
+	 *
+	 * @return the histogram of the execution times, in nanoseconds
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LatencyHistogram getExecutionTimeHistogramVmSelection() {
+		return executionTimeHistogramVmSelection;
+	}
+
 	/**
 	 * Gets the execution time history vm selection.
-	 * 
-	 * @return the execution time history vm selection
+	 *
+	 * @return the execution times of the vm selection, in seconds
+	 * @deprecated use {@link #getExecutionTimeHistogramVmSelection()}, which does not keep every execution time
 	 */
+	@Deprecated
 	public List<Double> getExecutionTimeHistoryVmSelection() {
 		return executionTimeHistoryVmSelection;
 	}
 
+	/**
+	 * Gets the histogram of the execution times of the host selection.
+	 *
+	 * @return the histogram of the execution times, in nanoseconds
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LatencyHistogram getExecutionTimeHistogramHostSelection() {
+		return executionTimeHistogramHostSelection;
+	}
+
 	/**
 	 * Gets the execution time history host selection.
-	 * 
-	 * @return the execution time history host selection
+	 *
+	 * @return the execution times of the host selection, in seconds
+	 * @deprecated use {@link #getExecutionTimeHistogramHostSelection()}, which does not keep every execution time
 	 */
+	@Deprecated
 	public List<Double> getExecutionTimeHistoryHostSelection() {
 		return executionTimeHistoryHostSelection;
 	}
 
+	/**
+	 * Gets the histogram of the execution times of the vm reallocation.
+	 *
+	 * @return the histogram of the execution times, in nanoseconds
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LatencyHistogram getExecutionTimeHistogramVmReallocation() {
+		return executionTimeHistogramVmReallocation;
+	}
+
 	/**
 	 * Gets the execution time history vm reallocation.
-	 * 
-	 * @return the execution time history vm reallocation
+	 *
+	 * @return the execution times of the vm reallocation, in seconds
+	 * @deprecated use {@link #getExecutionTimeHistogramVmReallocation()}, which does not keep every execution time
 	 */
+	@Deprecated
 	public List<Double> getExecutionTimeHistoryVmReallocation() {
 		return executionTimeHistoryVmReallocation;
 	}
 
+	/**
+	 * Gets the histogram of the execution times of the whole optimization.
+	 *
+	 * @return the histogram of the execution times, in nanoseconds
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public LatencyHistogram getExecutionTimeHistogramTotal() {
+		return executionTimeHistogramTotal;
+	}
+
 	/**
 	 * Gets the execution time history total.
-	 * 
-	 * @return the execution time history total
+	 *
+	 * @return the execution times of the whole optimization, in seconds
+	 * @deprecated use {@link #getExecutionTimeHistogramTotal()}, which does not keep every execution time
 	 */
+	@Deprecated
 	public List<Double> getExecutionTimeHistoryTotal() {
 		return executionTimeHistoryTotal;
 	}
@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
@@ -34,6 +35,9 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllocationPolicyMigrationAbstract {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The scheduling interval that defines the periodicity of VM migrations. */
 	private double schedulingInterval;
 
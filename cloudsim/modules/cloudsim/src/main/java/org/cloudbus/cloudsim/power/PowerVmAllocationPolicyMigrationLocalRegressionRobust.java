@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.power;
 
+import java.io.Serial;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Host;
@@ -35,6 +36,9 @@ import org.cloudbus.cloudsim.util.MathUtil;
 public class PowerVmAllocationPolicyMigrationLocalRegressionRobust extends
 		PowerVmAllocationPolicyMigrationLocalRegression {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new PowerVmAllocationPolicyMigrationLocalRegressionRobust.
 	 * 
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serializable;
+
 /**
  * The PowerModel interface needs to be implemented in order to provide a model of power consumption
  * of hosts, depending on utilization of a critical system component, such as CPU.
@@ -27,7 +29,7 @@ package org.cloudbus.cloudsim.power.models;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 2.0
  */
-public interface PowerModel {
+public interface PowerModel extends Serializable {
 	/**
 	 * Gets power consumption of the Power Model, according to the utilization percentage
          * of a critical resource, such as CPU.
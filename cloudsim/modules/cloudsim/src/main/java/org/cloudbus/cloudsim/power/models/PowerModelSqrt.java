@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.io.Serial;
+
 /**
  * Implements a power model where the power consumption is the square root of the resource usage.
  * 
@@ -25,6 +27,10 @@ package org.cloudbus.cloudsim.power.models;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerModelSqrt implements PowerModel {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The max power that can be consumed. */
 	private double maxPower;
 
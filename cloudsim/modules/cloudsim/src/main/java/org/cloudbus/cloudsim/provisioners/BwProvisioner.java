@@ -8,6 +8,9 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.GuestEntity;
 
@@ -24,7 +27,10 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @author Remo Andreoli
  * @since CloudSim Toolkit 1.0
  */
-public abstract class BwProvisioner {
+public abstract class BwProvisioner implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The total bandwidth capacity from the host that the provisioner can allocate to VMs. */
 	private long bw;
@@ -8,10 +8,11 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
-import java.util.HashMap;
+import java.io.Serial;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.util.LongMap;
 
 /**
  * BwProvisionerSimple is an extension of {@link BwProvisioner} which uses a best-effort policy to
@@ -25,9 +26,12 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  */
 public class BwProvisionerSimple extends BwProvisioner {
 
-	/** The BW map, where each key is a VM id and each value
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The BW map, where each key is a VM {@link GuestEntity#getKey() key} and each value
          * is the amount of BW allocated to that VM. */
-	private Map<String, Long> bwTable;
+	private LongMap<Long> bwTable;
 
 	/**
 	 * Instantiates a new bw provisioner simple.
@@ -36,7 +40,7 @@ public class BwProvisionerSimple extends BwProvisioner {
 	 */
 	public BwProvisionerSimple(long bw) {
 		super(bw);
-		setBwTable(new HashMap<>());
+		setBwTableByKey(new LongMap<>());
 	}
 
 	@Override
@@ -45,7 +49,7 @@ public class BwProvisionerSimple extends BwProvisioner {
 
 		if (getAvailableBw() + old_bw >= bw) {
 			setAvailableBw(getAvailableBw() + old_bw - bw);
-			bwTable.put(guest.getUid(), bw);
+			bwTable.put(guest.getKey(), bw);
 			guest.setCurrentAllocatedBw(bw);
 			return true;
 		}
@@ -55,7 +59,7 @@ public class BwProvisionerSimple extends BwProvisioner {
 
 	@Override
 	public long getAllocatedBwForGuest(GuestEntity guest) {
-		Long bw = bwTable.get(guest.getUid());
+		Long bw = bwTable.get(guest.getKey());
 		if (bw != null)
 			return bw;
 		else
@@ -64,7 +68,7 @@ public class BwProvisionerSimple extends BwProvisioner {
 
 	@Override
 	public void deallocateBwForGuest(GuestEntity guest) {
-		Long allocatedBw = bwTable.remove(guest.getUid());
+		Long allocatedBw = bwTable.remove(guest.getKey());
 		if (allocatedBw != null)
 			setAvailableBw(getAvailableBw() + allocatedBw);
 		guest.setCurrentAllocatedBw(0);
@@ -73,7 +77,7 @@ public class BwProvisionerSimple extends BwProvisioner {
 	@Override
 	public void deallocateBwForAllGuests() {
 		super.deallocateBwForAllGuests();
-		getBwTable().clear();
+		getBwTableByKey().clear();
 	}
 
 	@Override
@@ -87,22 +91,47 @@ public class BwProvisionerSimple extends BwProvisioner {
 		return result;
 	}
 
+	/**
+	 * Gets the map between VMs and allocated bw, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the bw map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected LongMap<Long> getBwTableByKey() {
+		return bwTable;
+	}
+
+	/**
+	 * Sets the map between VMs and allocated bw, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @param bwTable the bw map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void setBwTableByKey(LongMap<Long> bwTable) {
+		this.bwTable = bwTable;
+	}
+
 	/**
 	 * Gets the map between VMs and allocated bw.
 	 * 
 	 * @return the bw map
+	 * @deprecated use {@link #getBwTableByKey()}
 	 */
+	@Deprecated
 	protected Map<String, Long> getBwTable() {
-		return bwTable;
+		return bwTable.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
 	}
 
 	/**
 	 * Sets the map between VMs and allocated bw.
 	 * 
 	 * @param bwTable the bw map
+	 * @deprecated use {@link #setBwTableByKey(LongMap)}
 	 */
+	@Deprecated
 	protected void setBwTable(Map<String, Long> bwTable) {
-		this.bwTable = bwTable;
+		setBwTableByKey(new LongMap<>());
+		getBwTable().putAll(bwTable);
 	}
 
 }
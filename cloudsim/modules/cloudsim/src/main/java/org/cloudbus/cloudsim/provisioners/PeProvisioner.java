@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.List;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
 
@@ -27,7 +29,10 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 2.0
  */
-public abstract class PeProvisioner {
+public abstract class PeProvisioner implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The total mips capacity of the PE that the provisioner can allocate to VMs. */
 	private double mips;
@@ -66,17 +71,34 @@ public abstract class PeProvisioner {
 
 	/**
 	 * Allocates a new virtual PE with a specific capacity for a given VM id.
-	 * 
+	 *
 	 * @param vmUid the virtual machine for which the new virtual PE is being allocated
 	 * @param mips the mips to be allocated to the virtual PE of the given VM
-	 * 
+	 *
 	 * @return $true if the virtual PE could be allocated; $false otherwise
 	 * @pre $none
 	 * @post $none
          * @see #allocateMipsForGuest(GuestEntity, double)
+	 * @deprecated use {@link #allocateMipsForGuest(long, double)}
 	 */
+	@Deprecated
 	public abstract boolean allocateMipsForGuest(String vmUid, double mips);
 
+	/**
+	 * Allocates a new virtual PE with a specific capacity for a given guest key.
+	 * The default implementation delegates to {@link #allocateMipsForGuest(String, double)},
+	 * for the provisioners that only implement it.
+	 *
+	 * @param key the key of the guest for which the new virtual PE is being allocated
+	 * @param mips the mips to be allocated to the virtual PE of the given guest
+	 * @return $true if the virtual PE could be allocated; $false otherwise
+	 * @see GuestEntity#getKey()
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public boolean allocateMipsForGuest(long key, double mips) {
+		return allocateMipsForGuest(GuestEntity.getUid(key), mips);
+	}
+
 	@Deprecated
 	public boolean allocateMipsForVm(String vmUid, double mips) { return allocateMipsForGuest(vmUid, mips);}
 
@@ -147,6 +169,37 @@ public abstract class PeProvisioner {
 	 */
 	public abstract void deallocateMipsForGuest(GuestEntity guest);
 
+	/**
+	 * Releases all virtual PEs allocated to a given VM id.
+	 * The default implementation throws an {@link UnsupportedOperationException}: the provisioners
+	 * that allocate by VM id must override it or {@link #deallocateMipsForGuest(long)}.
+	 *
+	 * @param vmUid the vm
+	 * @see #deallocateMipsForGuest(GuestEntity)
+	 * @deprecated use {@link #deallocateMipsForGuest(long)}
+	 * @since CloudSim Toolkit 7.0
+	 */
+	@Deprecated
+	public void deallocateMipsForGuest(String vmUid) {
+		throw new UnsupportedOperationException(getClass().getName()
+				+ " does not release the virtual PEs of a guest by id: override deallocateMipsForGuest(long)");
+	}
+
+	/**
+	 * Releases all virtual PEs allocated to a given guest key, for the guest schedulers that
+	 * only know the guests by key.
+	 * The default implementation delegates to {@link #deallocateMipsForGuest(String)},
+	 * for the provisioners that only implement it. The {@link org.cloudbus.cloudsim.VmSchedulerTimeShared}
+	 * does not call it on the provisioners that do not override it, and releases all the guests instead.
+	 *
+	 * @param key the key of the guest
+	 * @see GuestEntity#getKey()
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public void deallocateMipsForGuest(long key) {
+		deallocateMipsForGuest(GuestEntity.getUid(key));
+	}
+
 	@Deprecated
 	public void deallocateMipsForVm(Vm vm) { deallocateMipsForGuest(vm);}
 
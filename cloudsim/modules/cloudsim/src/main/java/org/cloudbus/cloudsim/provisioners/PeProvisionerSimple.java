@@ -8,12 +8,14 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.Serial;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Map;
 
+import org.cloudbus.cloudsim.MipsShare;
 import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.util.LongMap;
 
 /**
  * PeProvisionerSimple is an extension of {@link PeProvisioner} which uses a best-effort policy to
@@ -26,9 +28,15 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  */
 public class PeProvisionerSimple extends PeProvisioner {
 
-	/** The PE map, where each key is a VM id and each value
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The PE map, where each key is a VM {@link GuestEntity#getKey() key} and each value
          * is the list of in terms of their allocated amount of MIPS to that VM. */
-	private Map<String, List<Double>> peTable;
+	private LongMap<List<Double>> peTable;
+
+	/** The MIPS shares of the deallocated VMs, reused by the next allocations. */
+	private final ArrayDeque<MipsShare> spareShares = new ArrayDeque<>();
 
 	/**
 	 * Instantiates a new pe provisioner simple.
@@ -40,23 +48,38 @@ public class PeProvisionerSimple extends PeProvisioner {
 	 */
 	public PeProvisionerSimple(double availableMips) {
 		super(availableMips);
-		setPeTable(new HashMap<String, ArrayList<Double>>());
+		setPeTableByKey(new LongMap<>());
 	}
 
 	@Override
 	public boolean allocateMipsForGuest(GuestEntity guest, double mips) {
-		return allocateMipsForGuest(guest.getUid(), mips);
+		return allocateMipsForGuest(guest.getKey(), mips);
 	}
 
+	@Deprecated
 	@Override
 	public boolean allocateMipsForGuest(String vmUid, double mips) {
+		return allocateMipsForGuest(GuestEntity.getKey(vmUid), mips);
+	}
+
+	@Override
+	public boolean allocateMipsForGuest(long key, double mips) {
 		if (getAvailableMips() < mips) {
 			return false;
 		}
 
-        List<Double> allocatedMips = getPeTable().computeIfAbsent(vmUid, k -> new ArrayList<>());
+		List<Double> allocatedMips = getPeTableByKey().get(key);
+		if (allocatedMips == null) {
+			MipsShare share = spareShares.poll();
+			allocatedMips = share != null ? share : new MipsShare();
+			getPeTableByKey().put(key, allocatedMips);
+		}
 
-        allocatedMips.add(mips);
+		if (allocatedMips instanceof MipsShare share) {
+			share.addMips(mips);
+		} else {
+			allocatedMips.add(mips);
+		}
 		setAvailableMips(getAvailableMips() - mips);
 
 		return true;
@@ -65,8 +88,9 @@ public class PeProvisionerSimple extends PeProvisioner {
 	@Override
 	public boolean allocateMipsForGuest(GuestEntity guest, List<Double> mips) {
 		deallocateMipsForGuest(guest);
-		for (double _mips : mips) {
-			if (!allocateMipsForGuest(guest.getUid(), _mips)) {
+		MipsShare share = MipsShare.of(mips);
+		for (int i = 0; i < share.size(); i++) {
+			if (!allocateMipsForGuest(guest.getKey(), share.getMips(i))) {
 				return false;
 			}
 		}
@@ -77,7 +101,10 @@ public class PeProvisionerSimple extends PeProvisioner {
 	@Override
 	public void deallocateMipsForAllGuests() {
 		super.deallocateMipsForAllGuests();
-		getPeTable().clear();
+		for (List<Double> allocatedMips : getPeTableByKey().values()) {
+			releaseMipsShare(allocatedMips);
+		}
+		getPeTableByKey().clear();
 	}
 
 	@Override
@@ -91,10 +118,7 @@ public class PeProvisionerSimple extends PeProvisioner {
 
 	@Override
 	public List<Double> getAllocatedMipsForGuest(GuestEntity guest) {
-		if (getPeTable().containsKey(guest.getUid())) {
-			return getPeTable().get(guest.getUid());
-		}
-		return null;
+		return getPeTableByKey().get(guest.getKey());
 	}
 
 	@Override
@@ -102,43 +126,92 @@ public class PeProvisionerSimple extends PeProvisioner {
 		List<Double> allocatedMips = getAllocatedMipsForGuest(guest);
 
 		if (allocatedMips != null) {
-			double totalAllocatedMips = 0.0;
-			for (double mips : allocatedMips) {
-				totalAllocatedMips += mips;
-			}
-			return totalAllocatedMips;
+			return MipsShare.totalOf(allocatedMips);
 		}
 		return 0;
 	}
 
 	@Override
 	public void deallocateMipsForGuest(GuestEntity guest) {
-		List<Double> allocatedMips = getAllocatedMipsForGuest(guest);
+		deallocateMipsForGuest(guest.getKey());
+	}
+
+	@Deprecated
+	@Override
+	public void deallocateMipsForGuest(String vmUid) {
+		deallocateMipsForGuest(GuestEntity.getKey(vmUid));
+	}
+
+	@Override
+	public void deallocateMipsForGuest(long key) {
+		List<Double> allocatedMips = getPeTableByKey().remove(key);
 
 		if (allocatedMips != null) {
-			for (double mips : allocatedMips) {
-				setAvailableMips(getAvailableMips() + mips);
+			if (getPeTableByKey().isEmpty()) {
+				// no rounding errors left over once the PE is free
+				setAvailableMips(getMips());
+			} else {
+				MipsShare share = MipsShare.of(allocatedMips);
+				for (int i = 0; i < share.size(); i++) {
+					setAvailableMips(getAvailableMips() + share.getMips(i));
+				}
 			}
-			getPeTable().remove(guest.getUid());
+			releaseMipsShare(allocatedMips);
 		}
 	}
 
+	/**
+	 * Keeps the MIPS share of a deallocated VM for the next allocation.
+	 *
+	 * @param allocatedMips the MIPS share
+	 */
+	private void releaseMipsShare(List<Double> allocatedMips) {
+		if (allocatedMips instanceof MipsShare share) {
+			share.clear();
+			spareShares.push(share);
+		}
+	}
+
+	/**
+	 * Gets the pe map, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the pe map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected LongMap<List<Double>> getPeTableByKey() {
+		return peTable;
+	}
+
+	/**
+	 * Sets the pe map, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @param peTable the peTable to set
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void setPeTableByKey(LongMap<List<Double>> peTable) {
+		this.peTable = peTable;
+	}
+
 	/**
 	 * Gets the pe map.
 	 * 
 	 * @return the pe map
+	 * @deprecated use {@link #getPeTableByKey()}
 	 */
+	@Deprecated
 	protected Map<String, List<Double>> getPeTable() {
-		return peTable;
+		return peTable.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
 	}
 
 	/**
 	 * Sets the pe map.
 	 * 
 	 * @param peTable the peTable to set
+	 * @deprecated use {@link #setPeTableByKey(LongMap)}
 	 */
-	@SuppressWarnings("unchecked")
+	@Deprecated
 	protected void setPeTable(Map<String, ? extends List<Double>> peTable) {
-		this.peTable = (Map<String, List<Double>>) peTable;
+		setPeTableByKey(new LongMap<>());
+		getPeTable().putAll(peTable);
 	}
 }
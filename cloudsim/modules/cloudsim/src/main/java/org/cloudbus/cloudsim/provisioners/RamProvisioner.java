@@ -8,6 +8,9 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.GuestEntity;
 
@@ -22,7 +25,10 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public abstract class RamProvisioner {
+public abstract class RamProvisioner implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
 
 	/** The total ram capacity from the host that the provisioner can allocate to VMs. */
 	private int ram;
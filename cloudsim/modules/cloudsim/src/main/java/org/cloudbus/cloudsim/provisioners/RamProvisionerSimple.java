@@ -8,11 +8,12 @@
 
 package org.cloudbus.cloudsim.provisioners;
 
-import java.util.HashMap;
+import java.io.Serial;
 import java.util.List;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.core.GuestEntity;
+import org.cloudbus.cloudsim.util.LongMap;
 
 /**
  * RamProvisionerSimple is an extension of {@link RamProvisioner} which uses a best-effort policy to
@@ -25,9 +26,12 @@ import org.cloudbus.cloudsim.core.GuestEntity;
  */
 public class RamProvisionerSimple extends RamProvisioner {
 
-	/** The RAM map, where each key is a VM id and each value
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The RAM map, where each key is a VM {@link GuestEntity#getKey() key} and each value
          * is the amount of RAM allocated to that VM. */
-	private Map<String, Integer> ramTable;
+	private LongMap<Integer> ramTable;
 
 	/**
 	 * Instantiates a new ram provisioner simple.
@@ -36,7 +40,7 @@ public class RamProvisionerSimple extends RamProvisioner {
 	 */
 	public RamProvisionerSimple(int availableRam) {
 		super(availableRam);
-		setRamTable(new HashMap<>());
+		setRamTableByKey(new LongMap<>());
 	}
 
 	@Override
@@ -53,7 +57,7 @@ public class RamProvisionerSimple extends RamProvisioner {
 
 		if (getAvailableRam() >= ram) {
 			setAvailableRam(getAvailableRam() - ram);
-			getRamTable().put(guest.getUid(), ram);
+			getRamTableByKey().put(guest.getKey(), ram);
 			guest.setCurrentAllocatedRam(getAllocatedRamForGuest(guest));
 			return true;
 		}
@@ -65,17 +69,15 @@ public class RamProvisionerSimple extends RamProvisioner {
 
 	@Override
 	public int getAllocatedRamForGuest(GuestEntity guest) {
-		if (getRamTable().containsKey(guest.getUid())) {
-			return getRamTable().get(guest.getUid());
-		}
-		return 0;
+		Integer ram = getRamTableByKey().get(guest.getKey());
+		return ram == null ? 0 : ram;
 	}
 
 	@Override
 	public void deallocateRamForGuest(GuestEntity guest) {
 		int allocatedRam = getAllocatedRamForGuest(guest);
 		if (allocatedRam > 0) {
-			int amountFreed = getRamTable().remove(guest.getUid());
+			int amountFreed = getRamTableByKey().remove(guest.getKey());
 			setAvailableRam(getAvailableRam() + amountFreed);
 			guest.setCurrentAllocatedRam(0);
 		}
@@ -84,7 +86,7 @@ public class RamProvisionerSimple extends RamProvisioner {
 	@Override
 	public void deallocateRamForAllGuests() {
 		super.deallocateRamForAllGuests();
-		getRamTable().clear();
+		getRamTableByKey().clear();
 	}
 
 	@Override
@@ -98,22 +100,47 @@ public class RamProvisionerSimple extends RamProvisioner {
 		return result;
 	}
 
+	/**
+	 * Gets the map between VMs and allocated ram, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @return the ram map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected LongMap<Integer> getRamTableByKey() {
+		return ramTable;
+	}
+
+	/**
+	 * Sets the map between VMs and allocated ram, by VM {@link GuestEntity#getKey() key}.
+	 *
+	 * @param ramTable the ram map
+	 * @since CloudSim Toolkit 7.0
+	 */
+	protected void setRamTableByKey(LongMap<Integer> ramTable) {
+		this.ramTable = ramTable;
+	}
+
 	/**
 	 * Gets the map between VMs and allocated ram.
 	 * 
 	 * @return the ram map
+	 * @deprecated use {@link #getRamTableByKey()}
 	 */
+	@Deprecated
 	protected Map<String, Integer> getRamTable() {
-		return ramTable;
+		return ramTable.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
 	}
 
 	/**
 	 * Sets the map between VMs and allocated ram.
 	 * 
 	 * @param ramTable the ram map
+	 * @deprecated use {@link #setRamTableByKey(LongMap)}
 	 */
+	@Deprecated
 	protected void setRamTable(Map<String, Integer> ramTable) {
-		this.ramTable = ramTable;
+		setRamTableByKey(new LongMap<>());
+		getRamTable().putAll(ramTable);
 	}
 
 }
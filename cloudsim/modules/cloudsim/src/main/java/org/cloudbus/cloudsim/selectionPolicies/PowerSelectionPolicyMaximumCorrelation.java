@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.selectionPolicies;
 
+import java.io.Serial;
 import java.util.ArrayDeque;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,6 +38,9 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class PowerSelectionPolicyMaximumCorrelation implements SelectionPolicy<PowerGuestEntity> {
 
+	@Serial
+	private static final long serialVersionUID = 1L;
+
 	/** The fallback VM selection policy to be used when
          * the  Maximum Correlation policy doesn't have data to be computed. */
 	private SelectionPolicy<PowerGuestEntity> fallbackPolicy;
@@ -14,6 +14,7 @@ import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.core.PowerGuestEntity;
 import org.cloudbus.cloudsim.power.PowerHost;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,6 +25,9 @@ import java.util.stream.Collectors;
  */
 public class PowerSelectionPolicyMaximumCorrelation2 implements SelectionPolicy<PowerGuestEntity> {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
 
     /**
      * The fallback policy.
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.container.utils.Correlation;
 import org.cloudbus.cloudsim.core.*;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -23,6 +24,9 @@ import java.util.stream.Collectors;
  */
 public class PowerSelectionPolicyMinimumCorrelation implements SelectionPolicy<PowerHostEntity> {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private SelectionPolicy<PowerHostEntity> fallbackPolicy;
 
     public PowerSelectionPolicyMinimumCorrelation(final SelectionPolicy<PowerHostEntity> fallbackPolicy) {
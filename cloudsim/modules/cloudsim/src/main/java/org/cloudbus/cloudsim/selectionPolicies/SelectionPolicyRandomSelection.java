@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.selectionPolicies;
 import org.cloudbus.cloudsim.container.utils.RandomGen;
 import org.cloudbus.cloudsim.Log;
 
+import java.io.Serial;
 import java.util.List;
 import java.util.Set;
 
@@ -20,6 +21,10 @@ import java.util.Set;
  * @since CloudSim toolkit 7.0
  */
 public class SelectionPolicyRandomSelection<CandidateEntity> implements SelectionPolicy<CandidateEntity> {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
     @Override
     public CandidateEntity select(List<CandidateEntity> candidates, Object obj, Set<CandidateEntity> excludedCandidates) {
         CandidateEntity selectedHost = null;
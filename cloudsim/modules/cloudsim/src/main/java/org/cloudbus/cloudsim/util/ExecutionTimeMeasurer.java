@@ -8,63 +8,220 @@
 
 package org.cloudbus.cloudsim.util;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Measurement of execution times of CloudSim's methods.
- * 
+ * <p>
+ * The times are measured with {@link System#nanoTime()}, by tokens returned by {@link #start()}
+ * or {@link #measure(String)} that are stopped when the measured code is over, e.g. by a
+ * try-with-resources statement:
+ * <pre>
+ * try (ExecutionTimeMeasurer.Measurement m = ExecutionTimeMeasurer.measure("allocation")) {
+ *     ...
+ * }
+ * </pre>
+ * The durations of the named measurements are gathered into a {@link LatencyHistogram} per name,
+ * which has a fixed size whatever the number of measurements. The measurements may overlap and
+ * be made from several threads at once.
+ *
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
  */
 public class ExecutionTimeMeasurer {
 
-	/** A map of execution times where each key
-         * represents the name of the method/process being its
-         * execution time computed and each key is the
-         * time the method/process started (in milliseconds). 
-         * Usually, this name is the method/process name, making
-         * easy to identify the execution times into the map.
-         * 
-         * //@TODO The name of the attribute doesn't match with what it stores.
-         * It in fact stores the method/process start time,
-         * no the time it spent executing.
-         */
-	private final static Map<String, Long> executionTimes = new HashMap<>();
+	/**
+	 * The start times of the measurements begun by {@link #start(String)} on each thread,
+	 * in nanoseconds, by name; a name measured several times at once has a start time per
+	 * measurement, the innermost one first.
+	 */
+	private final static ThreadLocal<Map<String, Deque<Long>>> executionTimes = ThreadLocal.withInitial(HashMap::new);
+
+	/** The durations of the named measurements. */
+	private final static Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * A measurement of the execution time of a method/process, started when it is created.
+	 *
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static final class Measurement implements AutoCloseable {
+
+		/** The name the duration is recorded under, or <tt>null</tt>. */
+		private final String name;
+
+		/** The time the measurement started, in nanoseconds. */
+		private final long start = System.nanoTime();
+
+		/** The duration, in nanoseconds, or -1 until the measurement is stopped. */
+		private long duration = -1;
+
+		private Measurement(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Stops the measurement, and records its duration in the histogram of its name if it has
+		 * one. Stopping it again returns the same duration.
+		 *
+		 * @return the duration, in nanoseconds
+		 */
+		public long stop() {
+			if (duration < 0) {
+				duration = System.nanoTime() - start;
+				if (name != null) {
+					record(name, duration);
+				}
+			}
+			return duration;
+		}
+
+		/**
+		 * Stops the measurement.
+		 *
+		 * @return the duration, in seconds
+		 * @see #stop()
+		 */
+		public double stopSeconds() {
+			return stop() / 1e9;
+		}
+
+		@Override
+		public void close() {
+			stop();
+		}
+	}
+
+	/**
+	 * Starts measuring the execution time of a method/process, without recording it.
+	 *
+	 * @return the measurement
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static Measurement start() {
+		return new Measurement(null);
+	}
+
+	/**
+	 * Starts measuring the execution time of a method/process, which is recorded in the
+	 * histogram of its name once the measurement is stopped.
+	 *
+	 * @param name the name of the method/process being measured
+	 * @return the measurement
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static Measurement measure(String name) {
+		return new Measurement(name);
+	}
 
 	/**
 	 * Start measuring the execution time of a method/process.
          * Usually this method has to be called at the first line of the method
          * that has to be its execution time measured.
-	 * 
+         * The measurement belongs to the calling thread, which has to end it.
+	 *
 	 * @param name the name of the method/process being measured.
-         * @see #executionTimes
+         * @see #measure(String)
 	 */
 	public static void start(String name) {
-		getExecutionTimes().put(name, System.currentTimeMillis());
+		executionTimes.get().computeIfAbsent(name, key -> new ArrayDeque<>()).push(System.nanoTime());
 	}
 
 	/**
-	 * Finalizes measuring the execution time of a method/process.
-	 * 
+	 * Finalizes measuring the execution time of a method/process, i.e. the innermost measurement
+	 * of the name started by the calling thread. The time is also recorded in the histogram of
+	 * the name.
+	 *
 	 * @param name the name of the method/process being measured.
 	 * @return the time the method/process spent in execution (in seconds)
-         * @see #executionTimes
+	 * @throws IllegalStateException if the calling thread has not started measuring the name
 	 */
 	public static double end(String name) {
-		double time = (System.currentTimeMillis() - getExecutionTimes().get(name)) / 1000.0;
-		getExecutionTimes().remove(name);
-		return time;
+		long now = System.nanoTime();
+		Map<String, Deque<Long>> starts = executionTimes.get();
+		Deque<Long> times = starts.get(name);
+		if (times == null) {
+			throw new IllegalStateException("The execution time of " + name + " is not being measured.");
+		}
+		long duration = now - times.pop();
+		if (times.isEmpty()) {
+			starts.remove(name);
+		}
+		record(name, duration);
+		return duration / 1e9;
+	}
+
+	/**
+	 * Records a duration in the histogram of a name.
+	 *
+	 * @param name the name
+	 * @param nanos the duration, in nanoseconds
+	 */
+	private static void record(String name, long nanos) {
+		LatencyHistogram histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+		synchronized (histogram) {
+			histogram.record(nanos);
+		}
+	}
+
+	/**
+	 * Gets the durations recorded for a name.
+	 *
+	 * @param name the name of the method/process
+	 * @return a copy of the histogram of the durations, which is empty if none has been recorded
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static LatencyHistogram getHistogram(String name) {
+		LatencyHistogram histogram = histograms.get(name);
+		if (histogram == null) {
+			return new LatencyHistogram();
+		}
+		synchronized (histogram) {
+			return histogram.copy();
+		}
+	}
+
+	/**
+	 * Gets the durations recorded for all the names.
+	 *
+	 * @return copies of the histograms, by name
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static Map<String, LatencyHistogram> getHistograms() {
+		Map<String, LatencyHistogram> copies = new TreeMap<>();
+		for (String name : histograms.keySet()) {
+			copies.put(name, getHistogram(name));
+		}
+		return copies;
+	}
+
+	/**
+	 * Removes the durations recorded for all the names.
+	 *
+	 * @since CloudSim Toolkit 7.0
+	 */
+	public static void reset() {
+		histograms.clear();
 	}
 
 	/**
-	 * Gets map the execution times.
-	 * 
-	 * @return the execution times map
-         * @see #executionTimes
+	 * Gets the start times of the measurements the calling thread has started with
+	 * {@link #start(String)} and not ended yet.
+	 *
+	 * @return the start time of the innermost measurement of each name (in nanoseconds,
+	 *         as given by {@link System#nanoTime()})
+	 * @deprecated the measurements are kept per thread; use {@link #measure(String)} instead
 	 */
+	@Deprecated
 	public static Map<String, Long> getExecutionTimes() {
-		return executionTimes;
+		Map<String, Long> starts = new HashMap<>();
+		executionTimes.get().forEach((name, times) -> starts.put(name, times.peek()));
+		return starts;
 	}
 
 }
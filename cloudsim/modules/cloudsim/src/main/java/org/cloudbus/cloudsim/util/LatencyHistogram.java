@@ -0,0 +1,183 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A histogram of durations in nanoseconds, with a bucket per power of two. Recording a duration
+ * is a few arithmetic operations and allocates nothing, so it can be done on every event, while
+ * the percentiles are accurate to a factor of two, which is enough to spot the slow operations.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class LatencyHistogram implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** The number of durations in each bucket; bucket <tt>i</tt> holds the durations in [2^(i-1), 2^i). */
+	private final long[] buckets = new long[Long.SIZE + 1];
+
+	/** The number of durations recorded. */
+	private long count;
+
+	/** The sum of the durations. */
+	private long total;
+
+	/** The sum of the squares of the durations, for their standard deviation. */
+	private double totalSquares;
+
+	/** The longest duration. */
+	private long max;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanos the duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		record(nanos, 1);
+	}
+
+	/**
+	 * Records the total duration of several operations, e.g. of a batch of events, as as many
+	 * operations of the mean duration.
+	 *
+	 * @param nanos the total duration in nanoseconds
+	 * @param operations the number of operations
+	 */
+	public void record(long nanos, long operations) {
+		if (operations <= 0) {
+			return;
+		}
+		long each = Math.max(0, nanos) / operations;
+		buckets[Long.SIZE - Long.numberOfLeadingZeros(each)] += operations;
+		count += operations;
+		total += Math.max(0, nanos);
+		totalSquares += (double) each * each * operations;
+		max = Math.max(max, each);
+	}
+
+	/**
+	 * Adds the durations recorded by another histogram to this one.
+	 *
+	 * @param other the other histogram
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] += other.buckets[i];
+		}
+		count += other.count;
+		total += other.total;
+		totalSquares += other.totalSquares;
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Gets the number of durations recorded.
+	 *
+	 * @return the number of durations
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the sum of the durations.
+	 *
+	 * @return the total in nanoseconds
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Gets the mean duration.
+	 *
+	 * @return the mean in nanoseconds, or 0 if no duration has been recorded
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double) total / count;
+	}
+
+	/**
+	 * Gets the sample standard deviation of the durations.
+	 *
+	 * @return the standard deviation in nanoseconds, or 0 if less than two durations have been recorded
+	 */
+	public double getStandardDeviation() {
+		if (count < 2) {
+			return 0;
+		}
+		double mean = getMean();
+		return Math.sqrt(Math.max(0, (totalSquares - mean * mean * count) / (count - 1)));
+	}
+
+	/**
+	 * Gets the longest duration.
+	 *
+	 * @return the longest duration in nanoseconds
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * Gets an upper bound of a percentile of the durations, i.e. the upper bound of the bucket
+	 * that holds the percentile, which is at most twice the actual value.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the upper bound in nanoseconds, or 0 if no duration has been recorded
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile / 100 * count);
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= Math.max(1, rank)) {
+				return Math.min(max, i == 0 ? 0 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Removes all the durations.
+	 */
+	public void clear() {
+		Arrays.fill(buckets, 0);
+		count = 0;
+		total = 0;
+		totalSquares = 0;
+		max = 0;
+	}
+
+	/**
+	 * Gets a copy of this histogram.
+	 *
+	 * @return the copy
+	 */
+	public LatencyHistogram copy() {
+		LatencyHistogram copy = new LatencyHistogram();
+		copy.add(this);
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count=%d mean=%.0fns p50=%dns p99=%dns max=%dns", count, getMean(),
+				getPercentile(50), getPercentile(99), max);
+	}
+}
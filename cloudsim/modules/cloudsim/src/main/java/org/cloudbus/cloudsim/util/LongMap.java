@@ -0,0 +1,597 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A map from <tt>long</tt> keys to objects, such as the hosts of the guests by
+ * {@link org.cloudbus.cloudsim.core.GuestEntity#getKey() guest key}. The keys are neither boxed nor
+ * hashed as objects: the entries are stored in arrays, in insertion order, and found through an
+ * open-addressing table with linear probing. The values may be <tt>null</tt>.
+ * <p>
+ * The entries are iterated in insertion order, so that the simulations that iterate over such
+ * maps are deterministic. A removed entry leaves a gap in the arrays until the table is rebuilt.
+ *
+ * @param <V> the type of the values
+ * @since CloudSim Toolkit 7.0
+ */
+public class LongMap<V> implements Serializable {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	/** A free slot of the table, which ends the probing. */
+	private static final int FREE = 0;
+
+	/** A slot of the table whose entry has been removed, which the probing skips. */
+	private static final int REMOVED = -1;
+
+	/** The smallest length of the table. */
+	private static final int MIN_CAPACITY = 8;
+
+	/**
+	 * An action on the entries of a map.
+	 *
+	 * @param <V> the type of the values
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer<V> {
+		/**
+		 * Performs the action on an entry.
+		 *
+		 * @param key the key
+		 * @param value the value
+		 */
+		void accept(long key, V value);
+	}
+
+	/** The table: for each slot, the position of its entry plus one, or {@link #FREE} or {@link #REMOVED}. */
+	private int[] table = new int[MIN_CAPACITY];
+
+	/** The keys of the entries, in insertion order. */
+	private long[] keys = new long[threshold(MIN_CAPACITY)];
+
+	/** The values of the entries, in insertion order. */
+	private Object[] values = new Object[threshold(MIN_CAPACITY)];
+
+	/** The entries that have been removed. */
+	private final BitSet removed = new BitSet();
+
+	/** The number of entries stored, including the removed ones. */
+	private int end;
+
+	/** The number of entries. */
+	private int size;
+
+	/**
+	 * Gets the number of entries that can be stored before the table is rebuilt, so that at least
+	 * a quarter of its slots are free.
+	 */
+	private static int threshold(int capacity) {
+		return capacity - (capacity >> 2);
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Finds the slot of a key.
+	 *
+	 * @param key the key
+	 * @return the slot of its entry if it is in the map, or else the free slot where it would be stored
+	 */
+	private int slot(long key) {
+		int mask = table.length - 1;
+		int s = hash(key) & mask;
+		for (int t = table[s]; t != FREE; t = table[s]) {
+			if (t > 0 && keys[t - 1] == key) {
+				return s;
+			}
+			s = (s + 1) & mask;
+		}
+		return s;
+	}
+
+	/**
+	 * Gets the position of the entry of a key.
+	 *
+	 * @param key the key
+	 * @return the position, or -1 if the key is not in the map
+	 */
+	private int indexOf(long key) {
+		return table[slot(key)] - 1;
+	}
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether the map is empty.
+	 *
+	 * @return true if the map has no entry
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Checks whether the map has an entry for a key.
+	 *
+	 * @param key the key
+	 * @return true if the key is in the map
+	 */
+	public boolean containsKey(long key) {
+		return indexOf(key) >= 0;
+	}
+
+	/**
+	 * Gets the value of a key.
+	 *
+	 * @param key the key
+	 * @return the value, or <tt>null</tt> if the key is not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int i = indexOf(key);
+		return i < 0 ? null : (V) values[i];
+	}
+
+	/**
+	 * Sets the value of a key.
+	 *
+	 * @param key the key
+	 * @param value the value
+	 * @return the previous value of the key, or <tt>null</tt> if it was not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		int s = slot(key);
+		int i = table[s] - 1;
+		if (i >= 0) {
+			V previous = (V) values[i];
+			values[i] = value;
+			return previous;
+		}
+		if (end == keys.length) {
+			rebuild(size + 1);
+			s = slot(key);
+		}
+		table[s] = end + 1;
+		keys[end] = key;
+		values[end] = value;
+		end++;
+		size++;
+		return null;
+	}
+
+	/**
+	 * Gets the value of a key, which is first computed and stored if the key is not in the map.
+	 *
+	 * @param key the key
+	 * @param function the function that computes the value of the key
+	 * @return the value
+	 */
+	public V computeIfAbsent(long key, LongFunction<? extends V> function) {
+		V value = get(key);
+		if (value == null) {
+			value = function.apply(key);
+			if (value != null) {
+				put(key, value);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Removes the entry of a key.
+	 *
+	 * @param key the key
+	 * @return the value of the key, or <tt>null</tt> if it was not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int s = slot(key);
+		int i = table[s] - 1;
+		if (i < 0) {
+			return null;
+		}
+		V previous = (V) values[i];
+		removeAt(s, i);
+		return previous;
+	}
+
+	private void removeAt(int s, int i) {
+		table[s] = REMOVED;
+		values[i] = null;
+		removed.set(i);
+		size--;
+		if (size == 0) {
+			clear();
+		}
+	}
+
+	/**
+	 * Removes all the entries.
+	 */
+	public void clear() {
+		if (end > 0) {
+			Arrays.fill(table, FREE);
+			Arrays.fill(values, 0, end, null);
+			removed.clear();
+			end = 0;
+			size = 0;
+		}
+	}
+
+	/**
+	 * Stores the entries contiguously, in a table large enough for the given number of entries.
+	 *
+	 * @param entries the number of entries to make room for
+	 */
+	private void rebuild(int entries) {
+		int capacity = table.length;
+		while (threshold(capacity) < 2 * entries && capacity < 1 << 30) {
+			capacity <<= 1;
+		}
+		while (capacity > MIN_CAPACITY && threshold(capacity >> 1) >= 4 * entries) {
+			capacity >>= 1;
+		}
+		long[] newKeys = new long[threshold(capacity)];
+		Object[] newValues = new Object[threshold(capacity)];
+		int n = 0;
+		for (int i = 0; i < end; i++) {
+			if (!removed.get(i)) {
+				newKeys[n] = keys[i];
+				newValues[n] = values[i];
+				n++;
+			}
+		}
+		table = new int[capacity];
+		keys = newKeys;
+		values = newValues;
+		removed.clear();
+		end = n;
+		int mask = capacity - 1;
+		for (int i = 0; i < n; i++) {
+			int s = hash(keys[i]) & mask;
+			while (table[s] != FREE) {
+				s = (s + 1) & mask;
+			}
+			table[s] = i + 1;
+		}
+	}
+
+	/**
+	 * Performs an action on every entry, in insertion order. The action must not add entries.
+	 *
+	 * @param action the action
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(EntryConsumer<? super V> action) {
+		for (int i = 0; i < end; i++) {
+			if (!removed.get(i)) {
+				action.accept(keys[i], (V) values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Gets the keys, in insertion order.
+	 *
+	 * @return a new array of the keys
+	 */
+	public long[] keys() {
+		long[] result = new long[size];
+		int n = 0;
+		for (int i = 0; i < end; i++) {
+			if (!removed.get(i)) {
+				result[n++] = keys[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the values, in insertion order. The collection is backed by the map.
+	 *
+	 * @return the values
+	 */
+	public Collection<V> values() {
+		return new AbstractCollection<>() {
+			@Override
+			public Iterator<V> iterator() {
+				return new EntryIterator<>(e -> values[e]);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Gets a view of this map with keys of another type, e.g. the string uids of the guests
+	 * for the deprecated methods that expose them.
+	 *
+	 * @param type the type of the keys of the view
+	 * @param toKey the function that gives the key of this map for a key of the view
+	 * @param fromKey the function that gives the key of the view for a key of this map
+	 * @return the view, which writes through to this map
+	 */
+	public <K> Map<K, V> asMap(Class<K> type, ToLongFunction<? super K> toKey, LongFunction<? extends K> fromKey) {
+		return new AbstractMap<>() {
+			@Override
+			public Set<Entry<K, V>> entrySet() {
+				return new AbstractSet<>() {
+					@Override
+					public Iterator<Entry<K, V>> iterator() {
+						return new EntryIterator<>(e -> new ViewEntry<K>(fromKey.apply(keys[e]), e));
+					}
+
+					@Override
+					public int size() {
+						return size;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return type.isInstance(key) && LongMap.this.containsKey(toKey.applyAsLong(type.cast(key)));
+			}
+
+			@Override
+			public V get(Object key) {
+				return type.isInstance(key) ? LongMap.this.get(toKey.applyAsLong(type.cast(key))) : null;
+			}
+
+			@Override
+			public V put(K key, V value) {
+				return LongMap.this.put(toKey.applyAsLong(key), value);
+			}
+
+			@Override
+			public V remove(Object key) {
+				return type.isInstance(key) ? LongMap.this.remove(toKey.applyAsLong(type.cast(key))) : null;
+			}
+
+			@Override
+			public void clear() {
+				LongMap.this.clear();
+			}
+		};
+	}
+
+	/**
+	 * Gets a view of the keys of this map as a list of keys of another type, e.g. the string uids
+	 * of the guests for the deprecated methods that expose them. Adding a key to the list adds it
+	 * to the map with a <tt>null</tt> value, unless it is already there.
+	 *
+	 * @param type the type of the keys of the view
+	 * @param toKey the function that gives the key of this map for a key of the view
+	 * @param fromKey the function that gives the key of the view for a key of this map
+	 * @return the view, which writes through to this map
+	 */
+	public <K> List<K> asKeyList(Class<K> type, ToLongFunction<? super K> toKey, LongFunction<? extends K> fromKey) {
+		return new AbstractList<>() {
+			@Override
+			public K get(int index) {
+				return fromKey.apply(keyAt(index));
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object key) {
+				return type.isInstance(key) && containsKey(toKey.applyAsLong(type.cast(key)));
+			}
+
+			@Override
+			public boolean add(K key) {
+				long k = toKey.applyAsLong(key);
+				if (containsKey(k)) {
+					return false;
+				}
+				put(k, null);
+				return true;
+			}
+
+			@Override
+			public K remove(int index) {
+				long k = keyAt(index);
+				LongMap.this.remove(k);
+				return fromKey.apply(k);
+			}
+
+			@Override
+			public boolean remove(Object key) {
+				if (!contains(key)) {
+					return false;
+				}
+				LongMap.this.remove(toKey.applyAsLong(type.cast(key)));
+				return true;
+			}
+
+			@Override
+			public void clear() {
+				LongMap.this.clear();
+			}
+		};
+	}
+
+	/**
+	 * Gets the key of an entry by its position among the entries.
+	 *
+	 * @param index the position
+	 * @return the key
+	 */
+	private long keyAt(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		if (end > size) {
+			rebuild(size);
+		}
+		return keys[index];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder text = new StringBuilder("{");
+		forEach((key, value) -> text.append(text.length() > 1 ? ", " : "").append(key).append('=').append(value));
+		return text.append('}').toString();
+	}
+
+	/**
+	 * An entry of a view of this map, whose value is the one of the map.
+	 *
+	 * @param <K> the type of the keys of the view
+	 */
+	private final class ViewEntry<K> implements Map.Entry<K, V> {
+
+		/** The key in the view. */
+		private final K key;
+
+		/** The position of the entry. */
+		private final int index;
+
+		ViewEntry(K key, int index) {
+			this.key = key;
+			this.index = index;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return (V) values[index];
+		}
+
+		@Override
+		public V setValue(V value) {
+			V previous = getValue();
+			values[index] = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey())
+					&& Objects.equals(getValue(), e.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+
+	/**
+	 * Iterates over the entries, in insertion order.
+	 *
+	 * @param <T> the type of the elements
+	 */
+	private final class EntryIterator<T> implements Iterator<T> {
+
+		/** The function that gives the element of an entry, by position. */
+		private final IntFunction<?> element;
+
+		/** The position of the next entry. */
+		private int next;
+
+		/** The position of the last returned entry, or -1. */
+		private int last = -1;
+
+		EntryIterator(IntFunction<?> element) {
+			this.element = element;
+			next = skip(0);
+		}
+
+		private int skip(int i) {
+			while (i < end && removed.get(i)) {
+				i++;
+			}
+			return i;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < end;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (next >= end) {
+				throw new NoSuchElementException();
+			}
+			last = next;
+			next = skip(next + 1);
+			return (T) element.apply(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			int s = slot(keys[last]);
+			boolean emptied = size == 1;
+			removeAt(s, last);
+			if (emptied) {
+				next = 0;
+			}
+			last = -1;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+/**
+ * Tells whether the subclasses of a class override one of its methods.
+ * <p>
+ * A class that gives a method a faster variant uses it to call the subclasses that only override
+ * the older method, instead of bypassing them. The answer is computed once per subclass.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public final class MethodOverride {
+
+	/** The class declaring the method. */
+	private final Class<?> base;
+
+	/** The name of the method. */
+	private final String name;
+
+	/** The types of the parameters of the method. */
+	private final Class<?>[] parameterTypes;
+
+	/** Whether each subclass overrides the method. */
+	private final ClassValue<Boolean> overridden = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> c = type; c != null && c != base; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod(name, parameterTypes);
+					return true;
+				} catch (NoSuchMethodException e) {
+					// not declared here, look in the superclass
+				}
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Creates the check of a method.
+	 *
+	 * @param base the class declaring the method
+	 * @param name the name of the method
+	 * @param parameterTypes the types of the parameters of the method
+	 * @throws IllegalArgumentException if the class does not declare the method
+	 */
+	public MethodOverride(Class<?> base, String name, Class<?>... parameterTypes) {
+		try {
+			base.getDeclaredMethod(name, parameterTypes);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(base.getName() + " does not declare " + name, e);
+		}
+		this.base = base;
+		this.name = name;
+		this.parameterTypes = parameterTypes.clone();
+	}
+
+	/**
+	 * Tells whether a subclass, or one of the classes between it and the base class, overrides the method.
+	 *
+	 * @param type the subclass
+	 * @return true if the method is overridden below the base class
+	 */
+	public boolean isOverriddenBy(Class<?> type) {
+		return overridden.get(type);
+	}
+}
@@ -6,5 +6,20 @@ public enum WebTags implements CloudSimTags {
     TIMER_TAG,
     LOG_TAG,
     SUBMIT_SESSION_TAG,
-    UPDATE_SESSION_TAG,
+    UPDATE_SESSION_TAG;
+
+    /** The dense index of the tag, see {@link #index()}. */
+    private int index;
+
+    static {
+        int first = CloudSimTags.firstIndex(WebTags.class);
+        for (WebTags tag : values()) {
+            tag.index = first + tag.ordinal();
+        }
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
 }
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.EX.util.CustomLog;
 import org.cloudbus.cloudsim.web.*;
 import org.cloudbus.cloudsim.web.workload.IWorkloadGenerator;
 
+import java.io.Serial;
 import java.util.*;
 import java.util.logging.Level;
 
@@ -24,6 +25,10 @@ import java.util.logging.Level;
  * 
  */
 public class WebBroker extends MonitoringBrokerEX {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     private boolean isTimerRunning = false;
     private final double stepPeriod;
     private final Map<Long, ILoadBalancer> appsToLoadBalancers = new HashMap<>();
@@ -0,0 +1,174 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the incremental cloudlet processing of a datacenter completes the same cloudlets at
+ * nearly the same times as the full one, while updating fewer hosts.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class DatacenterTest {
+
+	private static final int HOSTS = 20;
+
+	/** A host that counts and logs its updates. */
+	private static class CountingHost extends Host {
+
+		private int updates;
+
+		private int repeatedUpdates;
+
+		private double lastUpdateTime = -1;
+
+		CountingHost(int id, List<Pe> peList) {
+			super(id, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+					new VmSchedulerTimeShared(peList));
+		}
+
+		@Override
+		public double updateCloudletsProcessing(double currentTime) {
+			updates++;
+			// at the start, every submission updates all the hosts
+			if (currentTime == lastUpdateTime && currentTime >= 0.111) {
+				repeatedUpdates++;
+			}
+			lastUpdateTime = currentTime;
+			Log.printlnConcat(currentTime, ": [Host #", getId(), "] ", getGuestList().size(), " guests");
+			return super.updateCloudletsProcessing(currentTime);
+		}
+	}
+
+	private final List<CountingHost> hosts = new ArrayList<>();
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	/**
+	 * Runs a broker whose VMs are spread over the hosts, with cloudlets of various lengths.
+	 *
+	 * @param incremental whether the datacenter processes its cloudlets incrementally
+	 * @param parallel whether the datacenter updates its hosts in parallel
+	 * @return the received cloudlets, by id
+	 */
+	private List<Cloudlet> run(boolean incremental, boolean parallel) throws Exception {
+		CloudSim.init(1, null, false);
+		hosts.clear();
+		for (int i = 0; i < HOSTS; i++) {
+			List<Pe> peList = new ArrayList<>();
+			peList.add(new Pe(0, new PeProvisionerSimple(1000)));
+			peList.add(new Pe(1, new PeProvisionerSimple(1000)));
+			hosts.add(new CountingHost(i, peList));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+				"x86", "Linux", "Xen", hosts, 10.0, 3.0, 0.05, 0.001, 0.0);
+		Datacenter datacenter = new Datacenter("Datacenter_0", characteristics,
+				new VmAllocationPolicySimple(hosts), new LinkedList<Storage>(), 0);
+		datacenter.setIncrementalProcessing(incremental);
+		datacenter.setParallelProcessing(parallel);
+
+		DatacenterBroker broker = new DatacenterBroker("Broker_0");
+		List<Vm> vms = new ArrayList<>();
+		for (int v = 0; v < HOSTS; v++) {
+			vms.add(new Vm(v, broker.getId(), 1000, 2, 256, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+		}
+		List<Cloudlet> cloudlets = new ArrayList<>();
+		for (int c = 0; c < 3 * HOSTS; c++) {
+			Cloudlet cloudlet = new Cloudlet(c, 10000 + 7919L * c, 1, 300, 300,
+					new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitGuestList(vms);
+		broker.submitCloudletList(cloudlets);
+
+		CloudSim.startSimulation();
+		CloudSim.stopSimulation();
+
+		List<Cloudlet> received = new ArrayList<>(broker.getCloudletReceivedList());
+		received.sort(Comparator.comparingInt(Cloudlet::getCloudletId));
+		return received;
+	}
+
+	private int updates() {
+		return hosts.stream().mapToInt(host -> host.updates).sum();
+	}
+
+	@Test
+	public void testIncrementalProcessing() throws Exception {
+		List<Cloudlet> expected = run(false, false);
+		int fullUpdates = updates();
+		List<Cloudlet> actual = run(true, false);
+		int incrementalUpdates = updates();
+
+		assertEquals(3 * HOSTS, expected.size());
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Cloudlet e = expected.get(i);
+			Cloudlet a = actual.get(i);
+			assertEquals(e.getCloudletId(), a.getCloudletId());
+			assertEquals(Cloudlet.CloudletStatus.SUCCESS, a.getStatus());
+			assertEquals(e.getGuestId(), a.getGuestId());
+			assertEquals(e.getExecStartTime(), a.getExecStartTime(), 1e-9);
+			assertEquals(e.getExecFinishTime(), a.getExecFinishTime(), 0.1);
+		}
+		assertTrue(incrementalUpdates < fullUpdates / 4,
+				incrementalUpdates + " incremental host updates for " + fullUpdates + " full ones");
+		// once started, no host is updated twice at the same time, which would repeat its state history
+		assertEquals(0, hosts.stream().mapToInt(host -> host.repeatedUpdates).sum());
+	}
+
+	private String runLogged(boolean incremental, boolean parallel) throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Log.setOutput(output);
+		Log.enable();
+		try {
+			List<String> results = new ArrayList<>();
+			for (Cloudlet cloudlet : run(incremental, parallel)) {
+				results.add(cloudlet.getCloudletId() + " " + cloudlet.getGuestId() + " "
+						+ cloudlet.getExecStartTime() + " " + cloudlet.getExecFinishTime());
+			}
+			return String.join("\n", results) + "\n" + output;
+		} finally {
+			Log.setOutput(System.out);
+			Log.disable();
+		}
+	}
+
+	@Test
+	public void testParallelProcessing() throws Exception {
+		// the same cloudlets, and the messages of the hosts in the same order
+		assertEquals(runLogged(false, false), runLogged(false, true));
+		assertEquals(runLogged(true, false), runLogged(true, true));
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class MipsShareTest {
+
+	@Test
+	public void testPrimitiveAccess() {
+		MipsShare share = new MipsShare(250, 3);
+		share.addMips(0);
+		share.setMips(1, 100);
+		assertEquals(4, share.size());
+		assertEquals(600, share.getTotalMips(), 0);
+		assertArrayEquals(new double[] {250, 100, 250, 0}, share.toDoubleArray(), 0);
+
+		share.removeNonPositive();
+		assertArrayEquals(new double[] {250, 100, 250}, share.toDoubleArray(), 0);
+		assertThrows(IndexOutOfBoundsException.class, () -> share.getMips(3));
+	}
+
+	@Test
+	public void testEqualsList() {
+		List<Double> list = new ArrayList<>(List.of(1.0, 2.0, 3.0));
+		MipsShare share = new MipsShare(list);
+		assertEquals(list, share);
+		assertEquals(list.hashCode(), share.hashCode());
+
+		share.add(1, 5.0);
+		share.remove(0);
+		share.addAll(list);
+		assertEquals(List.of(5.0, 2.0, 3.0, 1.0, 2.0, 3.0), share);
+		share.removeIf(mips -> mips > 2);
+		assertEquals(List.of(2.0, 1.0, 2.0), share);
+	}
+
+	@Test
+	public void testReuse() {
+		MipsShare share = new MipsShare();
+		share.setMips(List.of(1.0, 2.0));
+		assertEquals(3, share.getTotalMips(), 0);
+		share.setMips(share);
+		assertEquals(List.of(1.0, 2.0), share);
+		share.setMips(new MipsShare(7, 1));
+		assertEquals(List.of(7.0), share);
+		share.fillMips(4, 3);
+		assertEquals(List.of(4.0, 4.0, 4.0), share);
+		share.fillMips(5, 1);
+		assertEquals(List.of(5.0), share);
+
+		assertSame(share, MipsShare.of(share));
+		assertEquals(6, MipsShare.totalOf(List.of(1.0, 2.0, 3.0)), 0);
+	}
+
+	@Test
+	public void testCurrentMipsShareIsCopied() {
+		CloudletScheduler scheduler = new CloudletSchedulerTimeShared();
+		List<Double> mipsShare = new ArrayList<>(List.of(500.0, 0.0, 500.0));
+		scheduler.updateCloudletsProcessing(0, mipsShare);
+		assertEquals(List.of(500.0, 0.0, 500.0), mipsShare);
+		assertEquals(List.of(500.0, 500.0), scheduler.getCurrentMipsShare());
+		assertEquals(1000, scheduler.getCurrentRequestedTotalMips(), 0);
+	}
+}
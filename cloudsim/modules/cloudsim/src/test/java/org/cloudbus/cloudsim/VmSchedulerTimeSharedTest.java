@@ -10,9 +10,13 @@ package org.cloudbus.cloudsim;
 
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.cloudbus.cloudsim.core.GuestEntity;
 import org.cloudbus.cloudsim.lists.PeList;
+import org.cloudbus.cloudsim.provisioners.PeProvisioner;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -159,4 +163,128 @@ public class VmSchedulerTimeSharedTest {
 		assertEquals(0, vmScheduler.getTotalAllocatedMipsForGuest(vm2), 0);
 	}
 
+	@Test
+	public void testDeallocatePesForVmKeepsOtherPlacements() {
+		assertTrue(vmScheduler.allocatePesForGuest(vm1, List.of(MIPS * 3 / 4)));
+		assertTrue(vmScheduler.allocatePesForGuest(vm2, List.of(MIPS / 2, MIPS / 2)));
+		assertEquals(List.of(peList.get(0)), vmScheduler.getPesAllocatedForGuest(vm1));
+		assertEquals(List.of(peList.get(0), peList.get(1), peList.get(1)), vmScheduler.getPesAllocatedForGuest(vm2));
+
+		vmScheduler.deallocatePesForGuest(vm1);
+
+		assertNull(vmScheduler.getPesAllocatedForGuest(vm1));
+		assertEquals(List.of(peList.get(0), peList.get(1), peList.get(1)), vmScheduler.getPesAllocatedForGuest(vm2));
+		assertEquals(List.of(MIPS / 4), peList.get(0).getPeProvisioner().getAllocatedMipsForGuest(vm2));
+		assertEquals(MIPS * 3 / 4, peList.get(0).getPeProvisioner().getAvailableMips(), 0);
+		assertEquals(MIPS / 4, peList.get(1).getPeProvisioner().getAvailableMips(), 0);
+
+		// the freed MIPS of the first PE are used again
+		assertTrue(vmScheduler.allocatePesForGuest(vm1, List.of(MIPS / 2)));
+		assertEquals(List.of(peList.get(0)), vmScheduler.getPesAllocatedForGuest(vm1));
+		assertEquals(MIPS / 4, peList.get(0).getPeProvisioner().getAvailableMips(), 0);
+		assertEquals(MIPS / 2 + MIPS, vmScheduler.getTotalAllocatedMipsForGuest(vm1) + vmScheduler.getTotalAllocatedMipsForGuest(vm2), 0);
+	}
+
+	@Test
+	public void testProvisionerWithoutKeyRelease() {
+		peList = new ArrayList<>();
+		peList.add(new Pe(0, new UidPeProvisioner(MIPS)));
+		peList.add(new Pe(1, new UidPeProvisioner(MIPS)));
+		vmScheduler = new VmSchedulerTimeShared(peList);
+
+		assertTrue(vmScheduler.allocatePesForGuest(vm1, List.of(MIPS * 3 / 4)));
+		assertTrue(vmScheduler.allocatePesForGuest(vm2, List.of(MIPS / 2, MIPS / 2)));
+		assertEquals(MIPS / 4, totalAvailableMips(), 0);
+
+		// the VMs cannot be released one by one, so they are all provisioned again
+		vmScheduler.deallocatePesForGuest(vm1);
+
+		assertNull(vmScheduler.getPesAllocatedForGuest(vm1));
+		assertEquals(MIPS, vmScheduler.getTotalAllocatedMipsForGuest(vm2), 0);
+		assertEquals(MIPS, totalAvailableMips(), 0);
+
+		assertTrue(vmScheduler.allocatePesForGuest(vm1, List.of(MIPS / 2)));
+		assertTrue(vmScheduler.allocatePesForGuest(vm2, List.of(MIPS / 4, MIPS / 4)));
+		assertEquals(MIPS / 2, vmScheduler.getTotalAllocatedMipsForGuest(vm1), 0);
+		assertEquals(MIPS / 2, vmScheduler.getTotalAllocatedMipsForGuest(vm2), 0);
+		assertEquals(MIPS, totalAvailableMips(), 0);
+
+		vmScheduler.deallocatePesForAllGuests();
+
+		assertEquals(PeList.getTotalMips(peList), vmScheduler.getAvailableMips(), 0);
+	}
+
+	private double totalAvailableMips() {
+		double availableMips = 0;
+		for (Pe pe : peList) {
+			availableMips += pe.getPeProvisioner().getAvailableMips();
+		}
+		return availableMips;
+	}
+
+	/**
+	 * A provisioner written against the older API, which only implements the abstract methods
+	 * and so knows the guests by uid.
+	 */
+	private static class UidPeProvisioner extends PeProvisioner {
+
+		private final Map<String, List<Double>> peTable = new HashMap<>();
+
+		UidPeProvisioner(double mips) {
+			super(mips);
+		}
+
+		@Override
+		public boolean allocateMipsForGuest(GuestEntity guest, double mips) {
+			return allocateMipsForGuest(GuestEntity.getUid(guest.getKey()), mips);
+		}
+
+		@Override
+		@SuppressWarnings("deprecation")
+		public boolean allocateMipsForGuest(String vmUid, double mips) {
+			if (getAvailableMips() < mips) {
+				return false;
+			}
+			peTable.computeIfAbsent(vmUid, uid -> new ArrayList<>()).add(mips);
+			setAvailableMips(getAvailableMips() - mips);
+			return true;
+		}
+
+		@Override
+		public boolean allocateMipsForGuest(GuestEntity guest, List<Double> mips) {
+			for (double m : mips) {
+				if (!allocateMipsForGuest(guest, m)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public List<Double> getAllocatedMipsForGuest(GuestEntity guest) {
+			return peTable.get(GuestEntity.getUid(guest.getKey()));
+		}
+
+		@Override
+		public double getTotalAllocatedMipsForGuest(GuestEntity guest) {
+			List<Double> allocatedMips = getAllocatedMipsForGuest(guest);
+			return allocatedMips == null ? 0 : allocatedMips.stream().mapToDouble(Double::doubleValue).sum();
+		}
+
+		@Override
+		public double getAllocatedMipsForGuestByVirtualPeId(GuestEntity guest, int peId) {
+			return getAllocatedMipsForGuest(guest).get(peId);
+		}
+
+		@Override
+		public void deallocateMipsForGuest(GuestEntity guest) {
+			List<Double> allocatedMips = peTable.remove(GuestEntity.getUid(guest.getKey()));
+			if (allocatedMips != null) {
+				for (double mips : allocatedMips) {
+					setAvailableMips(getAvailableMips() + mips);
+				}
+			}
+		}
+	}
+
 }
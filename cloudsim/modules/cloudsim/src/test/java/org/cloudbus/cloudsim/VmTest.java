@@ -171,6 +171,25 @@ public class VmTest {
 		assertEquals(expectedCurrentMips, vm.getCurrentRequestedMips());
 	}
 
+	@Test
+	public void testGetCurrentRequestedMipsNotReused() {
+		List<Double> expectedCurrentMips = new ArrayList<>(PES_NUMBER);
+		for (int i = 0; i < PES_NUMBER; i++)
+			expectedCurrentMips.add(MIPS);
+
+		List<Double> currentMips = vm.getCurrentRequestedMips();
+		vm.setBeingInstantiated(false);
+
+		List<Double> idleMips = new ArrayList<>(PES_NUMBER);
+		for (int i = 0; i < PES_NUMBER; i++)
+			idleMips.add(0.0);
+
+		assertEquals(idleMips, vm.getCurrentRequestedMips());
+		assertEquals(idleMips, vm.getCurrentRequestedMipsBuffer());
+		assertEquals(idleMips, vmScheduler.getCurrentRequestedMips());
+		assertEquals(expectedCurrentMips, currentMips);
+	}
+
 	@Test
 	public void testGetCurrentRequestedTotalMips() {
 		assertEquals(MIPS * PES_NUMBER, vm.getCurrentRequestedTotalMips(), 0);
@@ -0,0 +1,151 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.NetworkTopology;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that a simulation partitioned by datacenter gives the same results as a sequential run.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class ConservativeExecutorTest {
+
+	private static final int DATACENTERS = 3;
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	private static Datacenter createDatacenter(String name) throws Exception {
+		List<Host> hostList = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			List<Pe> peList = new ArrayList<>();
+			peList.add(new Pe(0, new PeProvisionerSimple(1000)));
+			peList.add(new Pe(1, new PeProvisionerSimple(1000)));
+			hostList.add(new Host(i, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000,
+					peList, new VmSchedulerTimeShared(peList)));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+				"x86", "Linux", "Xen", hostList, 10.0, 3.0, 0.05, 0.001, 0.0);
+		return new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList),
+				new LinkedList<Storage>(), 0);
+	}
+
+	/**
+	 * Runs two brokers whose VMs overflow over the datacenters.
+	 *
+	 * @param parallel whether to run each datacenter in its own partition
+	 * @param latency the network latency between the brokers and the datacenters, or 0 if not mapped
+	 * @return the final clock, followed by the description of every received cloudlet
+	 */
+	private static List<String> run(boolean parallel, double latency) throws Exception {
+		CloudSim.init(2, null, false);
+		List<List<SimEntity>> partitions = new ArrayList<>();
+		for (int i = 0; i < DATACENTERS; i++) {
+			partitions.add(List.of(createDatacenter("Datacenter_" + i)));
+		}
+
+		List<DatacenterBroker> brokers = new ArrayList<>();
+		int cloudletId = 0;
+		for (int b = 0; b < 2; b++) {
+			DatacenterBroker broker = new DatacenterBroker("Broker_" + b);
+			List<Vm> vms = new ArrayList<>();
+			for (int v = 0; v < 5; v++) {
+				vms.add(new Vm(v, broker.getId(), 500 + 250 * v, 1, 256, 1000, 10000, "Xen",
+						new CloudletSchedulerTimeShared()));
+			}
+			List<Cloudlet> cloudlets = new ArrayList<>();
+			for (int c = 0; c < 15; c++) {
+				Cloudlet cloudlet = new Cloudlet(cloudletId++, 10000 + 7919L * c, 1, 300, 300,
+						new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+				cloudlet.setUserId(broker.getId());
+				cloudlets.add(cloudlet);
+			}
+			broker.submitGuestList(vms);
+			broker.submitCloudletList(cloudlets);
+			brokers.add(broker);
+		}
+
+		List<Integer> mapped = new ArrayList<>();
+		if (latency > 0) {
+			// a star centred on the first broker, which connects every other entity
+			int hub = brokers.get(0).getId();
+			for (int id = 0; id < CloudSim.getNumEntities(); id++) {
+				if (id != hub) {
+					NetworkTopology.addLink(hub, id, 1000, latency);
+					mapped.add(id);
+				}
+			}
+			mapped.add(hub);
+		}
+
+		try {
+			if (parallel) {
+				CloudSim.setPartitions(partitions, 4);
+			}
+			double clock = CloudSim.startSimulation();
+			CloudSim.stopSimulation();
+
+			List<String> results = new ArrayList<>();
+			results.add("clock " + clock);
+			for (DatacenterBroker broker : brokers) {
+				for (Cloudlet cloudlet : broker.getCloudletReceivedList()) {
+					results.add(cloudlet.getCloudletId() + " " + cloudlet.getStatus() + " "
+							+ cloudlet.getResourceId() + " " + cloudlet.getGuestId() + " "
+							+ cloudlet.getExecStartTime() + " " + cloudlet.getExecFinishTime());
+				}
+			}
+			return results;
+		} finally {
+			mapped.forEach(NetworkTopology::unmapNode);
+		}
+	}
+
+	@Test
+	public void testTickSynchronousRunIsSameAsSequential() throws Exception {
+		List<String> expected = run(false, 0);
+		assertEquals(1 + 30, expected.size());
+		assertEquals(expected, run(true, 0));
+	}
+
+	@Test
+	public void testWindowedRunIsSameAsSequential() throws Exception {
+		List<String> expected = run(false, 0.5);
+		assertFalse(expected.equals(run(false, 0)));
+		assertEquals(expected, run(true, 0.5));
+	}
+
+}
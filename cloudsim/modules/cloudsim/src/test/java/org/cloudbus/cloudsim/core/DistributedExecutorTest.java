@@ -0,0 +1,247 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.NetworkTopology;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that a simulation whose brokers and datacenters are simulated by two ranks, which run
+ * on threads of this process, gives the same results as a sequential run.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class DistributedExecutorTest {
+
+	private static final int DATACENTERS = 3;
+
+	private static final int TIMEOUT = 30000;
+
+	@TempDir
+	Path directory;
+
+	@FunctionalInterface
+	private interface TransportFactory {
+		Transport open(int rank) throws IOException;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	private static Datacenter createDatacenter(String name) throws Exception {
+		List<Host> hostList = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			List<Pe> peList = new ArrayList<>();
+			peList.add(new Pe(0, new PeProvisionerSimple(1000)));
+			peList.add(new Pe(1, new PeProvisionerSimple(1000)));
+			hostList.add(new Host(i, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000,
+					peList, new VmSchedulerTimeShared(peList)));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+				"x86", "Linux", "Xen", hostList, 10.0, 3.0, 0.05, 0.001, 0.0);
+		return new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList),
+				new LinkedList<Storage>(), 0);
+	}
+
+	/**
+	 * Creates the entities of a rank: rank 0 simulates the brokers, and rank 1 the datacenters.
+	 *
+	 * @param rank the rank, or -1 to simulate all the entities
+	 * @return the brokers simulated by the rank
+	 */
+	private static List<DatacenterBroker> build(int rank) throws Exception {
+		CloudSim.init(2, null, false);
+		for (int i = 0; i < DATACENTERS; i++) {
+			if (rank == 0) {
+				new RemoteEntity("Datacenter_" + i, 1, true);
+			} else {
+				createDatacenter("Datacenter_" + i);
+			}
+		}
+
+		List<DatacenterBroker> brokers = new ArrayList<>();
+		int cloudletId = 0;
+		for (int b = 0; b < 2; b++) {
+			if (rank == 1) {
+				new RemoteEntity("Broker_" + b, 0);
+				continue;
+			}
+			DatacenterBroker broker = new DatacenterBroker("Broker_" + b);
+			List<Vm> vms = new ArrayList<>();
+			for (int v = 0; v < 5; v++) {
+				vms.add(new Vm(v, broker.getId(), 500 + 250 * v, 1, 256, 1000, 10000, "Xen",
+						new CloudletSchedulerTimeShared()));
+			}
+			List<Cloudlet> cloudlets = new ArrayList<>();
+			for (int c = 0; c < 15; c++) {
+				Cloudlet cloudlet = new Cloudlet(cloudletId++, 10000 + 7919L * c, 1, 300, 300,
+						new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+				cloudlet.setUserId(broker.getId());
+				cloudlets.add(cloudlet);
+			}
+			broker.submitGuestList(vms);
+			broker.submitCloudletList(cloudlets);
+			brokers.add(broker);
+		}
+		return brokers;
+	}
+
+	/**
+	 * Describes the outcome of a run. The final clock is left out, as a sequential run dispatches
+	 * the events due next once the simulation has been terminated by the brokers.
+	 *
+	 * @param brokers the brokers
+	 * @return the description of every received cloudlet
+	 */
+	private static List<String> results(List<DatacenterBroker> brokers) {
+		List<String> results = new ArrayList<>();
+		for (DatacenterBroker broker : brokers) {
+			for (Cloudlet cloudlet : broker.getCloudletReceivedList()) {
+				results.add(cloudlet.getCloudletId() + " " + cloudlet.getStatus() + " "
+						+ cloudlet.getResourceId() + " " + cloudlet.getGuestId() + " "
+						+ cloudlet.getExecStartTime() + " " + cloudlet.getExecFinishTime());
+			}
+		}
+		return results;
+	}
+
+	private static List<String> runSequential() throws Exception {
+		List<DatacenterBroker> brokers = build(-1);
+		CloudSim.startSimulation();
+		CloudSim.stopSimulation();
+		return results(brokers);
+	}
+
+	/**
+	 * Runs the two ranks, each on its own thread.
+	 *
+	 * @param transports the transport of each rank
+	 * @param lookahead the lookahead
+	 * @return the results of rank 0, which simulates the brokers
+	 */
+	private static List<String> runDistributed(TransportFactory transports, double lookahead) throws Exception {
+		ExecutorService threads = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<List<String>>> ranks = new ArrayList<>();
+			for (int r = 0; r < 2; r++) {
+				int rank = r;
+				ranks.add(threads.submit(() -> {
+					try (Transport transport = transports.open(rank)) {
+						List<DatacenterBroker> brokers = build(rank);
+						CloudSim.setDistributed(transport, lookahead);
+						CloudSim.startSimulation();
+						CloudSim.stopSimulation();
+						return results(brokers);
+					}
+				}));
+			}
+			List<String> results = ranks.get(0).get();
+			ranks.get(1).get();
+			return results;
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	private static TransportFactory sockets() throws IOException {
+		List<InetSocketAddress> addresses = new ArrayList<>();
+		for (int rank = 0; rank < 2; rank++) {
+			try (ServerSocket free = new ServerSocket(0)) {
+				addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), free.getLocalPort()));
+			}
+		}
+		return rank -> new SocketTransport(rank, addresses, TIMEOUT);
+	}
+
+	private TransportFactory sharedMemory(String name, int capacity) throws IOException {
+		Path rings = Files.createDirectory(directory.resolve(name));
+		return rank -> new SharedMemoryTransport(rings, rank, 2, capacity, TIMEOUT);
+	}
+
+	@Test
+	public void testSocketRunIsSameAsSequential() throws Exception {
+		List<String> expected = runSequential();
+		assertEquals(30, expected.size());
+		assertEquals(expected, runDistributed(sockets(), 0));
+	}
+
+	@Test
+	public void testSharedMemoryRunIsSameAsSequential() throws Exception {
+		List<String> expected = runSequential();
+		assertEquals(expected, runDistributed(sharedMemory("large", 1 << 20), 0));
+		// messages larger than the ring buffers are streamed through them
+		assertEquals(expected, runDistributed(sharedMemory("small", 256), 0));
+	}
+
+	@Test
+	public void testWindowedRunIsSameAsSequential() throws Exception {
+		List<String> expected = runSequential();
+		// a star centred on the first broker, which connects every other entity
+		List<Integer> mapped = new ArrayList<>();
+		int hub = CloudSim.getEntityId("Broker_0");
+		for (int id = 0; id < CloudSim.getNumEntities(); id++) {
+			if (id != hub) {
+				NetworkTopology.addLink(hub, id, 1000, 0.5);
+				mapped.add(id);
+			}
+		}
+		mapped.add(hub);
+		try {
+			expected = runSequential();
+			assertEquals(expected, runDistributed(sharedMemory("windowed", 1 << 16), 0.5));
+		} finally {
+			mapped.forEach(NetworkTopology::unmapNode);
+		}
+	}
+
+	@Test
+	public void testShortDelayIsRejected() throws Exception {
+		// the brokers send their requests with no delay
+		ExecutionException e = assertThrows(ExecutionException.class, () -> runDistributed(sockets(), 1));
+		assertInstanceOf(IllegalStateException.class, e.getCause());
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.util.LatencyHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class EngineMetricsTest {
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@Test
+	public void testMetrics() throws IOException {
+		CloudSim.init(0, null, false);
+		new SimulationContextTest.TickEntity("Tick", 100);
+		EngineMetrics metrics = CloudSim.enableMetrics();
+		List<Long> snapshots = new ArrayList<>();
+		metrics.setSnapshotListener(10, m -> snapshots.add(m.getDispatchedEvents()));
+		CloudSim.startSimulation();
+
+		assertTrue(metrics.getDispatchedEvents() >= 100);
+		assertEquals(100, metrics.getTagCounts().get(CloudActionTags.BLANK));
+		assertTrue(metrics.getMaxQueueDepth() >= 1);
+		assertTrue(metrics.getElapsedSeconds() > 0);
+		// the clock stops when the run returns
+		assertEquals(metrics.getElapsedSeconds(), metrics.getElapsedSeconds(), 0);
+		assertTrue(metrics.getEventsPerSecond() > 0);
+		LatencyHistogram ticks = metrics.getHandlerLatencies().get(SimulationContextTest.TickEntity.class);
+		assertEquals(100, ticks.getCount());
+		assertEquals(10, snapshots.size());
+
+		StringBuilder csv = new StringBuilder();
+		metrics.writeCsv(csv);
+		assertTrue(csv.toString().startsWith("metric,name,count,value\n"));
+		assertTrue(csv.toString().contains("tag,CloudActionTags.BLANK,100,"));
+		StringBuilder json = new StringBuilder();
+		metrics.writeJson(json);
+		assertTrue(json.toString().contains("\"CloudActionTags.BLANK\":100"));
+	}
+
+	@Test
+	public void testLatencyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(500.5, histogram.getMean(), 1e-9);
+		assertEquals(1000, histogram.getMax());
+		long median = histogram.getPercentile(50);
+		assertTrue(median >= 500 && median < 1000, "median " + median);
+		assertEquals(1000, histogram.getPercentile(100));
+
+		// a batch counts as that many operations of the mean duration
+		histogram.clear();
+		histogram.record(300, 3);
+		assertEquals(3, histogram.getCount());
+		assertEquals(100, histogram.getMax());
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.cloudbus.cloudsim.DataCloudTags;
+import org.cloudbus.cloudsim.container.core.ContainerCloudSimTags;
+import org.cloudbus.cloudsim.web.WebTags;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class EventDispatcherTest {
+
+	@Test
+	public void testTagIndexesAreDense() {
+		Set<Integer> indexes = new HashSet<>();
+		for (CloudSimTags[] tags : new CloudSimTags[][] { CloudActionTags.values(), ContainerCloudSimTags.values(),
+				DataCloudTags.values(), WebTags.values() }) {
+			int first = tags[0].index();
+			for (int i = 0; i < tags.length; i++) {
+				assertEquals(first + i, tags[i].index());
+				assertTrue(indexes.add(tags[i].index()));
+			}
+		}
+	}
+
+	@Test
+	public void testDispatch() {
+		EventDispatcher dispatcher = new EventDispatcher();
+		List<String> handled = new ArrayList<>();
+		dispatcher.register(CloudActionTags.VM_CREATE, ev -> handled.add("create"));
+		dispatcher.register(ContainerCloudSimTags.CONTAINER_SUBMIT, ev -> handled.add("submit"));
+		// a subclass replaces the handler of its superclass
+		dispatcher.register(CloudActionTags.VM_CREATE, ev -> handled.add("create again"));
+
+		assertTrue(dispatcher.dispatch(new SimEvent(SimEvent.SEND, 0, 0, 0, CloudActionTags.VM_CREATE, null)));
+		assertTrue(dispatcher.dispatch(
+				new SimEvent(SimEvent.SEND, 0, 0, 0, ContainerCloudSimTags.CONTAINER_SUBMIT, null)));
+		assertFalse(dispatcher.dispatch(new SimEvent(SimEvent.SEND, 0, 0, 0, CloudActionTags.VM_DESTROY, null)));
+		assertEquals(List.of("create again", "submit"), handled);
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class EventTraceTest {
+
+	@TempDir
+	Path dir;
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@Test
+	public void testRecordAndReplay() throws IOException {
+		Path file = dir.resolve("run.trace");
+		CloudSim.init(0, null, false);
+		SimulationContextTest.TickEntity entity = new SimulationContextTest.TickEntity("Tick", 100);
+		try (EventTrace trace = EventTrace.create(file)) {
+			CloudSim.setEventTrace(trace);
+			CloudSim.startSimulation();
+			assertTrue(trace.size() >= 100);
+		}
+		// the file is cut after the last record
+		assertEquals(0, (Files.size(file) - EventTrace.HEADER_BYTES) % EventTrace.RECORD_BYTES);
+
+		try (EventTrace.Reader reader = EventTrace.Reader.open(file)) {
+			List<EventTrace.Record> ticks = new ArrayList<>();
+			for (long i = 0; i < reader.size(); i++) {
+				EventTrace.Record record = reader.get(i);
+				if (record.destination() == entity.getId() && record.type() == SimEvent.SEND) {
+					assertEquals(CloudActionTags.BLANK, record.tag());
+					ticks.add(record);
+				}
+			}
+			assertEquals(100, ticks.size());
+			for (int i = 0; i < ticks.size(); i++) {
+				assertEquals(i + 1, ticks.get(i).time(), 0);
+			}
+
+			// fast-forwards to a time, and replays until another one
+			EventTrace.Record first = reader.get(reader.seek(42.5));
+			assertEquals(43, first.time(), 0);
+			List<EventTrace.Record> replayed = new ArrayList<>();
+			reader.replay(50, 60, record -> {
+				if (record.destination() == entity.getId()) {
+					replayed.add(record);
+				}
+			});
+			assertEquals(10, replayed.size());
+			assertEquals(50, replayed.get(0).time(), 0);
+			assertEquals(reader.size(), reader.seek(1000));
+		}
+	}
+
+	@Test
+	public void testNotATrace() throws IOException {
+		Path file = dir.resolve("other");
+		Files.writeString(file, "not an event trace");
+		assertThrows(IOException.class, () -> EventTrace.Reader.open(file));
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.cloudbus.cloudsim.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every {@link FutureEventList} dispatches events in the same order as the
+ * {@link EventQueue}.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class FutureEventListTest {
+
+	private static final List<Supplier<FutureEventList>> IMPLEMENTATIONS = List.of(
+			CalendarQueue::new,
+			LadderQueue::new);
+
+	private static SimEvent event(double time, int src) {
+		return new SimEvent(SimEvent.SEND, time, src, src, CloudActionTags.BLANK, null);
+	}
+
+	/**
+	 * Runs a hold model: each dequeued event schedules a new one at a random delay,
+	 * some of which are zero or repeated, some events are added to be dispatched first,
+	 * and some events are cancelled.
+	 */
+	private static List<SimEvent> holdModel(FutureEventList fel, long seed) {
+		Random random = new Random(seed);
+		List<SimEvent> dispatched = new ArrayList<>();
+		double[] delays = { 0, 0.01, 0.5, 1, 1, 300 };
+
+		for (int i = 0; i < 500; i++) {
+			if (i % 5 == 0) {
+				fel.addEventFirst(event(random.nextInt(100), i % 7));
+			} else {
+				fel.addEvent(event(random.nextInt(100), i % 7));
+			}
+		}
+
+		double clock = 0;
+		for (int i = 0; i < 20000; i++) {
+			SimEvent ev = fel.poll();
+			assertTrue(ev.eventTime() >= clock);
+			clock = ev.eventTime();
+			dispatched.add(ev);
+
+			double delay = random.nextBoolean() ? delays[random.nextInt(delays.length)] : random.nextDouble() * 50;
+			fel.addEvent(event(clock + delay, random.nextInt(7)));
+			if (i % 10 == 0) {
+				fel.addEvent(event(clock, random.nextInt(7)));
+			}
+			if (i % 10 == 5) {
+				fel.addEventFirst(event(clock + delays[random.nextInt(delays.length)], random.nextInt(7)));
+			}
+
+			if (i % 1000 == 0) {
+				// cancel the events of a source, as CloudSim.cancelAll does
+				int src = random.nextInt(7);
+				Iterator<SimEvent> iter = fel.iterator();
+				while (iter.hasNext()) {
+					if (iter.next().getSourceId() == src) {
+						iter.remove();
+					}
+				}
+			}
+		}
+
+		while (!fel.isEmpty()) {
+			dispatched.add(fel.poll());
+		}
+		return dispatched;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		// the EventQueue only dispatches events while the simulation is running
+		Log.disable();
+		CloudSim.setSimulationContext(new SimulationContext());
+		CloudSim.runStart();
+	}
+
+	@Test
+	public void testSameOrderAsEventQueue() {
+		for (long seed = 0; seed < 3; seed++) {
+			List<SimEvent> expected = holdModel(new EventQueue(), seed);
+
+			for (Supplier<FutureEventList> implementation : IMPLEMENTATIONS) {
+				FutureEventList fel = implementation.get();
+				List<SimEvent> actual = holdModel(fel, seed);
+				assertEquals(expected.size(), actual.size());
+				for (int i = 0; i < expected.size(); i++) {
+					assertEquals(expected.get(i).eventTime(), actual.get(i).eventTime(), 0);
+					assertEquals(expected.get(i).getSerial(), actual.get(i).getSerial());
+				}
+				assertEquals(0, fel.size());
+				assertNull(fel.poll());
+			}
+		}
+	}
+
+	@Test
+	public void testAddEventFirst() {
+		List<Supplier<FutureEventList>> implementations = new ArrayList<>(IMPLEMENTATIONS);
+		implementations.add(EventQueue::new);
+		for (Supplier<FutureEventList> implementation : implementations) {
+			FutureEventList fel = implementation.get();
+			SimEvent a = event(5, 0);
+			SimEvent b = event(5, 1);
+			SimEvent c = event(5, 2);
+			SimEvent d = event(5, 3);
+			fel.addEvent(a);
+			fel.addEventFirst(b);
+			fel.addEventFirst(c);
+			fel.addEvent(d);
+			// the events added first precede the others, the latest added first
+			assertSame(c, fel.poll());
+			assertSame(b, fel.poll());
+			assertSame(a, fel.poll());
+			assertSame(d, fel.poll());
+		}
+	}
+
+	@Test
+	public void testPeekAndClear() {
+		for (Supplier<FutureEventList> implementation : IMPLEMENTATIONS) {
+			FutureEventList fel = implementation.get();
+			SimEvent late = event(10, 0);
+			SimEvent early = event(5, 0);
+			fel.addEvent(late);
+			fel.addEvent(early);
+			assertSame(early, fel.peek());
+			assertEquals(2, fel.size());
+			assertSame(early, fel.poll());
+			assertSame(late, fel.peek());
+
+			fel.clear();
+			assertTrue(fel.isEmpty());
+			assertNull(fel.peek());
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class MailboxTest {
+
+	private static final CloudSimTags[] TAGS = {
+			CloudActionTags.BLANK, CloudActionTags.VM_MIGRATE, CloudActionTags.VM_DATACENTER_EVENT };
+
+	private static SimEvent event(int src, CloudSimTags tag) {
+		return new SimEvent(SimEvent.SEND, 0, src, 0, tag, null);
+	}
+
+	private static SimEvent first(List<SimEvent> events, Predicate p) {
+		for (SimEvent ev : events) {
+			if (p.match(ev)) {
+				return ev;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void testFifoOrder() {
+		Mailbox mailbox = new Mailbox();
+		List<SimEvent> expected = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			SimEvent ev = event(i, CloudActionTags.BLANK);
+			expected.add(ev);
+			mailbox.add(ev);
+		}
+		assertEquals(100, mailbox.size());
+
+		int i = 0;
+		for (SimEvent ev : mailbox) {
+			assertSame(expected.get(i++), ev);
+		}
+		for (SimEvent ev : expected) {
+			assertSame(ev, mailbox.poll());
+		}
+		assertNull(mailbox.poll());
+		assertTrue(mailbox.isEmpty());
+	}
+
+	@Test
+	public void testDrainAndDefer() {
+		Mailbox mailbox = new Mailbox();
+		List<SimEvent> expected = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			SimEvent ev = event(i, TAGS[i % TAGS.length]);
+			expected.add(ev);
+			mailbox.add(ev);
+		}
+		PredicateType migrations = new PredicateType(CloudActionTags.VM_MIGRATE);
+		assertEquals(7, mailbox.count(migrations));
+
+		List<SimEvent> batch = new ArrayList<>();
+		assertEquals(20, mailbox.drainTo(batch));
+		assertEquals(expected, batch);
+		assertTrue(mailbox.isEmpty());
+		assertEquals(0, mailbox.count(migrations));
+
+		SimEvent late = event(20, CloudActionTags.VM_MIGRATE);
+		mailbox.add(late);
+		mailbox.addFirst(batch.subList(10, 20));
+		assertEquals(11, mailbox.size());
+		assertSame(expected.get(10), mailbox.select(migrations));
+		assertEquals(4, mailbox.count(migrations));
+		for (SimEvent ev : expected.subList(11, 20)) {
+			if (ev.getTag() != CloudActionTags.VM_MIGRATE || ev == expected.get(10)) {
+				continue;
+			}
+			assertSame(ev, mailbox.select(migrations));
+		}
+		assertSame(late, mailbox.select(migrations));
+		assertSame(expected.get(11), mailbox.poll());
+	}
+
+	/**
+	 * Mixes deliveries, polls and selections, and compares the mailbox with a plain list.
+	 */
+	@Test
+	public void testSameAsList() {
+		Random random = new Random(0);
+		Mailbox mailbox = new Mailbox();
+		List<SimEvent> expected = new LinkedList<>();
+
+		for (int i = 0; i < 20000; i++) {
+			int action = random.nextInt(12);
+			if (action < 5) {
+				SimEvent ev = event(random.nextInt(4), TAGS[random.nextInt(TAGS.length)]);
+				mailbox.add(ev);
+				expected.add(ev);
+			} else if (action < 7) {
+				assertSame(expected.isEmpty() ? null : expected.remove(0), mailbox.poll());
+			} else if (action == 11) {
+				// defers the end of a drained batch, as an entity that pauses does
+				List<SimEvent> batch = new ArrayList<>();
+				assertEquals(expected.size(), mailbox.drainTo(batch));
+				List<SimEvent> deferred = batch.subList(random.nextInt(batch.size() + 1), batch.size());
+				mailbox.addFirst(deferred);
+				expected.retainAll(deferred);
+			} else {
+				Predicate p = switch (action) {
+					case 7 -> new PredicateFrom(random.nextInt(4));
+					case 8 -> new PredicateFrom(new int[] { random.nextInt(4), random.nextInt(4) });
+					case 9 -> new PredicateNotType(TAGS[random.nextInt(TAGS.length)]);
+					default -> new PredicateType(TAGS[random.nextInt(TAGS.length)]);
+				};
+				SimEvent ev = first(expected, p);
+				assertEquals(expected.stream().filter(p::match).count(), mailbox.count(p));
+				assertSame(ev, mailbox.peek(p));
+				if (random.nextBoolean()) {
+					assertSame(ev, mailbox.select(p));
+					expected.remove(ev);
+				}
+			}
+			assertEquals(expected.size(), mailbox.size());
+		}
+
+		List<SimEvent> actual = new ArrayList<>();
+		mailbox.forEach(actual::add);
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < actual.size(); i++) {
+			assertSame(expected.get(i), actual.get(i), "at " + i);
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a simulation run optimistically gives the same results as a sequential run.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class OptimisticExecutorTest {
+
+	private static final int ENTITIES = 6;
+
+	private static final double[] DELAYS = { 0, 0, 0.5, 1, 2.5 };
+
+	/** An entity that sends pseudo-random events to the others, and records the ones it processes. */
+	static class ExchangeEntity extends SimEntity {
+		private final int limit;
+		private long seed;
+		private int sent;
+		private List<String> processed = new ArrayList<>();
+
+		ExchangeEntity(String name, long seed, int limit) {
+			super(name);
+			this.seed = seed;
+			this.limit = limit;
+		}
+
+		private int nextPeer() {
+			return getSimulation().getEntityId("Exchange_" + next(ENTITIES));
+		}
+
+		private int next(int bound) {
+			seed = seed * 6364136223846793005L + 1442695040888963407L;
+			return (int) ((seed >>> 33) % bound);
+		}
+
+		@Override
+		public void startEntity() {
+			schedule(getId(), 1, CloudActionTags.BLANK, -1);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			processed.add(getSimulation().clock() + " " + ev.getSourceId() + " " + ev.getData());
+			if (sent < limit) {
+				schedule(nextPeer(), DELAYS[next(DELAYS.length)], CloudActionTags.BLANK, sent++);
+				if (next(4) == 0) {
+					schedule(nextPeer(), DELAYS[next(DELAYS.length)], CloudActionTags.BLANK, sent++);
+				}
+				if (next(8) == 0) {
+					pause(0.25);
+				}
+			}
+		}
+
+		@Override
+		protected Object saveState() {
+			return new Object[] { seed, sent, new ArrayList<>(processed) };
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected void restoreState(Object state) {
+			Object[] saved = (Object[]) state;
+			seed = (Long) saved[0];
+			sent = (Integer) saved[1];
+			processed = new ArrayList<>((List<String>) saved[2]);
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	/**
+	 * Runs the entities, split into three partitions if a window is given.
+	 *
+	 * @param window the window length of the optimistic run, 0 for a conservative run, or -1 for a sequential run
+	 * @return the final clock, followed by the events processed by every entity
+	 */
+	private static List<String> run(double window) {
+		CloudSim.init(0, null, false);
+		List<ExchangeEntity> entities = new ArrayList<>();
+		List<List<SimEntity>> partitions = new ArrayList<>();
+		for (int i = 0; i < ENTITIES; i++) {
+			ExchangeEntity entity = new ExchangeEntity("Exchange_" + i, i, 300);
+			entities.add(entity);
+			if (i % 2 == 0) {
+				partitions.add(new ArrayList<>());
+			}
+			partitions.get(i / 2).add(entity);
+		}
+		if (window > 0) {
+			CloudSim.setOptimisticPartitions(partitions, 4, window);
+		} else if (window == 0) {
+			CloudSim.setPartitions(partitions, 4);
+		}
+
+		List<String> results = new ArrayList<>();
+		results.add("clock " + CloudSim.startSimulation());
+		for (ExchangeEntity entity : entities) {
+			results.addAll(entity.processed);
+		}
+		return results;
+	}
+
+	@Test
+	public void testSameAsSequential() {
+		List<String> expected = run(-1);
+		assertTrue(expected.size() > ENTITIES * 300);
+		assertEquals(expected, run(0));
+		assertEquals(expected, run(0.25));
+		assertEquals(expected, run(3));
+		assertEquals(expected, run(1000));
+	}
+
+	@Test
+	public void testEntitiesMustSupportCheckpointing() {
+		CloudSim.init(0, null, false);
+		SimEntity entity = new SimulationContextTest.TickEntity("Tick", 10);
+		CloudSim.setOptimisticPartitions(List.of(List.of(entity)), 2, 1);
+		assertThrows(UnsupportedOperationException.class, CloudSim::startSimulation);
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class ProcessEntityTest {
+
+	/** A process that asks a server for a reply, holds, and records when things happened. */
+	static class ClientProcess extends ProcessEntity {
+		private final int server;
+		private final List<Double> times = new ArrayList<>();
+		private final List<Object> replies = new ArrayList<>();
+
+		ClientProcess(String name, int server) {
+			super(name);
+			this.server = server;
+		}
+
+		@Override
+		protected void body() {
+			for (int i = 0; i < 3; i++) {
+				schedule(server, 1.0, CloudActionTags.VM_CREATE, i);
+				// an event the body only awaits later
+				schedule(getId(), 0.5, CloudActionTags.VM_DESTROY, "late " + i);
+				SimEvent reply = await(new PredicateType(CloudActionTags.VM_CREATE_ACK));
+				replies.add(reply.getData());
+				times.add(CloudSim.clock());
+				hold(10);
+				times.add(CloudSim.clock());
+				replies.add(await(new PredicateType(CloudActionTags.VM_DESTROY)).getData());
+			}
+		}
+	}
+
+	/** A server that replies to every request after a delay. */
+	static class ServerEntity extends SimEntity {
+		ServerEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			schedule(ev.getSource(), 2.0, CloudActionTags.VM_CREATE_ACK, ev.getData());
+		}
+	}
+
+	/** A process that awaits an event that never comes. */
+	static class StuckProcess extends ProcessEntity {
+		private boolean unwound;
+
+		StuckProcess(String name) {
+			super(name);
+		}
+
+		@Override
+		protected void body() {
+			try {
+				await(new PredicateType(CloudActionTags.VM_CREATE_ACK));
+			} finally {
+				unwound = true;
+			}
+		}
+	}
+
+	/** A process whose body fails. */
+	static class FailingProcess extends ProcessEntity {
+		FailingProcess(String name) {
+			super(name);
+		}
+
+		@Override
+		protected void body() {
+			hold(1);
+			throw new IllegalStateException("failed");
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@Test
+	public void testSequentialBody() {
+		CloudSim.init(0, null, false);
+		ServerEntity server = new ServerEntity("Server");
+		ClientProcess client = new ClientProcess("Client", server.getId());
+		StuckProcess stuck = new StuckProcess("Stuck");
+		CloudSim.startSimulation();
+
+		assertEquals(List.of(3.0, 13.0, 16.0, 26.0, 29.0, 39.0), client.times);
+		assertEquals(List.of(0, "late 0", 1, "late 1", 2, "late 2"), client.replies);
+		assertTrue(client.isBodyOver());
+		// the body still awaiting when the simulation ends is unwound
+		assertTrue(stuck.unwound);
+		assertTrue(stuck.isBodyOver());
+	}
+
+	@Test
+	public void testFailingBody() {
+		CloudSim.init(0, null, false);
+		new FailingProcess("Failing");
+		assertThrows(IllegalStateException.class, CloudSim::startSimulation);
+	}
+
+}
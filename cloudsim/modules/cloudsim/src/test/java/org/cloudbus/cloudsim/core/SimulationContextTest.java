@@ -0,0 +1,545 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class SimulationContextTest {
+
+	/** An entity that sends itself a given number of events, one per time unit. */
+	static class TickEntity extends SimEntity {
+		private final int limit;
+		private int ticks;
+
+		TickEntity(String name, int limit) {
+			super(name);
+			this.limit = limit;
+		}
+
+		@Override
+		public void startEntity() {
+			schedule(getId(), 1.0, CloudActionTags.BLANK);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			ticks++;
+			if (ticks < limit) {
+				schedule(getId(), 1.0, CloudActionTags.BLANK);
+			}
+		}
+
+		int getTicks() {
+			return ticks;
+		}
+	}
+
+	/** An entity that schedules events with two tags and cancels some of them. */
+	static class CancellingEntity extends SimEntity {
+		private final List<SimEvent> received = new ArrayList<>();
+		private SimEvent handle;
+
+		CancellingEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			for (int i = 1; i <= 10; i++) {
+				schedule(getId(), i, CloudActionTags.BLANK);
+				schedule(getId(), i, CloudActionTags.VM_DATACENTER_EVENT);
+			}
+			handle = schedule(getId(), 20, CloudActionTags.VM_DATACENTER_EVENT, null);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			received.add(ev);
+			if (ev.eventTime() == 5 && ev.getTag() == CloudActionTags.BLANK) {
+				assertTrue(getSimulation().cancelAll(getId(), new PredicateType(CloudActionTags.VM_DATACENTER_EVENT)));
+				assertFalse(cancelEvent(handle));
+				SimEvent cancelled = cancelEvent(new PredicateType(CloudActionTags.BLANK));
+				assertEquals(6, cancelled.eventTime(), 0);
+				assertTrue(cancelled.isCancelled());
+			}
+		}
+	}
+
+	/** An entity that pauses on its first event and records when the others are processed. */
+	static class HoldingEntity extends SimEntity {
+		private final List<Double> processed = new ArrayList<>();
+
+		HoldingEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			for (int i = 1; i <= 3; i++) {
+				schedule(getId(), i, CloudActionTags.BLANK);
+			}
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			processed.add(getSimulation().clock());
+			if (processed.size() == 1) {
+				pause(10);
+			}
+		}
+	}
+
+	/** An entity that records the batches of events it is given at every time. */
+	static class BatchEntity extends SimEntity {
+		private final List<Integer> batches = new ArrayList<>();
+
+		BatchEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			for (int i = 0; i < 5; i++) {
+				schedule(getId(), 1, CloudActionTags.BLANK, i);
+			}
+			for (int i = 0; i < 3; i++) {
+				schedule(getId(), 2, CloudActionTags.BLANK, i);
+			}
+		}
+
+		@Override
+		protected void processEvents(List<SimEvent> events) {
+			for (int i = 0; i < events.size(); i++) {
+				assertEquals(i, events.get(i).getData());
+			}
+			batches.add(events.size());
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			throw new AssertionError("The events are processed in bulk.");
+		}
+	}
+
+	/** An entity that waits for an event with a given tag before processing the others. */
+	static class WaitingEntity extends SimEntity {
+		private final List<String> processed = new ArrayList<>();
+
+		WaitingEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			schedule(getId(), 1, CloudActionTags.BLANK);
+			schedule(getId(), 2, CloudActionTags.VM_MIGRATE);
+			schedule(getId(), 3, CloudActionTags.VM_DATACENTER_EVENT);
+			schedule(getId(), 4, CloudActionTags.BLANK);
+			waitForEvent(new PredicateNotType(new CloudSimTags[] { CloudActionTags.BLANK, CloudActionTags.VM_MIGRATE }));
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			processed.add(getSimulation().clock() + " " + ev.getTag());
+		}
+	}
+
+	/** An entity that sends itself many updates within a short time. */
+	static class UpdatingEntity extends SimEntity {
+		private final List<Double> updates = new ArrayList<>();
+
+		UpdatingEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			for (int i = 0; i < 100; i++) {
+				schedule(getId(), 1 + i * 0.001, CloudActionTags.VM_DATACENTER_EVENT);
+			}
+			schedule(getId(), 1.0005, CloudActionTags.BLANK);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			if (ev.getTag() == CloudActionTags.VM_DATACENTER_EVENT) {
+				updates.add(getSimulation().clock());
+			}
+		}
+	}
+
+	/** An entity that records the events it processes, and may wrongly access the last one later. */
+	static class RetainingEntity extends TickEntity {
+		private final Set<SimEvent> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+		private final boolean reads;
+		private SimEvent last;
+
+		RetainingEntity(String name, int limit, boolean reads) {
+			super(name, limit);
+			this.reads = reads;
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			if (reads && last != null) {
+				assertSame(CloudActionTags.BLANK, last.getTag());
+			}
+			last = ev;
+			distinct.add(ev);
+			super.processEvent(ev);
+		}
+	}
+
+	/** An entity that counts the events it processes. */
+	static class CountingEntity extends SimEntity {
+		private int received;
+
+		CountingEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			received++;
+		}
+	}
+
+	/**
+	 * An entity that replaces a worker every tick, with a new entity of the same name, while an
+	 * event is still on its way to the old one.
+	 */
+	static class ChurningEntity extends SimEntity {
+		private final List<CountingEntity> workers = new ArrayList<>();
+		private EntityRef worker;
+
+		ChurningEntity(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			worker = getEntityRef("Worker");
+			schedule(getId(), 1.0, CloudActionTags.BLANK);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			if (!workers.isEmpty()) {
+				CountingEntity old = workers.get(workers.size() - 1);
+				schedule(old.getId(), 0.5, CloudActionTags.BLANK);
+				CloudSim.removeEntity(old);
+			}
+			workers.add(new CountingEntity("Worker"));
+			schedule(worker, 0.2, CloudActionTags.BLANK, null);
+			if (workers.size() < 10) {
+				schedule(getId(), 1.0, CloudActionTags.BLANK);
+			}
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	private static double[] runTicks(int limit) {
+		CloudSim.init(0, null, false);
+		TickEntity entity = new TickEntity("Tick", limit);
+		double clock = CloudSim.startSimulation();
+		return new double[] { clock, entity.getTicks() };
+	}
+
+	@Test
+	public void testEntityIsBoundToCurrentContext() {
+		CloudSim.init(0, null, false);
+		SimulationContext context = CloudSim.getSimulationContext();
+		TickEntity entity = new TickEntity("Tick", 1);
+		assertSame(context, entity.getSimulation());
+		assertSame(entity, context.getEntity("Tick"));
+
+		CloudSim.init(0, null, false);
+		assertNotSame(context, CloudSim.getSimulationContext());
+		assertEquals(-1, CloudSim.getEntityId("Tick"));
+	}
+
+	@Test
+	public void testCancel() {
+		CloudSim.init(0, null, false);
+		CancellingEntity entity = new CancellingEntity("Cancelling");
+		double clock = CloudSim.startSimulation();
+
+		assertEquals(10, clock, 0);
+		// both tags up to time 5, then BLANK only, except the one at time 6
+		assertEquals(10 + 4, entity.received.size());
+		for (SimEvent ev : entity.received) {
+			assertFalse(ev.isCancelled());
+			if (ev.eventTime() > 5) {
+				assertSame(CloudActionTags.BLANK, ev.getTag());
+				assertNotEquals(6, ev.eventTime());
+			}
+		}
+	}
+
+	@Test
+	public void testHeldEntityProcessesDeferredEvents() {
+		CloudSim.init(0, null, false);
+		HoldingEntity entity = new HoldingEntity("Holding");
+		CloudSim.startSimulation();
+
+		assertEquals(List.of(1.0, 11.0, 11.0), entity.processed);
+	}
+
+	@Test
+	public void testWaitingEntityWakesOnMatchingEvent() {
+		CloudSim.init(0, null, false);
+		WaitingEntity entity = new WaitingEntity("Waiting");
+		CloudSim.startSimulation();
+
+		assertEquals(List.of("3.0 BLANK", "3.0 VM_MIGRATE", "3.0 VM_DATACENTER_EVENT", "4.0 BLANK"), entity.processed);
+	}
+
+	@Test
+	public void testEventCoalescing() {
+		CloudSim.init(0, null, false);
+		UpdatingEntity entity = new UpdatingEntity("Updating");
+		CloudSim.startSimulation();
+		assertEquals(100, entity.updates.size());
+
+		CloudSim.init(0, null, false);
+		EventCoalescing coalescing = CloudSim.setEventCoalescing(0.05, CloudActionTags.VM_DATACENTER_EVENT);
+		entity = new UpdatingEntity("Updating");
+		CloudSim.startSimulation();
+
+		// the updates are rounded up to 1, 1.05 and 1.1
+		assertEquals(3, entity.updates.size());
+		assertEquals(1, entity.updates.get(0), 0);
+		assertEquals(1.1, entity.updates.get(2), 1e-9);
+		assertEquals(97, coalescing.getMergedEvents());
+		// the updates at 1 and 1.05 are not delayed
+		assertEquals(98, coalescing.getDelayedEvents());
+		assertTrue(coalescing.getMaxDelay() < 0.05);
+		assertTrue(coalescing.getMeanDelay() > 0);
+	}
+
+	@Test
+	public void testSameTimeEventsAreBatched() {
+		CloudSim.init(0, null, false);
+		BatchEntity entity = new BatchEntity("Batch");
+		CloudSim.startSimulation();
+
+		assertEquals(List.of(5, 3), entity.batches);
+	}
+
+	@Test
+	public void testEventPooling() {
+		// without pooling, every event is a new object
+		CloudSim.init(0, null, false);
+		RetainingEntity entity = new RetainingEntity("Retaining", 100, true);
+		assertEquals(100, CloudSim.startSimulation(), 0);
+		assertEquals(100, entity.distinct.size());
+
+		CloudSim.init(0, null, false);
+		CloudSim.setEventPooling(EventPooling.ENABLED);
+		entity = new RetainingEntity("Retaining", 100, false);
+		assertEquals(100, CloudSim.startSimulation(), 0);
+		assertEquals(100, entity.getTicks());
+		assertTrue(entity.distinct.size() < 5);
+
+		// the checked mode detects the access to the retained event
+		CloudSim.init(0, null, false);
+		CloudSim.setEventPooling(EventPooling.CHECKED);
+		new RetainingEntity("Retaining", 100, true);
+		assertThrows(IllegalStateException.class, CloudSim::startSimulation);
+	}
+
+	@Test
+	public void testRunUntilAndStep() {
+		CloudSim.init(0, null, false);
+		TickEntity entity = new TickEntity("Tick", 100);
+
+		assertEquals(10.5, CloudSim.runUntil(10.5), 0);
+		assertEquals(10, entity.getTicks());
+		assertEquals(20, CloudSim.runUntil(20), 0);
+		assertEquals(20, entity.getTicks());
+
+		assertEquals(21, CloudSim.step(1), 0);
+		assertEquals(21, entity.getTicks());
+		assertEquals(26, CloudSim.step(5), 0);
+		assertEquals(26, entity.getTicks());
+
+		assertEquals(100, CloudSim.startSimulation(), 0);
+		assertEquals(100, entity.getTicks());
+	}
+
+	@Test
+	public void testSnapshot() throws Exception {
+		CloudSim.init(0, null, false);
+		TickEntity ticking = new TickEntity("Tick", 100);
+		WaitingEntity waiting = new WaitingEntity("Waiting");
+		CloudSim.runUntil(2.5);
+		ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+		CloudSim.getSimulationContext().saveSnapshot(snapshot);
+		assertEquals(100, CloudSim.startSimulation(), 0);
+		assertEquals(100, ticking.getTicks());
+
+		// every load resumes the simulation from the same state
+		for (int i = 0; i < 2; i++) {
+			SimulationContext context = SimulationContext.loadSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+			CloudSim.setSimulationContext(context);
+			TickEntity restored = (TickEntity) CloudSim.getEntity("Tick");
+			WaitingEntity restoredWaiting = (WaitingEntity) CloudSim.getEntity("Waiting");
+			assertNotSame(ticking, restored);
+			assertEquals(2, restored.getTicks());
+			assertTrue(restoredWaiting.processed.isEmpty());
+
+			assertEquals(100, CloudSim.startSimulation(), 0);
+			assertEquals(100, restored.getTicks());
+			assertEquals(waiting.processed, restoredWaiting.processed);
+		}
+	}
+
+	@Test
+	public void testBlockingPause() throws Exception {
+		CloudSim.init(0, null, false);
+		SimulationContext context = CloudSim.getSimulationContext();
+		TickEntity entity = new TickEntity("Tick", 100);
+		context.pauseSimulation(50);
+
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		Future<?> clock = pool.submit(context.bind(() -> {
+			CloudSim.startSimulation();
+		}));
+		while (!context.isPaused()) {
+			Thread.onSpinWait();
+		}
+		// the event at 50 has been dispatched, and is processed once the simulation is resumed
+		assertEquals(49, entity.getTicks());
+		assertFalse(clock.isDone());
+
+		context.resumeSimulation();
+		clock.get();
+		assertEquals(100, context.clock(), 0);
+		assertEquals(100, entity.getTicks());
+		pool.shutdown();
+	}
+
+	@Test
+	public void testUnboundThread() throws Exception {
+		CloudSim.init(0, null, false);
+		SimulationContext context = CloudSim.getSimulationContext();
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		// the threads started by the simulation thread are not bound to its context, but use it as
+		// the default one
+		assertFalse(pool.submit(CloudSim::hasSimulationContext).get());
+		assertSame(context, pool.submit(CloudSim::getSimulationContext).get());
+		SimulationContext other = new SimulationContext();
+		pool.submit(other.bind(() -> assertSame(other, CloudSim.getSimulationContext()))).get();
+		assertSame(context, pool.submit(CloudSim::getSimulationContext).get());
+		pool.shutdown();
+	}
+
+	@Test
+	public void testBoundWork() throws Exception {
+		CloudSim.init(0, null, false);
+		SimulationContext context = CloudSim.getSimulationContext();
+		CountingEntity entity = new CountingEntity("Counting");
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		// the bound work can't send events, and the thread is unbound once it is done
+		Future<SimEvent> sent = pool.submit(context.bind(
+				() -> CloudSim.send(entity.getId(), entity.getId(), 1, CloudActionTags.BLANK, null)));
+		ExecutionException failure = assertThrows(ExecutionException.class, sent::get);
+		assertInstanceOf(IllegalStateException.class, failure.getCause());
+		assertFalse(pool.submit(CloudSim::hasSimulationContext).get());
+		pool.shutdown();
+
+		CloudSim.send(entity.getId(), entity.getId(), 1, CloudActionTags.BLANK, null);
+		CloudSim.startSimulation();
+		assertEquals(1, entity.received);
+	}
+
+	@Test
+	public void testEntityChurn() {
+		CloudSim.init(0, null, false);
+		ChurningEntity churning = new ChurningEntity("Churning");
+		CloudSim.startSimulation();
+
+		// every worker got the event sent through the reference, and none of the ones sent after
+		// it was removed; the ids are never reused
+		assertEquals(10, churning.workers.size());
+		int id = -1;
+		for (CountingEntity worker : churning.workers) {
+			assertEquals(1, worker.received);
+			assertTrue(worker.getId() > id);
+			id = worker.getId();
+		}
+
+		CloudSim.init(0, null, false);
+		CountingEntity first = new CountingEntity("First");
+		CountingEntity second = new CountingEntity("Second");
+		int entities = CloudSim.getNumEntities();
+		assertTrue(CloudSim.removeEntity(first));
+		assertFalse(CloudSim.removeEntity(first));
+		assertEquals(entities - 1, CloudSim.getNumEntities());
+		assertEquals(null, CloudSim.getEntity(first.getId()));
+		assertEquals(null, CloudSim.getEntity("First"));
+		assertSame(second, CloudSim.getEntityRef("Second").getEntity());
+		assertSame(CloudSim.getEntityRef("Second"), CloudSim.getEntityRef("Second"));
+		assertFalse(CloudSim.getEntityList().contains(first));
+	}
+
+	@Test
+	public void testConcurrentSimulations() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		List<Future<double[]>> results = new ArrayList<>();
+		for (int i = 1; i <= 8; i++) {
+			final int limit = i * 100;
+			results.add(pool.submit(() -> runTicks(limit)));
+		}
+
+		for (int i = 1; i <= 8; i++) {
+			double[] result = results.get(i - 1).get();
+			assertEquals(i * 100, result[0], 0);
+			assertEquals(i * 100, result[1], 0);
+		}
+		pool.shutdown();
+	}
+
+}
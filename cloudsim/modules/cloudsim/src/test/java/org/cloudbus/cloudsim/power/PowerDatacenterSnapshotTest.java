@@ -0,0 +1,187 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.power;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerDynamicWorkload;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelNull;
+import org.cloudbus.cloudsim.UtilizationModelPlanetLabInMemory;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmSchedulerTimeSharedOverSubscription;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.power.models.PowerModel;
+import org.cloudbus.cloudsim.power.models.PowerModelSpecPowerHpProLiantMl110G4Xeon3040;
+import org.cloudbus.cloudsim.power.models.PowerModelSpecPowerHpProLiantMl110G5Xeon3075;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.cloudbus.cloudsim.selectionPolicies.SelectionPolicyMinimumUtilization;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves a snapshot of a PlanetLab workload run by a {@link PowerDatacenter} with the static threshold
+ * allocation policy and the minimum utilization selection policy, and resumes it.
+ *
+ * @since CloudSim Toolkit 7.0
+ */
+public class PowerDatacenterSnapshotTest {
+
+	private static final String FILE = "146-179_surfsnel_dsl_internl_net_colostate_557.dat";
+
+	private static final double SCHEDULING_INTERVAL = 300;
+
+	private static final double SIMULATION_LIMIT = 24 * 60 * 60;
+
+	/** The time of the snapshot, between the first two updates of the datacenter. */
+	private static final double SNAPSHOT_TIME = 1.5 * SCHEDULING_INTERVAL;
+
+	private static final double UTILIZATION_THRESHOLD = 0.8;
+
+	private static final int[] HOST_MIPS = { 1860, 2660 };
+
+	private static final PowerModel[] HOST_POWER = {
+			new PowerModelSpecPowerHpProLiantMl110G4Xeon3040(),
+			new PowerModelSpecPowerHpProLiantMl110G5Xeon3075() };
+
+	private static final int[] VM_MIPS = { 2500, 2000, 1000, 500 };
+
+	private static final int[] VM_RAM = { 870, 1740, 1740, 613 };
+
+	private static final int HOSTS = 4;
+
+	private static final int VMS = 8;
+
+	@BeforeEach
+	public void setUp() {
+		Log.disable();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Log.enable();
+	}
+
+	@Test
+	public void testResumeFromSnapshot() throws Exception {
+		PowerDatacenter datacenter = createRun();
+		double endTime = CloudSim.startSimulation();
+		double energy = datacenter.getPower();
+		int migrations = datacenter.getMigrationCount();
+		assertTrue(endTime > SNAPSHOT_TIME);
+
+		createRun();
+		assertEquals(SNAPSHOT_TIME, CloudSim.runUntil(SNAPSHOT_TIME), 0);
+		ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+		CloudSim.getSimulationContext().saveSnapshot(snapshot);
+
+		SimulationContext context = SimulationContext.loadSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+		CloudSim.setSimulationContext(context);
+		PowerDatacenter restored = (PowerDatacenter) CloudSim.getEntity("Datacenter");
+		assertNotSame(datacenter, restored);
+		assertEquals(SNAPSHOT_TIME, CloudSim.clock(), 0);
+		assertTrue(restored.getPower() < energy);
+
+		assertEquals(endTime, CloudSim.startSimulation(), 0);
+		assertEquals(energy, restored.getPower(), 0);
+		assertEquals(migrations, restored.getMigrationCount());
+	}
+
+	/**
+	 * Initialises a simulation of a power datacenter running the PlanetLab workload, up to its start.
+	 *
+	 * @return the datacenter
+	 */
+	private PowerDatacenter createRun() throws Exception {
+		CloudSim.init(1, null, false);
+
+		List<PowerHost> hostList = new ArrayList<>();
+		for (int i = 0; i < HOSTS; i++) {
+			int hostType = i % HOST_MIPS.length;
+			List<Pe> peList = new ArrayList<>();
+			for (int j = 0; j < 2; j++) {
+				peList.add(new Pe(j, new PeProvisionerSimple(HOST_MIPS[hostType])));
+			}
+			hostList.add(new PowerHost(
+					i,
+					new RamProvisionerSimple(4096),
+					new BwProvisionerSimple(1000000),
+					1000000,
+					peList,
+					new VmSchedulerTimeSharedOverSubscription(peList),
+					HOST_POWER[hostType]));
+		}
+
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics(
+				"x86", "Linux", "Xen", hostList, 10.0, 3.0, 0.05, 0.001, 0.0);
+		PowerDatacenter datacenter = new PowerDatacenter(
+				"Datacenter",
+				characteristics,
+				new PowerVmAllocationPolicyMigrationStaticThreshold(
+						hostList, new SelectionPolicyMinimumUtilization(), UTILIZATION_THRESHOLD),
+				new LinkedList<Storage>(),
+				SCHEDULING_INTERVAL);
+		datacenter.setDisableMigrations(false);
+
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+		List<Vm> vmList = new ArrayList<>();
+		List<Cloudlet> cloudletList = new ArrayList<>();
+		String trace = getClass().getClassLoader().getResource(FILE).getPath();
+		for (int i = 0; i < VMS; i++) {
+			int vmType = i % VM_MIPS.length;
+			vmList.add(new PowerVm(
+					i,
+					broker.getId(),
+					VM_MIPS[vmType],
+					1,
+					VM_RAM[vmType],
+					100000,
+					2500,
+					1,
+					"Xen",
+					new CloudletSchedulerDynamicWorkload(VM_MIPS[vmType], 1),
+					SCHEDULING_INTERVAL));
+
+			Cloudlet cloudlet = new Cloudlet(
+					i,
+					2500 * (long) SIMULATION_LIMIT,
+					1,
+					300,
+					300,
+					new UtilizationModelPlanetLabInMemory(trace, SCHEDULING_INTERVAL),
+					new UtilizationModelNull(),
+					new UtilizationModelNull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setGuestId(i);
+			cloudletList.add(cloudlet);
+		}
+		broker.submitGuestList(vmList);
+		broker.submitCloudletList(cloudletList);
+
+		CloudSim.terminateSimulation(SIMULATION_LIMIT);
+		return datacenter;
+	}
+}
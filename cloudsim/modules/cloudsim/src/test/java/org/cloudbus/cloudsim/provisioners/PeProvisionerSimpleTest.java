@@ -191,4 +191,20 @@ public class PeProvisionerSimpleTest {
 		assertEquals(MIPS, peProvisioner.getAvailableMips(), 0);
 	}
 
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testDeallocateMipsForGuestKey() {
+		Vm vm1 = new Vm(0, 0, MIPS / 2, 1, 0, 0, 0, "", null);
+		Vm vm2 = new Vm(1, 0, MIPS / 2, 1, 0, 0, 0, "", null);
+
+		peProvisioner.allocateMipsForGuest(vm1, MIPS / 2);
+		peProvisioner.allocateMipsForGuest(vm2, MIPS / 4);
+
+		peProvisioner.deallocateMipsForGuest(vm1.getKey());
+		assertEquals(MIPS * 3 / 4, peProvisioner.getAvailableMips(), 0);
+
+		peProvisioner.deallocateMipsForGuest(vm2.getUid());
+		assertEquals(MIPS, peProvisioner.getAvailableMips(), 0);
+	}
+
 }
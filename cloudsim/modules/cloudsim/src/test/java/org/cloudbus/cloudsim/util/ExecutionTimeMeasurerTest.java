@@ -0,0 +1,72 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class ExecutionTimeMeasurerTest {
+
+	@BeforeEach
+	public void setUp() {
+		ExecutionTimeMeasurer.reset();
+	}
+
+	@Test
+	public void testOverlappingMeasurements() throws InterruptedException {
+		ExecutionTimeMeasurer.start("outer");
+		ExecutionTimeMeasurer.start("outer");
+		Thread.sleep(2);
+		double inner = ExecutionTimeMeasurer.end("outer");
+		Thread.sleep(2);
+		double outer = ExecutionTimeMeasurer.end("outer");
+		assertTrue(inner >= 0.002);
+		assertTrue(outer > inner);
+		assertEquals(2, ExecutionTimeMeasurer.getHistogram("outer").getCount());
+		assertThrows(IllegalStateException.class, () -> ExecutionTimeMeasurer.end("outer"));
+	}
+
+	@Test
+	public void testMeasurement() {
+		ExecutionTimeMeasurer.Measurement measurement;
+		try (ExecutionTimeMeasurer.Measurement m = ExecutionTimeMeasurer.measure("scoped")) {
+			measurement = m;
+		}
+		// stopping again does not record it twice
+		long duration = measurement.stop();
+		assertEquals(duration, measurement.stop());
+		assertEquals(1, ExecutionTimeMeasurer.getHistogram("scoped").getCount());
+
+		// unnamed measurements are not recorded
+		ExecutionTimeMeasurer.start().stop();
+		assertEquals(1, ExecutionTimeMeasurer.getHistograms().size());
+	}
+
+	@Test
+	public void testConcurrentMeasurements() throws InterruptedException {
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread(() -> {
+				for (int j = 0; j < 1000; j++) {
+					ExecutionTimeMeasurer.start("shared");
+					ExecutionTimeMeasurer.end("shared");
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(4000, ExecutionTimeMeasurer.getHistogram("shared").getCount());
+		assertTrue(ExecutionTimeMeasurer.getExecutionTimes().isEmpty());
+	}
+
+}
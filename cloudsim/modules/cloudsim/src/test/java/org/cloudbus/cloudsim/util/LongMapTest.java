@@ -0,0 +1,105 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2024, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.core.GuestEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since CloudSim Toolkit 7.0
+ */
+public class LongMapTest {
+
+	@Test
+	public void testPutGetRemove() {
+		LongMap<String> map = new LongMap<>();
+		assertTrue(map.isEmpty());
+		assertNull(map.put(GuestEntity.getKey(3, 1), "a"));
+		assertNull(map.put(GuestEntity.getKey(3, -1), "b"));
+		assertEquals("a", map.put(GuestEntity.getKey(3, 1), "c"));
+		assertEquals(2, map.size());
+		assertEquals("c", map.get(GuestEntity.getKey(3, 1)));
+		assertEquals("b", map.get(GuestEntity.getKey(3, -1)));
+		assertFalse(map.containsKey(GuestEntity.getKey(1, 3)));
+
+		assertEquals("b", map.remove(GuestEntity.getKey(3, -1)));
+		assertNull(map.remove(GuestEntity.getKey(3, -1)));
+		assertEquals(1, map.size());
+		assertEquals("d", map.computeIfAbsent(7, key -> "d"));
+		assertEquals("d", map.computeIfAbsent(7, key -> "e"));
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(7));
+	}
+
+	@Test
+	public void testKeysInInsertionOrder() {
+		LongMap<Integer> map = new LongMap<>();
+		for (int i = 0; i < 10; i++) {
+			map.put(100 - i, i);
+		}
+		map.remove(97);
+		map.put(97, 3);
+		assertArrayEquals(new long[] {100, 99, 98, 96, 95, 94, 93, 92, 91, 97}, map.keys());
+		List<Integer> values = new ArrayList<>(map.values());
+		assertEquals(List.of(0, 1, 2, 4, 5, 6, 7, 8, 9, 3), values);
+	}
+
+	@Test
+	public void testCompared() {
+		Random random = new Random(0);
+		LongMap<Long> map = new LongMap<>();
+		Map<Long, Long> expected = new HashMap<>();
+		for (int i = 0; i < 100000; i++) {
+			long key = random.nextInt(2000) - 1000;
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		map.forEach((key, value) -> assertEquals(expected.get(key), value));
+		for (long key = -1000; key < 1000; key++) {
+			assertEquals(expected.get(key), map.get(key));
+		}
+	}
+
+	@Test
+	public void testUidViews() {
+		LongMap<Double> map = new LongMap<>();
+		Map<String, Double> byUid = map.asMap(String.class, GuestEntity::getKey, GuestEntity::getUid);
+		byUid.put("2-5", 1.0);
+		map.put(GuestEntity.getKey(-1, 7), 2.0);
+		assertEquals(Map.of("2-5", 1.0, "-1-7", 2.0), byUid);
+		assertEquals(1.0, map.get(GuestEntity.getKey(2, 5)));
+		assertFalse(byUid.containsKey(5));
+		byUid.remove("2-5");
+		assertEquals(1, map.size());
+
+		List<String> keys = map.asKeyList(String.class, GuestEntity::getKey, GuestEntity::getUid);
+		assertEquals(List.of("-1-7"), keys);
+		keys.add("4-4");
+		assertTrue(map.containsKey(GuestEntity.getKey(4, 4)));
+		assertTrue(keys.remove("-1-7"));
+		assertEquals(List.of("4-4"), keys);
+	}
+}